@@ -7,6 +7,7 @@ import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -25,10 +26,15 @@ import io.openems.backend.common.metadata.User;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseError;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesExportXlxsRequest;
+import io.openems.common.jsonrpc.response.HistoricTimeseriesExportWriter.Format;
+import io.openems.common.session.Role;
+import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.utils.JsonUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -58,10 +64,15 @@ public class RestHandler extends AbstractHandler {
 			}
 
 			var thisTarget = targets.get(0);
+			var remainingTargets = targets.subList(1, targets.size());
 			switch (thisTarget) {
 			case "jsonrpc":
 				this.handleJsonRpc(user, baseRequest, request, response);
 				break;
+
+			case "export":
+				this.handleExport(user, remainingTargets, baseRequest, request, response);
+				break;
 			}
 		} catch (OpenemsNamedException e) {
 			throw new IOException(e.getMessage());
@@ -136,6 +147,63 @@ public class RestHandler extends AbstractHandler {
 		}
 	}
 
+	/**
+	 * Handles an http GET request to download historic data of an Edge as file,
+	 * e.g. 'export/edge0/csv?fromDate=2023-01-01&amp;toDate=2023-12-31&amp;timezone=-3600'.
+	 *
+	 * <p>
+	 * The file is written directly to the response with chunked transfer
+	 * encoding; see {@link CommonTimedataService#exportHistoricTimeseries}. If
+	 * the export fails after parts of the file were sent, the connection is
+	 * aborted, so the client does not take the truncated file as complete.
+	 *
+	 * @param user         the {@link User}
+	 * @param targets      the remaining targets, i.e. Edge-ID and file format
+	 * @param baseRequest  the {@link Request}
+	 * @param httpRequest  the {@link HttpServletRequest}
+	 * @param httpResponse the {@link HttpServletResponse}
+	 * @throws IOException           on error while writing
+	 * @throws OpenemsNamedException on error
+	 */
+	private void handleExport(User user, List<String> targets, Request baseRequest, HttpServletRequest httpRequest,
+			HttpServletResponse httpResponse) throws IOException, OpenemsNamedException {
+		if (targets.size() != 2) {
+			throw new OpenemsException("Missing arguments to handle Export");
+		}
+		if (!httpRequest.getMethod().equals("GET")) {
+			throw new OpenemsException("Method [" + httpRequest.getMethod() + "] is not supported for Export endpoint");
+		}
+		var edgeId = targets.get(0);
+		user.assertEdgeRoleIsAtLeast("HTTP GET Export", edgeId, Role.GUEST);
+
+		var format = Format.fromFileExtension(targets.get(1));
+		var request = QueryHistoricTimeseriesExportXlxsRequest.from(new GenericJsonrpcRequest(
+				QueryHistoricTimeseriesExportXlxsRequest.METHOD, JsonUtils.buildJsonObject() //
+						.addProperty("fromDate", httpRequest.getParameter("fromDate")) //
+						.addProperty("toDate", httpRequest.getParameter("toDate")) //
+						.addProperty("timezone", Optional.ofNullable(httpRequest.getParameter("timezone")) //
+								.orElse("0")) //
+						.build()));
+
+		httpResponse.setContentType(format.getContentType());
+		httpResponse.setHeader("Content-Disposition",
+				"attachment; filename=\"" + edgeId + "." + format.getFileExtension() + "\"");
+		httpResponse.setStatus(HttpServletResponse.SC_OK);
+		baseRequest.setHandled(true);
+		try {
+			this.parent.timedataManager.exportHistoricTimeseries(edgeId, request.getFromDate(), request.getToDate(),
+					format, user.getLanguage(), httpResponse.getOutputStream());
+		} catch (OpenemsNamedException | IOException | RuntimeException e) {
+			if (!httpResponse.isCommitted()) {
+				// Nothing was sent yet: discard headers and buffered content
+				httpResponse.reset();
+				throw e;
+			}
+			this.parent.logWarn(this.log, "Aborting Export for Edge [" + edgeId + "]: " + e.getMessage());
+			baseRequest.getHttpChannel().abort(e);
+		}
+	}
+
 	/**
 	 * Parses a Request to JSON.
 	 *
@@ -1,21 +1,79 @@
 package io.openems.backend.common.edgewebsocket;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
 
+/**
+ * Caches the latest Channel values of an Edge.
+ *
+ * <p>
+ * Values are stored in columns of typed slots: integer and floating point
+ * numbers are kept as primitive longs, all other values as
+ * {@link JsonElement}. Channel-Addresses are interned, so the same address is
+ * shared by all caches. Every Channel has its own timestamp and expires
+ * individually {@link #MAX_AGE} after the newest data of the Edge.
+ *
+ * <p>
+ * Reads are lock-free and never block the writer: they use optimistic reads of
+ * a {@link StampedLock} and retry if an update happened in between, so
+ * {@link #getChannelValues(Collection)} always returns a consistent snapshot.
+ */
 public class EdgeCache {
 
 	/**
-	 * The Timestamp of the data in the Cache.
+	 * Values older than this, relative to the newest data, are expired [ms].
 	 */
-	private long timestamp = 0L;
+	public static final long MAX_AGE = 15 * 60 * 1000;
 
-	private final HashMap<String, JsonElement> data = new HashMap<>();
+	private static final Interner<String> ADDRESSES = Interners.newWeakInterner();
+
+	private static final byte EMPTY = 0;
+	private static final byte LONG = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte OTHER = 3;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Estimated size of an entry in {@link #index} in [byte]: node, boxed Integer
+	 * and table slot. The interned key is shared and not counted.
+	 */
+	private static final int INDEX_ENTRY_SIZE = 32 + 16 + 8;
+
+	/**
+	 * Estimated size of a {@link JsonElement} in an 'OTHER' slot in [byte].
+	 */
+	private static final int OTHER_VALUE_SIZE = 64;
+
+	private final StampedLock lock = new StampedLock();
+
+	/**
+	 * Maps the Channel-Address to the slot index. Slots are only appended.
+	 */
+	private final ConcurrentHashMap<String, Integer> index = new ConcurrentHashMap<>();
+
+	/**
+	 * The Timestamp of the newest data in the Cache.
+	 */
+	private volatile long timestamp = 0L;
+
+	private byte[] types = new byte[INITIAL_CAPACITY];
+	private long[] values = new long[INITIAL_CAPACITY];
+	private JsonElement[] others = new JsonElement[INITIAL_CAPACITY];
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private int noOfOthers = 0;
 
 	/**
 	 * Gets the channel value from cache.
@@ -24,45 +82,221 @@ public class EdgeCache {
 	 * @return the value; {@link JsonNull} if it is not in cache
 	 */
 	public final JsonElement getChannelValue(String address) {
-		synchronized (this) {
-			var result = this.data.get(address);
-			if (result == null) {
-				return JsonNull.INSTANCE;
+		var slot = this.index.get(address);
+		if (slot == null) {
+			return JsonNull.INSTANCE;
+		}
+		var stamp = this.lock.tryOptimisticRead();
+		var result = this.read(slot);
+		if (!this.lock.validate(stamp)) {
+			stamp = this.lock.readLock();
+			try {
+				result = this.read(slot);
+			} finally {
+				this.lock.unlockRead(stamp);
 			}
-			return result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets a consistent snapshot of multiple channel values from cache.
+	 *
+	 * @param addresses the Channel-Addresses
+	 * @return a map of Channel-Address to value; {@link JsonNull} if it is not in
+	 *         cache
+	 */
+	public Map<String, JsonElement> getChannelValues(Collection<String> addresses) {
+		// Iterate the given Collection only once; it might be modified concurrently
+		var snapshot = addresses.toArray(new String[0]);
+		var slots = new int[snapshot.length];
+		for (var i = 0; i < snapshot.length; i++) {
+			var slot = this.index.get(snapshot[i]);
+			slots[i] = slot == null ? -1 : slot;
+		}
+		var stamp = this.lock.tryOptimisticRead();
+		var result = this.read(snapshot, slots);
+		if (!this.lock.validate(stamp)) {
+			stamp = this.lock.readLock();
+			try {
+				result = this.read(snapshot, slots);
+			} finally {
+				this.lock.unlockRead(stamp);
+			}
+		}
+		return result;
+	}
+
+	private Map<String, JsonElement> read(String[] addresses, int[] slots) {
+		var result = new HashMap<String, JsonElement>(addresses.length);
+		for (var i = 0; i < addresses.length; i++) {
+			var slot = slots[i];
+			result.put(addresses[i], slot < 0 ? JsonNull.INSTANCE : this.read(slot));
+		}
+		return result;
+	}
+
+	/**
+	 * Reads one slot. Might see inconsistent data if called without holding the
+	 * lock; the result must then be validated by the caller.
+	 *
+	 * @param slot the slot index
+	 * @return the value; {@link JsonNull} if it is empty or expired
+	 */
+	private JsonElement read(int slot) {
+		// Read the array references once; they are replaced when growing
+		var types = this.types;
+		var values = this.values;
+		var others = this.others;
+		var timestamps = this.timestamps;
+		if (slot >= types.length || slot >= values.length || slot >= others.length || slot >= timestamps.length) {
+			// Growing concurrently; validation will fail
+			return JsonNull.INSTANCE;
+		}
+		if (timestamps[slot] < this.timestamp - MAX_AGE) {
+			return JsonNull.INSTANCE;
+		}
+		switch (types[slot]) {
+		case LONG:
+			return new JsonPrimitive(values[slot]);
+		case DOUBLE:
+			return new JsonPrimitive(Double.longBitsToDouble(values[slot]));
+		case OTHER:
+			var result = others[slot];
+			return result == null ? JsonNull.INSTANCE : result;
+		case EMPTY:
+		default:
+			return JsonNull.INSTANCE;
 		}
 	}
 
 	/**
 	 * Updates the Cache.
 	 *
+	 * <p>
+	 * Values that are older than the value in the Cache for the same Channel are
+	 * ignored.
+	 *
 	 * @param incomingDatas the incoming data
 	 */
 	public void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
-		for (Entry<Long, Map<String, JsonElement>> entry : incomingDatas.entrySet()) {
-			var incomingTimestamp = entry.getKey();
-			var incomingData = entry.getValue();
+		var stamp = this.lock.writeLock();
+		try {
+			for (Entry<Long, Map<String, JsonElement>> entry : incomingDatas.entrySet()) {
+				long incomingTimestamp = entry.getKey();
+				for (var data : entry.getValue().entrySet()) {
+					this.write(this.getOrCreateSlot(data.getKey()), incomingTimestamp, data.getValue());
+				}
+				if (incomingTimestamp > this.timestamp) {
+					this.timestamp = incomingTimestamp;
+				}
+			}
+		} finally {
+			this.lock.unlockWrite(stamp);
+		}
+	}
 
-			// Check if cache should be applied
-			if (incomingTimestamp < this.timestamp) {
-				// Incoming data is older than cache -> do not apply cache
+	private int getOrCreateSlot(String address) {
+		var slot = this.index.get(address);
+		if (slot != null) {
+			return slot;
+		}
+		int newSlot = this.index.size();
+		if (newSlot >= this.types.length) {
+			var capacity = this.types.length * 2;
+			this.types = Arrays.copyOf(this.types, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+			this.others = Arrays.copyOf(this.others, capacity);
+			this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+		}
+		this.timestamps[newSlot] = Long.MIN_VALUE;
+		this.index.put(ADDRESSES.intern(address), newSlot);
+		return newSlot;
+	}
 
+	private void write(int slot, long timestamp, JsonElement value) {
+		if (timestamp < this.timestamps[slot]) {
+			// Incoming data is older than cache -> do not apply
+			return;
+		}
+		this.timestamps[slot] = timestamp;
+		var previousType = this.types[slot];
+		byte type;
+		if (value == null || value.isJsonNull()) {
+			type = EMPTY;
+		} else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+			var number = value.getAsNumber();
+			if (number instanceof Long || number instanceof Integer || number instanceof Short
+					|| number instanceof Byte) {
+				type = LONG;
+				this.values[slot] = number.longValue();
+			} else if (number instanceof Double) {
+				type = DOUBLE;
+				this.values[slot] = Double.doubleToRawLongBits(number.doubleValue());
 			} else {
-				// Incoming data is more recent than cache
-
-				if (incomingTimestamp > this.timestamp + 15 * 60 * 1000) {
-					// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
-					synchronized (this) {
-						this.data.clear();
-					}
-				}
+				// e.g. parsed from JSON or Float; keeps the shortest representation
+				type = this.writeParsedNumber(slot, number.toString());
+			}
+		} else {
+			type = OTHER;
+		}
+		if (type == OTHER) {
+			this.others[slot] = value;
+		} else {
+			this.others[slot] = null;
+		}
+		this.types[slot] = type;
+		if (previousType == OTHER && type != OTHER) {
+			this.noOfOthers--;
+		} else if (previousType != OTHER && type == OTHER) {
+			this.noOfOthers++;
+		}
+	}
 
-				// update cache
-				this.timestamp = incomingTimestamp;
-				synchronized (this) {
-					this.data.putAll(incomingData);
-				}
+	private byte writeParsedNumber(int slot, String number) {
+		try {
+			this.values[slot] = Long.parseLong(number);
+			return LONG;
+		} catch (NumberFormatException e) {
+			// not an integer
+		}
+		try {
+			var value = Double.parseDouble(number);
+			if (Double.toString(value).equals(number)) {
+				this.values[slot] = Double.doubleToRawLongBits(value);
+				return DOUBLE;
 			}
+		} catch (NumberFormatException e) {
+			// not a number
+		}
+		// Keep original representation
+		return OTHER;
+	}
+
+	/**
+	 * Gets the number of Channels in the Cache, including expired ones.
+	 *
+	 * @return the number of Channels
+	 */
+	public int getNumberOfChannels() {
+		return this.index.size();
+	}
+
+	/**
+	 * Estimates the memory footprint of this Cache, excluding the shared interned
+	 * Channel-Addresses.
+	 *
+	 * @return the estimated size in [byte]
+	 */
+	public long getMemoryFootprint() {
+		var stamp = this.lock.readLock();
+		try {
+			var capacity = (long) this.types.length;
+			return capacity * (Byte.BYTES + Long.BYTES + Long.BYTES + 8 /* reference */) //
+					+ (long) this.index.size() * INDEX_ENTRY_SIZE //
+					+ (long) this.noOfOthers * OTHER_VALUE_SIZE;
+		} finally {
+			this.lock.unlockRead(stamp);
 		}
 	}
 
@@ -1,8 +1,12 @@
 package io.openems.backend.common.edgewebsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.AbstractCollection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -11,6 +15,7 @@ import org.junit.Test;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -50,6 +55,70 @@ public class EdgeCacheTest {
 		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
 	}
 
+	@Test
+	public void testTypedValues() {
+		var cache = new EdgeCache();
+		var data = new TreeMap<Long, Map<String, JsonElement>>();
+		var map = new HashMap<String, JsonElement>();
+		map.put(CHANNEL1, JsonParser.parseString("1234"));
+		map.put(CHANNEL2, JsonParser.parseString("12.5"));
+		map.put(CHANNEL3, new JsonPrimitive(true));
+		data.put(0L, map);
+		cache.update(data);
+
+		assertEquals(1234, cache.getChannelValue(CHANNEL1).getAsLong());
+		assertEquals("12.5", cache.getChannelValue(CHANNEL2).getAsString());
+		assertEquals(true, cache.getChannelValue(CHANNEL3).getAsBoolean());
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue("foo/unknown"));
+
+		var snapshot = cache.getChannelValues(List.of(CHANNEL1, CHANNEL2, "foo/unknown"));
+		assertEquals(3, snapshot.size());
+		assertEquals(1234, snapshot.get(CHANNEL1).getAsLong());
+		assertEquals(12.5, snapshot.get(CHANNEL2).getAsDouble(), 0.001);
+		assertEquals(JsonNull.INSTANCE, snapshot.get("foo/unknown"));
+
+		assertEquals(3, cache.getNumberOfChannels());
+		assertTrue(cache.getMemoryFootprint() > 0);
+	}
+
+	@Test
+	public void testExpirePerChannel() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		cache.update(buildData(0L, CHANNEL1, "value1"));
+		cache.update(buildData(10 * 60 * 1000L, CHANNEL2, "value2"));
+		assertEquals("value1", cache.getChannelValue(CHANNEL1).getAsString());
+
+		// CHANNEL1 expires, CHANNEL2 is still valid
+		cache.update(buildData(EdgeCache.MAX_AGE + 1, CHANNEL3, "value3"));
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL1));
+		assertEquals("value2", cache.getChannelValue(CHANNEL2).getAsString());
+		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
+	}
+
+	@Test
+	public void testConcurrentlyModifiedAddresses() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		cache.update(buildData(0L, CHANNEL1, "value1"));
+		cache.update(buildData(0L, CHANNEL2, "value2"));
+
+		// Simulates a live key set that grows between size() and iteration
+		var addresses = new AbstractCollection<String>() {
+			@Override
+			public Iterator<String> iterator() {
+				return List.of(CHANNEL1, CHANNEL2).iterator();
+			}
+
+			@Override
+			public int size() {
+				return 1;
+			}
+		};
+		var snapshot = cache.getChannelValues(addresses);
+		assertEquals(2, snapshot.size());
+		assertEquals("value1", snapshot.get(CHANNEL1).getAsString());
+		assertEquals("value2", snapshot.get(CHANNEL2).getAsString());
+	}
+
 	private static SortedMap<Long, Map<String, JsonElement>> buildData(long timestamp, String channel, String value)
 			throws OpenemsNamedException {
 		var data = new TreeMap<Long, Map<String, JsonElement>>();
@@ -128,7 +128,7 @@ public class EdgeRpcRequestHandler {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleQueryHistoricDataRequest(String edgeId, User user,
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
-		var historicData = this.parent.timedataManager.queryHistoricData(edgeId, request);
+		var historicData = this.parent.timedataManager.queryHistoricTimeseriesData(edgeId, request);
 
 		// JSON-RPC response
 		return CompletableFuture
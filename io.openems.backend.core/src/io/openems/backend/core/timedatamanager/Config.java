@@ -13,4 +13,10 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Timedata-IDs", description = "IDs of Timedata Services. Execution is going to be sorted in the order of the IDs.")
 	String[] timedata_ids() default {};
 
+	@AttributeDefinition(name = "Query-Cache Size", description = "Maximum number of cached results of historic queries; '0' disables the cache.")
+	int queryCacheSize() default 1000;
+
+	@AttributeDefinition(name = "Query-Cache Time-To-Live [s]", description = "Time-To-Live of cached results that include the current day. Results for completed days are kept until evicted.")
+	int queryCacheTtl() default 60;
+
 }
\ No newline at end of file
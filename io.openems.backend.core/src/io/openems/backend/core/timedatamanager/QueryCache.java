@@ -0,0 +1,383 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Caches results of historic queries in the {@link TimedataManagerImpl}.
+ *
+ * <p>
+ * Only queries for a time window that is aligned to full days are cached, as
+ * sent by the UI for day/week/month/year charts. Results are kept in a LRU map
+ * that is limited to a maximum number of entries:
+ * <ul>
+ * <li>windows that end before the start of the current day are complete and
+ * expire after {@link #COMPLETE_TTL}
+ * <li>windows that include the current day expire after a short Time-To-Live
+ * </ul>
+ *
+ * <p>
+ * Entries of an Edge are invalidated if {@link #invalidate(String, TreeBasedTable)}
+ * receives data for one of their Channels within their time window. This also
+ * applies to queries that are being loaded at that time: their result is
+ * returned to the caller, but not cached.
+ */
+public class QueryCache {
+
+	public static enum Type {
+		DATA, ENERGY, ENERGY_PER_PERIOD;
+	}
+
+	/**
+	 * Time-To-Live of windows that end before the current day. Data of past days
+	 * is usually complete, but might still be completed later, e.g. by data that
+	 * was written to another Timedata service.
+	 */
+	public static final Duration COMPLETE_TTL = Duration.ofDays(1);
+
+	/**
+	 * Loads a value on a cache miss.
+	 *
+	 * @param <T> the type of the value
+	 */
+	@FunctionalInterface
+	public static interface Loader<T> {
+
+		/**
+		 * Loads the value.
+		 *
+		 * @return the value; null if not available
+		 * @throws OpenemsNamedException on error
+		 */
+		public T load() throws OpenemsNamedException;
+
+	}
+
+	private static final class Key {
+
+		private final Type type;
+		private final String edgeId;
+		private final Set<String> channels;
+		private final long fromDate;
+		private final long toDate;
+		private final ZoneId zone;
+		private final String resolution;
+
+		private Key(Type type, String edgeId, Set<ChannelAddress> channels, ZonedDateTime fromDate,
+				ZonedDateTime toDate, Resolution resolution) {
+			this.type = type;
+			this.edgeId = edgeId;
+			this.channels = new TreeSet<>();
+			for (var channel : channels) {
+				this.channels.add(channel.toString());
+			}
+			this.fromDate = fromDate.toInstant().toEpochMilli();
+			this.toDate = toDate.toInstant().toEpochMilli();
+			this.zone = fromDate.getZone();
+			this.resolution = resolution == null ? null : resolution.getValue() + " " + resolution.getUnit();
+		}
+
+		private boolean overlaps(long fromTimestamp, long toTimestamp, Set<String> channels) {
+			if (fromTimestamp >= this.toDate || toTimestamp < this.fromDate) {
+				return false;
+			}
+			for (var channel : channels) {
+				if (this.channels.contains(channel)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.type, this.edgeId, this.channels, this.fromDate, this.toDate, this.zone,
+					this.resolution);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			var other = (Key) obj;
+			return this.type == other.type //
+					&& this.fromDate == other.fromDate //
+					&& this.toDate == other.toDate //
+					&& Objects.equals(this.edgeId, other.edgeId) //
+					&& Objects.equals(this.channels, other.channels) //
+					&& Objects.equals(this.zone, other.zone) //
+					&& Objects.equals(this.resolution, other.resolution);
+		}
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+		private final long expiresAt;
+
+		private Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * A query that is currently being loaded.
+	 */
+	private static final class Load {
+
+		private final Key key;
+		/** Guarded by the {@link QueryCache}. */
+		private boolean isInvalidated = false;
+
+		private Load(Key key) {
+			this.key = key;
+		}
+	}
+
+	private final int maxEntries;
+	private final long ttl;
+	private final long completeTtl;
+	private final Clock clock;
+
+	/** Entries in access-order for LRU eviction. Guarded by 'this'. */
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	/** Keys per Edge-ID for invalidation. Guarded by 'this'. */
+	private final Map<String, Set<Key>> keysPerEdge = new HashMap<>();
+	/** Running loads per Edge-ID for invalidation. Guarded by 'this'. */
+	private final Map<String, Set<Load>> loadsPerEdge = new HashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong bypassed = new AtomicLong();
+	private final AtomicLong invalidated = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+	private final AtomicLong hitNanos = new AtomicLong();
+	private final AtomicLong missNanos = new AtomicLong();
+
+	public QueryCache(int maxEntries, Duration ttl) {
+		this(maxEntries, ttl, Clock.systemDefaultZone());
+	}
+
+	protected QueryCache(int maxEntries, Duration ttl, Clock clock) {
+		this.maxEntries = maxEntries;
+		this.ttl = ttl.toMillis();
+		this.completeTtl = Math.max(this.ttl, COMPLETE_TTL.toMillis());
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets a value from the cache or loads it via the {@link Loader}.
+	 *
+	 * @param <T>        the type of the value
+	 * @param type       the {@link Type} of query
+	 * @param edgeId     the Edge-ID
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}; null for {@link Type#ENERGY}
+	 * @param copy       creates a copy of a value that can be handed out to the
+	 *                   caller
+	 * @param loader     the {@link Loader}
+	 * @return the value; possibly null
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Type type, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, Resolution resolution, UnaryOperator<T> copy, Loader<T> loader)
+			throws OpenemsNamedException {
+		if (this.maxEntries <= 0 || edgeId == null || !isAlignedToDays(fromDate) || !isAlignedToDays(toDate)) {
+			this.bypassed.incrementAndGet();
+			return loader.load();
+		}
+
+		var start = System.nanoTime();
+		var key = new Key(type, edgeId, channels, fromDate, toDate, resolution);
+		Entry entry;
+		synchronized (this) {
+			entry = this.entries.get(key);
+			if (entry != null && entry.expiresAt < this.clock.millis()) {
+				this.entries.remove(key);
+				this.removeFromEdge(key);
+				entry = null;
+			}
+		}
+		if (entry != null) {
+			var result = copy.apply((T) entry.value);
+			this.hits.incrementAndGet();
+			this.hitNanos.addAndGet(System.nanoTime() - start);
+			return result;
+		}
+
+		// Register the Load, so that invalidate() during loading is not lost
+		var load = new Load(key);
+		synchronized (this) {
+			this.loadsPerEdge.computeIfAbsent(edgeId, e -> new HashSet<>()).add(load);
+		}
+		final T value;
+		try {
+			value = loader.load();
+		} finally {
+			synchronized (this) {
+				this.removeLoad(load);
+			}
+		}
+		this.misses.incrementAndGet();
+		this.missNanos.addAndGet(System.nanoTime() - start);
+		if (value == null) {
+			return null;
+		}
+
+		// Windows that end before today are complete and expire later
+		var startOfToday = ZonedDateTime.now(this.clock.withZone(key.zone)).truncatedTo(ChronoUnit.DAYS);
+		var expiresAt = this.clock.millis() + (toDate.isAfter(startOfToday) ? this.ttl : this.completeTtl);
+		synchronized (this) {
+			if (!load.isInvalidated) {
+				this.entries.put(key, new Entry(value, expiresAt));
+				this.keysPerEdge.computeIfAbsent(edgeId, e -> new HashSet<>()).add(key);
+				this.evict();
+			}
+		}
+		return copy.apply(value);
+	}
+
+	/**
+	 * Invalidates all entries of an Edge whose time window and Channels overlap
+	 * with newly written data.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param data   the written data, as in
+	 *               {@link TimedataManagerImpl#write(String, TreeBasedTable)}
+	 */
+	public void invalidate(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
+		if (data.isEmpty()) {
+			return;
+		}
+		var fromTimestamp = data.rowKeySet().first();
+		var toTimestamp = data.rowKeySet().last();
+		var channels = data.columnKeySet();
+		synchronized (this) {
+			var loads = this.loadsPerEdge.get(edgeId);
+			if (loads != null) {
+				for (var load : loads) {
+					if (load.key.overlaps(fromTimestamp, toTimestamp, channels)) {
+						load.isInvalidated = true;
+					}
+				}
+			}
+
+			var keys = this.keysPerEdge.get(edgeId);
+			if (keys == null) {
+				return;
+			}
+			var iterator = keys.iterator();
+			while (iterator.hasNext()) {
+				var key = iterator.next();
+				if (key.overlaps(fromTimestamp, toTimestamp, channels)) {
+					iterator.remove();
+					this.entries.remove(key);
+					this.invalidated.incrementAndGet();
+				}
+			}
+			if (keys.isEmpty()) {
+				this.keysPerEdge.remove(edgeId);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of cached entries.
+	 *
+	 * @return the number of entries
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets a debug log of the cache statistics.
+	 *
+	 * @return the debug log
+	 */
+	public String debugLog() {
+		var hits = this.hits.get();
+		var misses = this.misses.get();
+		var total = hits + misses;
+		return new StringBuilder("Cache ") //
+				.append("Entries:").append(this.size()).append("/").append(this.maxEntries) //
+				.append("|Hits:").append(hits) //
+				.append("|Misses:").append(misses) //
+				.append("|HitRatio:").append(total == 0 ? 0 : hits * 100 / total).append("%") //
+				.append("|AvgHit:").append(avgMillis(this.hitNanos.get(), hits)).append("ms") //
+				.append("|AvgMiss:").append(avgMillis(this.missNanos.get(), misses)).append("ms") //
+				.append("|Invalidated:").append(this.invalidated.get()) //
+				.append("|Evicted:").append(this.evicted.get()) //
+				.append("|Bypassed:").append(this.bypassed.get()) //
+				.toString();
+	}
+
+	private void evict() {
+		var iterator = this.entries.keySet().iterator();
+		while (this.entries.size() > this.maxEntries && iterator.hasNext()) {
+			var key = iterator.next();
+			iterator.remove();
+			this.removeFromEdge(key);
+			this.evicted.incrementAndGet();
+		}
+	}
+
+	private void removeFromEdge(Key key) {
+		var keys = this.keysPerEdge.get(key.edgeId);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				this.keysPerEdge.remove(key.edgeId);
+			}
+		}
+	}
+
+	private void removeLoad(Load load) {
+		var loads = this.loadsPerEdge.get(load.key.edgeId);
+		if (loads != null) {
+			loads.remove(load);
+			if (loads.isEmpty()) {
+				this.loadsPerEdge.remove(load.key.edgeId);
+			}
+		}
+	}
+
+	private static boolean isAlignedToDays(ZonedDateTime date) {
+		return date.equals(date.truncatedTo(ChronoUnit.DAYS));
+	}
+
+	private static String avgMillis(long nanos, long count) {
+		if (count == 0) {
+			return "0";
+		}
+		return String.format("%.1f", nanos / (double) count / 1_000_000);
+	}
+
+}
@@ -1,15 +1,22 @@
 package io.openems.backend.core.timedatamanager;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
@@ -20,6 +27,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.TreeBasedTable;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
@@ -27,8 +35,10 @@ import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.timedata.TimedataManager;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -43,6 +53,12 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	private final List<Timedata> _rawTimedatas = new ArrayList<>();
 	private final AtomicReference<ImmutableSortedSet<Timedata>> timedatas = new AtomicReference<>(
 			ImmutableSortedSet.of());
+	private final QueryCache queryCache;
+	private final ScheduledExecutorService debugLogExecutor = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder() //
+					.setNameFormat("TimedataManager-DebugLog-%d") //
+					.setDaemon(true) //
+					.build());
 
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
@@ -97,27 +113,63 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		super("Core.TimedataManager");
 		this._configTimedataIds = Arrays.asList(config.timedata_ids());
 		this.updateSortedTimedatas();
+		this.queryCache = new QueryCache(config.queryCacheSize(), Duration.ofSeconds(config.queryCacheTtl()));
+
+		if (config.queryCacheSize() > 0) {
+			this.debugLogExecutor.scheduleWithFixedDelay(() -> {
+				// Debug-Log
+				this.log.info(new StringBuilder("[TimedataManager] [monitor] ") //
+						.append(this.queryCache.debugLog()) //
+						.toString());
+			}, 60, 60, TimeUnit.SECONDS);
+		}
+	}
+
+	@Deactivate
+	private void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
 	}
 
 	@Override
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		var data = this.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution);
+		return data == null ? null : data.toMap();
+	}
+
+	@Override
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+		// HistoricTimeseriesData is immutable and needs no copy
+		return this.queryCache.get(QueryCache.Type.DATA, edgeId, fromDate, toDate, channels, resolution,
+				UnaryOperator.identity(),
+				() -> this.queryHistoricTimeseriesDataUncached(edgeId, fromDate, toDate, channels, resolution));
+	}
+
+	private HistoricTimeseriesData queryHistoricTimeseriesDataUncached(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
-			var data = timedata.queryHistoricData(edgeId, fromDate, toDate, channels, resolution);
+			var data = timedata.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution);
 			if (data != null) {
 				return data;
 			}
 		}
 		// no result
-		this.logWarn(this.log, "No timedata result for 'queryHistoricData' on Edge=" + edgeId + "; FromDate=" + fromDate
-				+ "; ToDate=" + toDate + "; Channels=" + channels + "; Resolution=" + resolution);
+		this.logWarn(this.log, "No timedata result for 'queryHistoricTimeseriesData' on Edge=" + edgeId + "; FromDate="
+				+ fromDate + "; ToDate=" + toDate + "; Channels=" + channels + "; Resolution=" + resolution);
 		return null;
 	}
 
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		return this.queryCache.get(QueryCache.Type.ENERGY, edgeId, fromDate, toDate, channels, null, TreeMap::new,
+				() -> this.queryHistoricEnergyUncached(edgeId, fromDate, toDate, channels));
+	}
+
+	private SortedMap<ChannelAddress, JsonElement> queryHistoricEnergyUncached(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
 			var data = timedata.queryHistoricEnergy(edgeId, fromDate, toDate, channels);
 			if (data != null) {
@@ -134,6 +186,14 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		return this.queryCache.get(QueryCache.Type.ENERGY_PER_PERIOD, edgeId, fromDate, toDate, channels, resolution,
+				TimedataManagerImpl::copy,
+				() -> this.queryHistoricEnergyPerPeriodUncached(edgeId, fromDate, toDate, channels, resolution));
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriodUncached(
+			String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		for (var timedata : this.timedatas.get()) {
 			var data = timedata.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution);
 			if (data != null) {
@@ -148,6 +208,7 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, String, JsonElement> data) {
+		this.queryCache.invalidate(edgeId, data);
 		for (var timedata : this.timedatas.get()) {
 			try {
 				timedata.write(edgeId, data);
@@ -157,4 +218,13 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		}
 	}
 
+	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> copy(
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		for (var entry : table.entrySet()) {
+			result.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+		}
+		return result;
+	}
+
 }
@@ -0,0 +1,189 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.core.timedatamanager.QueryCache.Type;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryCacheTest {
+
+	private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+	private static final ChannelAddress ENERGY = new ChannelAddress("_sum", "GridBuyActiveEnergy");
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+
+	private static class TestClock extends Clock {
+
+		private Instant instant;
+
+		public TestClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZONE;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+		public void leap(long amountToAdd, ChronoUnit unit) {
+			this.instant = this.instant.plus(amountToAdd, unit);
+		}
+	}
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private SortedMap<ChannelAddress, JsonElement> query(QueryCache cache, String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		return cache.get(Type.ENERGY, edgeId, fromDate, toDate, channels, null, TreeMap::new, () -> {
+			this.loads.incrementAndGet();
+			SortedMap<ChannelAddress, JsonElement> result = new TreeMap<>();
+			for (var channel : channels) {
+				result.put(channel, new JsonPrimitive(100));
+			}
+			return result;
+		});
+	}
+
+	@Test
+	public void testPastAndCurrentDay() throws OpenemsNamedException {
+		var clock = new TestClock(Instant.parse("2022-06-15T10:00:00Z"));
+		var cache = new QueryCache(10, Duration.ofMinutes(1), clock);
+		var today = ZonedDateTime.now(clock).truncatedTo(ChronoUnit.DAYS);
+		var yesterday = today.minusDays(1);
+
+		// Completed day expires after COMPLETE_TTL
+		var first = this.query(cache, "edge0", yesterday, today, Set.of(ENERGY));
+		var second = this.query(cache, "edge0", yesterday, today, Set.of(ENERGY));
+		assertEquals(1, this.loads.get());
+		assertEquals(first, second);
+		assertNotSame(first, second);
+		clock.leap(12, ChronoUnit.HOURS);
+		this.query(cache, "edge0", yesterday, today, Set.of(ENERGY));
+		assertEquals(1, this.loads.get());
+		clock.leap(13, ChronoUnit.HOURS);
+		this.query(cache, "edge0", yesterday, today, Set.of(ENERGY));
+		assertEquals(2, this.loads.get());
+
+		// Current day expires after TTL
+		clock.leap(-25, ChronoUnit.HOURS);
+		this.query(cache, "edge0", today, today.plusDays(1), Set.of(ENERGY));
+		this.query(cache, "edge0", today, today.plusDays(1), Set.of(ENERGY));
+		assertEquals(3, this.loads.get());
+		clock.leap(2, ChronoUnit.MINUTES);
+		this.query(cache, "edge0", today, today.plusDays(1), Set.of(ENERGY));
+		assertEquals(4, this.loads.get());
+
+		// Unaligned windows bypass the cache
+		this.query(cache, "edge0", today.plusHours(1), today.plusDays(1), Set.of(ENERGY));
+		this.query(cache, "edge0", today.plusHours(1), today.plusDays(1), Set.of(ENERGY));
+		assertEquals(6, this.loads.get());
+	}
+
+	@Test
+	public void testInvalidate() throws OpenemsNamedException {
+		var clock = new TestClock(Instant.parse("2022-06-15T10:00:00Z"));
+		var cache = new QueryCache(10, Duration.ofHours(1), clock);
+		var today = ZonedDateTime.now(clock).truncatedTo(ChronoUnit.DAYS);
+		var tomorrow = today.plusDays(1);
+
+		this.query(cache, "edge0", today, tomorrow, Set.of(ENERGY));
+		this.query(cache, "edge1", today, tomorrow, Set.of(ENERGY));
+		assertEquals(2, cache.size());
+
+		TreeBasedTable<Long, String, JsonElement> data = TreeBasedTable.create();
+
+		// Other Channel: no invalidation
+		data.put(clock.millis(), SOC.toString(), new JsonPrimitive(50));
+		cache.invalidate("edge0", data);
+		assertEquals(2, cache.size());
+
+		// Outside of window: no invalidation
+		data.clear();
+		data.put(tomorrow.toInstant().toEpochMilli(), ENERGY.toString(), new JsonPrimitive(50));
+		cache.invalidate("edge0", data);
+		assertEquals(2, cache.size());
+
+		// Matching Channel and window: invalidates only 'edge0'
+		data.clear();
+		data.put(clock.millis(), ENERGY.toString(), new JsonPrimitive(50));
+		cache.invalidate("edge0", data);
+		assertEquals(1, cache.size());
+		this.query(cache, "edge0", today, tomorrow, Set.of(ENERGY));
+		this.query(cache, "edge1", today, tomorrow, Set.of(ENERGY));
+		assertEquals(3, this.loads.get());
+	}
+
+	@Test
+	public void testInvalidateWhileLoading() throws OpenemsNamedException {
+		var clock = new TestClock(Instant.parse("2022-06-15T10:00:00Z"));
+		var cache = new QueryCache(10, Duration.ofHours(1), clock);
+		var today = ZonedDateTime.now(clock).truncatedTo(ChronoUnit.DAYS);
+		var tomorrow = today.plusDays(1);
+
+		TreeBasedTable<Long, String, JsonElement> data = TreeBasedTable.create();
+		data.put(clock.millis(), ENERGY.toString(), new JsonPrimitive(50));
+
+		// Data is written while the query is loading: result is not cached
+		var result = cache.get(Type.ENERGY, "edge0", today, tomorrow, Set.of(ENERGY), null, TreeMap::new, () -> {
+			cache.invalidate("edge0", data);
+			SortedMap<ChannelAddress, JsonElement> value = new TreeMap<>();
+			value.put(ENERGY, new JsonPrimitive(100));
+			return value;
+		});
+		assertEquals(100, result.get(ENERGY).getAsInt());
+		assertEquals(0, cache.size());
+
+		// Next load is cached again
+		this.query(cache, "edge0", today, tomorrow, Set.of(ENERGY));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testEviction() throws OpenemsNamedException {
+		var clock = new TestClock(Instant.parse("2022-06-15T10:00:00Z"));
+		var cache = new QueryCache(2, Duration.ofHours(1), clock);
+		var today = ZonedDateTime.now(clock).truncatedTo(ChronoUnit.DAYS);
+
+		this.query(cache, "edge0", today.minusDays(3), today.minusDays(2), Set.of(ENERGY));
+		this.query(cache, "edge0", today.minusDays(2), today.minusDays(1), Set.of(ENERGY));
+		// Access first entry -> second is least recently used
+		this.query(cache, "edge0", today.minusDays(3), today.minusDays(2), Set.of(ENERGY));
+		this.query(cache, "edge0", today.minusDays(1), today, Set.of(ENERGY));
+		assertEquals(2, cache.size());
+		assertEquals(3, this.loads.get());
+
+		this.query(cache, "edge0", today.minusDays(3), today.minusDays(2), Set.of(ENERGY));
+		assertEquals(3, this.loads.get());
+		this.query(cache, "edge0", today.minusDays(2), today.minusDays(1), Set.of(ENERGY));
+		assertEquals(4, this.loads.get());
+	}
+
+}
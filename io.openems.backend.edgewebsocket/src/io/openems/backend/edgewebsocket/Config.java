@@ -4,6 +4,7 @@ import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
 import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
+import io.openems.common.websocket.ConnectionLane.OverflowPolicy;
 
 @ObjectClassDefinition(//
 		name = "Edge.Websocket", //
@@ -16,6 +17,12 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Queue Capacity", description = "The maximum number of queued data notifications per Edge connection")
+	int laneCapacity() default 1000;
+
+	@AttributeDefinition(name = "Overflow Policy", description = "Which data notification is dropped if the queue of an Edge connection is full")
+	OverflowPolicy overflowPolicy() default OverflowPolicy.DROP_OLDEST;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	DebugMode debugMode() default DebugMode.OFF;
 
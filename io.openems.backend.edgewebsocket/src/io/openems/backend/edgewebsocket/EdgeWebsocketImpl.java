@@ -1,5 +1,7 @@
 package io.openems.backend.edgewebsocket;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -28,24 +30,31 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.edgewebsocket.EdgeCache;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
+import io.openems.backend.common.metadata.Edge.Events;
 import io.openems.backend.common.metadata.Metadata;
 import io.openems.backend.common.metadata.User;
 import io.openems.backend.common.timedata.TimedataManager;
 import io.openems.backend.common.uiwebsocket.UiWebsocket;
+import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.request.AuthenticatedRpcRequest;
 import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.jsonrpc.response.AuthenticatedRpcResponse;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
+import io.openems.common.websocket.ConnectionLane.OverflowPolicy;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -77,6 +86,28 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	protected volatile UiWebsocket uiWebsocket;
 
+	/**
+	 * Maximum number of distinct Factories that are kept for sharing.
+	 */
+	private static final int MAX_FACTORIES = 10_000;
+
+	/**
+	 * Factories of all Edges by their content hash (see
+	 * {@link EdgeConfig.Factory#getHash()}). Edges with the same version share the
+	 * same Factory instances. The least recently used Factories are evicted
+	 * beyond {@link #MAX_FACTORIES}; they stay valid in the EdgeConfigs that use
+	 * them and Edges are asked for their definition again.
+	 */
+	protected final Map<String, EdgeConfig.Factory> factories = Collections
+			.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, EdgeConfig.Factory> eldest) {
+					return this.size() > MAX_FACTORIES;
+				}
+			});
+
 	public EdgeWebsocketImpl() {
 		super("Edge.Websocket");
 		this.systemLogHandler = new SystemLogHandler(this);
@@ -91,6 +122,7 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 			this.log.info(new StringBuilder("[monitor] ") //
 					.append("Edge-Connections: ")
 					.append(this.server != null ? this.server.getConnections().size() : "initializing") //
+					.append(this.debugLogEdgeCaches()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 	}
@@ -101,15 +133,56 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 		this.stopServer();
 	}
 
+	/**
+	 * Builds a memory footprint report of the {@link EdgeCache}s of all connected
+	 * Edges.
+	 *
+	 * @return the report; empty if the server is not initialized
+	 */
+	private String debugLogEdgeCaches() {
+		var server = this.server;
+		if (server == null) {
+			return "";
+		}
+		var channels = 0L;
+		var footprint = 0L;
+		var maxFootprint = 0L;
+		var maxEdgeId = "";
+		for (WebSocket ws : server.getConnections()) {
+			WsData wsData = ws.getAttachment();
+			if (wsData == null) {
+				continue;
+			}
+			var edgeFootprint = wsData.edgeCache.getMemoryFootprint();
+			channels += wsData.edgeCache.getNumberOfChannels();
+			footprint += edgeFootprint;
+			if (edgeFootprint > maxFootprint) {
+				maxFootprint = edgeFootprint;
+				maxEdgeId = wsData.getEdgeId().orElse("");
+			}
+		}
+		return new StringBuilder() //
+				.append("|EdgeCache Channels: ").append(channels) //
+				.append("|EdgeCache Memory: ").append(footprint / 1024).append("kB") //
+				.append(" (max ").append(maxEdgeId).append(": ").append(maxFootprint / 1024).append("kB)") //
+				.toString();
+	}
+
 	/**
 	 * Create and start new server.
 	 *
-	 * @param port      the port
-	 * @param poolSize  number of threads dedicated to handle the tasks
-	 * @param debugMode activate a regular debug log about the state of the tasks
+	 * @param port           the port
+	 * @param poolSize       number of threads dedicated to handle the tasks
+	 * @param debugMode      activate a regular debug log about the state of the
+	 *                       tasks
+	 * @param laneCapacity   the maximum number of queued data notifications per
+	 *                       Edge connection
+	 * @param overflowPolicy the {@link OverflowPolicy} if a queue is full
 	 */
-	private synchronized void startServer(int port, int poolSize, DebugMode debugMode) {
-		this.server = new WebsocketServer(this, this.getName(), port, poolSize, debugMode);
+	private synchronized void startServer(int port, int poolSize, DebugMode debugMode, int laneCapacity,
+			OverflowPolicy overflowPolicy) {
+		this.server = new WebsocketServer(this, this.getName(), port, poolSize, debugMode, laneCapacity,
+				overflowPolicy);
 		this.server.start();
 	}
 
@@ -122,6 +195,33 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 		}
 	}
 
+	/**
+	 * Announces a new {@link EdgeConfig} of an Edge to Metadata and forwards it to
+	 * the UI.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param message the {@link EdgeConfigNotification}
+	 * @throws OpenemsException on error
+	 */
+	protected void handleEdgeConfig(String edgeId, EdgeConfigNotification message) throws OpenemsException {
+		// save config in metadata
+		var edge = this.metadata.getEdgeOrError(edgeId);
+		EventBuilder.from(this.eventAdmin, Events.ON_SET_CONFIG) //
+				.addArg(Events.OnSetConfig.EDGE, edge) //
+				.addArg(Events.OnSetConfig.CONFIG, message.getConfig()) //
+				.send(); //
+
+		// forward
+		try {
+			this.uiWebsocket.sendBroadcast(edgeId, new EdgeRpcNotification(edgeId, message));
+		} catch (OpenemsNamedException e) {
+			this.logWarn(this.log, edgeId, "Unable to forward EdgeConfigNotification to UI: " + e.getMessage());
+		} catch (NullPointerException e) {
+			this.logWarn(this.log, edgeId, "Unable to forward EdgeConfigNotification to UI: NullPointerException");
+			e.printStackTrace();
+		}
+	}
+
 	/**
 	 * Gets whether the Websocket for this Edge is connected.
 	 *
@@ -262,7 +362,8 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 	public void handleEvent(Event event) {
 		switch (event.getTopic()) {
 		case Metadata.Events.AFTER_IS_INITIALIZED:
-			this.startServer(this.config.port(), this.config.poolSize(), this.config.debugMode());
+			this.startServer(this.config.port(), this.config.poolSize(), this.config.debugMode(),
+					this.config.laneCapacity(), this.config.overflowPolicy());
 			break;
 		}
 	}
@@ -279,8 +380,10 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent implement
 		if (wsData == null) {
 			return result;
 		}
-		for (var channelAddress : channelAddresses) {
-			result.put(channelAddress, wsData.edgeCache.getChannelValue(channelAddress.toString()));
+		var addresses = channelAddresses.stream() //
+				.collect(Collectors.toMap(ChannelAddress::toString, Function.identity()));
+		for (var entry : wsData.edgeCache.getChannelValues(addresses.keySet()).entrySet()) {
+			result.put(addresses.get(entry.getKey()), entry.getValue());
 		}
 		return result;
 	}
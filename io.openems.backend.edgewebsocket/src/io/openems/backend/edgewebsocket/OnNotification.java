@@ -1,6 +1,6 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
@@ -16,11 +16,9 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
-import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
@@ -55,7 +53,10 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			return;
 
 		case TimestampedDataNotification.METHOD:
-			this.handleTimestampedDataNotification(TimestampedDataNotification.from(notification), wsData);
+			// Binary messages are already decoded to a TimestampedDataNotification
+			this.handleTimestampedDataNotification(notification instanceof TimestampedDataNotification //
+					? (TimestampedDataNotification) notification //
+					: TimestampedDataNotification.from(notification), wsData);
 			return;
 
 		case SystemLogNotification.METHOD:
@@ -75,24 +76,7 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 	 */
 	private void handleEdgeConfigNotification(EdgeConfigNotification message, WsData wsData) throws OpenemsException {
 		var edgeId = wsData.assertEdgeId(message);
-
-		// save config in metadata
-		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		EventBuilder.from(this.parent.eventAdmin, Events.ON_SET_CONFIG) //
-				.addArg(Events.OnSetConfig.EDGE, edge) //
-				.addArg(Events.OnSetConfig.CONFIG, message.getConfig()) //
-				.send(); //
-
-		// forward
-		try {
-			this.parent.uiWebsocket.sendBroadcast(edgeId, new EdgeRpcNotification(edgeId, message));
-		} catch (OpenemsNamedException e) {
-			this.parent.logWarn(this.log, edgeId, "Unable to forward EdgeConfigNotification to UI: " + e.getMessage());
-		} catch (NullPointerException e) {
-			this.parent.logWarn(this.log, edgeId,
-					"Unable to forward EdgeConfigNotification to UI: NullPointerException");
-			e.printStackTrace();
-		}
+		this.parent.handleEdgeConfig(edgeId, message);
 	}
 
 	/**
@@ -122,20 +106,20 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			var d = JsonUtils.getAsJsonObject(entry.getValue());
-
+		for (Map<String, JsonElement> d : data.rowMap().values()) {
 			// set specific Edge values
-			if (d.has("_sum/State") && d.get("_sum/State").isJsonPrimitive()) {
-				var sumState = Level.fromJson(d, "_sum/State").orElse(Level.FAULT);
+			var sumStateElement = d.get("_sum/State");
+			if (sumStateElement != null && sumStateElement.isJsonPrimitive()) {
+				var sumState = Level.fromJson(sumStateElement).orElse(Level.FAULT);
 				EventBuilder.from(this.parent.eventAdmin, Events.ON_SET_SUM_STATE)
 						.addArg(Events.OnSetSumState.EDGE, edge) //
 						.addArg(Events.OnSetSumState.SUM_STATE, sumState) //
 						.send();
 			}
 
-			if (d.has("_meta/Version") && d.get("_meta/Version").isJsonPrimitive()) {
-				var version = JsonUtils.getAsPrimitive(d, "_meta/Version").getAsString();
+			var versionElement = d.get("_meta/Version");
+			if (versionElement != null && versionElement.isJsonPrimitive()) {
+				var version = versionElement.getAsString();
 				edge.setVersion(SemanticVersion.fromString(version));
 			}
 
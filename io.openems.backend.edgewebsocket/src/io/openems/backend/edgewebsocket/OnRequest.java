@@ -1,6 +1,10 @@
 package io.openems.backend.edgewebsocket;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
@@ -11,6 +15,14 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataDecoder;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataEncoder;
+import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
+import io.openems.common.jsonrpc.request.EnableBinaryTimestampedDataRequest;
+import io.openems.common.jsonrpc.response.EdgeConfigDeltaResponse;
+import io.openems.common.jsonrpc.response.EnableBinaryTimestampedDataResponse;
+import io.openems.common.types.EdgeConfig;
 
 public class OnRequest implements io.openems.common.websocket.OnRequest {
 
@@ -24,8 +36,90 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	@Override
 	public CompletableFuture<? extends JsonrpcResponseSuccess> run(WebSocket ws, JsonrpcRequest request)
 			throws OpenemsException, OpenemsNamedException {
+		switch (request.getMethod()) {
+		case EnableBinaryTimestampedDataRequest.METHOD:
+			return this.handleEnableBinaryTimestampedDataRequest(ws, EnableBinaryTimestampedDataRequest.from(request));
+		case EdgeConfigDeltaRequest.METHOD:
+			return this.handleEdgeConfigDeltaRequest(ws, EdgeConfigDeltaRequest.from(request));
+		}
+
 		this.parent.logWarn(this.log, "Unhandled Request: " + request);
 		throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
 	}
 
+	/**
+	 * Handles a {@link EnableBinaryTimestampedDataRequest}.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param request the {@link EnableBinaryTimestampedDataRequest}
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<EnableBinaryTimestampedDataResponse> handleEnableBinaryTimestampedDataRequest(
+			WebSocket ws, EnableBinaryTimestampedDataRequest request) throws OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+		var edgeId = wsData.assertEdgeIdWithTimeout(request, 5, TimeUnit.SECONDS);
+		if (request.getVersion() != BinaryTimestampedDataEncoder.VERSION) {
+			throw new OpenemsException("Binary timestamped data version [" + request.getVersion()
+					+ "] is not supported. Expected [" + BinaryTimestampedDataEncoder.VERSION + "]");
+		}
+
+		// Frames are decoded with a fresh session state from now on
+		wsData.setBinaryDecoder(new BinaryTimestampedDataDecoder());
+		this.parent.logInfo(this.log, edgeId,
+				"Enabled binary timestamped data" + (request.isDeflate() ? " with deflate" : ""));
+
+		return CompletableFuture.completedFuture(new EnableBinaryTimestampedDataResponse(request.getId(),
+				BinaryTimestampedDataEncoder.VERSION, request.isDeflate()));
+	}
+
+	/**
+	 * Handles a {@link EdgeConfigDeltaRequest}.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param request the {@link EdgeConfigDeltaRequest}
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<EdgeConfigDeltaResponse> handleEdgeConfigDeltaRequest(WebSocket ws,
+			EdgeConfigDeltaRequest request) throws OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+		var edgeId = wsData.assertEdgeIdWithTimeout(request, 5, TimeUnit.SECONDS);
+		var delta = request.getDelta();
+		var factories = this.parent.factories;
+		// Keep the known Factories of this delta until it is applied, even if evicted
+		var knownFactories = new HashMap<String, EdgeConfig.Factory>();
+		Function<String, EdgeConfig.Factory> factoryByHash = hash -> knownFactories.computeIfAbsent(hash,
+				factories::get);
+
+		final EdgeConfig config;
+		synchronized (wsData) {
+			var baseVersion = delta.getBaseVersion();
+			if (baseVersion != null && !baseVersion.equals(wsData.getConfigVersion())) {
+				// Edge has to send the complete EdgeConfig
+				throw new OpenemsException("EdgeConfig version [" + baseVersion
+						+ "] is not acknowledged. Expected [" + wsData.getConfigVersion() + "]");
+			}
+
+			var missingFactories = delta.getMissingFactories(factoryByHash);
+			if (!missingFactories.isEmpty()) {
+				return CompletableFuture.completedFuture(
+						new EdgeConfigDeltaResponse(request.getId(), delta.getVersion(), missingFactories));
+			}
+
+			for (var entry : delta.getFactoryDefinitions().entrySet()) {
+				factories.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+			config = delta.apply(wsData.getConfig(), factoryByHash);
+			wsData.setConfig(delta.getVersion(), config);
+		}
+
+		if (!delta.isEmpty()) {
+			this.parent.handleEdgeConfig(edgeId, new EdgeConfigNotification(config));
+		}
+
+		return CompletableFuture.completedFuture(
+				new EdgeConfigDeltaResponse(request.getId(), delta.getVersion(), Collections.emptySet()));
+	}
+
 }
@@ -1,5 +1,6 @@
 package io.openems.backend.edgewebsocket;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -9,6 +10,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
 import org.slf4j.Logger;
 
 import com.google.gson.JsonElement;
@@ -16,11 +18,13 @@ import com.google.gson.JsonElement;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.SystemLog;
 import io.openems.common.utils.JsonUtils;
 import io.openems.common.websocket.AbstractWebsocketServer;
+import io.openems.common.websocket.ConnectionLane.OverflowPolicy;
 
 public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
@@ -31,9 +35,10 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 	private final OnError onError;
 	private final OnClose onClose;
 
-	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize, DebugMode debugMode) {
+	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize, DebugMode debugMode,
+			int laneCapacity, OverflowPolicy overflowPolicy) {
 		super(name, port, poolSize, debugMode, (executor) -> {
-		});
+		}, laneCapacity, overflowPolicy);
 		this.parent = parent;
 		this.onOpen = new OnOpen(parent);
 		this.onRequest = new OnRequest(parent);
@@ -47,6 +52,12 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		return new WsData();
 	}
 
+	@Override
+	protected boolean isDroppable(JsonrpcNotification notification) {
+		// Data is superseded by newer data; EdgeConfig and SystemLog must not be lost
+		return TimestampedDataNotification.METHOD.equals(notification.getMethod());
+	}
+
 	/**
 	 * Is the given Edge online?.
 	 *
@@ -125,6 +136,24 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		throw new OpenemsException("EdgeWs. handleNonJsonrpcMessage", lastException);
 	}
 
+	@Override
+	protected JsonrpcMessage handleBinaryMessage(WebSocket ws, ByteBuffer bytes) throws OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+		var decoder = wsData.getBinaryDecoder();
+		if (decoder == null) {
+			throw new OpenemsException("Binary timestamped data was not enabled for " + wsData);
+		}
+		try {
+			return decoder.decode(bytes);
+
+		} catch (OpenemsException e) {
+			// Session state is undefined now -> force the Edge to reconnect and renegotiate
+			wsData.setBinaryDecoder(null);
+			ws.close(CloseFrame.PROTOCOL_ERROR, "Invalid binary timestamped data");
+			throw e;
+		}
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		this.parent.logInfo(log, message);
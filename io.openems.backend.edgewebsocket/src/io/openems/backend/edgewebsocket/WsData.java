@@ -10,6 +10,9 @@ import io.openems.backend.common.edgewebsocket.EdgeCache;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataDecoder;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
+import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.StringUtils;
 
 public class WsData extends io.openems.common.websocket.WsData {
@@ -23,6 +26,19 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 	public final EdgeCache edgeCache = new EdgeCache();
 
+	/**
+	 * Decoder for binary timestamped data; null if the binary format was not
+	 * negotiated for this connection.
+	 */
+	private volatile BinaryTimestampedDataDecoder binaryDecoder = null;
+
+	/**
+	 * The last acknowledged {@link EdgeConfig} and its version; null if no
+	 * {@link EdgeConfigDeltaRequest} was received on this connection.
+	 */
+	private EdgeConfig config = null;
+	private Integer configVersion = null;
+
 	/**
 	 * Asserts that the Edge-ID is available (i.e. properly authenticated).
 	 *
@@ -69,6 +85,55 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.edgeId;
 	}
 
+	/**
+	 * Sets the {@link BinaryTimestampedDataDecoder} for this connection.
+	 *
+	 * @param binaryDecoder the {@link BinaryTimestampedDataDecoder}; null to
+	 *                      disable binary timestamped data
+	 */
+	public void setBinaryDecoder(BinaryTimestampedDataDecoder binaryDecoder) {
+		this.binaryDecoder = binaryDecoder;
+	}
+
+	/**
+	 * Gets the {@link BinaryTimestampedDataDecoder} for this connection.
+	 *
+	 * @return the {@link BinaryTimestampedDataDecoder}; null if the binary format
+	 *         was not negotiated
+	 */
+	public BinaryTimestampedDataDecoder getBinaryDecoder() {
+		return this.binaryDecoder;
+	}
+
+	/**
+	 * Sets the acknowledged {@link EdgeConfig} for this connection.
+	 *
+	 * @param version the version
+	 * @param config  the {@link EdgeConfig}
+	 */
+	public synchronized void setConfig(int version, EdgeConfig config) {
+		this.configVersion = version;
+		this.config = config;
+	}
+
+	/**
+	 * Gets the acknowledged {@link EdgeConfig} for this connection.
+	 *
+	 * @return the {@link EdgeConfig}; empty if none was acknowledged
+	 */
+	public synchronized EdgeConfig getConfig() {
+		return this.config != null ? this.config : EdgeConfig.empty();
+	}
+
+	/**
+	 * Gets the version of the acknowledged {@link EdgeConfig}.
+	 *
+	 * @return the version; null if none was acknowledged
+	 */
+	public synchronized Integer getConfigVersion() {
+		return this.configVersion;
+	}
+
 	@Override
 	public String toString() {
 		return "EdgeWebsocket.WsData [" //
@@ -4,8 +4,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
@@ -13,6 +13,10 @@ import io.openems.backend.metadata.odoo.postgres.PgUtils;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.SemanticVersion;
 
+/**
+ * Caches Edges by Edge-ID, Odoo-ID and Apikey. Thread-safe, so that it can be
+ * filled by multiple loader threads in parallel.
+ */
 public class EdgeCache {
 
 	public static final int EXPECTED_CACHE_SIZE = 1_000;
@@ -22,19 +26,19 @@ public class EdgeCache {
 	/**
 	 * Map Edge-ID (String) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<String, MyEdge> edgeIdToEdge = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, MyEdge> edgeIdToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
 	 * Map Odoo-ID (Integer) to Edge-ID (String). Initialized with expected cache
 	 * size.
 	 */
-	private final Map<Integer, String> odooIdToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<Integer, String> odooIdToEdgeId = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
 	 * Map Apikey (String) to Edge-ID (String). Initialized with expected cache
 	 * size.
 	 */
-	private final Map<String, String> apikeyToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, String> apikeyToEdgeId = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	public EdgeCache(OdooMetadata parent) {
 		this.parent = parent;
@@ -43,12 +47,16 @@ public class EdgeCache {
 	/**
 	 * Adds a Edge or Updates an existing Edge from a SQL ResultSet.
 	 *
+	 * <p>
+	 * Updates are read from the database, so they do not call the listeners of
+	 * the Edge.
+	 *
 	 * @param rs the ResultSet record
 	 * @return the new or updated Edge instance
 	 * @throws SQLException     on error
 	 * @throws OpenemsException on error
 	 */
-	public synchronized MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
+	public MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
 		// simple fields
 		var edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 		var odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
@@ -60,22 +68,33 @@ public class EdgeCache {
 		var producttype = PgUtils.getAsStringOrElse(rs, EdgeDevice.PRODUCTTYPE, "");
 		var lastmessage = PgUtils.getAsDateOrElse(rs, EdgeDevice.LASTMESSAGE, null);
 
-		var edge = this.edgeIdToEdge.get(edgeId);
-		if (edge == null) {
-			// This is new -> create instance of Edge
-			edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, producttype, lastmessage);
-			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
-		} else {
-			// Edge exists -> update information
-			edge.setComment(comment);
-			edge.setVersion(SemanticVersion.fromStringOrZero(version));
-			edge.setProducttype(producttype);
-			edge.setLastmessage(lastmessage);
-		}
+		return this.edgeIdToEdge.compute(edgeId, (key, edge) -> {
+			if (edge == null) {
+				// This is new -> create instance of Edge
+				edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, producttype, lastmessage);
+				this.odooIdToEdgeId.put(odooId, edgeId);
+				this.apikeyToEdgeId.put(apikey, edgeId);
+			} else {
+				// Edge exists -> update information
+				edge.setComment(comment);
+				edge.setVersion(SemanticVersion.fromStringOrZero(version), false);
+				edge.setProducttype(producttype, false);
+				if (lastmessage != null
+						&& (edge.getLastmessage() == null || lastmessage.isAfter(edge.getLastmessage()))) {
+					edge.setLastmessage(lastmessage, false);
+				}
+			}
+			return edge;
+		});
+	}
 
-		return edge;
+	/**
+	 * Gets the number of cached Edges.
+	 *
+	 * @return the number of Edges
+	 */
+	public int size() {
+		return this.edgeIdToEdge.size();
 	}
 
 	/**
@@ -84,7 +103,7 @@ public class EdgeCache {
 	 * @param edgeId the Edge-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromEdgeId(String edgeId) {
+	public MyEdge getEdgeFromEdgeId(String edgeId) {
 		return this.edgeIdToEdge.get(edgeId);
 	}
 
@@ -94,7 +113,7 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromOdooId(int odooId) {
+	public MyEdge getEdgeFromOdooId(int odooId) {
 		var edgeId = this.odooIdToEdgeId.get(odooId);
 		if (edgeId == null) {
 			return null;
@@ -108,7 +127,7 @@ public class EdgeCache {
 	 * @param apikey the Apikey
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeForApikey(String apikey) {
+	public MyEdge getEdgeForApikey(String apikey) {
 		var edgeId = this.apikeyToEdgeId.get(apikey);
 		if (edgeId == null) {
 			return null;
@@ -53,6 +53,7 @@ import io.openems.common.jsonrpc.request.GetEdgesRequest.PaginationOptions;
 import io.openems.common.session.Language;
 import io.openems.common.session.Role;
 import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDelta;
 import io.openems.common.types.EdgeConfigDiff;
 import io.openems.common.types.SemanticVersion;
 import io.openems.common.utils.JsonUtils;
@@ -365,22 +366,34 @@ public class OdooMetadata extends AbstractMetadata implements Metadata, Mailer,
 				this.logWarn(this.log, "Edge [" + edge.getId() + "]. " + e.getMessage());
 			}
 
-			var diff = EdgeConfigDiff.diff(newConfig, oldConfig);
-			if (diff.isDifferent()) {
-				// Update "EdgeConfigUpdate"
-				this.logInfo(this.log, "Edge [" + edge.getId() + "]. Update config: " + diff.toString());
+			// Diff once against the stored EdgeConfig; if reading it failed, the delta
+			// against the empty EdgeConfig contains everything
+			var delta = EdgeConfigDelta.diff(0, oldConfig, 1, newConfig);
+			if (delta.isEmpty()) {
+				return;
+			}
 
-				try {
-					this.postgresHandler.edge.insertEdgeConfigUpdate(edge.getOdooId(), diff);
-				} catch (SQLException | OpenemsNamedException e) {
-					this.logWarn(this.log, "Edge [" + edge.getId() + "] " //
-							+ "Unable to insert EdgeConfigUpdate: " + e.getMessage());
+			// EdgeConfigDiff only compares Component properties, so it can only be
+			// different if the delta has Component changes
+			if (delta.hasComponentChanges()) {
+				var diff = EdgeConfigDiff.diff(newConfig, oldConfig);
+				if (diff.isDifferent()) {
+					// Update "EdgeConfigUpdate"
+					this.logInfo(this.log, "Edge [" + edge.getId() + "]. Update config: " + diff.toString());
+
+					try {
+						this.postgresHandler.edge.insertEdgeConfigUpdate(edge.getOdooId(), diff);
+					} catch (SQLException | OpenemsNamedException e) {
+						this.logWarn(this.log, "Edge [" + edge.getId() + "] " //
+								+ "Unable to insert EdgeConfigUpdate: " + e.getMessage());
+					}
 				}
 			}
 
-			// Always update EdgeConfig, because it also updates "openems_config_components"
+			// Update EdgeConfig; "openems_config_components" is derived from the
+			// Components only, so it is up-to-date unless the delta has Component changes
 			try {
-				this.postgresHandler.edge.updateEdgeConfig(edge.getOdooId(), newConfig);
+				this.postgresHandler.edge.updateEdgeConfig(edge.getOdooId(), newConfig, delta);
 			} catch (SQLException | OpenemsNamedException e) {
 				this.logWarn(this.log, "Edge [" + edge.getId() + "] " //
 						+ "Unable to insert EdgeConfigUpdate: " + e.getMessage());
@@ -3,29 +3,62 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.common.utils.ThreadPoolUtils;
 
+/**
+ * Fills the {@link io.openems.backend.metadata.odoo.EdgeCache} from Postgres.
+ *
+ * <p>
+ * On start all Edges are read in pages of {@link #PAGE_SIZE}, ordered by ID
+ * ('keyset pagination'). The ID range is split into {@link #NO_OF_THREADS}
+ * parts that are read in parallel. Afterwards Edges that were changed in Odoo
+ * - i.e. with a newer 'write_date' - are refreshed every
+ * {@link #REFRESH_INTERVAL} seconds.
+ */
 public class InitializeEdgesWorker {
 
+	protected static final int PAGE_SIZE = 1_000;
+	protected static final int NO_OF_THREADS = 4;
+	private static final int REFRESH_INTERVAL = 60; // [s]
+
 	private final Logger log = LoggerFactory.getLogger(InitializeEdgesWorker.class);
 	protected final PostgresHandler parent;
 	private final HikariDataSource dataSource;
 	private final Runnable onFinished;
 
 	/**
-	 * Executor for subscriptions task.
+	 * Executor for initialization and refresh task.
 	 */
-	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+	/**
+	 * Executor for parallel reading of pages.
+	 */
+	private final ExecutorService loadExecutor = Executors.newFixedThreadPool(NO_OF_THREADS,
+			new ThreadFactoryBuilder().setNameFormat("Metadata.Odoo.PGInitialize-%d").build());
+
+	/**
+	 * The latest 'write_date' that was read; only accessed by 'executor'.
+	 */
+	private Timestamp lastWriteDate = new Timestamp(0);
 
 	public InitializeEdgesWorker(PostgresHandler parent, HikariDataSource dataSource, Runnable onFinished) {
 		this.parent = parent;
@@ -38,25 +71,32 @@ public class InitializeEdgesWorker {
 	 */
 	public synchronized void start() {
 		this.executor.execute(() -> {
+			var start = System.currentTimeMillis();
 			try (var con = this.dataSource.getConnection()) {
 				this.parent.logInfo(this.log, "Caching Edges from Postgres [started]");
 				this.markAllEdgesAsOffline(con);
-				this.readAllEdgesFromPostgres(con);
-				this.parent.logInfo(this.log, "Caching Edges from Postgres [finished]");
+				// Changes during the initial read are picked up by the first refresh
+				this.lastWriteDate = this.queryLastWriteDate(con);
+				var count = this.readAllEdgesFromPostgres(con);
+				this.parent.logInfo(this.log, "Caching Edges from Postgres [finished] " //
+						+ count + " Edges in " + (System.currentTimeMillis() - start) + "ms");
 			} catch (SQLException e) {
 				this.parent.logWarn(this.log, "Caching Edges from Postgres [canceled]");
 				this.logError("Unable to connect do dataSource. ", e);
 			}
 			this.onFinished.run();
 		});
+		this.executor.scheduleWithFixedDelay(this::refreshChangedEdges, REFRESH_INTERVAL, REFRESH_INTERVAL,
+				TimeUnit.SECONDS);
 	}
 
 	/**
 	 * Stops the {@link InitializeEdgesWorker}.
 	 */
 	public synchronized void stop() {
-		// Shutdown executor
+		// Shutdown executors
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.loadExecutor, 5);
 	}
 
 	private void markAllEdgesAsOffline(Connection con) {
@@ -67,25 +107,122 @@ public class InitializeEdgesWorker {
 		}
 	}
 
-	private void readAllEdgesFromPostgres(Connection con) {
-		try (var pst = this.psQueryAllEdges(con); //
-				var rs = pst.executeQuery();) {
-			var counter = 0;
-			while (rs.next()) {
-				this.logCachingProgress(counter, 1000);
-				try {
-					this.parent.edgeCache.addOrUpdate(rs);
-				} catch (Exception e) {
-					this.logError("Unable to read Edge: ", e);
+	private Timestamp queryLastWriteDate(Connection con) throws SQLException {
+		try (var pst = this.psQueryLastWriteDate(con); //
+				var rs = pst.executeQuery()) {
+			if (rs.next() && rs.getTimestamp(1) != null) {
+				return rs.getTimestamp(1);
+			}
+			return new Timestamp(0);
+		}
+	}
+
+	private int readAllEdgesFromPostgres(Connection con) throws SQLException {
+		int minId;
+		int maxId;
+		try (var pst = this.psQueryIdRange(con); //
+				var rs = pst.executeQuery()) {
+			if (!rs.next() || rs.getObject(1) == null) {
+				return 0;
+			}
+			minId = rs.getInt(1);
+			maxId = rs.getInt(2);
+		}
+
+		var counter = new AtomicInteger();
+		var futures = splitIdRange(minId, maxId, NO_OF_THREADS).stream() //
+				.map(range -> CompletableFuture.runAsync(//
+						() -> this.readEdgesFromPostgres(range[0], range[1], counter), this.loadExecutor)) //
+				.toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(futures).join();
+		return counter.get();
+	}
+
+	/**
+	 * Reads all Edges with 'fromId' &lt; ID &lt;= 'toId' page by page.
+	 *
+	 * @param fromId  the ID before the first ID, exclusive
+	 * @param toId    the last ID, inclusive
+	 * @param counter counts the read Edges
+	 */
+	private void readEdgesFromPostgres(int fromId, int toId, AtomicInteger counter) {
+		try (var con = this.dataSource.getConnection(); //
+				var pst = this.psQueryEdgesPage(con)) {
+			var lastId = fromId;
+			var rows = PAGE_SIZE;
+			while (rows == PAGE_SIZE) {
+				pst.setInt(1, lastId);
+				pst.setInt(2, toId);
+				rows = 0;
+				try (var rs = pst.executeQuery()) {
+					while (rs.next()) {
+						rows++;
+						lastId = PgUtils.getAsInt(rs, EdgeDevice.ID);
+						try {
+							this.parent.edgeCache.addOrUpdate(rs);
+						} catch (Exception e) {
+							this.logError("Unable to read Edge: ", e);
+						}
+						this.logCachingProgress(counter.incrementAndGet(), 10_000);
+					}
 				}
-				counter++;
 			}
-			this.logCachingProgress(counter, 1);
 		} catch (SQLException e) {
 			this.logError("Unable to initialize Edges: ", e);
 		}
 	}
 
+	/**
+	 * Refreshes Edges that were changed since the last run.
+	 */
+	private void refreshChangedEdges() {
+		try (var con = this.dataSource.getConnection(); //
+				var pst = this.psQueryChangedEdges(con)) {
+			var since = this.lastWriteDate;
+			pst.setTimestamp(1, since);
+			var count = 0;
+			try (var rs = pst.executeQuery()) {
+				while (rs.next()) {
+					try {
+						this.parent.edgeCache.addOrUpdate(rs);
+					} catch (Exception e) {
+						this.logError("Unable to read Edge: ", e);
+					}
+					var writeDate = rs.getTimestamp(EdgeDevice.WRITE_DATE.index());
+					if (writeDate != null && writeDate.after(since)) {
+						count++;
+						if (writeDate.after(this.lastWriteDate)) {
+							this.lastWriteDate = writeDate;
+						}
+					}
+				}
+			}
+			if (count > 0) {
+				this.parent.logInfo(this.log, "Refreshed [" + count + "] Edges from Postgres");
+			}
+		} catch (SQLException e) {
+			this.logError("Unable to refresh Edges: ", e);
+		}
+	}
+
+	/**
+	 * Splits the range of IDs in up to 'parts' parts.
+	 *
+	 * @param minId the first ID, inclusive
+	 * @param maxId the last ID, inclusive
+	 * @param parts the number of parts
+	 * @return a list of [fromId (exclusive), toId (inclusive)]
+	 */
+	protected static List<int[]> splitIdRange(int minId, int maxId, int parts) {
+		var result = new ArrayList<int[]>(parts);
+		var total = (long) maxId - minId + 1;
+		var size = Math.max(1, (total + parts - 1) / parts);
+		for (var from = (long) minId - 1; from < maxId; from += size) {
+			result.add(new int[] { (int) from, (int) Math.min(from + size, maxId) });
+		}
+		return result;
+	}
+
 	private void logCachingProgress(int count, int interval) {
 		if (count % interval == 0 && count > 0) {
 			this.parent.logInfo(this.log, String.format("Caching Edges from Postgres [%1$6s]", count));
@@ -101,21 +238,73 @@ public class InitializeEdgesWorker {
 	}
 
 	/**
-	 * SELECT {} FROM {edge.device};.
+	 * SELECT MIN(id), MAX(id) FROM {edge.device};.
+	 *
+	 * @param connection the {@link Connection}
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryIdRange(Connection connection) throws SQLException {
+		return connection.prepareStatement(//
+				"SELECT MIN(" + EdgeDevice.ID.id() + "), MAX(" + EdgeDevice.ID.id() + ")" //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ ";");
+	}
+
+	/**
+	 * SELECT {} FROM {edge.device} WHERE id &gt; ? AND id &lt;= ? ORDER BY id LIMIT
+	 * {PAGE_SIZE};.
+	 *
+	 * @param connection the {@link Connection}
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryEdgesPage(Connection connection) throws SQLException {
+		return connection.prepareStatement(//
+				"SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " WHERE " + EdgeDevice.ID.id() + " > ? AND " + EdgeDevice.ID.id() + " <= ?" //
+						+ " ORDER BY " + EdgeDevice.ID.id() //
+						+ " LIMIT " + PAGE_SIZE //
+						+ ";");
+	}
+
+	/**
+	 * SELECT MAX(write_date) FROM {edge.device};.
+	 *
+	 * @param connection the {@link Connection}
+	 * @return the {@link PreparedStatement}
+	 * @throws SQLException on error
+	 */
+	private PreparedStatement psQueryLastWriteDate(Connection connection) throws SQLException {
+		return connection.prepareStatement(//
+				"SELECT MAX(" + EdgeDevice.WRITE_DATE.id() + ")" //
+						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ ";");
+	}
+
+	/**
+	 * SELECT {} FROM {edge.device} WHERE write_date &gt;= ?;.
+	 *
+	 * <p>
+	 * Edges with the last 'write_date' are read again, to not miss Edges that
+	 * were changed within the same timestamp.
 	 *
 	 * @param connection the {@link Connection}
 	 * @return the {@link PreparedStatement}
 	 * @throws SQLException on error
 	 */
-	private PreparedStatement psQueryAllEdges(Connection connection) throws SQLException {
+	private PreparedStatement psQueryChangedEdges(Connection connection) throws SQLException {
 		return connection.prepareStatement(//
 				"SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
 						+ " FROM " + EdgeDevice.ODOO_TABLE //
+						+ " WHERE " + EdgeDevice.WRITE_DATE.id() + " >= ?" //
 						+ ";");
 	}
 
 	/**
-	 * UPDATE {} SET openems_is_connected = FALSE;.
+	 * UPDATE {} SET openems_is_connected = FALSE WHERE openems_is_connected IS NOT
+	 * FALSE;.
 	 *
 	 * @param connection the {@link Connection}
 	 * @return the {@link PreparedStatement}
@@ -125,6 +314,7 @@ public class InitializeEdgesWorker {
 		return connection.prepareStatement(//
 				"UPDATE " + EdgeDevice.ODOO_TABLE //
 						+ " SET " + Field.EdgeDevice.OPENEMS_IS_CONNECTED.id() + " = FALSE" //
+						+ " WHERE " + Field.EdgeDevice.OPENEMS_IS_CONNECTED.id() + " IS NOT FALSE" //
 						+ ";");
 	}
 
@@ -3,8 +3,11 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -25,6 +28,10 @@ import io.openems.common.utils.ThreadPoolUtils;
 /**
  * This worker combines writes to lastMessage and lastUpdate fields, to avoid
  * DDOSing Odoo/Postgres by writing too often.
+ *
+ * <p>
+ * Updates are coalesced per Edge - only the latest online state and sum state
+ * are written - and flushed in one transaction per interval.
  */
 public class PeriodicWriteWorker {
 
@@ -76,31 +83,24 @@ public class PeriodicWriteWorker {
 	}
 
 	private final LinkedBlockingQueue<Integer> lastMessageOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOnlineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOfflineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateOk = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateInfo = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateWarning = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateFault = new LinkedBlockingQueue<>();
+	private final ConcurrentHashMap<Integer, Boolean> isConnected = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Integer, Level> sumStates = new ConcurrentHashMap<>();
 
 	private final Consumer<PgEdgeHandler> task = edge -> {
 		if (PeriodicWriteWorker.DEBUG_MODE) {
 			this.debugLog();
 		}
 
+		var start = System.currentTimeMillis();
 		try {
-			// Last Message
-			edge.updateLastMessage(drainToSet(this.lastMessageOdooIds));
+			var rows = edge.updatePeriodic(//
+					drainToSet(this.lastMessageOdooIds), //
+					drainToMap(this.isConnected), //
+					drainToMap(this.sumStates));
 
-			// Online/Offline
-			edge.updateOpenemsIsConnected(drainToSet(this.isOfflineOdooIds), false);
-			edge.updateOpenemsIsConnected(drainToSet(this.isOnlineOdooIds), true);
-
-			// Sum-State
-			edge.updateSumState(drainToSet(this.sumStateOk), Level.OK);
-			edge.updateSumState(drainToSet(this.sumStateInfo), Level.INFO);
-			edge.updateSumState(drainToSet(this.sumStateWarning), Level.WARNING);
-			edge.updateSumState(drainToSet(this.sumStateFault), Level.FAULT);
+			if (PeriodicWriteWorker.DEBUG_MODE) {
+				this.debugLogUpdate(rows, System.currentTimeMillis() - start);
+			}
 
 		} catch (SQLException e) {
 			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
@@ -123,12 +123,7 @@ public class PeriodicWriteWorker {
 	 * @param isOnline true if online, false if offline
 	 */
 	public void onSetOnline(MyEdge edge, boolean isOnline) {
-		var odooId = edge.getOdooId();
-		if (isOnline) {
-			this.isOnlineOdooIds.add(odooId);
-		} else {
-			this.isOfflineOdooIds.add(odooId);
-		}
+		this.isConnected.put(edge.getOdooId(), isOnline);
 	}
 
 	/**
@@ -138,21 +133,7 @@ public class PeriodicWriteWorker {
 	 * @param sumState Sum-State {@link Level}
 	 */
 	public void onSetSumState(MyEdge edge, Level sumState) {
-		var odooId = edge.getOdooId();
-		switch (sumState) {
-		case OK:
-			this.sumStateOk.add(odooId);
-			break;
-		case INFO:
-			this.sumStateInfo.add(odooId);
-			break;
-		case WARNING:
-			this.sumStateWarning.add(odooId);
-			break;
-		case FAULT:
-			this.sumStateFault.add(odooId);
-			break;
-		}
+		this.sumStates.put(edge.getOdooId(), sumState);
 	}
 
 	/**
@@ -168,6 +149,26 @@ public class PeriodicWriteWorker {
 		return result;
 	}
 
+	/**
+	 * Moves all entries of a {@link ConcurrentHashMap} to a new Map. Entries that
+	 * are updated concurrently are either moved or stay for the next run.
+	 * 
+	 * @param <T> the type of the values
+	 * @param map the {@link ConcurrentHashMap}
+	 * @return the {@link Map}
+	 */
+	protected static <T> Map<Integer, T> drainToMap(ConcurrentHashMap<Integer, T> map) {
+		Map<Integer, T> result = new HashMap<>(map.size());
+		for (var entry : map.entrySet()) {
+			var key = entry.getKey();
+			var value = entry.getValue();
+			if (map.remove(key, value)) {
+				result.put(key, value);
+			}
+		}
+		return result;
+	}
+
 	/*
 	 * From here required for DEBUG_MODE
 	 */
@@ -182,4 +183,9 @@ public class PeriodicWriteWorker {
 		}
 		this.lastExecute = now;
 	}
+
+	private void debugLogUpdate(int rows, long duration) {
+		this.parent.logInfo(this.log, "PeriodicWriteWorker. " //
+				+ "Updated [" + rows + "] rows in [" + duration + "ms]");
+	}
 }
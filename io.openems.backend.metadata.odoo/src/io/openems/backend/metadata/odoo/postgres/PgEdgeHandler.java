@@ -1,16 +1,20 @@
 package io.openems.backend.metadata.odoo.postgres;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.zaxxer.hikari.HikariDataSource;
 
-import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeConfigUpdate;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.common.channel.Level;
@@ -18,6 +22,7 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.EdgeConfig.Component.JsonFormat;
+import io.openems.common.types.EdgeConfigDelta;
 import io.openems.common.types.EdgeConfigDiff;
 import io.openems.common.utils.JsonUtils;
 
@@ -63,23 +68,39 @@ public final class PgEdgeHandler {
 	/**
 	 * Updates the {@link EdgeConfig} for an Edge-ID.
 	 * 
+	 * <p>
+	 * Odoo reads the complete {@link EdgeConfig}, so it is stored as a whole; but
+	 * only if the {@link EdgeConfigDelta} against the stored EdgeConfig is not
+	 * empty, and 'openems_config_components' only if Components changed.
+	 * 
 	 * @param odooId     the Odoo-ID
 	 * @param edgeConfig the {@link EdgeConfig}
+	 * @param delta      the {@link EdgeConfigDelta} against the stored
+	 *                   {@link EdgeConfig}
 	 * @throws OpenemsNamedException on error
 	 * @throws SQLException          on error
 	 */
-	public void updateEdgeConfig(int odooId, EdgeConfig edgeConfig) throws SQLException, OpenemsNamedException {
+	public void updateEdgeConfig(int odooId, EdgeConfig edgeConfig, EdgeConfigDelta delta)
+			throws SQLException, OpenemsNamedException {
+		if (delta.isEmpty()) {
+			return;
+		}
+		var sql = new StringBuilder() //
+				.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
+				.append(" SET ") //
+				.append(EdgeDevice.OPENEMS_CONFIG.id()).append(" = ?");
+		if (delta.hasComponentChanges()) {
+			sql.append(", ").append(EdgeDevice.OPENEMS_CONFIG_COMPONENTS.id()).append(" = ?");
+		}
+		sql.append(" WHERE id = ?");
 		try (var con = this.dataSource.getConnection(); //
-				var pst = con.prepareStatement(new StringBuilder() //
-						.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-						.append(" SET ") //
-						.append(EdgeDevice.OPENEMS_CONFIG.id()).append(" = ?, ") //
-						.append(EdgeDevice.OPENEMS_CONFIG_COMPONENTS.id()).append(" = ?") //
-						.append(" WHERE id = ?") //
-						.toString())) {
-			pst.setString(1, JsonUtils.prettyToString(edgeConfig.toJson()));
-			pst.setString(2, JsonUtils.prettyToString(edgeConfig.componentsToJson(JsonFormat.WITHOUT_CHANNELS)));
-			pst.setInt(3, odooId);
+				var pst = con.prepareStatement(sql.toString())) {
+			var i = 1;
+			pst.setString(i++, JsonUtils.prettyToString(edgeConfig.toJson()));
+			if (delta.hasComponentChanges()) {
+				pst.setString(i++, JsonUtils.prettyToString(edgeConfig.componentsToJson(JsonFormat.WITHOUT_CHANNELS)));
+			}
+			pst.setInt(i, odooId);
 			pst.execute();
 		}
 	}
@@ -133,83 +154,85 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the OpenemsIsConnected field for multiple Edge-IDs.
+	 * Writes the periodically collected updates for multiple Edges in one
+	 * transaction. Each field value is written with one statement for all its
+	 * Edges.
 	 * 
-	 * @param odooIds     the Odoo-IDs
-	 * @param isConnected true if online; false if offline
+	 * @param lastMessageOdooIds the Odoo-IDs of Edges with a new LastMessage
+	 * @param isConnected        the OpenemsIsConnected state per Odoo-ID
+	 * @param sumStates          the Sum-State {@link Level} per Odoo-ID
+	 * @return the number of updated rows
 	 * @throws SQLException on error
 	 */
-	public void updateOpenemsIsConnected(Set<Integer> odooIds, boolean isConnected) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
+	public int updatePeriodic(Set<Integer> lastMessageOdooIds, Map<Integer, Boolean> isConnected,
+			Map<Integer, Level> sumStates) throws SQLException {
+		if (lastMessageOdooIds.isEmpty() && isConnected.isEmpty() && sumStates.isEmpty()) {
+			return 0;
 		}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = ")
-					.append(isConnected ? "TRUE" : "FALSE") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
-		}
-	}
+		try (var con = this.dataSource.getConnection()) {
+			con.setAutoCommit(false);
+			try {
+				var result = 0;
+				// Last Message
+				result += updateWhereIdIn(con, EdgeDevice.LASTMESSAGE.id() + " = (now() at time zone 'UTC')", //
+						null, lastMessageOdooIds);
+
+				// Online/Offline
+				for (var entry : groupByValue(isConnected).entrySet()) {
+					result += updateWhereIdIn(con, EdgeDevice.OPENEMS_IS_CONNECTED.id() + " = ?", //
+							entry.getKey(), entry.getValue());
+				}
 
-	/**
-	 * Updates the LastMessage field for multiple Edge-IDs.
-	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
-	 */
-	public void updateLastMessage(Set<Integer> odooIds) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
-		}
+				// Sum-State
+				for (var entry : groupByValue(sumStates).entrySet()) {
+					result += updateWhereIdIn(con, EdgeDevice.OPENEMS_SUM_STATE.id() + " = ?", //
+							entry.getKey().getName().toLowerCase(), entry.getValue());
+				}
+				con.commit();
+				return result;
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.LASTMESSAGE.id()).append(" = (now() at time zone 'UTC')") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+			} catch (SQLException e) {
+				con.rollback();
+				throw e;
+			}
 		}
 	}
 
 	/**
-	 * Updates the Sum-State field for multiple Edge-IDs.
+	 * UPDATE {edge.device} SET {set} WHERE id = ANY(?);.
 	 * 
+	 * @param con     the {@link Connection}
+	 * @param set     the SET clause, with at most one parameter
+	 * @param value   the value of the parameter; null if there is none
 	 * @param odooIds the Odoo-IDs
-	 * @param level   the Sum-State {@link Level}
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * @return the number of updated rows
+	 * @throws SQLException on error
 	 */
-	public void updateSumState(Set<Integer> odooIds, Level level) throws SQLException {
+	private static int updateWhereIdIn(Connection con, String set, Object value, Collection<Integer> odooIds)
+			throws SQLException {
 		if (odooIds.isEmpty()) {
-			return;
+			return 0;
 		}
+		try (var pst = con.prepareStatement(new StringBuilder() //
+				.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
+				.append(" SET ").append(set) //
+				.append(" WHERE id = ANY(?)") //
+				.toString())) {
+			var index = 1;
+			if (value != null) {
+				pst.setObject(index++, value);
+			}
+			pst.setArray(index, con.createArrayOf("integer", odooIds.toArray()));
+			return pst.executeUpdate();
+		}
+	}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = '")
-					.append(level.getName().toLowerCase()) //
-					.append("' WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+	private static <T> Map<T, List<Integer>> groupByValue(Map<Integer, T> map) {
+		var result = new HashMap<T, List<Integer>>();
+		for (var entry : map.entrySet()) {
+			result.computeIfAbsent(entry.getValue(), v -> new ArrayList<>()).add(entry.getKey());
 		}
+		return result;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+package io.openems.backend.metadata.odoo;
+
+import io.openems.backend.metadata.odoo.odoo.Protocol;
+import io.openems.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	public static class Builder {
+		private String pgHost;
+		private int pgPort;
+		private String pgUser;
+		private String pgPassword;
+		private String database;
+
+		private Builder() {
+		}
+
+		public Builder setPgHost(String pgHost) {
+			this.pgHost = pgHost;
+			return this;
+		}
+
+		public Builder setPgPort(int pgPort) {
+			this.pgPort = pgPort;
+			return this;
+		}
+
+		public Builder setPgUser(String pgUser) {
+			this.pgUser = pgUser;
+			return this;
+		}
+
+		public Builder setPgPassword(String pgPassword) {
+			this.pgPassword = pgPassword;
+			return this;
+		}
+
+		public Builder setDatabase(String database) {
+			this.database = database;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 *
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, "metadata0");
+		this.builder = builder;
+	}
+
+	@Override
+	public Protocol odooProtocol() {
+		return Protocol.HTTP;
+	}
+
+	@Override
+	public String odooHost() {
+		return "localhost";
+	}
+
+	@Override
+	public int odooPort() {
+		return 8069;
+	}
+
+	@Override
+	public int odooUid() {
+		return 1;
+	}
+
+	@Override
+	public String odooPassword() {
+		return "";
+	}
+
+	@Override
+	public String pgHost() {
+		return this.builder.pgHost;
+	}
+
+	@Override
+	public int pgPort() {
+		return this.builder.pgPort;
+	}
+
+	@Override
+	public String pgUser() {
+		return this.builder.pgUser;
+	}
+
+	@Override
+	public String pgPassword() {
+		return this.builder.pgPassword;
+	}
+
+	@Override
+	public String database() {
+		return this.builder.database;
+	}
+
+}
@@ -0,0 +1,131 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import io.openems.backend.metadata.odoo.EdgeCache;
+import io.openems.backend.metadata.odoo.Field;
+import io.openems.backend.metadata.odoo.Field.EdgeDevice;
+import io.openems.backend.metadata.odoo.MyConfig;
+import io.openems.backend.metadata.odoo.OdooMetadata;
+import io.openems.common.channel.Level;
+
+public class InitializeEdgesWorkerTest {
+
+	private static final String HOST = "localhost";
+	private static final String USER = "user";
+	private static final String PASSWORD = "password";
+	private static final String DATABASE = "database";
+
+	private static final int NO_OF_EDGES = 100_000;
+
+	@Test
+	public void testSplitIdRange() {
+		var ranges = InitializeEdgesWorker.splitIdRange(1, 10, 4);
+		assertEquals(4, ranges.size());
+		assertArrayEquals(new int[] { 0, 3 }, ranges.get(0));
+		assertArrayEquals(new int[] { 3, 6 }, ranges.get(1));
+		assertArrayEquals(new int[] { 6, 9 }, ranges.get(2));
+		assertArrayEquals(new int[] { 9, 10 }, ranges.get(3));
+
+		ranges = InitializeEdgesWorker.splitIdRange(5, 6, 4);
+		assertEquals(2, ranges.size());
+		assertArrayEquals(new int[] { 4, 5 }, ranges.get(0));
+		assertArrayEquals(new int[] { 5, 6 }, ranges.get(1));
+
+		ranges = InitializeEdgesWorker.splitIdRange(7, 7, 4);
+		assertEquals(1, ranges.size());
+		assertArrayEquals(new int[] { 6, 7 }, ranges.get(0));
+	}
+
+	/**
+	 * Compares reading all Edges with one full-table SELECT to the paginated,
+	 * parallel {@link InitializeEdgesWorker} on a synthetic table in a local
+	 * scratch database.
+	 */
+	@Ignore
+	@Test
+	public void benchmark() throws Exception {
+		var metadata = new OdooMetadata();
+		var config = MyConfig.create() //
+				.setPgHost(HOST) //
+				.setPgPort(5432) //
+				.setPgUser(USER) //
+				.setPgPassword(PASSWORD) //
+				.setDatabase(DATABASE) //
+				.build();
+
+		// Full-table SELECT
+		var initialized = new CountDownLatch(1);
+		var edgeCache = new EdgeCache(metadata);
+		var sut = new PostgresHandler(metadata, edgeCache, config, initialized::countDown);
+		initialized.await(5, TimeUnit.MINUTES);
+		createSyntheticTable(sut);
+		var start = System.currentTimeMillis();
+		var legacyCache = new EdgeCache(metadata);
+		try (var con = sut.getConnection(); //
+				var pst = con.prepareStatement("SELECT " + Field.getSqlQueryFields(EdgeDevice.values()) //
+						+ " FROM " + EdgeDevice.ODOO_TABLE + ";"); //
+				var rs = pst.executeQuery()) {
+			while (rs.next()) {
+				synchronized (legacyCache) {
+					legacyCache.addOrUpdate(rs);
+				}
+			}
+		}
+		System.out.println("Full-table SELECT: " + (System.currentTimeMillis() - start) + "ms");
+		assertEquals(NO_OF_EDGES, legacyCache.size());
+		sut.deactivate();
+
+		// InitializeEdgesWorker
+		initialized = new CountDownLatch(1);
+		edgeCache = new EdgeCache(metadata);
+		start = System.currentTimeMillis();
+		sut = new PostgresHandler(metadata, edgeCache, config, initialized::countDown);
+		initialized.await(5, TimeUnit.MINUTES);
+		System.out.println("InitializeEdgesWorker: " + (System.currentTimeMillis() - start) + "ms");
+		assertEquals(NO_OF_EDGES, edgeCache.size());
+
+		// PeriodicWriteWorker
+		Set<Integer> lastMessage = new HashSet<>();
+		Map<Integer, Boolean> isConnected = new HashMap<>();
+		Map<Integer, Level> sumStates = new HashMap<>();
+		for (var i = 1; i <= NO_OF_EDGES; i++) {
+			lastMessage.add(i);
+			isConnected.put(i, i % 2 == 0);
+			sumStates.put(i, Level.values()[i % Level.values().length]);
+		}
+		start = System.currentTimeMillis();
+		var rows = sut.edge.updatePeriodic(lastMessage, isConnected, sumStates);
+		System.out.println("PeriodicWriteWorker: " + rows + " rows in " + (System.currentTimeMillis() - start) + "ms");
+		sut.deactivate();
+	}
+
+	private static void createSyntheticTable(PostgresHandler handler) throws SQLException {
+		try (var con = handler.getConnection(); //
+				var st = con.createStatement()) {
+			st.execute("DROP TABLE IF EXISTS " + EdgeDevice.ODOO_TABLE + ";");
+			st.execute("CREATE TABLE " + EdgeDevice.ODOO_TABLE + " (" //
+					+ "id serial PRIMARY KEY, apikey varchar, setup_password varchar, name varchar, " //
+					+ "comment varchar, openems_version varchar, producttype varchar, openems_config text, " //
+					+ "openems_config_components text, lastmessage timestamp, openems_sum_state_level varchar, " //
+					+ "openems_is_connected boolean, stock_production_lot_id integer, write_date timestamp);");
+			st.execute("INSERT INTO " + EdgeDevice.ODOO_TABLE //
+					+ " (apikey, setup_password, name, comment, openems_version, producttype, lastmessage, " //
+					+ "write_date) SELECT 'apikey' || i, 'setup' || i, 'edge' || i, 'Comment ' || i, " //
+					+ "'2022.10.0', 'home', now(), now() FROM generate_series(1, " + NO_OF_EDGES + ") AS i;");
+		}
+	}
+
+}
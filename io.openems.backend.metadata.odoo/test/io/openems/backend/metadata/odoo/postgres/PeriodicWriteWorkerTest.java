@@ -2,10 +2,13 @@ package io.openems.backend.metadata.odoo.postgres;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Test;
 
+import io.openems.common.channel.Level;
+
 public class PeriodicWriteWorkerTest {
 
 	@Test
@@ -21,4 +24,17 @@ public class PeriodicWriteWorkerTest {
 		assertEquals(0, queue.size());
 	}
 
+	@Test
+	public void testDrainToMap() {
+		final ConcurrentHashMap<Integer, Level> map = new ConcurrentHashMap<>();
+		map.put(1, Level.OK);
+		map.put(2, Level.FAULT);
+		map.put(1, Level.WARNING); // latest value wins
+		var result = PeriodicWriteWorker.drainToMap(map);
+		assertEquals(2, result.size());
+		assertEquals(Level.WARNING, result.get(1));
+		assertEquals(Level.FAULT, result.get(2));
+		assertEquals(0, map.size());
+	}
+
 }
@@ -31,6 +31,7 @@ import io.openems.backend.common.timedata.Timedata;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
@@ -77,6 +78,8 @@ public class InfluxImpl extends AbstractOpenemsBackendComponent implements Timed
 
 		this.influxConnector = new InfluxConnector(config.queryLanguage(), URI.create(config.url()), config.org(),
 				config.apiKey(), config.bucket(), config.isReadOnly(), config.poolSize(), config.maxQueueSize(), //
+				InfluxConnector.getSpillDirectory(config.spillDirectory(), config.id()),
+				config.maxSpillSize() * 1024L * 1024L, //
 				(throwable) -> {
 					if (throwable instanceof BadRequestException) {
 						this.fieldTypeConflictHandler.handleException((BadRequestException) throwable);
@@ -168,6 +171,13 @@ public class InfluxImpl extends AbstractOpenemsBackendComponent implements Timed
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		var data = this.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution);
+		return data == null ? null : data.toMap();
+	}
+
+	@Override
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
 		// parse the numeric EdgeId
 		Optional<Integer> influxEdgeId = Optional.of(InfluxImpl.parseNumberFromName(edgeId));
 
@@ -33,6 +33,12 @@ public @interface Config {
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Spill Directory", description = "Directory for points that could not be written to TimescaleDB. Defaults to the OpenEMS data directory.")
+	String spillDirectory() default "";
+
+	@AttributeDefinition(name = "Max Spill Size [MB]", description = "Maximum size of points on disk that could not be written. Points beyond are dropped. 0 disables spilling.")
+	int maxSpillSize() default 1024;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata.TimescaleDB";
 
 }
@@ -27,6 +27,7 @@ import io.openems.backend.timedata.timescaledb.internal.read.TimescaledbReadHand
 import io.openems.backend.timedata.timescaledb.internal.write.TimescaledbWriteHandler;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.ThreadPoolUtils;
@@ -91,7 +92,15 @@ public class TimescaledbImpl extends AbstractOpenemsBackendComponent implements
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		return this.timescaledbReadHandler.queryHistoricData(edgeId, fromDate, toDate, channels, resolution);
+		var data = this.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution);
+		return data == null ? null : data.toMap();
+	}
+
+	@Override
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+		return this.timescaledbReadHandler.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels,
+				resolution);
 	}
 
 	@Override
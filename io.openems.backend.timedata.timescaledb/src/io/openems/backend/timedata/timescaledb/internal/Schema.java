@@ -5,6 +5,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -166,6 +167,72 @@ public class Schema {
 		return this.getOrCreateEdgeChannel(con, edgeId, channelAddress, value, type);
 	}
 
+	/**
+	 * Gets the Channels for the given Channel-Addresses. Adds them if they were not
+	 * existing before.
+	 * 
+	 * <p>
+	 * All Channels that are missing in the Cache are added with one single query.
+	 * 
+	 * @param con    a database {@link Connection}, in case entries need to be
+	 *               added
+	 * @param edgeId the Edge-ID
+	 * @param values a sample {@link JsonElement} value per Channel-Address, used to
+	 *               detect the {@link Type}
+	 * @return a map of Channel-Address to {@link ChannelRecord}; Channels that are
+	 *         not in Cache and whose type cannot be detected are missing
+	 * @throws SQLException on error while adding
+	 */
+	public Map<String, ChannelRecord> getChannels(Connection con, String edgeId, Map<String, JsonElement> values)
+			throws SQLException {
+		var result = new HashMap<String, ChannelRecord>();
+		var componentIds = new ArrayList<String>();
+		var channelIds = new ArrayList<String>();
+		var typeIds = new ArrayList<Integer>();
+		for (var entry : values.entrySet()) {
+			var channelAddress = entry.getKey();
+			// Cache-Lookup
+			var channel = this.getChannelFromCache(edgeId, channelAddress);
+			if (channel != null) {
+				result.put(channelAddress, channel);
+				continue;
+			}
+			var type = Type.detect(entry.getValue());
+			if (type == null) {
+				// unable to detect
+				continue;
+			}
+			var channelAddressArray = channelAddress.split("/");
+			if (channelAddressArray.length != 2) {
+				continue;
+			}
+			componentIds.add(channelAddressArray[0]);
+			channelIds.add(channelAddressArray[1]);
+			typeIds.add(type.id);
+		}
+		if (componentIds.isEmpty()) {
+			return result;
+		}
+
+		// Get or Create Channel-IDs
+		var pst = con.prepareStatement("" //
+				+ "SELECT c.component, c.channel, r._channel_id, r._channel_type, r._priority, r._available_since " //
+				+ "FROM unnest(?::text[], ?::text[], ?::integer[]) AS c(component, channel, type) " //
+				+ "CROSS JOIN LATERAL openems_get_or_create_edge_channel_id(?, c.component, c.channel, c.type) r;");
+		pst.setArray(1, con.createArrayOf("text", componentIds.toArray()));
+		pst.setArray(2, con.createArrayOf("text", channelIds.toArray()));
+		pst.setArray(3, con.createArrayOf("integer", typeIds.toArray()));
+		pst.setString(4, edgeId);
+		var rs = pst.executeQuery();
+		while (rs.next()) {
+			var channelAddress = rs.getString(1) + "/" + rs.getString(2);
+			var channel = this.addToCache(edgeId, channelAddress, rs.getInt(3), rs.getInt(4), rs.getInt(5),
+					rs.getObject(6, OffsetDateTime.class));
+			result.put(channelAddress, channel);
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the {@link ChannelRecord} from local Cache.
 	 * 
@@ -202,11 +269,13 @@ public class Schema {
 		pst.setInt(4, type.id);
 		var rs = pst.executeQuery();
 		rs.next();
-		var channelId = rs.getInt(1);
-		var channelTypeId = rs.getInt(2);
-		var priority = rs.getInt(3);
+		return this.addToCache(edgeId, channelAddress, rs.getInt(1), rs.getInt(2), rs.getInt(3),
+				rs.getObject(4, OffsetDateTime.class));
+	}
+
+	private ChannelRecord addToCache(String edgeId, String channelAddress, int channelId, int channelTypeId,
+			int priority, OffsetDateTime availableSinceRaw) {
 		final ZonedDateTime availableSince;
-		var availableSinceRaw = rs.getObject(4, OffsetDateTime.class);
 		if (availableSinceRaw != null) {
 			availableSince = availableSinceRaw.toZonedDateTime();
 		} else {
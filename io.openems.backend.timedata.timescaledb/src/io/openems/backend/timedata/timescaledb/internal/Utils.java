@@ -23,6 +23,7 @@ import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.timedata.timescaledb.TimescaledbImpl;
 import io.openems.backend.timedata.timescaledb.internal.Schema.ChannelRecord;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 
@@ -111,6 +112,30 @@ public class Utils {
 		return result;
 	}
 
+	/**
+	 * Prefills a {@link HistoricTimeseriesData.Builder} with empty values for
+	 * every timestamp/ChannelAddress.
+	 * 
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @return a prefilled builder
+	 */
+	public static HistoricTimeseriesData.Builder prepareData(ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, Resolution resolution) {
+		var result = HistoricTimeseriesData.create(fromDate.getZone());
+		for (var channel : channels) {
+			result.addChannel(channel);
+		}
+		var timestamp = fromDate;
+		while (timestamp.isBefore(toDate)) {
+			result.addTimestamp(timestamp.toInstant().toEpochMilli());
+			timestamp = timestamp.plus(resolution.getValue(), resolution.getUnit());
+		}
+		return result;
+	}
+
 	/**
 	 * Prefills a Result-Map with JsonNull values for every
 	 * timestamp/ChannelAddress.
@@ -25,6 +25,7 @@ import io.openems.backend.timedata.timescaledb.internal.Utils;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 
@@ -60,7 +61,7 @@ public class TimescaledbReadHandler {
 
 	/**
 	 * See
-	 * {@link CommonTimedataService#queryHistoricData(String, ZonedDateTime, ZonedDateTime, Set, Resolution)}.
+	 * {@link CommonTimedataService#queryHistoricTimeseriesData(String, ZonedDateTime, ZonedDateTime, Set, Resolution)}.
 	 * 
 	 * @param edgeId     the Edge-ID; or null query all
 	 * @param fromDate   the From-Date
@@ -69,17 +70,16 @@ public class TimescaledbReadHandler {
 	 * @param resolution the {@link Resolution}
 	 * @return the query result
 	 */
-	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
-			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
-			throws OpenemsNamedException {
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
 		var channelStrings = toStringSet(channels);
 
 		// handle empty call
 		if (channels.isEmpty()) {
-			return new TreeMap<>();
+			return HistoricTimeseriesData.create(fromDate.getZone()).build();
 		}
 
-		var result = Utils.prepareDataMap(fromDate, toDate, channels, resolution);
+		var result = Utils.prepareData(fromDate, toDate, channels, resolution);
 		var types = Utils.querySchemaCache(this.assertAndGetSchema(), edgeId, channelStrings);
 
 		// Open ONE database connection
@@ -127,11 +127,10 @@ public class TimescaledbReadHandler {
 
 						var rs = pst.executeQuery();
 						while (rs.next()) {
-							var time = rs.getObject(1, OffsetDateTime.class).atZoneSameInstant(fromDate.getZone());
+							var time = rs.getObject(1, OffsetDateTime.class).toInstant().toEpochMilli();
 							var channelAddress = ChannelAddress.fromString(ids.get(rs.getInt(2)));
 							var value = type.parseValueFromResultSet(rs, 3);
-							var resultTime = result.computeIfAbsent(time, t -> new TreeMap<>());
-							resultTime.put(channelAddress, value);
+							result.add(time, channelAddress, value);
 						}
 
 					} catch (SQLException e) {
@@ -145,7 +144,7 @@ public class TimescaledbReadHandler {
 			this.log.error("Unable to query historic data: " + e.getMessage());
 			throw new OpenemsException("Error while querying historic data");
 		}
-		return result;
+		return result.build();
 	}
 
 	/**
@@ -6,7 +6,9 @@ import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -20,16 +22,32 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 	private final ExecutorService executor;
 	private final Type type;
 	private final Priority priority;
+	private final SpillBuffer spillBuffer;
+	private final WriteStatistics statistics;
 	// TODO queue: delete old entries if full; like an EvictingQueue;
 	// https://github.com/google/guava/issues/3882
 	private final BlockingQueue<POINT> queue = new ArrayBlockingQueue<>(TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
 	private long countPoints = 0;
 
-	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
+	/**
+	 * Replays of spilled Points run one at a time.
+	 */
+	private final AtomicBoolean isReplayRunning = new AtomicBoolean(false);
+
+	/**
+	 * After a failed replay, the next replay is only started after a successful
+	 * live write.
+	 */
+	private volatile boolean isReplayPaused = false;
+
+	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority,
+			SpillBuffer spillBuffer, WriteStatistics statistics) {
 		this.dataSource = dataSource;
 		this.executor = executor;
 		this.type = type;
 		this.priority = priority;
+		this.spillBuffer = spillBuffer;
+		this.statistics = statistics;
 	}
 
 	public BlockingQueue<POINT> getQueue() {
@@ -43,6 +61,9 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 		 * TimescaleDB. This approach improves speed as not every single Point gets sent
 		 * via HTTP individually.
 		 */
+		// Replay Points that were spilled to disk
+		this.replaySpilledPoints();
+
 		// Poll and merge Points. Wait max 10 seconds in total.
 		var points = pollAndMergePoints(this.queue);
 
@@ -53,7 +74,53 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 		this.countPoints += points.size();
 
 		// Write points async.
-		this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points));
+		try {
+			this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points, 0,
+					this.spillBuffer, this.statistics, isSuccessful -> {
+						if (isSuccessful) {
+							this.isReplayPaused = false;
+						}
+					}));
+
+		} catch (RejectedExecutionException e) {
+			// Executor is shutting down -> keep the Points for the next start
+			if (this.spillBuffer.spill(this.type, this.priority, points, 0)) {
+				this.statistics.onSpilled(points.size());
+			} else {
+				this.statistics.onWriteFailed(points.size());
+			}
+		}
+	}
+
+	/**
+	 * Replays one batch of spilled Points, unless a replay is already running or
+	 * paused.
+	 */
+	void replaySpilledPoints() {
+		if (this.isReplayPaused || !this.isReplayRunning.compareAndSet(false, true)) {
+			return;
+		}
+		var batch = this.spillBuffer.poll(this.type, this.priority);
+		if (batch == null) {
+			this.isReplayRunning.set(false);
+			return;
+		}
+		try {
+			this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, batch.points,
+					batch.attempts, this.spillBuffer, this.statistics, isSuccessful -> {
+						if (!isSuccessful) {
+							this.isReplayPaused = true;
+						}
+						this.isReplayRunning.set(false);
+					}));
+
+		} catch (RejectedExecutionException e) {
+			// Executor is shutting down -> put the batch back; it was not attempted
+			if (!this.spillBuffer.spill(this.type, this.priority, batch.points, batch.attempts)) {
+				this.statistics.onWriteFailed(batch.points.size());
+			}
+			this.isReplayRunning.set(false);
+		}
 	}
 
 	/**
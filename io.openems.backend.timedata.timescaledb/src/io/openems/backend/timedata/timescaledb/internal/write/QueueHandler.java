@@ -21,11 +21,13 @@ import io.openems.common.utils.JsonUtils;
 public abstract class QueueHandler<T extends Point> {
 	private final MergePointsWorker<T> mergePointsWorker;
 	private final Class<T> pointClass;
+	private final WriteStatistics statistics;
 
-	protected QueueHandler(MergePointsWorker<T> mergePointsWorker, Class<T> pointClass) {
+	protected QueueHandler(MergePointsWorker<T> mergePointsWorker, Class<T> pointClass, WriteStatistics statistics) {
 		super();
 		this.mergePointsWorker = mergePointsWorker;
 		this.pointClass = pointClass;
+		this.statistics = statistics;
 	}
 
 	/**
@@ -43,7 +45,11 @@ public abstract class QueueHandler<T extends Point> {
 		if (value == null) {
 			return false;
 		}
-		return this.mergePointsWorker.getQueue().offer(value);
+		if (!this.mergePointsWorker.getQueue().offer(value)) {
+			this.statistics.onQueueFull();
+			return false;
+		}
+		return true;
 	}
 
 	public MergePointsWorker<T> getMergePointsWorker() {
@@ -76,29 +82,33 @@ public abstract class QueueHandler<T extends Point> {
 	/**
 	 * Returns a new {@link QueueHandler} of the given type.
 	 * 
-	 * @param type       the type of the handler
-	 * @param priority   the priority of the handler
-	 * @param dataSource the dataSource to get database connections
-	 * @param executor   the executor to execute writes
+	 * @param type        the type of the handler
+	 * @param priority    the priority of the handler
+	 * @param dataSource  the dataSource to get database connections
+	 * @param executor    the executor to execute writes
+	 * @param spillBuffer the {@link SpillBuffer} for failed writes
+	 * @param statistics  the {@link WriteStatistics}
 	 * @return the handler
 	 */
 	public static QueueHandler<?> of(Type type, Priority priority, HikariDataSource dataSource,
-			ExecutorService executor) {
+			ExecutorService executor, SpillBuffer spillBuffer, WriteStatistics statistics) {
 		switch (type) {
 		case INTEGER:
-			return new IntQueueHandler(dataSource, executor, type, priority);
+			return new IntQueueHandler(dataSource, executor, type, priority, spillBuffer, statistics);
 		case FLOAT:
-			return new FloatQueueHandler(dataSource, executor, type, priority);
+			return new FloatQueueHandler(dataSource, executor, type, priority, spillBuffer, statistics);
 		case STRING:
-			return new StringQueueHandler(dataSource, executor, type, priority);
+			return new StringQueueHandler(dataSource, executor, type, priority, spillBuffer, statistics);
 		}
 		return null;
 	}
 
 	public static class IntQueueHandler extends QueueHandler<IntPoint> {
 
-		public IntQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<IntPoint>(dataSource, executor, type, priority), IntPoint.class);
+		public IntQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority,
+				SpillBuffer spillBuffer, WriteStatistics statistics) {
+			super(new MergePointsWorker<IntPoint>(dataSource, executor, type, priority, spillBuffer, statistics),
+					IntPoint.class, statistics);
 		}
 
 		@Override
@@ -115,8 +125,10 @@ public abstract class QueueHandler<T extends Point> {
 
 	public static class FloatQueueHandler extends QueueHandler<FloatPoint> {
 
-		public FloatQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<FloatPoint>(dataSource, executor, type, priority), FloatPoint.class);
+		public FloatQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority,
+				SpillBuffer spillBuffer, WriteStatistics statistics) {
+			super(new MergePointsWorker<FloatPoint>(dataSource, executor, type, priority, spillBuffer, statistics),
+					FloatPoint.class, statistics);
 		}
 
 		@Override
@@ -133,8 +145,10 @@ public abstract class QueueHandler<T extends Point> {
 
 	public static class StringQueueHandler extends QueueHandler<StringPoint> {
 
-		public StringQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<StringPoint>(dataSource, executor, type, priority), StringPoint.class);
+		public StringQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority,
+				SpillBuffer spillBuffer, WriteStatistics statistics) {
+			super(new MergePointsWorker<StringPoint>(dataSource, executor, type, priority, spillBuffer, statistics),
+					StringPoint.class, statistics);
 		}
 
 		@Override
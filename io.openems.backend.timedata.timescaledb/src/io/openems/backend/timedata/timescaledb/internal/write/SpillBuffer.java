@@ -0,0 +1,250 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.backend.timedata.timescaledb.DoubleKeyMap;
+import io.openems.backend.timedata.timescaledb.SimpleDoubleKeyMap;
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+
+/**
+ * A bounded on-disk buffer for Points that could not be written to
+ * TimescaleDB.
+ *
+ * <p>
+ * Every failed batch is stored in its own file inside the spill directory. The
+ * files are replayed in the order they were written, once writes succeed again.
+ * If the total size of all files would exceed the configured maximum, the batch
+ * is dropped.
+ */
+public class SpillBuffer {
+
+	private static final String FILE_SUFFIX = ".spill";
+
+	/**
+	 * A spilled batch of Points.
+	 */
+	public static class Batch {
+
+		/**
+		 * The Points.
+		 */
+		public final List<Point> points;
+
+		/**
+		 * The number of failed attempts to write the Points.
+		 */
+		public final int attempts;
+
+		public Batch(List<Point> points, int attempts) {
+			this.points = points;
+			this.attempts = attempts;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(SpillBuffer.class);
+
+	private final File directory;
+	private final long maxSize;
+	private final DoubleKeyMap<Type, Priority, Deque<File>> files;
+	private final AtomicLong size = new AtomicLong();
+
+	private long nextSequence = 0;
+
+	/**
+	 * Creates a {@link SpillBuffer} and loads Points that were spilled in a
+	 * previous run.
+	 *
+	 * @param directory the spill directory
+	 * @param maxSize   the maximum total size of all spill files in [byte]; 0
+	 *                  disables spilling
+	 */
+	public SpillBuffer(File directory, long maxSize) {
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.files = new SimpleDoubleKeyMap<>(new EnumMap<>(Type.class), //
+				t -> new EnumMap<>(Priority.class));
+		for (var type : Type.values()) {
+			for (var priority : Priority.values()) {
+				this.files.put(type, priority, new ArrayDeque<>());
+			}
+		}
+		if (this.isEnabled()) {
+			this.loadExistingFiles();
+		}
+	}
+
+	/**
+	 * Is spilling enabled?.
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isEnabled() {
+		return this.maxSize > 0;
+	}
+
+	/**
+	 * Spills a batch of Points to disk.
+	 *
+	 * @param type     the {@link Type}
+	 * @param priority the {@link Priority}
+	 * @param points   the Points
+	 * @param attempts the number of failed attempts to write the Points
+	 * @return true if the Points were spilled; false if they were dropped
+	 */
+	public synchronized boolean spill(Type type, Priority priority, List<Point> points, int attempts) {
+		if (!this.isEnabled() || points.isEmpty()) {
+			return false;
+		}
+		var file = new File(this.directory, String.format("%019d-%d-%d%s", //
+				this.nextSequence++, type.id, priority.getId(), FILE_SUFFIX));
+		try {
+			this.directory.mkdirs();
+			try (var out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				out.writeInt(attempts);
+				out.writeInt(points.size());
+				for (var point : points) {
+					writePoint(out, point);
+				}
+			}
+		} catch (IOException e) {
+			this.log.error("Unable to spill Points to [" + file + "]: " + e.getMessage());
+			file.delete();
+			return false;
+		}
+
+		var length = file.length();
+		if (this.size.get() + length > this.maxSize) {
+			file.delete();
+			return false;
+		}
+		this.size.addAndGet(length);
+		this.files.get(type, priority).addLast(file);
+		return true;
+	}
+
+	/**
+	 * Removes the oldest spilled batch of Points for the given {@link Type} and
+	 * {@link Priority}.
+	 *
+	 * @param type     the {@link Type}
+	 * @param priority the {@link Priority}
+	 * @return the {@link Batch}; null if there are none
+	 */
+	public Batch poll(Type type, Priority priority) {
+		while (true) {
+			File file;
+			synchronized (this) {
+				file = this.files.get(type, priority).pollFirst();
+				if (file == null) {
+					return null;
+				}
+				this.size.addAndGet(-file.length());
+			}
+			try (var in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				var attempts = in.readInt();
+				var count = in.readInt();
+				var points = new ArrayList<Point>(count);
+				for (var i = 0; i < count; i++) {
+					points.add(readPoint(in, type));
+				}
+				return new Batch(points, attempts);
+
+			} catch (IOException e) {
+				this.log.error("Unable to read spilled Points from [" + file + "]: " + e.getMessage());
+
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Gets the total size of all spill files.
+	 *
+	 * @return the size in [byte]
+	 */
+	public long getSize() {
+		return this.size.get();
+	}
+
+	private void loadExistingFiles() {
+		var existingFiles = this.directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+		if (existingFiles == null) {
+			return;
+		}
+		Arrays.sort(existingFiles);
+		for (var file : existingFiles) {
+			var parts = file.getName().substring(0, file.getName().length() - FILE_SUFFIX.length()).split("-");
+			try {
+				var sequence = Long.parseLong(parts[0]);
+				var type = Type.fromId(Integer.parseInt(parts[1]));
+				var priority = Priority.fromId(Integer.parseInt(parts[2]));
+				if (type == null || priority == null) {
+					throw new IllegalArgumentException("Unknown Type or Priority");
+				}
+				this.nextSequence = Math.max(this.nextSequence, sequence + 1);
+				this.size.addAndGet(file.length());
+				this.files.get(type, priority).addLast(file);
+
+			} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+				this.log.warn("Ignoring invalid spill file [" + file + "]: " + e.getMessage());
+			}
+		}
+	}
+
+	private static void writePoint(DataOutputStream out, Point point) throws IOException {
+		out.writeInt(point.channelId);
+		out.writeLong(point.timestamp.toInstant().toEpochMilli());
+		if (point instanceof IntPoint) {
+			out.writeLong(((IntPoint) point).value);
+		} else if (point instanceof FloatPoint) {
+			out.writeDouble(((FloatPoint) point).value);
+		} else if (point instanceof StringPoint) {
+			var bytes = ((StringPoint) point).value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static Point readPoint(DataInputStream in, Type type) throws IOException {
+		var channelId = in.readInt();
+		var timestamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+		switch (type) {
+		case INTEGER:
+			return new IntPoint(channelId, timestamp, in.readLong());
+		case FLOAT:
+			return new FloatPoint(channelId, timestamp, in.readDouble());
+		case STRING:
+			var bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			return new StringPoint(channelId, timestamp, new String(bytes, StandardCharsets.UTF_8));
+		}
+		throw new IOException("Unknown Type [" + type + "]");
+	}
+
+}
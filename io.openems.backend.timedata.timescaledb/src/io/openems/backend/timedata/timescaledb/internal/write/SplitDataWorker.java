@@ -1,6 +1,9 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -9,6 +12,7 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Table.Cell;
 import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
@@ -84,6 +88,8 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 		// Retrieve next element in of Queue; waits till an element is available.
 		var data = this.sourceQueue.take();
 
+		var missingCells = new ArrayList<Cell<Long, String, JsonElement>>();
+		var missingValues = new HashMap<String, JsonElement>();
 		for (var cell : data.table.cellSet()) {
 			// Cache-Lookup
 			var channel = schema.getChannelFromCache(data.edgeId, cell.getColumnKey());
@@ -92,31 +98,43 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 				this.addToTypedQueue(channel, cell.getRowKey(), cell.getValue());
 
 			} else {
-				// Channel missing in Cache -> async
-				this.executor.execute(() -> {
-					try (var con = this.dataSource.getConnection()) {
-						var channelRecord = schema.getChannel(con, data.edgeId, cell.getColumnKey(), cell.getValue());
-						if (channelRecord != null) {
-							// Ok -> add to queue
-							this.addToTypedQueue(channelRecord, cell.getRowKey(), cell.getValue());
-							return;
-						}
-
-						if (cell.getValue() != null && cell.getValue() != JsonNull.INSTANCE) {
-							// Error and value was not null
-							this.log.error("Unable to get ChannelRecord for Channel " //
-									+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]");
-						}
-
-					} catch (SQLException e) {
-						this.log.error("Unable to get ChannelRecord for Channel " //
-								+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]: "
-								+ e.getMessage());
-					}
-				});
-
+				// Channel missing in Cache -> collect for one batched lookup
+				missingCells.add(cell);
+				var value = cell.getValue();
+				if (value != null && value != JsonNull.INSTANCE) {
+					missingValues.putIfAbsent(cell.getColumnKey(), value);
+				}
 			}
 		}
+		if (missingCells.isEmpty()) {
+			return;
+		}
+
+		// Resolve all missing Channels of this notification async with one query
+		this.executor.execute(() -> {
+			Map<String, ChannelRecord> channels;
+			try (var con = this.dataSource.getConnection()) {
+				channels = schema.getChannels(con, data.edgeId, missingValues);
+
+			} catch (SQLException e) {
+				this.log.error("Unable to get ChannelRecords for Channels " //
+						+ "[" + data.edgeId + "/" + String.join(",", missingValues.keySet()) + "]: " + e.getMessage());
+				return;
+			}
+
+			for (var cell : missingCells) {
+				var channelRecord = channels.get(cell.getColumnKey());
+				if (channelRecord != null) {
+					// Ok -> add to queue
+					this.addToTypedQueue(channelRecord, cell.getRowKey(), cell.getValue());
+
+				} else if (cell.getValue() != null && cell.getValue() != JsonNull.INSTANCE) {
+					// Error and value was not null
+					this.log.error("Unable to get ChannelRecord for Channel " //
+							+ "[" + data.edgeId + "/" + cell.getColumnKey() + "=" + cell.getValue() + "]");
+				}
+			}
+		});
 	}
 
 	/**
@@ -1,5 +1,7 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
+import java.io.File;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -26,6 +28,7 @@ import io.openems.backend.timedata.timescaledb.internal.Priority;
 import io.openems.backend.timedata.timescaledb.internal.Schema;
 import io.openems.backend.timedata.timescaledb.internal.Type;
 import io.openems.backend.timedata.timescaledb.internal.Utils;
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
@@ -36,6 +39,8 @@ public class TimescaledbWriteHandler {
 	public static final int POINTS_QUEUE_SIZE = 1_000_000;
 	public static final int MAX_POINTS_PER_WRITE = 10_000;
 	public static final int MAX_AGGREGATE_WAIT = 10; // [s]
+	public static final int MAX_WRITE_ATTEMPTS = 3;
+	public static final String SPILL_PATH = "timescaledb";
 
 	private final Logger log = LoggerFactory.getLogger(TimescaledbWriteHandler.class);
 
@@ -59,6 +64,11 @@ public class TimescaledbWriteHandler {
 	// #2 step: split points to typed queues
 	private final DoubleKeyMap<Type, Priority, QueueHandler<?>> queueHandler;
 
+	// #3 step: on failed write spill points to disk
+	private final SpillBuffer spillBuffer;
+
+	private final WriteStatistics statistics = new WriteStatistics();
+
 	public TimescaledbWriteHandler(Config config, Consumer<Schema> onInitializedSchema) throws SQLException {
 		this.isReadOnly = config.isReadOnly();
 
@@ -69,13 +79,16 @@ public class TimescaledbWriteHandler {
 		this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(config.poolSize(),
 				new ThreadFactoryBuilder().setNameFormat("TimescaleDB-%d").build());
 
+		this.spillBuffer = new SpillBuffer(getSpillDirectory(config), config.maxSpillSize() * 1024L * 1024L);
+
 		// Prepare typed merge points workers
 		this.queueHandler = new SimpleDoubleKeyMap<>(new EnumMap<>(Type.class), //
 				t -> new EnumMap<>(Priority.class));
 		for (var type : Type.values()) {
 			for (var priority : Priority.values()) {
 				this.queueHandler.put(type, priority, //
-						QueueHandler.of(type, priority, this.dataSource, this.executor));
+						QueueHandler.of(type, priority, this.dataSource, this.executor, this.spillBuffer,
+								this.statistics));
 			}
 		}
 
@@ -92,6 +105,13 @@ public class TimescaledbWriteHandler {
 		this.splitPointsWorker.activate("TimescaleDB-SplitPoints");
 	}
 
+	private static File getSpillDirectory(Config config) {
+		if (config.spillDirectory() != null && !config.spillDirectory().isBlank()) {
+			return new File(config.spillDirectory());
+		}
+		return Paths.get(OpenemsConstants.getOpenemsDataDir(), SPILL_PATH, config.id()).toFile();
+	}
+
 	private final Stream<QueueHandler<?>> streamHandler() {
 		return this.queueHandler.values().stream() //
 				.flatMap(t -> t.values().stream()); //
@@ -141,6 +161,8 @@ public class TimescaledbWriteHandler {
 	public StringBuilder debugLog() {
 		var sb = new StringBuilder() //
 				.append(ThreadPoolUtils.debugLog(this.executor)) //
+				.append(" ").append(this.statistics.debugLog()) //
+				.append("|SpillSize:").append(this.spillBuffer.getSize() / 1024).append("kB") //
 				.append(" SPLIT:").append(this.splitPointsWorker.debugLog());
 		this.streamHandler().forEach((t) -> {
 			sb.append(" ").append(t.debugLog());
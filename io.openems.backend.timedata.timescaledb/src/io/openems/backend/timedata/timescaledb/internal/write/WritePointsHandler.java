@@ -2,6 +2,7 @@ package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,19 +15,39 @@ import de.bytefish.pgbulkinsert.util.PostgreSqlUtils;
 import io.openems.backend.timedata.timescaledb.internal.Priority;
 import io.openems.backend.timedata.timescaledb.internal.Type;
 
+/**
+ * Writes a batch of Points to the raw table of one {@link Type} and
+ * {@link Priority} using PostgreSQL 'COPY ... FROM STDIN BINARY'.
+ *
+ * <p>
+ * If the write fails, the Points are handed to the {@link SpillBuffer}. A batch
+ * that failed {@link TimescaledbWriteHandler#MAX_WRITE_ATTEMPTS} times is
+ * dropped, so a batch that can never be written does not block the replay.
+ */
 public class WritePointsHandler implements Runnable {
 
 	private final Logger log = LoggerFactory.getLogger(WritePointsHandler.class);
 
 	private final HikariDataSource dataSource;
 	private final Type type;
+	private final Priority priority;
 	private final List<Point> points;
+	private final int attempts;
+	private final SpillBuffer spillBuffer;
+	private final WriteStatistics statistics;
+	private final Consumer<Boolean> onFinished;
 	private final Table table;
 
-	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points) {
+	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points,
+			int attempts, SpillBuffer spillBuffer, WriteStatistics statistics, Consumer<Boolean> onFinished) {
 		this.dataSource = dataSource;
 		this.type = type;
+		this.priority = priority;
 		this.points = points;
+		this.attempts = attempts;
+		this.spillBuffer = spillBuffer;
+		this.statistics = statistics;
+		this.onFinished = onFinished;
 
 		this.table = new SimpleRowWriter.Table(null, type.getRawTableName(priority), new String[] { //
 				"time", //
@@ -37,25 +58,49 @@ public class WritePointsHandler implements Runnable {
 
 	@Override
 	public void run() {
+		var newestTimestamp = 0L;
 		try (//
 				var con = this.dataSource.getConnection();
 				SimpleRowWriter writer = new SimpleRowWriter(this.table, PostgreSqlUtils.getPGConnection(con)) //
 		) {
 			for (var point : this.points) {
 				writer.startRow(this.type.fillRow(point));
+				newestTimestamp = Math.max(newestTimestamp, point.timestamp.toInstant().toEpochMilli());
 			}
 
 		} catch (SQLException e) {
 			// 'Expected errors', e.g. PostgreSQL server stopped
 			// -> short error log
 			this.log.error("Unable to write Points. " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			this.onFailed();
+			return;
 
 		} catch (Exception e) {
 			// 'Unexpected errors' -> long stacktrace
 			this.log.error("Unable to write Points. " + e.getClass().getSimpleName() + ": " + e.getMessage());
 			e.printStackTrace();
+			this.onFailed();
+			return;
+		}
+
+		this.statistics.onWritten(this.points.size(), newestTimestamp);
+		if (this.attempts > 0) {
+			this.statistics.onReplayed(this.points.size());
+		}
+		this.onFinished.accept(true);
+	}
 
+	private void onFailed() {
+		var attempts = this.attempts + 1;
+		if (attempts >= TimescaledbWriteHandler.MAX_WRITE_ATTEMPTS) {
+			this.log.error("Dropping " + this.points.size() + " Points after " + attempts + " failed attempts");
+			this.statistics.onWriteFailed(this.points.size());
+		} else if (this.spillBuffer.spill(this.type, this.priority, this.points, attempts)) {
+			this.statistics.onSpilled(this.points.size());
+		} else {
+			this.statistics.onWriteFailed(this.points.size());
 		}
+		this.onFinished.accept(false);
 	}
 
 }
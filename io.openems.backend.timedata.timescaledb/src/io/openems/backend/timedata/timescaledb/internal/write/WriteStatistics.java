@@ -0,0 +1,98 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the write path, shared by all workers and handlers.
+ */
+public class WriteStatistics {
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder droppedQueueFull = new LongAdder();
+	private final LongAdder droppedWriteFailed = new LongAdder();
+	private final LongAdder spilled = new LongAdder();
+	private final LongAdder replayed = new LongAdder();
+	private final AtomicLong lag = new AtomicLong();
+
+	private long lastWritten = 0;
+	private long lastTimestamp = System.nanoTime();
+
+	/**
+	 * Called after a batch was written successfully.
+	 *
+	 * @param noOfPoints      the number of written Points
+	 * @param newestTimestamp the newest timestamp of the batch in epoch
+	 *                        milliseconds
+	 */
+	public void onWritten(int noOfPoints, long newestTimestamp) {
+		this.written.add(noOfPoints);
+		this.lag.set(Math.max(0, System.currentTimeMillis() - newestTimestamp));
+	}
+
+	/**
+	 * Called when a Point could not be added to a full queue.
+	 */
+	public void onQueueFull() {
+		this.droppedQueueFull.increment();
+	}
+
+	/**
+	 * Called when a batch could not be written and was spilled to disk.
+	 *
+	 * @param noOfPoints the number of spilled Points
+	 */
+	public void onSpilled(int noOfPoints) {
+		this.spilled.add(noOfPoints);
+	}
+
+	/**
+	 * Called when a batch could neither be written nor spilled to disk.
+	 *
+	 * @param noOfPoints the number of dropped Points
+	 */
+	public void onWriteFailed(int noOfPoints) {
+		this.droppedWriteFailed.add(noOfPoints);
+	}
+
+	/**
+	 * Called when a spilled batch is replayed.
+	 *
+	 * @param noOfPoints the number of replayed Points
+	 */
+	public void onReplayed(int noOfPoints) {
+		this.replayed.add(noOfPoints);
+	}
+
+	/**
+	 * Gets the number of written Points per second since the last call.
+	 *
+	 * @return Points per second
+	 */
+	private synchronized long getAndResetThroughput() {
+		var now = System.nanoTime();
+		var written = this.written.sum();
+		var seconds = (now - this.lastTimestamp) / 1_000_000_000.;
+		var result = seconds > 0 ? Math.round((written - this.lastWritten) / seconds) : 0;
+		this.lastWritten = written;
+		this.lastTimestamp = now;
+		return result;
+	}
+
+	/**
+	 * Returns a DebugLog String. The throughput is calculated since the last call.
+	 *
+	 * @return debug log
+	 */
+	public String debugLog() {
+		return new StringBuilder() //
+				.append("Written:").append(this.written.sum()) //
+				.append("|").append(this.getAndResetThroughput()).append("/s") //
+				.append("|Lag:").append(this.lag.get()).append("ms") //
+				.append("|Dropped:").append(this.droppedQueueFull.sum() + this.droppedWriteFailed.sum()) //
+				.append("|Spilled:").append(this.spilled.sum()) //
+				.append("|Replayed:").append(this.replayed.sum()) //
+				.toString();
+	}
+
+}
@@ -14,6 +14,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public String database;
 		public boolean isReadOnly;
 		public int poolSize;
+		public String spillDirectory = "";
+		public int maxSpillSize = 0;
 
 		private Builder() {
 		}
@@ -58,6 +60,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setSpillDirectory(String spillDirectory) {
+			this.spillDirectory = spillDirectory;
+			return this;
+		}
+
+		public Builder setMaxSpillSize(int maxSpillSize) {
+			this.maxSpillSize = maxSpillSize;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -114,4 +126,14 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.poolSize;
 	}
 
+	@Override
+	public String spillDirectory() {
+		return this.builder.spillDirectory;
+	}
+
+	@Override
+	public int maxSpillSize() {
+		return this.builder.maxSpillSize;
+	}
+
 }
@@ -0,0 +1,47 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+
+public class MergePointsWorkerTest {
+
+	private static final ZonedDateTime TIMESTAMP = ZonedDateTime.ofInstant(Instant.ofEpochMilli(1_660_000_000_000L),
+			ZoneOffset.UTC);
+
+	@Test
+	public void testReplayRejected() throws IOException {
+		var directory = Files.createTempDirectory("spill").toFile();
+		var spillBuffer = new SpillBuffer(directory, 1024 * 1024);
+		assertTrue(spillBuffer.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 10)), 1));
+
+		var executor = Executors.newSingleThreadExecutor();
+		executor.shutdown();
+		var sut = new MergePointsWorker<IntPoint>(null, executor, Type.INTEGER, Priority.LOW, spillBuffer,
+				new WriteStatistics());
+
+		// Batch is put back and the next replay is not blocked
+		sut.replaySpilledPoints();
+		sut.replaySpilledPoints();
+		var batch = spillBuffer.poll(Type.INTEGER, Priority.LOW);
+		assertEquals(1, batch.attempts);
+		assertEquals(10, ((IntPoint) batch.points.get(0)).value);
+		assertNull(spillBuffer.poll(Type.INTEGER, Priority.LOW));
+		directory.delete();
+	}
+
+}
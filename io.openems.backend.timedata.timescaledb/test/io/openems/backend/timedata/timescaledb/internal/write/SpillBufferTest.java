@@ -0,0 +1,75 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+
+public class SpillBufferTest {
+
+	private static final ZonedDateTime TIMESTAMP = ZonedDateTime.ofInstant(Instant.ofEpochMilli(1_660_000_000_000L),
+			ZoneOffset.UTC);
+
+	@Test
+	public void testSpillAndReplay() throws IOException {
+		var directory = Files.createTempDirectory("spill").toFile();
+		var sut = new SpillBuffer(directory, 1024 * 1024);
+		assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 10)), 1));
+		assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 20)), 2));
+		assertTrue(sut.spill(Type.FLOAT, Priority.HIGH, List.of(new FloatPoint(2, TIMESTAMP, 1.5)), 1));
+		assertTrue(sut.spill(Type.STRING, Priority.HIGH, List.of(new StringPoint(3, TIMESTAMP, "äöü")), 1));
+		assertTrue(sut.getSize() > 0);
+
+		// Reload from disk
+		sut = new SpillBuffer(directory, 1024 * 1024);
+		var batch = sut.poll(Type.INTEGER, Priority.LOW);
+		assertEquals(1, batch.attempts);
+		var points = batch.points;
+		assertEquals(1, points.size());
+		assertEquals(10, ((IntPoint) points.get(0)).value);
+		assertEquals(1, points.get(0).channelId);
+		assertEquals(TIMESTAMP, points.get(0).timestamp);
+		batch = sut.poll(Type.INTEGER, Priority.LOW);
+		assertEquals(2, batch.attempts);
+		assertEquals(20, ((IntPoint) batch.points.get(0)).value);
+		assertNull(sut.poll(Type.INTEGER, Priority.LOW));
+		assertEquals(1.5, ((FloatPoint) sut.poll(Type.FLOAT, Priority.HIGH).points.get(0)).value, 0.001);
+		assertEquals("äöü", ((StringPoint) sut.poll(Type.STRING, Priority.HIGH).points.get(0)).value);
+		assertEquals(0, sut.getSize());
+		assertEquals(0, directory.list().length);
+		directory.delete();
+	}
+
+	@Test
+	public void testMaxSize() throws IOException {
+		var directory = Files.createTempDirectory("spill").toFile();
+		var sut = new SpillBuffer(directory, 30); // one file has 28 bytes
+		assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 10)), 1));
+		assertFalse(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 20)), 1));
+		assertEquals(1, directory.list().length);
+		sut.poll(Type.INTEGER, Priority.LOW);
+		directory.delete();
+
+		// Disabled
+		sut = new SpillBuffer(directory, 0);
+		assertFalse(sut.isEnabled());
+		assertFalse(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIMESTAMP, 10)), 1));
+		assertFalse(directory.exists());
+	}
+
+}
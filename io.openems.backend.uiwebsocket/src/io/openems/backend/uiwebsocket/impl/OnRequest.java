@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.java_websocket.WebSocket;
 
@@ -111,7 +112,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 			result = this.handleGetSetupProtocolDataRequest(user, GetSetupProtocolDataRequest.from(request));
 			break;
 		case SubscribeEdgesRequest.METHOD:
-			result = this.handleSubscribeEdgesRequest(wsData, SubscribeEdgesRequest.from(request));
+			result = this.handleSubscribeEdgesRequest(wsData, user, SubscribeEdgesRequest.from(request));
 			break;
 		case GetEdgesRequest.METHOD:
 			result = this.handleGetEdgesRequest(user, GetEdgesRequest.from(request));
@@ -281,14 +282,17 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 * Handles a {@link SubscribeEdgesRequest}.
 	 *
 	 * @param wsData  the WebSocket attachment
+	 * @param user    the {@link User}; only Edges with a Role are subscribed
 	 * @param request the SubscribeChannelsRequest
 	 * @return the JSON-RPC Success Response Future
 	 * @throws OpenemsNamedException on error
 	 */
-	private CompletableFuture<JsonrpcResponseSuccess> handleSubscribeEdgesRequest(WsData wsData,
+	private CompletableFuture<JsonrpcResponseSuccess> handleSubscribeEdgesRequest(WsData wsData, User user,
 			SubscribeEdgesRequest request) throws OpenemsNamedException {
 		// Register subscription in WsData
-		wsData.handleSubscribeEdgesRequest(request.getEdges());
+		wsData.handleSubscribeEdgesRequest(request.getEdges().stream() //
+				.filter(edgeId -> user.getRole(edgeId).isPresent()) //
+				.collect(Collectors.toSet()));
 
 		// JSON-RPC response
 		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
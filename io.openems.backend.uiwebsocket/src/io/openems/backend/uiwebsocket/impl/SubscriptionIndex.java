@@ -0,0 +1,134 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+
+/**
+ * Index of UI sessions by subscribed Edge-ID and Channel-Address.
+ *
+ * <p>
+ * The index is maintained by {@link WsData} on subscribe, unsubscribe, logout
+ * and close, so that incoming Edge data only touches the sessions that
+ * subscribed to it - instead of all open connections.
+ */
+public class SubscriptionIndex {
+
+	private final Map<String /* Edge-ID */, Set<WsData>> edges = new ConcurrentHashMap<>();
+
+	private final Map<String /* Edge-ID */, //
+			Map<String /* Channel-Address */, Set<WsData>>> channels = new ConcurrentHashMap<>();
+
+	/**
+	 * Updates the subscribed Edges of a session.
+	 *
+	 * @param wsData   the {@link WsData}
+	 * @param previous the previously subscribed Edge-IDs
+	 * @param current  the currently subscribed Edge-IDs
+	 */
+	public void updateEdges(WsData wsData, Set<String> previous, Set<String> current) {
+		for (var edgeId : previous) {
+			if (!current.contains(edgeId)) {
+				remove(this.edges, edgeId, wsData);
+			}
+		}
+		for (var edgeId : current) {
+			add(this.edges, edgeId, wsData);
+		}
+	}
+
+	/**
+	 * Updates the subscribed Channels of a session for one Edge.
+	 *
+	 * @param wsData   the {@link WsData}
+	 * @param edgeId   the Edge-ID
+	 * @param previous the previously subscribed Channel-Addresses
+	 * @param current  the currently subscribed Channel-Addresses
+	 */
+	public void updateChannels(WsData wsData, String edgeId, Set<String> previous, Set<String> current) {
+		for (var channel : previous) {
+			if (!current.contains(channel)) {
+				this.channels.computeIfPresent(edgeId, (k, edgeChannels) -> {
+					remove(edgeChannels, channel, wsData);
+					return edgeChannels.isEmpty() ? null : edgeChannels;
+				});
+			}
+		}
+		if (current.isEmpty()) {
+			return;
+		}
+		this.channels.compute(edgeId, (k, edgeChannels) -> {
+			if (edgeChannels == null) {
+				edgeChannels = new ConcurrentHashMap<>();
+			}
+			for (var channel : current) {
+				add(edgeChannels, channel, wsData);
+			}
+			return edgeChannels;
+		});
+	}
+
+	/**
+	 * Gets the sessions that subscribed to an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WsData}s; empty if there are none
+	 */
+	public Set<WsData> getEdgeSubscribers(String edgeId) {
+		var result = this.edges.get(edgeId);
+		if (result == null) {
+			return Collections.emptySet();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values of the subscribed Channels of an Edge per session. All
+	 * values are taken from one consistent snapshot of the {@link EdgeCache}.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache}
+	 * @return a map of {@link WsData} to its Channel values; empty if there are
+	 *         no subscriptions
+	 */
+	public Map<WsData, Map<String, JsonElement>> getChannelValues(String edgeId, EdgeCache edgeCache) {
+		var edgeChannels = this.channels.get(edgeId);
+		if (edgeChannels == null) {
+			return Collections.emptyMap();
+		}
+		var snapshot = edgeCache.getChannelValues(edgeChannels.keySet());
+		var result = new HashMap<WsData, Map<String, JsonElement>>();
+		for (var entry : edgeChannels.entrySet()) {
+			var value = snapshot.getOrDefault(entry.getKey(), JsonNull.INSTANCE);
+			for (var wsData : entry.getValue()) {
+				result.computeIfAbsent(wsData, k -> new HashMap<>()).put(entry.getKey(), value);
+			}
+		}
+		return result;
+	}
+
+	private static <K> void add(Map<K, Set<WsData>> map, K key, WsData wsData) {
+		map.compute(key, (k, wsDatas) -> {
+			if (wsDatas == null) {
+				wsDatas = ConcurrentHashMap.newKeySet();
+			}
+			wsDatas.add(wsData);
+			return wsDatas;
+		});
+	}
+
+	private static <K> void remove(Map<K, Set<WsData>> map, K key, WsData wsData) {
+		map.computeIfPresent(key, (k, wsDatas) -> {
+			wsDatas.remove(wsData);
+			return wsDatas.isEmpty() ? null : wsDatas;
+		});
+	}
+
+}
@@ -1,7 +1,6 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -49,6 +48,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	protected WebsocketServer server = null;
 
+	protected final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -132,9 +133,6 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		var wsDatas = this.getWsDatasForEdgeId(edgeId);
 		OpenemsNamedException exception = null;
 		for (WsData wsData : wsDatas) {
-			if (!wsData.isEdgeSubscribed(edgeId)) {
-				continue;
-			}
 			try {
 				wsData.send(notification);
 			} catch (OpenemsNamedException e) {
@@ -166,37 +164,14 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	}
 
 	/**
-	 * Gets the WebSocket connection attachments of all connections accessing an
-	 * Edge-ID.
+	 * Gets the WebSocket connection attachments of all connections that
+	 * subscribed to an Edge-ID. Access to the Edge-ID is checked on subscribe.
 	 *
 	 * @param edgeId the Edge-ID
-	 * @return the WsDatas; empty list if there are none
+	 * @return the WsDatas; empty if there are none
 	 */
-	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData == null) {
-				continue;
-			}
-			// get attachment User-ID
-			var userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				var userId = userIdOpt.get();
-				// get User for User-ID
-				var userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					var user = userOpt.get();
-					var edgeRoleOpt = user.getRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
-			}
-		}
-		return result;
+	private Set<WsData> getWsDatasForEdgeId(String edgeId) {
+		return this.subscriptionIndex.getEdgeSubscribers(edgeId);
 	}
 
 	@Override
@@ -210,12 +185,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	@Override
 	public void sendSubscribedChannels(String edgeId, EdgeCache edgeCache) {
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData != null) {
-				wsData.sendSubscribedChannels(edgeId, edgeCache);
-			}
+		var values = this.subscriptionIndex.getChannelValues(edgeId, edgeCache);
+		for (var entry : values.entrySet()) {
+			entry.getKey().sendSubscribedChannels(edgeId, entry.getValue());
 		}
 	}
 
@@ -35,35 +35,27 @@ public class WsData extends io.openems.common.websocket.WsData {
 		 *
 		 * @param edgeId  the Edge-ID
 		 * @param request the {@link SubscribeChannelsRequest}
+		 * @return the previously subscribed Channels; null if the request was not
+		 *         applied
 		 */
-		public synchronized void handleSubscribeChannelsRequest(String edgeId, SubscribeChannelsRequest request) {
+		public synchronized Set<String> handleSubscribeChannelsRequest(String edgeId,
+				SubscribeChannelsRequest request) {
 			if (this.lastRequestCount < request.getCount()) {
-				this.subscribedChannels.put(edgeId, request.getChannels());
+				var previous = this.subscribedChannels.put(edgeId, request.getChannels());
+				return previous == null ? Collections.emptySet() : previous;
 			}
+			return null;
 		}
 
 		/**
-		 * Gets the values for subscribed Channels.
-		 * 
-		 * @param edgeId    the Edge-ID
-		 * @param edgeCache the {@link EdgeCache}
-		 * @return a map of channel values
+		 * Clears all subscriptions.
+		 *
+		 * @return the previously subscribed Channels per Edge-ID
 		 */
-		public Map<String, JsonElement> getChannelValues(String edgeId, EdgeCache edgeCache) {
-			var subscribedChannels = this.subscribedChannels.get(edgeId);
-			if (subscribedChannels == null || subscribedChannels.isEmpty()) {
-				return Collections.emptyMap();
-			}
-
-			var result = new HashMap<String, JsonElement>(subscribedChannels.size());
-			for (var channel : subscribedChannels) {
-				result.put(channel, edgeCache.getChannelValue(channel));
-			}
-			return result;
-		}
-
-		protected void dispose() {
+		protected synchronized Map<String, SortedSet<String>> dispose() {
+			var result = new HashMap<>(this.subscribedChannels);
 			this.subscribedChannels.clear();
+			return result;
 		}
 	}
 
@@ -74,7 +66,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private Optional<String> userId = Optional.empty();
 	private Optional<String> token = Optional.empty();
 
-	private Set<String> subscribedEdges = new HashSet<>();
+	private volatile Set<String> subscribedEdges = new HashSet<>();
 
 	public WsData(WebsocketServer parent) {
 		this.parent = parent;
@@ -86,7 +78,33 @@ public class WsData extends io.openems.common.websocket.WsData {
 	public void logout() {
 		this.unsetToken();
 		this.unsetUserId();
-		this.subscribedChannels.dispose();
+		this.unsubscribeAll();
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		this.unsubscribeAll();
+	}
+
+	/**
+	 * Removes all Edge and Channel subscriptions of this session.
+	 */
+	private synchronized void unsubscribeAll() {
+		this.disposeSubscribedChannels();
+		this.getSubscriptionIndex().updateEdges(this, this.subscribedEdges, Collections.emptySet());
+		this.subscribedEdges = new HashSet<>();
+	}
+
+	private synchronized void disposeSubscribedChannels() {
+		var index = this.getSubscriptionIndex();
+		for (var entry : this.subscribedChannels.dispose().entrySet()) {
+			index.updateChannels(this, entry.getKey(), entry.getValue(), Collections.emptySet());
+		}
+	}
+
+	private SubscriptionIndex getSubscriptionIndex() {
+		return this.parent.parent.subscriptionIndex;
 	}
 
 	public synchronized void setUserId(String userId) {
@@ -176,30 +194,32 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 * @param request the {@link SubscribeChannelsRequest}
 	 */
 	public synchronized void handleSubscribeChannelsRequest(String edgeId, SubscribeChannelsRequest request) {
-		this.subscribedChannels.handleSubscribeChannelsRequest(edgeId, request);
+		var previous = this.subscribedChannels.handleSubscribeChannelsRequest(edgeId, request);
+		if (previous != null) {
+			this.getSubscriptionIndex().updateChannels(this, edgeId, previous, request.getChannels());
+		}
 	}
 
 	/**
 	 * Applies a SubscribeEdgesRequest.
 	 * 
-	 * @param edgeIds the edges to subscribe
+	 * @param edgeIds the edges to subscribe; the User is expected to have access
+	 *                to all of them
 	 */
-	public void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+	public synchronized void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+		this.getSubscriptionIndex().updateEdges(this, this.subscribedEdges, edgeIds);
 		this.subscribedEdges = edgeIds;
 	}
 
 	/**
 	 * Sends the subscribed Channels to the UI session.
 	 * 
-	 * @param edgeId    the Edge-ID
-	 * @param edgeCache the {@link EdgeCache} for the Edge-ID
+	 * @param edgeId the Edge-ID
+	 * @param values the values of the subscribed Channels of the Edge-ID, see
+	 *               {@link SubscriptionIndex#getChannelValues(String, EdgeCache)}
 	 */
-	public void sendSubscribedChannels(String edgeId, EdgeCache edgeCache) {
-		if (!this.isEdgeSubscribed(edgeId)) {
-			return;
-		}
-		var values = this.subscribedChannels.getChannelValues(edgeId, edgeCache);
-		if (values.isEmpty()) {
+	public void sendSubscribedChannels(String edgeId, Map<String, JsonElement> values) {
+		if (!this.isEdgeSubscribed(edgeId) || values.isEmpty()) {
 			return;
 		}
 		try {
@@ -210,7 +230,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 		} catch (OpenemsException e) {
 			// Log & stop subscribes
 			this.parent.logWarn(this.log, "Unable to send CurrentDataNotification: " + e.getMessage());
-			this.subscribedChannels.dispose();
+			this.disposeSubscribedChannels();
 		}
 	}
 
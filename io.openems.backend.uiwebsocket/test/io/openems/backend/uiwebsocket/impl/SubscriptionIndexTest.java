@@ -0,0 +1,67 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+
+public class SubscriptionIndexTest {
+
+	@Test
+	public void testEdges() {
+		var sut = new SubscriptionIndex();
+		var wsData0 = new WsData(null);
+		var wsData1 = new WsData(null);
+
+		sut.updateEdges(wsData0, Set.of(), Set.of("edge0", "edge1"));
+		sut.updateEdges(wsData1, Set.of(), Set.of("edge1"));
+		assertEquals(Set.of(wsData0), sut.getEdgeSubscribers("edge0"));
+		assertEquals(Set.of(wsData0, wsData1), sut.getEdgeSubscribers("edge1"));
+
+		sut.updateEdges(wsData0, Set.of("edge0", "edge1"), Set.of("edge2"));
+		assertTrue(sut.getEdgeSubscribers("edge0").isEmpty());
+		assertEquals(Set.of(wsData1), sut.getEdgeSubscribers("edge1"));
+		assertEquals(Set.of(wsData0), sut.getEdgeSubscribers("edge2"));
+	}
+
+	@Test
+	public void testChannels() {
+		var sut = new SubscriptionIndex();
+		var wsData0 = new WsData(null);
+		var wsData1 = new WsData(null);
+		var edgeCache = new EdgeCache();
+		var data = new TreeMap<Long, Map<String, JsonElement>>();
+		data.put(1L, Map.of(//
+				"_sum/EssSoc", new JsonPrimitive(50), //
+				"_sum/GridActivePower", new JsonPrimitive(1000)));
+		edgeCache.update(data);
+
+		sut.updateChannels(wsData0, "edge0", Set.of(), Set.of("_sum/EssSoc", "_sum/GridActivePower"));
+		sut.updateChannels(wsData1, "edge0", Set.of(), Set.of("_sum/EssSoc"));
+		var values = sut.getChannelValues("edge0", edgeCache);
+		assertEquals(2, values.size());
+		assertEquals(Map.of(//
+				"_sum/EssSoc", new JsonPrimitive(50), //
+				"_sum/GridActivePower", new JsonPrimitive(1000)), values.get(wsData0));
+		assertEquals(Map.of("_sum/EssSoc", new JsonPrimitive(50)), values.get(wsData1));
+		assertTrue(sut.getChannelValues("edge1", edgeCache).isEmpty());
+
+		sut.updateChannels(wsData0, "edge0", Set.of("_sum/EssSoc", "_sum/GridActivePower"), Set.of());
+		sut.updateChannels(wsData1, "edge0", Set.of("_sum/EssSoc"), Set.of("_sum/GridActivePower"));
+		values = sut.getChannelValues("edge0", edgeCache);
+		assertEquals(Map.of(wsData1, Map.of("_sum/GridActivePower", new JsonPrimitive(1000))), values);
+
+		sut.updateChannels(wsData1, "edge0", Set.of("_sum/GridActivePower"), Set.of());
+		assertTrue(sut.getChannelValues("edge0", edgeCache).isEmpty());
+	}
+
+}
@@ -0,0 +1,117 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import io.openems.common.exceptions.OpenemsException;
+
+/**
+ * Constants and primitive read/write helpers for the binary encoding of
+ * {@link TimestampedDataNotification}s.
+ *
+ * <p>
+ * A binary frame is structured as follows:
+ *
+ * <pre>
+ * byte     version ({@link #VERSION})
+ * byte     flags ({@link #FLAG_DEFLATE} if the body is deflated)
+ * body:
+ *   varint   number of new dictionary entries
+ *   string[] Channel-Addresses; IDs are assigned sequentially per session
+ *   zigzag   timestamp delta to the previous frame in milliseconds
+ *   varint   number of values
+ *   value[]  varint ID delta to the previous value, byte type tag, payload
+ * </pre>
+ *
+ * <p>
+ * Integer values are encoded as zigzag varint delta to the last integer value
+ * of the same Channel. Dictionary, timestamp and last values are kept per
+ * websocket session by {@link BinaryTimestampedDataEncoder} and
+ * {@link BinaryTimestampedDataDecoder}.
+ */
+final class BinaryTimestampedData {
+
+	protected static final byte VERSION = 1;
+
+	protected static final byte FLAG_DEFLATE = 0x01;
+
+	protected static final byte TYPE_NULL = 0;
+	protected static final byte TYPE_FALSE = 1;
+	protected static final byte TYPE_TRUE = 2;
+	protected static final byte TYPE_INTEGER_DELTA = 3;
+	protected static final byte TYPE_FLOAT = 4;
+	protected static final byte TYPE_DOUBLE = 5;
+	protected static final byte TYPE_STRING = 6;
+
+	private BinaryTimestampedData() {
+	}
+
+	protected static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	protected static void writeZigzag(ByteArrayOutputStream out, long value) {
+		writeVarint(out, (value << 1) ^ (value >> 63));
+	}
+
+	protected static void writeString(ByteArrayOutputStream out, String value) {
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarint(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	protected static void writeLong(ByteArrayOutputStream out, long value, int bytes) {
+		for (var i = 0; i < bytes; i++) {
+			out.write((int) (value >>> (8 * i)));
+		}
+	}
+
+	protected static long readVarint(ByteBuffer in) throws OpenemsException {
+		long result = 0;
+		for (var shift = 0; shift < 64; shift += 7) {
+			var b = in.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new OpenemsException("Malformed varint in binary timestamped data");
+	}
+
+	protected static int readVarintAsInt(ByteBuffer in) throws OpenemsException {
+		var result = readVarint(in);
+		if (result < 0 || result > Integer.MAX_VALUE) {
+			throw new OpenemsException("Value [" + result + "] out of range in binary timestamped data");
+		}
+		return (int) result;
+	}
+
+	protected static long readZigzag(ByteBuffer in) throws OpenemsException {
+		var value = readVarint(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	protected static String readString(ByteBuffer in) throws OpenemsException {
+		var length = readVarintAsInt(in);
+		if (length > in.remaining()) {
+			throw new OpenemsException("String length [" + length + "] exceeds binary timestamped data");
+		}
+		var bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	protected static long readLong(ByteBuffer in, int bytes) {
+		long result = 0;
+		for (var i = 0; i < bytes; i++) {
+			result |= (long) (in.get() & 0xFF) << (8 * i);
+		}
+		return result;
+	}
+
+}
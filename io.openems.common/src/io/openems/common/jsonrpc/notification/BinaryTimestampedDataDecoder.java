@@ -0,0 +1,178 @@
+package io.openems.common.jsonrpc.notification;
+
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.FLAG_DEFLATE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_DOUBLE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_FALSE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_FLOAT;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_INTEGER_DELTA;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_NULL;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_STRING;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_TRUE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.VERSION;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.readLong;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.readString;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.readVarintAsInt;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.readZigzag;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+
+/**
+ * Decodes binary frames created by {@link BinaryTimestampedDataEncoder} to
+ * {@link TimestampedDataNotification}s.
+ *
+ * <p>
+ * An instance holds the state of one websocket session. Frames have to be
+ * decoded in the order they were received. After an error the state is
+ * undefined and the session has to be renegotiated.
+ *
+ * <p>
+ * The size of an inflated frame and the number of dictionary entries are
+ * limited, so that a single session cannot exhaust the memory.
+ */
+public class BinaryTimestampedDataDecoder {
+
+	/**
+	 * Default maximum size of an inflated frame in bytes.
+	 */
+	public static final int DEFAULT_MAX_INFLATED_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * Default maximum number of Channel-Addresses in the dictionary of a session.
+	 */
+	public static final int DEFAULT_MAX_DICTIONARY_SIZE = 100_000;
+
+	private static final JsonPrimitive TRUE = new JsonPrimitive(true);
+	private static final JsonPrimitive FALSE = new JsonPrimitive(false);
+
+	private final int maxInflatedSize;
+	private final int maxDictionarySize;
+	private final ArrayList<String> dictionary = new ArrayList<>();
+
+	private long lastTimestamp = 0;
+	private long[] lastIntegerValues = new long[64];
+
+	public BinaryTimestampedDataDecoder() {
+		this(DEFAULT_MAX_INFLATED_SIZE, DEFAULT_MAX_DICTIONARY_SIZE);
+	}
+
+	public BinaryTimestampedDataDecoder(int maxInflatedSize, int maxDictionarySize) {
+		this.maxInflatedSize = maxInflatedSize;
+		this.maxDictionarySize = maxDictionarySize;
+	}
+
+	/**
+	 * Decodes a binary frame.
+	 *
+	 * @param frame the binary frame
+	 * @return the {@link TimestampedDataNotification}
+	 * @throws OpenemsException on error
+	 */
+	public synchronized TimestampedDataNotification decode(ByteBuffer frame) throws OpenemsException {
+		try {
+			var version = frame.get();
+			if (version != VERSION) {
+				throw new OpenemsException("Unsupported binary timestamped data version [" + version + "]");
+			}
+			var flags = frame.get();
+			var body = (flags & FLAG_DEFLATE) != 0 ? inflate(frame, this.maxInflatedSize) : frame;
+
+			// Read new dictionary entries
+			var noOfNewAddresses = readVarintAsInt(body);
+			if (noOfNewAddresses > this.maxDictionarySize - this.dictionary.size()) {
+				throw new OpenemsException("Dictionary of binary timestamped data exceeds [" + this.maxDictionarySize
+						+ "] Channel-Addresses");
+			}
+			for (var i = 0; i < noOfNewAddresses; i++) {
+				this.dictionary.add(readString(body).intern());
+			}
+			if (this.dictionary.size() > this.lastIntegerValues.length) {
+				this.lastIntegerValues = Arrays.copyOf(this.lastIntegerValues,
+						Math.max(this.dictionary.size(), this.lastIntegerValues.length * 2));
+			}
+
+			var timestamp = this.lastTimestamp + readZigzag(body);
+			this.lastTimestamp = timestamp;
+
+			var result = new TimestampedDataNotification();
+			var noOfValues = readVarintAsInt(body);
+			var id = 0;
+			for (var i = 0; i < noOfValues; i++) {
+				id += readVarintAsInt(body);
+				if (id >= this.dictionary.size()) {
+					throw new OpenemsException("Unknown Channel-ID [" + id + "] in binary timestamped data");
+				}
+				result.add(timestamp, this.dictionary.get(id), this.readValue(body, id));
+			}
+			if (body.hasRemaining()) {
+				throw new OpenemsException("Unexpected trailing bytes in binary timestamped data");
+			}
+			return result;
+
+		} catch (BufferUnderflowException e) {
+			throw new OpenemsException("Binary timestamped data is truncated");
+		}
+	}
+
+	private JsonElement readValue(ByteBuffer in, int id) throws OpenemsException {
+		var type = in.get();
+		switch (type) {
+		case TYPE_NULL:
+			return JsonNull.INSTANCE;
+		case TYPE_FALSE:
+			return FALSE;
+		case TYPE_TRUE:
+			return TRUE;
+		case TYPE_INTEGER_DELTA:
+			var value = this.lastIntegerValues[id] + readZigzag(in);
+			this.lastIntegerValues[id] = value;
+			return new JsonPrimitive(value);
+		case TYPE_FLOAT:
+			return new JsonPrimitive(Float.intBitsToFloat((int) readLong(in, 4)));
+		case TYPE_DOUBLE:
+			return new JsonPrimitive(Double.longBitsToDouble(readLong(in, 8)));
+		case TYPE_STRING:
+			return new JsonPrimitive(readString(in));
+		}
+		throw new OpenemsException("Unknown value type [" + type + "] in binary timestamped data");
+	}
+
+	private static ByteBuffer inflate(ByteBuffer in, int maxInflatedSize) throws OpenemsException {
+		var inflater = new Inflater();
+		try {
+			inflater.setInput(in);
+			var out = new ByteArrayOutputStream((int) Math.min(maxInflatedSize, in.remaining() * 4L));
+			var buffer = new byte[4096];
+			while (!inflater.finished()) {
+				var length = inflater.inflate(buffer);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new OpenemsException("Deflated binary timestamped data is truncated");
+				}
+				if (length > maxInflatedSize - out.size()) {
+					throw new OpenemsException(
+							"Inflated binary timestamped data exceeds [" + maxInflatedSize + "] bytes");
+				}
+				out.write(buffer, 0, length);
+			}
+			return ByteBuffer.wrap(out.toByteArray());
+
+		} catch (DataFormatException e) {
+			throw new OpenemsException("Unable to inflate binary timestamped data: " + e.getMessage());
+
+		} finally {
+			inflater.end();
+		}
+	}
+
+}
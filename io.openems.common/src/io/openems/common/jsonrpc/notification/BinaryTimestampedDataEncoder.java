@@ -0,0 +1,187 @@
+package io.openems.common.jsonrpc.notification;
+
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.FLAG_DEFLATE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_DOUBLE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_FALSE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_FLOAT;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_INTEGER_DELTA;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_NULL;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_STRING;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.TYPE_TRUE;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.writeLong;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.writeString;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.writeVarint;
+import static io.openems.common.jsonrpc.notification.BinaryTimestampedData.writeZigzag;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Encodes timestamped data to the binary format described in
+ * {@link BinaryTimestampedData}.
+ *
+ * <p>
+ * An instance holds the state of one websocket session and must be discarded
+ * when the connection is closed or a frame could not be sent.
+ */
+public class BinaryTimestampedDataEncoder {
+
+	/**
+	 * The version of the binary format.
+	 */
+	public static final int VERSION = BinaryTimestampedData.VERSION;
+
+	/**
+	 * Frames with a smaller body are never deflated.
+	 */
+	private static final int MIN_DEFLATE_LENGTH = 128;
+
+	private final boolean deflate;
+	private final HashMap<String, Integer> dictionary = new HashMap<>();
+
+	private long lastTimestamp = 0;
+	private long[] lastIntegerValues = new long[64];
+
+	public BinaryTimestampedDataEncoder(boolean deflate) {
+		this.deflate = deflate;
+	}
+
+	/**
+	 * Encodes the values of one timestamp to a binary frame.
+	 *
+	 * @param timestamp the timestamp epoch in milliseconds
+	 * @param values    a map of Channel-Address to {@link JsonElement} value
+	 * @return the binary frame
+	 */
+	public synchronized byte[] encode(long timestamp, Map<String, JsonElement> values) {
+		// Resolve IDs; announce new Channel-Addresses
+		var newAddresses = new ByteArrayOutputStream();
+		var noOfNewAddresses = 0;
+		var idsAndValues = new long[values.size()];
+		var elements = new JsonElement[values.size()];
+		var index = 0;
+		for (var entry : values.entrySet()) {
+			var id = this.dictionary.get(entry.getKey());
+			if (id == null) {
+				id = this.dictionary.size();
+				this.dictionary.put(entry.getKey(), id);
+				writeString(newAddresses, entry.getKey());
+				noOfNewAddresses++;
+			}
+			idsAndValues[index] = (long) id << 32 | index;
+			elements[index] = entry.getValue();
+			index++;
+		}
+		if (this.dictionary.size() > this.lastIntegerValues.length) {
+			this.lastIntegerValues = Arrays.copyOf(this.lastIntegerValues,
+					Math.max(this.dictionary.size(), this.lastIntegerValues.length * 2));
+		}
+
+		// Sort by ID to allow delta encoding of IDs
+		Arrays.sort(idsAndValues);
+
+		var body = new ByteArrayOutputStream(16 + newAddresses.size() + values.size() * 4);
+		writeVarint(body, noOfNewAddresses);
+		body.writeBytes(newAddresses.toByteArray());
+		writeZigzag(body, timestamp - this.lastTimestamp);
+		this.lastTimestamp = timestamp;
+		writeVarint(body, idsAndValues.length);
+		var lastId = 0;
+		for (var idAndValue : idsAndValues) {
+			var id = (int) (idAndValue >>> 32);
+			writeVarint(body, id - lastId);
+			lastId = id;
+			this.writeValue(body, id, elements[(int) idAndValue]);
+		}
+
+		return this.toFrame(body.toByteArray());
+	}
+
+	private void writeValue(ByteArrayOutputStream out, int id, JsonElement element) {
+		if (element == null || !element.isJsonPrimitive()) {
+			out.write(TYPE_NULL);
+			return;
+		}
+		var primitive = element.getAsJsonPrimitive();
+		if (primitive.isBoolean()) {
+			out.write(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+
+		} else if (primitive.isNumber()) {
+			var number = primitive.getAsNumber();
+			if (number instanceof Integer || number instanceof Long || number instanceof Short
+					|| number instanceof Byte) {
+				this.writeIntegerDelta(out, id, number.longValue());
+			} else if (number instanceof Float) {
+				out.write(TYPE_FLOAT);
+				writeLong(out, Float.floatToIntBits(number.floatValue()), 4);
+			} else if (number instanceof Double) {
+				out.write(TYPE_DOUBLE);
+				writeLong(out, Double.doubleToLongBits(number.doubleValue()), 8);
+			} else {
+				// e.g. LazilyParsedNumber
+				var decimal = new BigDecimal(number.toString());
+				try {
+					this.writeIntegerDelta(out, id, decimal.longValueExact());
+				} catch (ArithmeticException e) {
+					out.write(TYPE_DOUBLE);
+					writeLong(out, Double.doubleToLongBits(decimal.doubleValue()), 8);
+				}
+			}
+
+		} else {
+			out.write(TYPE_STRING);
+			writeString(out, primitive.getAsString());
+		}
+	}
+
+	private void writeIntegerDelta(ByteArrayOutputStream out, int id, long value) {
+		out.write(TYPE_INTEGER_DELTA);
+		writeZigzag(out, value - this.lastIntegerValues[id]);
+		this.lastIntegerValues[id] = value;
+	}
+
+	private byte[] toFrame(byte[] body) {
+		var flags = 0;
+		var payload = body;
+		if (this.deflate && body.length >= MIN_DEFLATE_LENGTH) {
+			var deflater = new Deflater(Deflater.BEST_SPEED);
+			try {
+				deflater.setInput(body);
+				deflater.finish();
+				var out = new ByteArrayOutputStream(body.length / 2);
+				var buffer = new byte[1024];
+				while (!deflater.finished()) {
+					var length = deflater.deflate(buffer);
+					out.write(buffer, 0, length);
+				}
+				if (out.size() < body.length) {
+					flags |= FLAG_DEFLATE;
+					payload = out.toByteArray();
+				}
+			} finally {
+				deflater.end();
+			}
+		}
+		var frame = new byte[payload.length + 2];
+		frame[0] = BinaryTimestampedData.VERSION;
+		frame[1] = (byte) flags;
+		System.arraycopy(payload, 0, frame, 2, payload.length);
+		return frame;
+	}
+
+	/**
+	 * Gets the size of the Channel-Address dictionary of this session.
+	 *
+	 * @return the number of Channel-Addresses
+	 */
+	public synchronized int getDictionarySize() {
+		return this.dictionary.size();
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.openems.common.jsonrpc.request;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.types.EdgeConfigDelta;
+
+/**
+ * Represents a JSON-RPC Request from Edge to Backend to send the changes of the
+ * {@link io.openems.common.types.EdgeConfig} against the last acknowledged
+ * version (see {@link EdgeConfigDelta}).
+ *
+ * <p>
+ * A Backend that does not support this Request answers with an error; the Edge
+ * then falls back to {@link EdgeConfigNotification}s.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "edgeConfigDelta",
+ *   "params": {@link EdgeConfigDelta#toJson()}
+ * }
+ * </pre>
+ */
+public class EdgeConfigDeltaRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "edgeConfigDelta";
+
+	/**
+	 * Create {@link EdgeConfigDeltaRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link EdgeConfigDeltaRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static EdgeConfigDeltaRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		return new EdgeConfigDeltaRequest(r, EdgeConfigDelta.fromJson(r.getParams()));
+	}
+
+	private final EdgeConfigDelta delta;
+
+	private EdgeConfigDeltaRequest(JsonrpcRequest request, EdgeConfigDelta delta) {
+		super(request, EdgeConfigDeltaRequest.METHOD);
+		this.delta = delta;
+	}
+
+	public EdgeConfigDeltaRequest(EdgeConfigDelta delta) {
+		super(EdgeConfigDeltaRequest.METHOD);
+		this.delta = delta;
+	}
+
+	/**
+	 * Gets the {@link EdgeConfigDelta}.
+	 *
+	 * @return the {@link EdgeConfigDelta}
+	 */
+	public EdgeConfigDelta getDelta() {
+		return this.delta;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return this.delta.toJson();
+	}
+}
@@ -0,0 +1,91 @@
+package io.openems.common.jsonrpc.request;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataEncoder;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Request from Edge to Backend to send timestamped data
+ * as binary frames (see {@link BinaryTimestampedDataEncoder}) instead of
+ * {@link TimestampedDataNotification}s for the rest of the websocket session.
+ *
+ * <p>
+ * A Backend that does not support the binary format answers with an error; the
+ * Edge then keeps sending JSON.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "enableBinaryTimestampedData",
+ *   "params": {
+ *     "version": number,
+ *     "deflate": boolean
+ *   }
+ * }
+ * </pre>
+ */
+public class EnableBinaryTimestampedDataRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "enableBinaryTimestampedData";
+
+	/**
+	 * Create {@link EnableBinaryTimestampedDataRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link EnableBinaryTimestampedDataRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static EnableBinaryTimestampedDataRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		var p = r.getParams();
+		var version = JsonUtils.getAsInt(p, "version");
+		var deflate = JsonUtils.getAsBoolean(p, "deflate");
+		return new EnableBinaryTimestampedDataRequest(r, version, deflate);
+	}
+
+	private final int version;
+	private final boolean deflate;
+
+	private EnableBinaryTimestampedDataRequest(JsonrpcRequest request, int version, boolean deflate) {
+		super(request, EnableBinaryTimestampedDataRequest.METHOD);
+		this.version = version;
+		this.deflate = deflate;
+	}
+
+	public EnableBinaryTimestampedDataRequest(int version, boolean deflate) {
+		super(EnableBinaryTimestampedDataRequest.METHOD);
+		this.version = version;
+		this.deflate = deflate;
+	}
+
+	/**
+	 * Gets the requested version of the binary format.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Whether the Edge is able to deflate frames.
+	 *
+	 * @return true for deflate
+	 */
+	public boolean isDeflate() {
+		return this.deflate;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.version) //
+				.addProperty("deflate", this.deflate) //
+				.build();
+	}
+}
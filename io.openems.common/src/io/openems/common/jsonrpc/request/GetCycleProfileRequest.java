@@ -0,0 +1,74 @@
+package io.openems.common.jsonrpc.request;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Request for 'getCycleProfile'.
+ *
+ * <p>
+ * The response holds latency distributions in [us] of the Cycle phases, of
+ * every Controller and of every Cycle Event, and the trace of the last Cycle
+ * that exceeded the configured slow Cycle threshold. If 'reset' is true, the
+ * distributions are reset after reading.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getCycleProfile",
+ *   "params": {
+ *     "reset"?: boolean
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleProfileRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "getCycleProfile";
+
+	/**
+	 * Create {@link GetCycleProfileRequest} from a template {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link GetCycleProfileRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static GetCycleProfileRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		var p = r.getParams();
+		var reset = JsonUtils.getAsOptionalBoolean(p, "reset").orElse(false);
+		return new GetCycleProfileRequest(r, reset);
+	}
+
+	private final boolean reset;
+
+	public GetCycleProfileRequest(boolean reset) {
+		super(GetCycleProfileRequest.METHOD);
+		this.reset = reset;
+	}
+
+	private GetCycleProfileRequest(JsonrpcRequest request, boolean reset) {
+		super(request, GetCycleProfileRequest.METHOD);
+		this.reset = reset;
+	}
+
+	/**
+	 * Whether the profile should be reset after reading.
+	 *
+	 * @return true for reset
+	 */
+	public boolean isReset() {
+		return this.reset;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("reset", this.reset) //
+				.build();
+	}
+
+}
@@ -0,0 +1,92 @@
+package io.openems.common.jsonrpc.response;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Response for {@link EdgeConfigDeltaRequest}.
+ *
+ * <p>
+ * If 'missingFactories' is not empty, the Request was not applied and has to be
+ * sent again with the definitions of these Factories. Otherwise 'version' is
+ * acknowledged.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "version": number,
+ *     "missingFactories": string[]
+ *   }
+ * }
+ * </pre>
+ */
+public class EdgeConfigDeltaResponse extends JsonrpcResponseSuccess {
+
+	/**
+	 * Parses a {@link JsonrpcResponseSuccess} to a
+	 * {@link EdgeConfigDeltaResponse}.
+	 *
+	 * @param r the {@link JsonrpcResponseSuccess}
+	 * @return the {@link EdgeConfigDeltaResponse}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EdgeConfigDeltaResponse from(JsonrpcResponseSuccess r) throws OpenemsNamedException {
+		var result = r.getResult();
+		var missingFactories = new TreeSet<String>();
+		for (var hash : JsonUtils.getAsJsonArray(result, "missingFactories")) {
+			missingFactories.add(JsonUtils.getAsString(hash));
+		}
+		return new EdgeConfigDeltaResponse(r.getId(), //
+				JsonUtils.getAsInt(result, "version"), //
+				missingFactories);
+	}
+
+	private final int version;
+	private final Set<String> missingFactories;
+
+	public EdgeConfigDeltaResponse(UUID id, int version, Set<String> missingFactories) {
+		super(id);
+		this.version = version;
+		this.missingFactories = missingFactories;
+	}
+
+	/**
+	 * Gets the version of the {@link EdgeConfigDeltaRequest}.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets the hashes of the Factories that are unknown to the Backend.
+	 *
+	 * @return the hashes; empty if the version was acknowledged
+	 */
+	public Set<String> getMissingFactories() {
+		return this.missingFactories;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.version) //
+				.add("missingFactories", this.missingFactories.stream() //
+						.map(JsonPrimitive::new) //
+						.collect(JsonUtils.toJsonArray())) //
+				.build();
+	}
+
+}
@@ -0,0 +1,79 @@
+package io.openems.common.jsonrpc.response;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.EnableBinaryTimestampedDataRequest;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Response for
+ * {@link EnableBinaryTimestampedDataRequest}.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "version": number,
+ *     "deflate": boolean
+ *   }
+ * }
+ * </pre>
+ */
+public class EnableBinaryTimestampedDataResponse extends JsonrpcResponseSuccess {
+
+	/**
+	 * Parses a {@link JsonrpcResponseSuccess} to a
+	 * {@link EnableBinaryTimestampedDataResponse}.
+	 *
+	 * @param r the {@link JsonrpcResponseSuccess}
+	 * @return the {@link EnableBinaryTimestampedDataResponse}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EnableBinaryTimestampedDataResponse from(JsonrpcResponseSuccess r) throws OpenemsNamedException {
+		var result = r.getResult();
+		return new EnableBinaryTimestampedDataResponse(r.getId(), //
+				JsonUtils.getAsInt(result, "version"), //
+				JsonUtils.getAsBoolean(result, "deflate"));
+	}
+
+	private final int version;
+	private final boolean deflate;
+
+	public EnableBinaryTimestampedDataResponse(UUID id, int version, boolean deflate) {
+		super(id);
+		this.version = version;
+		this.deflate = deflate;
+	}
+
+	/**
+	 * Gets the negotiated version of the binary format.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Whether frames should be deflated.
+	 *
+	 * @return true for deflate
+	 */
+	public boolean isDeflate() {
+		return this.deflate;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.version) //
+				.addProperty("deflate", this.deflate) //
+				.build();
+	}
+
+}
@@ -0,0 +1,234 @@
+package io.openems.common.jsonrpc.response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ResourceBundle;
+import java.util.SortedMap;
+
+import org.dhatim.fastexcel.Workbook;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse.XlsxUtils;
+import io.openems.common.session.Language;
+import io.openems.common.timedata.HistoricTimeseriesData;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Writes the export of historic data - as in
+ * {@link QueryHistoricTimeseriesExportXlsxResponse} - directly to an
+ * {@link OutputStream}, e.g. of a HTTP download.
+ *
+ * <p>
+ * The power data is queried in chunks of {@link #CHUNK_DAYS} days; each chunk
+ * is written and flushed before the next one is queried. Memory usage is
+ * therefore independent of the length of the period.
+ */
+public class HistoricTimeseriesExportWriter {
+
+	/**
+	 * Number of days of power data that are queried at once.
+	 */
+	public static final int CHUNK_DAYS = 7;
+
+	public static enum Format {
+		XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"), //
+		CSV("text/csv; charset=utf-8", "csv");
+
+		private final String contentType;
+		private final String fileExtension;
+
+		private Format(String contentType, String fileExtension) {
+			this.contentType = contentType;
+			this.fileExtension = fileExtension;
+		}
+
+		/**
+		 * Gets the HTTP Content-Type.
+		 *
+		 * @return the Content-Type
+		 */
+		public String getContentType() {
+			return this.contentType;
+		}
+
+		/**
+		 * Gets the file extension.
+		 *
+		 * @return the file extension without leading dot
+		 */
+		public String getFileExtension() {
+			return this.fileExtension;
+		}
+
+		/**
+		 * Gets the {@link Format} by its file extension.
+		 *
+		 * @param fileExtension the file extension, e.g. 'csv'
+		 * @return the {@link Format}
+		 * @throws OpenemsException if the file extension is unknown
+		 */
+		public static Format fromFileExtension(String fileExtension) throws OpenemsException {
+			for (var format : Format.values()) {
+				if (format.fileExtension.equalsIgnoreCase(fileExtension)) {
+					return format;
+				}
+			}
+			throw new OpenemsException("Export format [" + fileExtension + "] is not supported");
+		}
+	}
+
+	@FunctionalInterface
+	public static interface PowerDataQuery {
+
+		/**
+		 * Queries the power data of one chunk.
+		 *
+		 * @param fromDate the start of the chunk
+		 * @param toDate   the end of the chunk
+		 * @return the power data
+		 * @throws OpenemsNamedException on error
+		 */
+		public HistoricTimeseriesData query(ZonedDateTime fromDate, ZonedDateTime toDate)
+				throws OpenemsNamedException;
+	}
+
+	@FunctionalInterface
+	private static interface ChunkConsumer {
+
+		public void accept(HistoricTimeseriesData data, int fromRow) throws IOException;
+	}
+
+	/**
+	 * Writes the export.
+	 *
+	 * @param format     the {@link Format}
+	 * @param os         the {@link OutputStream}; it is flushed but not closed
+	 * @param edgeId     the Edge-ID
+	 * @param fromDate   the start date of the export
+	 * @param toDate     the end date of the export
+	 * @param energyData the energy data, one value per channel; only for
+	 *                   {@link Format#XLSX}
+	 * @param powerData  the {@link PowerDataQuery} for the power data
+	 * @param language   the {@link Language}
+	 * @throws IOException           on error
+	 * @throws OpenemsNamedException on error
+	 */
+	public static void write(Format format, OutputStream os, String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, SortedMap<ChannelAddress, JsonElement> energyData, PowerDataQuery powerData,
+			Language language) throws IOException, OpenemsNamedException {
+		var translationBundle = ResourceBundle.getBundle("io.openems.common.jsonrpc.response.translation",
+				language.getLocal());
+		switch (format) {
+		case XLSX:
+			writeXlsx(os, edgeId, fromDate, toDate, energyData, powerData, translationBundle);
+			break;
+		case CSV:
+			writeCsv(os, fromDate, toDate, powerData, translationBundle);
+			break;
+		}
+	}
+
+	private static void writeXlsx(OutputStream os, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			SortedMap<ChannelAddress, JsonElement> energyData, PowerDataQuery powerData,
+			ResourceBundle translationBundle) throws IOException, OpenemsNamedException {
+		var wb = new Workbook(os, OpenemsConstants.MANUFACTURER_MODEL, null);
+		var ws = wb.newWorksheet("Export");
+
+		XlsxUtils.addBasicInfo(ws, edgeId, fromDate, toDate, translationBundle);
+		XlsxUtils.addEnergyData(ws, energyData, translationBundle);
+		XlsxUtils.addPowerDataHeader(ws, translationBundle);
+
+		var nextRow = new int[] { XlsxUtils.POWER_DATA_FIRST_ROW };
+		forEachChunk(fromDate, toDate, powerData, (data, fromRow) -> {
+			nextRow[0] = XlsxUtils.addPowerDataRows(ws, nextRow[0], data, fromRow);
+			// Writes finished rows to the OutputStream
+			ws.flush();
+		});
+
+		wb.finish();
+		os.flush();
+	}
+
+	private static void writeCsv(OutputStream os, ZonedDateTime fromDate, ZonedDateTime toDate,
+			PowerDataQuery powerData, ResourceBundle translationBundle) throws IOException, OpenemsNamedException {
+		var writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+		writeCsvLine(writer, XlsxUtils.getPowerDataHeaders(translationBundle));
+
+		var line = new String[XlsxUtils.getPowerDataHeaders(translationBundle).length];
+		forEachChunk(fromDate, toDate, powerData, (data, fromRow) -> {
+			for (var row = fromRow; row < data.size(); row++) {
+				line[0] = data.getTimestamp(row).format(XlsxUtils.DATE_TIME_FORMATTER);
+				for (var col = 1; col < line.length; col++) {
+					line[col] = "";
+				}
+				XlsxUtils.forEachPowerValue(data, row,
+						(col, value) -> line[col] = Integer.toString(Math.round(value)));
+				writeCsvLine(writer, line);
+			}
+			writer.flush();
+		});
+
+		writer.flush();
+	}
+
+	private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+		for (var i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			var value = values[i];
+			if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+				writer.write('"');
+				writer.write(value.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(value);
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	/**
+	 * Queries the power data chunk by chunk. Rows that were already part of the
+	 * previous chunk are skipped.
+	 *
+	 * @param fromDate  the start date of the export
+	 * @param toDate    the end date of the export
+	 * @param powerData the {@link PowerDataQuery}
+	 * @param consumer  the {@link ChunkConsumer}
+	 * @throws IOException           on error
+	 * @throws OpenemsNamedException on error
+	 */
+	private static void forEachChunk(ZonedDateTime fromDate, ZonedDateTime toDate, PowerDataQuery powerData,
+			ChunkConsumer consumer) throws IOException, OpenemsNamedException {
+		ZonedDateTime lastTimestamp = null;
+		var chunkFrom = fromDate;
+		while (chunkFrom.isBefore(toDate)) {
+			var chunkTo = chunkFrom.plusDays(CHUNK_DAYS);
+			if (chunkTo.isAfter(toDate)) {
+				chunkTo = toDate;
+			}
+			var data = powerData.query(chunkFrom, chunkTo);
+			var fromRow = 0;
+			while (lastTimestamp != null && fromRow < data.size()
+					&& !data.getTimestamp(fromRow).isAfter(lastTimestamp)) {
+				fromRow++;
+			}
+			if (fromRow < data.size()) {
+				consumer.accept(data, fromRow);
+				lastTimestamp = data.getTimestamp(data.size() - 1);
+			}
+			chunkFrom = chunkTo;
+		}
+	}
+
+}
@@ -1,16 +1,14 @@
 package io.openems.common.jsonrpc.response;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Map.Entry;
 import java.util.SortedMap;
 import java.util.UUID;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.types.ChannelAddress;
 
 /**
@@ -35,7 +33,7 @@ import io.openems.common.types.ChannelAddress;
  */
 public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess {
 
-	private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table;
+	private final HistoricTimeseriesData data;
 
 	public QueryHistoricTimeseriesDataResponse(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
 		this(UUID.randomUUID(), table);
@@ -43,39 +41,17 @@ public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess
 
 	public QueryHistoricTimeseriesDataResponse(UUID id,
 			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		this(id, HistoricTimeseriesData.from(table));
+	}
+
+	public QueryHistoricTimeseriesDataResponse(UUID id, HistoricTimeseriesData data) {
 		super(id);
-		this.table = table;
+		this.data = data;
 	}
 
 	@Override
 	public JsonObject getResult() {
-		var result = new JsonObject();
-
-		var timestamps = new JsonArray();
-		for (ZonedDateTime timestamp : this.table.keySet()) {
-			timestamps.add(timestamp.format(DateTimeFormatter.ISO_INSTANT));
-		}
-		result.add("timestamps", timestamps);
-
-		var data = new JsonObject();
-		for (Entry<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> rowEntry : this.table.entrySet()) {
-			for (Entry<ChannelAddress, JsonElement> colEntry : rowEntry.getValue().entrySet()) {
-				var channelAddress = colEntry.getKey().toString();
-				var value = colEntry.getValue();
-				var channelValuesElement = data.get(channelAddress);
-				JsonArray channelValues;
-				if (channelValuesElement != null) {
-					channelValues = channelValuesElement.getAsJsonArray();
-				} else {
-					channelValues = new JsonArray();
-				}
-				channelValues.add(value);
-				data.add(channelAddress, channelValues);
-			}
-		}
-		result.add("data", data);
-
-		return result;
+		return this.data.toJson();
 	}
 
 }
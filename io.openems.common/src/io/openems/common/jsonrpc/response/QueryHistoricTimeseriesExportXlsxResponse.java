@@ -7,7 +7,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.SortedMap;
@@ -23,6 +22,7 @@ import com.google.gson.JsonElement;
 import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.session.Language;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.JsonUtils;
 
@@ -102,14 +102,51 @@ public class QueryHistoricTimeseriesExportXlsxResponse extends Base64PayloadResp
 			ZonedDateTime toDate, SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> historicData,
 			SortedMap<ChannelAddress, JsonElement> historicEnergy, Language language)
 			throws IOException, OpenemsNamedException {
+		this(id, edgeId, fromDate, toDate, HistoricTimeseriesData.from(historicData), historicEnergy, language);
+	}
+
+	/**
+	 * Constructs a {@link QueryHistoricTimeseriesExportXlsxResponse}.
+	 *
+	 * <p>
+	 * While constructing, the actual Excel file is generated as payload of the
+	 * JSON-RPC Response.
+	 *
+	 * @param id             the JSON-RPC ID
+	 * @param edgeId         the Edge-ID
+	 * @param fromDate       the start date of the export
+	 * @param toDate         the end date of the export
+	 * @param historicData   the power data per channel and timestamp
+	 * @param historicEnergy the energy data, one value per channel
+	 * @param language       the {@link Language}
+	 * @throws IOException           on error
+	 * @throws OpenemsNamedException on error
+	 */
+	public QueryHistoricTimeseriesExportXlsxResponse(UUID id, String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, HistoricTimeseriesData historicData,
+			SortedMap<ChannelAddress, JsonElement> historicEnergy, Language language)
+			throws IOException, OpenemsNamedException {
 		super(id, XlsxUtils.generatePayload(edgeId, fromDate, toDate, historicData, historicEnergy, language));
 	}
 
+	/**
+	 * Constructs a {@link QueryHistoricTimeseriesExportXlsxResponse} with an
+	 * Excel file that was already generated, e.g. by
+	 * {@link HistoricTimeseriesExportWriter}.
+	 *
+	 * @param id      the JSON-RPC ID
+	 * @param payload the Excel file
+	 */
+	public QueryHistoricTimeseriesExportXlsxResponse(UUID id, byte[] payload) {
+		super(id, payload);
+	}
+
 	protected static class XlsxUtils {
 
 		private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-		private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+		protected static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
 				.ofPattern("dd.MM.yyyy HH:mm:ss Z");
+		protected static final int POWER_DATA_FIRST_ROW = 8;
 
 		/**
 		 * Generates the Payload for a
@@ -126,7 +163,7 @@ public class QueryHistoricTimeseriesExportXlsxResponse extends Base64PayloadResp
 		 * @throws OpenemsNamedException on error
 		 */
 		private static byte[] generatePayload(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
-				SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> powerData,
+				HistoricTimeseriesData powerData,
 				SortedMap<ChannelAddress, JsonElement> energyData, Language language)
 				throws IOException, OpenemsNamedException {
 			byte[] payload = {};
@@ -225,74 +262,134 @@ public class QueryHistoricTimeseriesExportXlsxResponse extends Base64PayloadResp
 		 * Adds the power data header and values.
 		 *
 		 * @param ws                the {@link Worksheet}
-		 * @param data              the power data map
+		 * @param data              the power data
 		 * @param translationBundle the {@link ResourceBundle} for translations
 		 * @throws OpenemsNamedException on error
 		 */
-		protected static void addPowerData(Worksheet ws,
-				SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data, ResourceBundle translationBundle)
-				throws OpenemsNamedException {
-			// Adding the headers
-			XlsxUtils.addStringValueBold(ws, 7, 0, translationBundle.getString("date/time"));
-			XlsxUtils.addStringValueBold(ws, 7, 1, translationBundle.getString("gridBuy") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 2, translationBundle.getString("gridFeedIn") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 3, translationBundle.getString("production") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 4, translationBundle.getString("storageCharging") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 5, translationBundle.getString("storageDischarging") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 6, translationBundle.getString("consumption") + " [W]");
-			XlsxUtils.addStringValueBold(ws, 7, 7, translationBundle.getString("stateOfCharge") + " [%]");
-
-			var rowCount = 8;
-
-			for (Entry<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> row : data.entrySet()) {
-				var values = row.getValue();
+		protected static void addPowerData(Worksheet ws, HistoricTimeseriesData data,
+				ResourceBundle translationBundle) throws OpenemsNamedException {
+			XlsxUtils.addPowerDataHeader(ws, translationBundle);
+			XlsxUtils.addPowerDataRows(ws, POWER_DATA_FIRST_ROW, data, 0);
+		}
 
+		/**
+		 * Adds the power data header.
+		 *
+		 * @param ws                the {@link Worksheet}
+		 * @param translationBundle the {@link ResourceBundle} for translations
+		 */
+		protected static void addPowerDataHeader(Worksheet ws, ResourceBundle translationBundle) {
+			var headers = XlsxUtils.getPowerDataHeaders(translationBundle);
+			for (var col = 0; col < headers.length; col++) {
+				XlsxUtils.addStringValueBold(ws, POWER_DATA_FIRST_ROW - 1, col, headers[col]);
+			}
+		}
+
+		/**
+		 * Gets the translated headers of the power data columns.
+		 *
+		 * @param translationBundle the {@link ResourceBundle} for translations
+		 * @return the headers
+		 */
+		protected static String[] getPowerDataHeaders(ResourceBundle translationBundle) {
+			return new String[] { //
+					translationBundle.getString("date/time"), //
+					translationBundle.getString("gridBuy") + " [W]", //
+					translationBundle.getString("gridFeedIn") + " [W]", //
+					translationBundle.getString("production") + " [W]", //
+					translationBundle.getString("storageCharging") + " [W]", //
+					translationBundle.getString("storageDischarging") + " [W]", //
+					translationBundle.getString("consumption") + " [W]", //
+					translationBundle.getString("stateOfCharge") + " [%]" //
+			};
+		}
+
+		/**
+		 * Adds the power data values of the rows 'fromRow' to the end of
+		 * 'data'.
+		 *
+		 * @param ws       the {@link Worksheet}
+		 * @param firstRow the first row in the {@link Worksheet}
+		 * @param data     the power data
+		 * @param fromRow  the first row in 'data'
+		 * @return the next free row in the {@link Worksheet}
+		 */
+		protected static int addPowerDataRows(Worksheet ws, int firstRow, HistoricTimeseriesData data, int fromRow) {
+			var rowCount = firstRow;
+			for (var row = fromRow; row < data.size(); row++, rowCount++) {
+				final var r = rowCount;
 				// Adding Date/time data column
-				XlsxUtils.addStringValue(ws, rowCount, 0, row.getKey().format(XlsxUtils.DATE_TIME_FORMATTER));
-
-				if (XlsxUtils.isNotNull(values.get(Channel.GRID_ACTIVE_POWER))) {
-					var gridActivePower = JsonUtils.getAsFloat(values.get(Channel.GRID_ACTIVE_POWER));
-
-					if (gridActivePower >= 0) {
-						// Grid buy power
-						XlsxUtils.addFloatValue(ws, rowCount, 1, gridActivePower);
-						// Grid sell power
-						XlsxUtils.addFloatValue(ws, rowCount, 2, 0);
-					} else {
-						// Grid buy power
-						XlsxUtils.addFloatValue(ws, rowCount, 1, 0);
-						// Grid sell power
-						XlsxUtils.addFloatValue(ws, rowCount, 2, gridActivePower / -1);
-					}
-				}
+				XlsxUtils.addStringValue(ws, r, 0, data.getTimestamp(row).format(XlsxUtils.DATE_TIME_FORMATTER));
+				XlsxUtils.forEachPowerValue(data, row, (col, value) -> XlsxUtils.addFloatValue(ws, r, col, value));
+			}
+			return rowCount;
+		}
 
-				// Production power
-				if (XlsxUtils.isNotNull(values.get(Channel.PRODUCTION_ACTIVE_POWER))) {
-					XlsxUtils.addFloatValue(ws, rowCount, 3,
-							JsonUtils.getAsFloat(values.get(Channel.PRODUCTION_ACTIVE_POWER)));
-				}
+		protected static interface PowerValueConsumer {
 
-				if (XlsxUtils.isNotNull(values.get(Channel.ESS_DISCHARGE_POWER))) {
-					var essDischargePower = JsonUtils.getAsFloat(values.get(Channel.ESS_DISCHARGE_POWER));
-					if (essDischargePower >= 0) {
-						XlsxUtils.addFloatValue(ws, rowCount, 4, 0);
-						XlsxUtils.addFloatValue(ws, rowCount, 5, essDischargePower);
-					} else {
-						XlsxUtils.addFloatValue(ws, rowCount, 4, essDischargePower / -1);
-						XlsxUtils.addFloatValue(ws, rowCount, 5, 0);
-					}
-				}
-				// Consumption power
-				if (XlsxUtils.isNotNull(values.get(Channel.CONSUMPTION_ACTIVE_POWER))) {
-					XlsxUtils.addFloatValue(ws, rowCount, 6,
-							JsonUtils.getAsFloat(values.get(Channel.CONSUMPTION_ACTIVE_POWER)));
+			/**
+			 * Accepts a value of the power data.
+			 *
+			 * @param col   the column, starting with 1 after the date/time column
+			 * @param value the value
+			 */
+			public void accept(int col, float value);
+		}
+
+		/**
+		 * Calculates the values of one row of power data, e.g. splits the grid power
+		 * into buy and feed-in. Columns without value are skipped.
+		 *
+		 * @param data     the power data
+		 * @param row      the row in 'data'
+		 * @param consumer the {@link PowerValueConsumer}
+		 */
+		protected static void forEachPowerValue(HistoricTimeseriesData data, int row, PowerValueConsumer consumer) {
+			var gridActivePower = data.getColumn(Channel.GRID_ACTIVE_POWER);
+			if (XlsxUtils.isNotNull(gridActivePower, row)) {
+				var value = (float) gridActivePower.getAsDouble(row);
+
+				if (value >= 0) {
+					// Grid buy power
+					consumer.accept(1, value);
+					// Grid sell power
+					consumer.accept(2, 0);
+				} else {
+					// Grid buy power
+					consumer.accept(1, 0);
+					// Grid sell power
+					consumer.accept(2, value / -1);
 				}
+			}
 
-				// State of charge
-				if (XlsxUtils.isNotNull(values.get(Channel.ESS_SOC))) {
-					XlsxUtils.addFloatValue(ws, rowCount, 7, JsonUtils.getAsFloat(values.get(Channel.ESS_SOC)));
+			// Production power
+			var productionActivePower = data.getColumn(Channel.PRODUCTION_ACTIVE_POWER);
+			if (XlsxUtils.isNotNull(productionActivePower, row)) {
+				consumer.accept(3, (float) productionActivePower.getAsDouble(row));
+			}
+
+			var essDischargePower = data.getColumn(Channel.ESS_DISCHARGE_POWER);
+			if (XlsxUtils.isNotNull(essDischargePower, row)) {
+				var value = (float) essDischargePower.getAsDouble(row);
+				if (value >= 0) {
+					consumer.accept(4, 0);
+					consumer.accept(5, value);
+				} else {
+					consumer.accept(4, value / -1);
+					consumer.accept(5, 0);
 				}
-				rowCount++;
+			}
+
+			// Consumption power
+			var consumptionActivePower = data.getColumn(Channel.CONSUMPTION_ACTIVE_POWER);
+			if (XlsxUtils.isNotNull(consumptionActivePower, row)) {
+				consumer.accept(6, (float) consumptionActivePower.getAsDouble(row));
+			}
+
+			// State of charge
+			var essSoc = data.getColumn(Channel.ESS_SOC);
+			if (XlsxUtils.isNotNull(essSoc, row)) {
+				consumer.accept(7, (float) essSoc.getAsDouble(row));
 			}
 		}
 
@@ -395,6 +492,17 @@ public class QueryHistoricTimeseriesExportXlsxResponse extends Base64PayloadResp
 			}
 			return true;
 		}
+
+		/**
+		 * Simple helper method to check for null or non-numeric values.
+		 *
+		 * @param column the {@link HistoricTimeseriesData.Column}; possibly null
+		 * @param row    the row index
+		 * @return boolean true if not null, false if null
+		 */
+		private static boolean isNotNull(HistoricTimeseriesData.Column column, int row) {
+			return column != null && !Double.isNaN(column.getAsDouble(row));
+		}
 	}
 
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package io.openems.common.timedata;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -13,6 +15,8 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesDataRequest;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesExportXlxsRequest;
+import io.openems.common.jsonrpc.response.HistoricTimeseriesExportWriter;
+import io.openems.common.jsonrpc.response.HistoricTimeseriesExportWriter.Format;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse;
 import io.openems.common.session.Language;
 import io.openems.common.types.ChannelAddress;
@@ -32,20 +36,45 @@ public interface CommonTimedataService {
 	public default QueryHistoricTimeseriesExportXlsxResponse handleQueryHistoricTimeseriesExportXlxsRequest(
 			String edgeId, QueryHistoricTimeseriesExportXlxsRequest request, Language language)
 			throws OpenemsNamedException {
-		var powerData = this.queryHistoricData(edgeId, request.getFromDate(), request.getToDate(),
-				QueryHistoricTimeseriesExportXlsxResponse.POWER_CHANNELS, new Resolution(15, ChronoUnit.MINUTES));
+		try (var os = new ByteArrayOutputStream()) {
+			this.exportHistoricTimeseries(edgeId, request.getFromDate(), request.getToDate(), Format.XLSX, language,
+					os);
+			return new QueryHistoricTimeseriesExportXlsxResponse(request.getId(), os.toByteArray());
 
-		var energyData = this.queryHistoricEnergy(edgeId, request.getFromDate(), request.getToDate(),
-				QueryHistoricTimeseriesExportXlsxResponse.ENERGY_CHANNELS);
-
-		try {
-			return new QueryHistoricTimeseriesExportXlsxResponse(request.getId(), edgeId, request.getFromDate(),
-					request.getToDate(), powerData, energyData, language);
 		} catch (IOException e) {
 			throw new OpenemsException("QueryHistoricTimeseriesExportXlxsRequest failed: " + e.getMessage());
 		}
 	}
 
+	/**
+	 * Exports historic data - as in
+	 * {@link #handleQueryHistoricTimeseriesExportXlxsRequest}
+	 * - directly to an {@link OutputStream}. Power data is queried and written in
+	 * chunks (see {@link HistoricTimeseriesExportWriter}).
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param fromDate the From-Date
+	 * @param toDate   the To-Date
+	 * @param format   the {@link Format}
+	 * @param language the {@link Language}
+	 * @param os       the {@link OutputStream}; it is not closed
+	 * @throws OpenemsNamedException on error
+	 * @throws IOException           on error while writing
+	 */
+	public default void exportHistoricTimeseries(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Format format, Language language, OutputStream os) throws OpenemsNamedException, IOException {
+		var energyData = format == Format.XLSX //
+				? this.queryHistoricEnergy(edgeId, fromDate, toDate,
+						QueryHistoricTimeseriesExportXlsxResponse.ENERGY_CHANNELS) //
+				: null;
+
+		HistoricTimeseriesExportWriter.write(format, os, edgeId, fromDate, toDate, energyData, //
+				(chunkFrom, chunkTo) -> this.queryHistoricTimeseriesData(edgeId, chunkFrom, chunkTo,
+						QueryHistoricTimeseriesExportXlsxResponse.POWER_CHANNELS,
+						new Resolution(15, ChronoUnit.MINUTES)), //
+				language);
+	}
+
 	/**
 	 * Calculates the time {@link Resolution} for the period.
 	 *
@@ -112,6 +141,45 @@ public interface CommonTimedataService {
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException;
 
+	/**
+	 * Queries historic data as {@link HistoricTimeseriesData}. The 'resolution'
+	 * of the query is calculated dynamically according to the length of the
+	 * period.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param request the {@link QueryHistoricTimeseriesDataRequest}
+	 * @return the query result
+	 */
+	public default HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId,
+			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
+		// calculate resolution based on the length of the period
+		var resolution = request.getResolution() //
+				.orElse(CommonTimedataService.calculateResolution(request.getFromDate(), request.getToDate()));
+
+		return this.queryHistoricTimeseriesData(edgeId, request.getFromDate(), request.getToDate(),
+				request.getChannels(), resolution);
+	}
+
+	/**
+	 * Queries historic data as {@link HistoricTimeseriesData}.
+	 *
+	 * <p>
+	 * Implementations should override this method to build the columnar result
+	 * directly. The default implementation converts the result of
+	 * {@link #queryHistoricData(String, ZonedDateTime, ZonedDateTime, Set, Resolution)}.
+	 *
+	 * @param edgeId     the Edge-ID; or null query all
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @return the query result
+	 */
+	public default HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+		return HistoricTimeseriesData.from(this.queryHistoricData(edgeId, fromDate, toDate, channels, resolution));
+	}
+
 	/**
 	 * Queries historic energy.
 	 *
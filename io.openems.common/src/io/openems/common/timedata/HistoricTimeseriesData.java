@@ -0,0 +1,478 @@
+package io.openems.common.timedata;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Columnar result of a historic timeseries query.
+ *
+ * <p>
+ * All Channels share one sorted axis of timestamps (epoch milliseconds). Every
+ * Channel has one nullable {@link Column} with a value per timestamp. Numeric
+ * values are stored as primitive doubles; only Channels with non-numeric values
+ * (e.g. strings) fall back to {@link JsonElement}s.
+ *
+ * <p>
+ * Use {@link #create(ZoneId)} to build an instance row by row or column by
+ * column.
+ */
+public final class HistoricTimeseriesData {
+
+	/**
+	 * A nullable column of values of one Channel.
+	 */
+	public static final class Column {
+
+		private double[] values;
+		private boolean[] present;
+		private JsonElement[] others = null;
+		private boolean isInteger = true;
+
+		private Column(int capacity) {
+			this.values = new double[capacity];
+			this.present = new boolean[capacity];
+		}
+
+		/**
+		 * Is the value at the given row null?.
+		 *
+		 * @param row the row index
+		 * @return true if the value is null
+		 */
+		public boolean isNull(int row) {
+			return !this.present[row];
+		}
+
+		/**
+		 * Are all values of this column numeric (or null)?.
+		 *
+		 * @return true if yes
+		 */
+		public boolean isNumeric() {
+			return this.others == null;
+		}
+
+		/**
+		 * Gets the value at the given row as double.
+		 *
+		 * @param row the row index
+		 * @return the value; {@link Double#NaN} if it is null or not numeric
+		 */
+		public double getAsDouble(int row) {
+			if (!this.present[row] || (this.others != null && this.others[row] != null)) {
+				return Double.NaN;
+			}
+			return this.values[row];
+		}
+
+		/**
+		 * Gets the value at the given row as {@link JsonElement}.
+		 *
+		 * @param row the row index
+		 * @return the value; {@link JsonNull} if it is null
+		 */
+		public JsonElement getAsJson(int row) {
+			if (!this.present[row]) {
+				return JsonNull.INSTANCE;
+			}
+			if (this.others != null && this.others[row] != null) {
+				return this.others[row];
+			}
+			var value = this.values[row];
+			if (this.isInteger) {
+				return new JsonPrimitive((long) value);
+			}
+			return new JsonPrimitive(value);
+		}
+
+		private void grow(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+			this.present = Arrays.copyOf(this.present, capacity);
+			if (this.others != null) {
+				this.others = Arrays.copyOf(this.others, capacity);
+			}
+		}
+
+		private void insertRow(int row, int size) {
+			System.arraycopy(this.values, row, this.values, row + 1, size - row);
+			System.arraycopy(this.present, row, this.present, row + 1, size - row);
+			this.values[row] = 0;
+			this.present[row] = false;
+			if (this.others != null) {
+				System.arraycopy(this.others, row, this.others, row + 1, size - row);
+				this.others[row] = null;
+			}
+		}
+
+		private void set(int row, double value, boolean isInteger) {
+			this.values[row] = value;
+			this.present[row] = true;
+			if (this.others != null) {
+				this.others[row] = null;
+			}
+			if (!isInteger) {
+				this.isInteger = false;
+			}
+		}
+
+		private void setOther(int row, JsonElement value) {
+			if (this.others == null) {
+				this.others = new JsonElement[this.values.length];
+			}
+			this.others[row] = value;
+			this.present[row] = true;
+		}
+
+		private void clear(int row) {
+			this.present[row] = false;
+			if (this.others != null) {
+				this.others[row] = null;
+			}
+		}
+	}
+
+	/**
+	 * Builds a {@link HistoricTimeseriesData}.
+	 *
+	 * <p>
+	 * Values may be added in any order; rows are appended in constant time if
+	 * timestamps are added in ascending order and looked up by binary search
+	 * otherwise.
+	 */
+	public static final class Builder {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private final ZoneId zone;
+		private final TreeMap<ChannelAddress, Column> columns = new TreeMap<>();
+
+		private long[] timestamps = new long[INITIAL_CAPACITY];
+		private int size = 0;
+
+		private Builder(ZoneId zone) {
+			this.zone = zone;
+		}
+
+		/**
+		 * Adds a Channel. Channels are also added implicitly when adding values.
+		 *
+		 * @param channel the {@link ChannelAddress}
+		 * @return myself
+		 */
+		public Builder addChannel(ChannelAddress channel) {
+			this.column(channel);
+			return this;
+		}
+
+		/**
+		 * Adds a timestamp without values. Timestamps are also added implicitly when
+		 * adding values.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @return myself
+		 */
+		public Builder addTimestamp(long timestamp) {
+			this.row(timestamp);
+			return this;
+		}
+
+		/**
+		 * Adds an integer value.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value
+		 * @return myself
+		 */
+		public Builder add(long timestamp, ChannelAddress channel, long value) {
+			var column = this.column(channel);
+			column.set(this.row(timestamp), value, true);
+			return this;
+		}
+
+		/**
+		 * Adds a floating point value; {@link Double#NaN} is treated as null.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value
+		 * @return myself
+		 */
+		public Builder add(long timestamp, ChannelAddress channel, double value) {
+			var column = this.column(channel);
+			var row = this.row(timestamp);
+			if (Double.isNaN(value)) {
+				column.clear(row);
+			} else {
+				column.set(row, value, false);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds a numeric value.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value; null for no value
+		 * @return myself
+		 */
+		public Builder add(long timestamp, ChannelAddress channel, Number value) {
+			var column = this.column(channel);
+			var row = this.row(timestamp);
+			if (value == null) {
+				column.clear(row);
+			} else {
+				column.set(row, value.doubleValue(), isInteger(value));
+			}
+			return this;
+		}
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value; null or {@link JsonNull} for no value
+		 * @return myself
+		 */
+		public Builder add(long timestamp, ChannelAddress channel, JsonElement value) {
+			var column = this.column(channel);
+			var row = this.row(timestamp);
+			if (value == null || value.isJsonNull()) {
+				column.clear(row);
+			} else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+				var number = value.getAsNumber();
+				column.set(row, number.doubleValue(), isInteger(number));
+			} else {
+				column.setOther(row, value);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param timestamp the timestamp
+		 * @param channel   the {@link ChannelAddress}
+		 * @param value     the value; null or {@link JsonNull} for no value
+		 * @return myself
+		 */
+		public Builder add(ZonedDateTime timestamp, ChannelAddress channel, JsonElement value) {
+			return this.add(timestamp.toInstant().toEpochMilli(), channel, value);
+		}
+
+		/**
+		 * Builds the {@link HistoricTimeseriesData}.
+		 *
+		 * @return the {@link HistoricTimeseriesData}
+		 */
+		public HistoricTimeseriesData build() {
+			for (var column : this.columns.values()) {
+				column.grow(this.size);
+			}
+			return new HistoricTimeseriesData(this.zone, Arrays.copyOf(this.timestamps, this.size), this.columns);
+		}
+
+		private Column column(ChannelAddress channel) {
+			var column = this.columns.get(channel);
+			if (column == null) {
+				column = new Column(this.timestamps.length);
+				this.columns.put(channel, column);
+			}
+			return column;
+		}
+
+		private int row(long timestamp) {
+			if (this.size == 0 || timestamp > this.timestamps[this.size - 1]) {
+				return this.insertRow(this.size, timestamp);
+			}
+			if (timestamp == this.timestamps[this.size - 1]) {
+				return this.size - 1;
+			}
+			var row = Arrays.binarySearch(this.timestamps, 0, this.size, timestamp);
+			if (row >= 0) {
+				return row;
+			}
+			return this.insertRow(-(row + 1), timestamp);
+		}
+
+		private int insertRow(int row, long timestamp) {
+			if (this.size == this.timestamps.length) {
+				var capacity = this.timestamps.length * 2;
+				this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+				for (var column : this.columns.values()) {
+					column.grow(capacity);
+				}
+			}
+			if (row < this.size) {
+				System.arraycopy(this.timestamps, row, this.timestamps, row + 1, this.size - row);
+				for (var column : this.columns.values()) {
+					column.insertRow(row, this.size);
+				}
+			}
+			this.timestamps[row] = timestamp;
+			this.size++;
+			return row;
+		}
+
+		private static boolean isInteger(Number number) {
+			return number instanceof Long || number instanceof Integer || number instanceof Short
+					|| number instanceof Byte || number instanceof BigInteger
+					|| (number instanceof BigDecimal && ((BigDecimal) number).scale() <= 0);
+		}
+	}
+
+	/**
+	 * Creates a {@link Builder}.
+	 *
+	 * @param zone the {@link ZoneId} for {@link #getTimestamp(int)}
+	 * @return the {@link Builder}
+	 */
+	public static Builder create(ZoneId zone) {
+		return new Builder(zone);
+	}
+
+	/**
+	 * Converts a table of timestamp, Channel and value.
+	 *
+	 * @param table the table; possibly null
+	 * @return the {@link HistoricTimeseriesData}; null if table is null
+	 */
+	public static HistoricTimeseriesData from(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		if (table == null) {
+			return null;
+		}
+		var zone = table.isEmpty() ? ZoneOffset.UTC : table.firstKey().getZone();
+		var builder = create(zone);
+		for (var row : table.entrySet()) {
+			var timestamp = row.getKey().toInstant().toEpochMilli();
+			builder.addTimestamp(timestamp);
+			for (var cell : row.getValue().entrySet()) {
+				builder.add(timestamp, cell.getKey(), cell.getValue());
+			}
+		}
+		return builder.build();
+	}
+
+	private final ZoneId zone;
+	private final long[] timestamps;
+	private final TreeMap<ChannelAddress, Column> columns;
+
+	private HistoricTimeseriesData(ZoneId zone, long[] timestamps, TreeMap<ChannelAddress, Column> columns) {
+		this.zone = zone;
+		this.timestamps = timestamps;
+		this.columns = columns;
+	}
+
+	/**
+	 * Gets the number of timestamps.
+	 *
+	 * @return the number of rows
+	 */
+	public int size() {
+		return this.timestamps.length;
+	}
+
+	/**
+	 * Gets the timestamp of a row in epoch milliseconds.
+	 *
+	 * @param row the row index
+	 * @return the timestamp
+	 */
+	public long getEpochMilli(int row) {
+		return this.timestamps[row];
+	}
+
+	/**
+	 * Gets the timestamp of a row in the {@link ZoneId} of the query.
+	 *
+	 * @param row the row index
+	 * @return the timestamp
+	 */
+	public ZonedDateTime getTimestamp(int row) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(this.timestamps[row]), this.zone);
+	}
+
+	/**
+	 * Gets the Channels, sorted.
+	 *
+	 * @return the {@link ChannelAddress}es
+	 */
+	public NavigableSet<ChannelAddress> getChannels() {
+		return Collections.unmodifiableNavigableSet(this.columns.navigableKeySet());
+	}
+
+	/**
+	 * Gets the {@link Column} of a Channel.
+	 *
+	 * @param channel the {@link ChannelAddress}
+	 * @return the {@link Column}; null if the Channel is not available
+	 */
+	public Column getColumn(ChannelAddress channel) {
+		return this.columns.get(channel);
+	}
+
+	/**
+	 * Serializes to the JSON format of 'queryHistoricTimeseriesData':
+	 * 'timestamps' as ISO-8601 Instants and 'data' as one array per Channel.
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var result = new JsonObject();
+		var timestamps = new JsonArray(this.timestamps.length);
+		for (var timestamp : this.timestamps) {
+			timestamps.add(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(timestamp)));
+		}
+		result.add("timestamps", timestamps);
+
+		var data = new JsonObject();
+		for (var entry : this.columns.entrySet()) {
+			var column = entry.getValue();
+			var values = new JsonArray(this.timestamps.length);
+			for (var row = 0; row < this.timestamps.length; row++) {
+				values.add(column.getAsJson(row));
+			}
+			data.add(entry.getKey().toString(), values);
+		}
+		result.add("data", data);
+		return result;
+	}
+
+	/**
+	 * Converts to a table of timestamp, Channel and value.
+	 *
+	 * @return the table
+	 */
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> toMap() {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		for (var row = 0; row < this.timestamps.length; row++) {
+			SortedMap<ChannelAddress, JsonElement> values = new TreeMap<>();
+			for (var entry : this.columns.entrySet()) {
+				values.put(entry.getKey(), entry.getValue().getAsJson(row));
+			}
+			result.put(this.getTimestamp(row), values);
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,6 @@
 package io.openems.common.types;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.osgi.service.metatype.AttributeDefinition;
@@ -17,6 +19,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.Hashing;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
@@ -924,12 +927,30 @@ public class EdgeConfig {
 			}
 		}
 
+		/**
+		 * Calculates the content hash of a Factory.
+		 *
+		 * @param factoryId the Factory-ID
+		 * @param json      the JSON as returned by {@link #toJson()}
+		 * @return the SHA-256 hash as hex string
+		 */
+		public static String hash(String factoryId, JsonObject json) {
+			return Hashing.sha256() //
+					.hashString(factoryId + "\n" + json.toString(), StandardCharsets.UTF_8) //
+					.toString();
+		}
+
 		private final String id;
 		private final String name;
 		private final String description;
 		private final Property[] properties;
 		private final String[] natureIds;
 
+		/**
+		 * Memoized result of {@link #getHash()}.
+		 */
+		private volatile String hash = null;
+
 		public Factory(String id, String name, String description, Property[] properties, String[] natureIds) {
 			this.id = id;
 			this.name = name;
@@ -938,6 +959,21 @@ public class EdgeConfig {
 			this.natureIds = natureIds;
 		}
 
+		/**
+		 * Gets the content hash of the {@link Factory}. Factories with the same ID
+		 * and content - e.g. on Edges with the same version - have the same hash.
+		 *
+		 * @return the hash; see {@link #hash(String, JsonObject)}
+		 */
+		public String getHash() {
+			var hash = this.hash;
+			if (hash == null) {
+				hash = Factory.hash(this.id, this.toJson());
+				this.hash = hash;
+			}
+			return hash;
+		}
+
 		/**
 		 * Gets the ID of the {@link Factory}.
 		 *
@@ -1207,11 +1243,20 @@ public class EdgeConfig {
 		return new EdgeConfig(json);
 	}
 
-	// Either _actual or _json is always set; possibly both.
+	// Either the parsed maps or _json are always set; possibly both.
 	/**
-	 * Do not use directly. Use {@link #getActual()} instead.
+	 * Do not use directly. Use {@link #getComponents()} instead.
 	 */
-	private volatile ActualEdgeConfig _actual = null;
+	private volatile ImmutableSortedMap<String, Component> _components = null;
+	/**
+	 * Do not use directly. Use {@link #getFactories()} instead.
+	 */
+	private volatile ImmutableSortedMap<String, Factory> _factories = null;
+	/**
+	 * Components that were parsed one by one by {@link #getComponent(String)}
+	 * while {@link #_components} is not available.
+	 */
+	private final Map<String, Component> _parsedComponents = new ConcurrentHashMap<>();
 	/**
 	 * Do not use directly. Use {@link #toJson()} instead.
 	 */
@@ -1223,39 +1268,18 @@ public class EdgeConfig {
 	 * @param actual the {@link ActualEdgeConfig}
 	 */
 	private EdgeConfig(ActualEdgeConfig actual) {
-		this._actual = actual;
-	}
-
-	private EdgeConfig(JsonObject json) {
-		this._json = json;
+		this._components = actual.components;
+		this._factories = actual.factories;
 	}
 
 	/**
-	 * Gets the {@link ActualEdgeConfig}. Either by parsing it from {@link #json} or
-	 * by returning from cache.
+	 * Build from JSON. Components and Factories are parsed lazily on first access;
+	 * single Components are parsed on their own.
 	 * 
-	 * @return {@link ActualEdgeConfig}; empty on JSON parse error
+	 * @param json the {@link JsonObject}
 	 */
-	private synchronized ActualEdgeConfig getActual() {
-		if (this._actual != null) {
-			return this._actual; // exists in cache
-		}
-
-		var builder = ActualEdgeConfig.create();
-		try {
-			for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(this._json, "components").entrySet()) {
-				builder.addComponent(entry.getKey(), Component.fromJson(entry.getKey(), entry.getValue()));
-			}
-			for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(this._json, "factories").entrySet()) {
-				builder.addFactory(entry.getKey(), Factory.fromJson(entry.getKey(), entry.getValue()));
-			}
-			this._actual = builder.build();
-			return this._actual;
-
-		} catch (OpenemsNamedException e) {
-			e.printStackTrace();
-			return ActualEdgeConfig.empty();
-		}
+	private EdgeConfig(JsonObject json) {
+		this._json = json;
 	}
 
 	/**
@@ -1265,7 +1289,11 @@ public class EdgeConfig {
 	 * @return the {@link Component} as {@link Optional}
 	 */
 	public Optional<Component> getComponent(String componentId) {
-		return Optional.ofNullable(this.getActual().components.get(componentId));
+		var components = this._components;
+		if (components != null) {
+			return Optional.ofNullable(components.get(componentId));
+		}
+		return Optional.ofNullable(this._parsedComponents.computeIfAbsent(componentId, this::parseComponent));
 	}
 
 	/**
@@ -1276,29 +1304,97 @@ public class EdgeConfig {
 	 * @throws InvalidValueException on error
 	 */
 	public Component getComponentOrError(String componentId) throws InvalidValueException {
-		var component = this.getActual().components.get(componentId);
-		if (component != null) {
-			return component;
+		var component = this.getComponent(componentId);
+		if (component.isPresent()) {
+			return component.get();
 		}
 		throw new InvalidValueException("Component with ID [" + componentId + "] does not exist.");
 	}
 
 	/**
-	 * Gets the {@link Component}s.
+	 * Gets the {@link Component}s. Either by parsing them from {@link #_json} or by
+	 * returning from cache.
 	 *
-	 * @return the {@link Component}s
+	 * @return the {@link Component}s; empty on JSON parse error
 	 */
 	public ImmutableSortedMap<String, Component> getComponents() {
-		return this.getActual().components;
+		var components = this._components;
+		if (components != null) {
+			return components; // exists in cache
+		}
+		synchronized (this) {
+			if (this._components == null) {
+				var result = ImmutableSortedMap.<String, Component>naturalOrder();
+				try {
+					for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(this._json, "components")
+							.entrySet()) {
+						var component = this._parsedComponents.get(entry.getKey());
+						if (component == null) {
+							component = Component.fromJson(entry.getKey(), entry.getValue());
+						}
+						result.put(entry.getKey(), component);
+					}
+					this._components = result.build();
+
+				} catch (OpenemsNamedException e) {
+					EdgeConfig.LOG.warn("Unable to parse Components of EdgeConfig: " + e.getMessage());
+					this._components = ImmutableSortedMap.of();
+				}
+				this._parsedComponents.clear();
+			}
+			return this._components;
+		}
 	}
 
 	/**
-	 * Gets the {@link Factory}s.
+	 * Gets the {@link Factory}s. Either by parsing them from {@link #_json} or by
+	 * returning from cache.
 	 *
-	 * @return the {@link Factory}s
+	 * @return the {@link Factory}s; empty on JSON parse error
 	 */
 	public ImmutableSortedMap<String, Factory> getFactories() {
-		return this.getActual().factories;
+		var factories = this._factories;
+		if (factories != null) {
+			return factories; // exists in cache
+		}
+		synchronized (this) {
+			if (this._factories == null) {
+				var result = ImmutableSortedMap.<String, Factory>naturalOrder();
+				try {
+					for (Entry<String, JsonElement> entry : JsonUtils.getAsJsonObject(this._json, "factories")
+							.entrySet()) {
+						result.put(entry.getKey(), Factory.fromJson(entry.getKey(), entry.getValue()));
+					}
+					this._factories = result.build();
+
+				} catch (OpenemsNamedException e) {
+					EdgeConfig.LOG.warn("Unable to parse Factories of EdgeConfig: " + e.getMessage());
+					this._factories = ImmutableSortedMap.of();
+				}
+			}
+			return this._factories;
+		}
+	}
+
+	/**
+	 * Parses a single {@link Component} from {@link #_json}.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the {@link Component}; null if it does not exist or on JSON parse
+	 *         error
+	 */
+	private Component parseComponent(String componentId) {
+		try {
+			var json = JsonUtils.getAsJsonObject(this._json, "components").get(componentId);
+			if (json == null) {
+				return null;
+			}
+			return Component.fromJson(componentId, json);
+
+		} catch (OpenemsNamedException e) {
+			EdgeConfig.LOG.warn("Unable to parse Component [" + componentId + "] of EdgeConfig: " + e.getMessage());
+			return null;
+		}
 	}
 
 	/**
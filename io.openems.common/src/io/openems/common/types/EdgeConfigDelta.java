@@ -0,0 +1,327 @@
+package io.openems.common.types;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.EdgeConfig.ActualEdgeConfig;
+import io.openems.common.types.EdgeConfig.Component;
+import io.openems.common.types.EdgeConfig.Component.JsonFormat;
+import io.openems.common.types.EdgeConfig.Factory;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Holds the changes of an {@link EdgeConfig} against a version that was
+ * acknowledged by the receiver, or the complete {@link EdgeConfig} if there is
+ * no such version.
+ *
+ * <p>
+ * Factories are referenced by their content hash (see
+ * {@link Factory#getHash()}). Their definitions are only transferred if the
+ * receiver does not know them yet, so Factories of Edges with the same version
+ * are shared.
+ *
+ * <pre>
+ * {
+ *   "baseVersion": number | null,
+ *   "version": number,
+ *   "components": {
+ *     [id: string]: {@link Component#toJson(JsonFormat)} | null
+ *   },
+ *   "factories": {
+ *     [id: string]: string (hash) | null
+ *   },
+ *   "factoryDefinitions": {
+ *     [hash: string]: {
+ *       "id": string,
+ *       "factory": {@link Factory#toJson()}
+ *     }
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>
+ * A null value marks a removed Component or Factory.
+ */
+public class EdgeConfigDelta {
+
+	/**
+	 * Creates a {@link EdgeConfigDelta} with the complete {@link EdgeConfig}.
+	 *
+	 * @param version the version of the {@link EdgeConfig}
+	 * @param config  the {@link EdgeConfig}
+	 * @return the {@link EdgeConfigDelta}
+	 */
+	public static EdgeConfigDelta full(int version, EdgeConfig config) {
+		return EdgeConfigDelta.diff(null, EdgeConfig.empty(), version, config);
+	}
+
+	/**
+	 * Creates a {@link EdgeConfigDelta} with the changes between two
+	 * {@link EdgeConfig}s.
+	 *
+	 * @param baseVersion the acknowledged version; null for a complete
+	 *                    {@link EdgeConfig}
+	 * @param base        the acknowledged {@link EdgeConfig}
+	 * @param version     the version of the new {@link EdgeConfig}
+	 * @param config      the new {@link EdgeConfig}
+	 * @return the {@link EdgeConfigDelta}
+	 */
+	public static EdgeConfigDelta diff(Integer baseVersion, EdgeConfig base, int version, EdgeConfig config) {
+		var components = new TreeMap<String, JsonElement>();
+		var baseComponents = base.getComponents();
+		for (var entry : config.getComponents().entrySet()) {
+			var json = entry.getValue().toJson(JsonFormat.COMPLETE);
+			var baseComponent = baseComponents.get(entry.getKey());
+			if (baseComponent == null || !json.equals(baseComponent.toJson(JsonFormat.COMPLETE))) {
+				components.put(entry.getKey(), json);
+			}
+		}
+		for (var id : baseComponents.keySet()) {
+			if (!config.getComponents().containsKey(id)) {
+				components.put(id, JsonNull.INSTANCE);
+			}
+		}
+
+		var factories = new TreeMap<String, String>();
+		var baseFactories = base.getFactories();
+		for (var entry : config.getFactories().entrySet()) {
+			var hash = entry.getValue().getHash();
+			var baseFactory = baseFactories.get(entry.getKey());
+			if (baseFactory == null || !hash.equals(baseFactory.getHash())) {
+				factories.put(entry.getKey(), hash);
+			}
+		}
+		for (var id : baseFactories.keySet()) {
+			if (!config.getFactories().containsKey(id)) {
+				factories.put(id, null);
+			}
+		}
+
+		return new EdgeConfigDelta(baseVersion, version, components, factories, Collections.emptySortedMap());
+	}
+
+	/**
+	 * Parses a {@link EdgeConfigDelta} from JSON.
+	 *
+	 * @param json the {@link JsonObject}
+	 * @return the {@link EdgeConfigDelta}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static EdgeConfigDelta fromJson(JsonObject json) throws OpenemsNamedException {
+		var baseVersion = JsonUtils.getAsOptionalInt(json, "baseVersion").orElse(null);
+		var version = JsonUtils.getAsInt(json, "version");
+		var components = new TreeMap<String, JsonElement>();
+		for (var entry : JsonUtils.getAsJsonObject(json, "components").entrySet()) {
+			components.put(entry.getKey(), entry.getValue());
+		}
+		var factories = new TreeMap<String, String>();
+		for (var entry : JsonUtils.getAsJsonObject(json, "factories").entrySet()) {
+			factories.put(entry.getKey(), entry.getValue().isJsonNull() //
+					? null //
+					: JsonUtils.getAsString(entry.getValue()));
+		}
+		var factoryDefinitions = new TreeMap<String, Factory>();
+		var jFactoryDefinitions = JsonUtils.getAsOptionalJsonObject(json, "factoryDefinitions");
+		if (jFactoryDefinitions.isPresent()) {
+			for (var entry : jFactoryDefinitions.get().entrySet()) {
+				var id = JsonUtils.getAsString(entry.getValue(), "id");
+				var jFactory = JsonUtils.getAsJsonObject(entry.getValue(), "factory");
+				// Never trust a hash that was not calculated locally
+				if (!entry.getKey().equals(Factory.hash(id, jFactory))) {
+					throw new OpenemsException("Hash of Factory [" + id + "] does not match");
+				}
+				factoryDefinitions.put(entry.getKey(), Factory.fromJson(id, jFactory));
+			}
+		}
+		return new EdgeConfigDelta(baseVersion, version, components, factories, factoryDefinitions);
+	}
+
+	private final Integer baseVersion;
+	private final int version;
+	private final SortedMap<String, JsonElement> components;
+	private final SortedMap<String, String> factories;
+	private final SortedMap<String, Factory> factoryDefinitions;
+
+	private EdgeConfigDelta(Integer baseVersion, int version, SortedMap<String, JsonElement> components,
+			SortedMap<String, String> factories, SortedMap<String, Factory> factoryDefinitions) {
+		this.baseVersion = baseVersion;
+		this.version = version;
+		this.components = components;
+		this.factories = factories;
+		this.factoryDefinitions = factoryDefinitions;
+	}
+
+	/**
+	 * Gets the version this {@link EdgeConfigDelta} is based on.
+	 *
+	 * @return the version; null for a complete {@link EdgeConfig}
+	 */
+	public Integer getBaseVersion() {
+		return this.baseVersion;
+	}
+
+	/**
+	 * Gets the version of the resulting {@link EdgeConfig}.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Is this {@link EdgeConfigDelta} without changes?.
+	 *
+	 * @return true if nothing changed
+	 */
+	public boolean isEmpty() {
+		return this.components.isEmpty() && this.factories.isEmpty();
+	}
+
+	/**
+	 * Does this {@link EdgeConfigDelta} change Components?.
+	 *
+	 * @return true if Components were changed, added or removed
+	 */
+	public boolean hasComponentChanges() {
+		return !this.components.isEmpty();
+	}
+
+	/**
+	 * Gets the Factory definitions that come with this {@link EdgeConfigDelta}.
+	 *
+	 * @return a map of hash to {@link Factory}
+	 */
+	public SortedMap<String, Factory> getFactoryDefinitions() {
+		return Collections.unmodifiableSortedMap(this.factoryDefinitions);
+	}
+
+	/**
+	 * Gets the hashes of referenced Factories that are neither known to the
+	 * receiver nor defined in this {@link EdgeConfigDelta}.
+	 *
+	 * @param factoryByHash gets a known {@link Factory} by its hash; or null
+	 * @return the missing hashes
+	 */
+	public Set<String> getMissingFactories(Function<String, Factory> factoryByHash) {
+		var result = new TreeSet<String>();
+		for (var hash : this.factories.values()) {
+			if (hash != null && !this.factoryDefinitions.containsKey(hash) && factoryByHash.apply(hash) == null) {
+				result.add(hash);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a copy of this {@link EdgeConfigDelta} that includes the
+	 * definitions of the given Factories.
+	 *
+	 * @param config the {@link EdgeConfig} that holds the Factories
+	 * @param hashes the hashes of the Factories
+	 * @return a new {@link EdgeConfigDelta}
+	 */
+	public EdgeConfigDelta withFactoryDefinitions(EdgeConfig config, Collection<String> hashes) {
+		var factoryDefinitions = new TreeMap<>(this.factoryDefinitions);
+		for (var factory : config.getFactories().values()) {
+			if (hashes.contains(factory.getHash())) {
+				factoryDefinitions.put(factory.getHash(), factory);
+			}
+		}
+		return new EdgeConfigDelta(this.baseVersion, this.version, this.components, this.factories,
+				factoryDefinitions);
+	}
+
+	/**
+	 * Applies this {@link EdgeConfigDelta} to the acknowledged
+	 * {@link EdgeConfig}.
+	 *
+	 * @param base          the {@link EdgeConfig} of {@link #getBaseVersion()};
+	 *                      ignored for a complete {@link EdgeConfig}
+	 * @param factoryByHash gets a known {@link Factory} by its hash; or null
+	 * @return the new {@link EdgeConfig}
+	 * @throws OpenemsNamedException on error, e.g. if a Factory is missing
+	 */
+	public EdgeConfig apply(EdgeConfig base, Function<String, Factory> factoryByHash)
+			throws OpenemsNamedException {
+		var builder = ActualEdgeConfig.create();
+		if (this.baseVersion != null) {
+			for (var entry : base.getComponents().entrySet()) {
+				builder.addComponent(entry.getKey(), entry.getValue());
+			}
+			for (var entry : base.getFactories().entrySet()) {
+				builder.addFactory(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Entry<String, JsonElement> entry : this.components.entrySet()) {
+			if (entry.getValue().isJsonNull()) {
+				builder.removeComponent(entry.getKey());
+			} else {
+				builder.addComponent(entry.getKey(), Component.fromJson(entry.getKey(), entry.getValue()));
+			}
+		}
+		for (var entry : this.factories.entrySet()) {
+			if (entry.getValue() == null) {
+				builder.getFactories().remove(entry.getKey());
+				continue;
+			}
+			// Prefer the known instance, so equal Factories are shared
+			var factory = factoryByHash.apply(entry.getValue());
+			if (factory == null) {
+				factory = this.factoryDefinitions.get(entry.getValue());
+			}
+			if (factory == null) {
+				throw new OpenemsException("Factory [" + entry.getKey() + "] with hash [" + entry.getValue()
+						+ "] is unknown");
+			}
+			builder.addFactory(entry.getKey(), factory);
+		}
+		return builder.buildEdgeConfig();
+	}
+
+	/**
+	 * Gets this {@link EdgeConfigDelta} as {@link JsonObject}.
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var components = JsonUtils.buildJsonObject();
+		for (var entry : this.components.entrySet()) {
+			components.add(entry.getKey(), entry.getValue());
+		}
+		var factories = JsonUtils.buildJsonObject();
+		for (var entry : this.factories.entrySet()) {
+			factories.add(entry.getKey(), entry.getValue() == null ? JsonNull.INSTANCE //
+					: new JsonPrimitive(entry.getValue()));
+		}
+		var factoryDefinitions = JsonUtils.buildJsonObject();
+		for (var entry : this.factoryDefinitions.entrySet()) {
+			factoryDefinitions.add(entry.getKey(), JsonUtils.buildJsonObject() //
+					.addProperty("id", entry.getValue().getId()) //
+					.add("factory", entry.getValue().toJson()) //
+					.build());
+		}
+		return JsonUtils.buildJsonObject() //
+				.add("baseVersion", this.baseVersion == null ? JsonNull.INSTANCE //
+						: new JsonPrimitive(this.baseVersion)) //
+				.addProperty("version", this.version) //
+				.add("components", components.build()) //
+				.add("factories", factories.build()) //
+				.add("factoryDefinitions", factoryDefinitions.build()) //
+				.build();
+	}
+
+}
@@ -234,6 +234,28 @@ public abstract class AbstractWebsocketClient<T extends WsData> extends Abstract
 		}
 	}
 
+	/**
+	 * Sends a binary message. Returns true if sending was successful, otherwise
+	 * false. Also logs a warning in that case.
+	 *
+	 * @param bytes the binary message
+	 * @return true if sending was successful
+	 */
+	public boolean sendBinaryMessage(byte[] bytes) {
+		try {
+			this.ws.send(bytes);
+			return true;
+
+		} catch (Exception e) {
+			if (e instanceof WebsocketNotConnectedException) {
+				AbstractWebsocketClient.this.reconnectorWorker.triggerNextRun();
+			}
+			this.logWarn(this.log, "Unable to send binary message [" + bytes.length + " bytes]. "
+					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			return false;
+		}
+	}
+
 	/**
 	 * Sends a JSON-RPC Request and returns a future Response.
 	 *
@@ -2,6 +2,7 @@ package io.openems.common.websocket;
 
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,6 +33,7 @@ import io.openems.common.jsonrpc.base.JsonrpcResponse;
 import io.openems.common.utils.JsonrpcUtils;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.common.websocket.ConnectionLane.OverflowPolicy;
 
 public abstract class AbstractWebsocketServer<T extends WsData> extends AbstractWebsocket<T> {
 
@@ -49,6 +51,11 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		}
 	}
 
+	/**
+	 * Default capacity of the {@link ConnectionLane} of each connection.
+	 */
+	public static final int DEFAULT_LANE_CAPACITY = 1000;
+
 	/**
 	 * Shared {@link ExecutorService}.
 	 */
@@ -67,6 +74,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	private final int port;
 	private final WebSocketServer ws;
 	private final DebugMode debugMode;
+	private final int laneCapacity;
+	private final OverflowPolicy overflowPolicy;
 	private final Collection<WebSocket> connections = ConcurrentHashMap.newKeySet();
 
 	/**
@@ -81,7 +90,32 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	 */
 	protected AbstractWebsocketServer(String name, int port, int poolSize, DebugMode debugMode,
 			Consumer<ThreadPoolExecutor> debugCallback) {
+		this(name, port, poolSize, debugMode, debugCallback, DEFAULT_LANE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+	}
+
+	/**
+	 * Construct an {@link AbstractWebsocketServer}.
+	 *
+	 * <p>
+	 * Opening, closing, errors and notifications of one connection are handled in
+	 * order by its {@link ConnectionLane}; requests and responses are handled
+	 * concurrently.
+	 *
+	 * @param name           to identify this server
+	 * @param port           to listen on
+	 * @param poolSize       number of threads dedicated to handle the tasks
+	 * @param debugMode      activate a regular debug log about the state of the
+	 *                       tasks
+	 * @param debugCallback  additional callback on regular debug log
+	 * @param laneCapacity   the maximum number of queued droppable notifications
+	 *                       per connection
+	 * @param overflowPolicy the {@link OverflowPolicy} if a lane is full
+	 */
+	protected AbstractWebsocketServer(String name, int port, int poolSize, DebugMode debugMode,
+			Consumer<ThreadPoolExecutor> debugCallback, int laneCapacity, OverflowPolicy overflowPolicy) {
 		super(name);
+		this.laneCapacity = laneCapacity;
+		this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_OLDEST : overflowPolicy;
 		this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(poolSize,
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
 
@@ -100,10 +134,12 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				try {
 					T wsData = AbstractWebsocketServer.this.createWsData();
 					wsData.setWebsocket(ws);
+					wsData.setLane(new ConnectionLane(AbstractWebsocketServer.this.executor,
+							AbstractWebsocketServer.this.laneCapacity, AbstractWebsocketServer.this.overflowPolicy));
 					ws.setAttachment(wsData);
 					var jHandshake = WebsocketUtils.handshakeToJsonObject(handshake);
-					AbstractWebsocketServer.this
-							.execute(new OnOpenHandler(AbstractWebsocketServer.this, ws, jHandshake));
+					AbstractWebsocketServer.this.executeInLane(ws,
+							new OnOpenHandler(AbstractWebsocketServer.this, ws, jHandshake), false);
 
 				} catch (Throwable t) {
 					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
@@ -131,21 +167,32 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 						return;
 					}
 
-					if (message instanceof JsonrpcRequest) {
-						AbstractWebsocketServer.this.execute(new OnRequestHandler(AbstractWebsocketServer.this, ws,
-								(JsonrpcRequest) message, response -> {
-									AbstractWebsocketServer.this.sendMessage(ws, response);
-								}));
+					AbstractWebsocketServer.this.handleMessage(ws, message);
 
-					} else if (message instanceof JsonrpcResponse) {
-						AbstractWebsocketServer.this.execute(
-								new OnResponseHandler(AbstractWebsocketServer.this, ws, (JsonrpcResponse) message));
+				} catch (Throwable t) {
+					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
+				}
+			}
 
-					} else if (message instanceof JsonrpcNotification) {
-						AbstractWebsocketServer.this.execute(new OnNotificationHandler(AbstractWebsocketServer.this, ws,
-								(JsonrpcNotification) message));
+			@Override
+			public void onMessage(WebSocket ws, ByteBuffer bytes) {
+				try {
+					JsonrpcMessage message;
+					try {
+						// Binary messages are decoded synchronously, as decoding might depend on
+						// the order of messages
+						message = AbstractWebsocketServer.this.handleBinaryMessage(ws, bytes);
+						if (message == null) {
+							// silently ignore 'null'
+							return;
+						}
+					} catch (OpenemsNamedException e) {
+						AbstractWebsocketServer.this.handleInternalErrorAsync(e, WebsocketUtils.getWsDataString(ws));
+						return;
 					}
 
+					AbstractWebsocketServer.this.handleMessage(ws, message);
+
 				} catch (Throwable t) {
 					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
 				}
@@ -157,7 +204,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 					if (ws == null) {
 						AbstractWebsocketServer.this.handleInternalErrorAsync(ex, WebsocketUtils.getWsDataString(ws));
 					} else {
-						AbstractWebsocketServer.this.execute(new OnErrorHandler(AbstractWebsocketServer.this, ws, ex));
+						AbstractWebsocketServer.this.executeInLane(ws,
+								new OnErrorHandler(AbstractWebsocketServer.this, ws, ex), false);
 					}
 
 				} catch (Throwable t) {
@@ -168,8 +216,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 			@Override
 			public void onClose(WebSocket ws, int code, String reason, boolean remote) {
 				try {
-					AbstractWebsocketServer.this
-							.execute(new OnCloseHandler(AbstractWebsocketServer.this, ws, code, reason, remote));
+					AbstractWebsocketServer.this.executeInLane(ws,
+							new OnCloseHandler(AbstractWebsocketServer.this, ws, code, reason, remote), false);
 
 				} catch (Throwable t) {
 					AbstractWebsocketServer.this.handleInternalErrorSync(t, WebsocketUtils.getWsDataString(ws));
@@ -221,7 +269,8 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 			this.debugLogExecutor.scheduleWithFixedDelay(() -> {
 				var b = new StringBuilder("[monitor] ") //
 						.append("Connections: ").append(this.ws.getConnections().size()).append(", ") //
-						.append(ThreadPoolUtils.debugLog(this.executor)); //
+						.append(ThreadPoolUtils.debugLog(this.executor)).append(", ") //
+						.append(this.debugLogLanes()); //
 				if (this.debugMode.isAtLeast(DebugMode.DETAILED) && this.executor.getActiveCount() > 0) {
 					b.append(", Tasks: ");
 					this.activeTasks.forEach((id, count) -> {
@@ -244,6 +293,86 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		}
 	}
 
+	/**
+	 * Handles a parsed {@link JsonrpcMessage} asynchronously.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param message the {@link JsonrpcMessage}
+	 */
+	private void handleMessage(WebSocket ws, JsonrpcMessage message) {
+		if (message instanceof JsonrpcRequest) {
+			this.execute(new OnRequestHandler(this, ws, (JsonrpcRequest) message, response -> {
+				this.sendMessage(ws, response);
+			}));
+
+		} else if (message instanceof JsonrpcResponse) {
+			this.execute(new OnResponseHandler(this, ws, (JsonrpcResponse) message));
+
+		} else if (message instanceof JsonrpcNotification) {
+			var notification = (JsonrpcNotification) message;
+			this.executeInLane(ws, new OnNotificationHandler(this, ws, notification), this.isDroppable(notification));
+		}
+	}
+
+	/**
+	 * Can this {@link JsonrpcNotification} be dropped if the
+	 * {@link ConnectionLane} of the connection is full?.
+	 *
+	 * <p>
+	 * Override this method for notifications that are superseded by newer ones,
+	 * like regular data notifications. Defaults to false.
+	 *
+	 * @param notification the {@link JsonrpcNotification}
+	 * @return true if it can be dropped
+	 */
+	protected boolean isDroppable(JsonrpcNotification notification) {
+		return false;
+	}
+
+	/**
+	 * Builds a debug log of the {@link ConnectionLane}s: total queued tasks, the
+	 * deepest queue, the maximum lag and the number of dropped notifications.
+	 *
+	 * @return the debug log
+	 */
+	private String debugLogLanes() {
+		var queued = 0;
+		var maxQueued = 0;
+		var maxQueuedConnection = "";
+		var maxLag = 0L;
+		var dropped = 0L;
+		var details = new StringBuilder();
+		for (var ws : this.getConnections()) {
+			WsData wsData = ws.getAttachment();
+			if (wsData == null || wsData.getLane() == null) {
+				continue;
+			}
+			var lane = wsData.getLane();
+			var size = lane.getQueueSize();
+			var lag = lane.getLag();
+			queued += size;
+			dropped += lane.getDropped();
+			maxLag = Math.max(maxLag, lag);
+			if (size > maxQueued) {
+				maxQueued = size;
+				maxQueuedConnection = wsData.toString();
+			}
+			if (this.debugMode.isAtLeast(DebugMode.DETAILED) && size > 0) {
+				details.append(", ").append(wsData.toString()) //
+						.append(":").append(size).append("|").append(lag).append("ms");
+			}
+		}
+		var b = new StringBuilder("Lanes: Queued:").append(queued) //
+				.append("|Max:").append(maxQueued);
+		if (maxQueued > 0) {
+			b.append("@").append(maxQueuedConnection);
+		}
+		return b.append("|Lag:").append(maxLag).append("ms") //
+				.append("|Dropped:").append(dropped) //
+				.append(details) //
+				.toString();
+	}
+
 	@Override
 	protected OnInternalError getOnInternalError() {
 		return (t, wsDataString) -> {
@@ -321,23 +450,51 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	 */
 	@Override
 	protected void execute(Runnable command) {
-		if (this.debugMode.isAtLeast(DebugMode.DETAILED)) {
-			this.executor.execute(() -> {
-				String id = AbstractWebsocketServer.getRunnableIdentifier(command);
-				try {
-					this.activeTasks.computeIfAbsent(id, ATOMIC_INTEGER_PROVIDER).incrementAndGet();
-					command.run();
-				} catch (Throwable t) {
-					throw t;
-				} finally {
-					this.activeTasks.get(id).decrementAndGet();
-				}
-			});
+		this.executor.execute(this.track(command));
+	}
+
+	/**
+	 * Execute a {@link Runnable} in order using the {@link ConnectionLane} of the
+	 * connection. Falls back to {@link #execute(Runnable)} if there is no
+	 * {@link ConnectionLane}.
+	 *
+	 * @param ws          the {@link WebSocket}
+	 * @param command     the {@link Runnable}
+	 * @param isDroppable true if the command may be dropped if the lane is full
+	 */
+	protected void executeInLane(WebSocket ws, Runnable command, boolean isDroppable) {
+		WsData wsData = ws.getAttachment();
+		var lane = wsData == null ? null : wsData.getLane();
+		if (lane == null) {
+			this.execute(command);
 		} else {
-			this.executor.execute(command);
+			lane.submit(this.track(command), isDroppable);
 		}
 	}
 
+	/**
+	 * Wraps a {@link Runnable} to track active tasks in {@link DebugMode#DETAILED}.
+	 *
+	 * @param command the {@link Runnable}
+	 * @return the wrapped {@link Runnable}
+	 */
+	private Runnable track(Runnable command) {
+		if (!this.debugMode.isAtLeast(DebugMode.DETAILED)) {
+			return command;
+		}
+		return () -> {
+			String id = AbstractWebsocketServer.getRunnableIdentifier(command);
+			try {
+				this.activeTasks.computeIfAbsent(id, ATOMIC_INTEGER_PROVIDER).incrementAndGet();
+				command.run();
+			} catch (Throwable t) {
+				throw t;
+			} finally {
+				this.activeTasks.get(id).decrementAndGet();
+			}
+		};
+	}
+
 	private static final String getRunnableIdentifier(Runnable r) {
 		if (r instanceof OnRequestHandler) {
 			return ((OnRequestHandler) r).getRequestMethod();
@@ -387,4 +544,20 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		throw new OpenemsException("Unhandled Non-JSON-RPC message", e);
 	}
 
+	/**
+	 * Handle binary messages.
+	 *
+	 * <p>
+	 * This method is called synchronously by the websocket thread of the
+	 * connection, i.e. in the order the messages were received.
+	 *
+	 * @param ws    the {@link WebSocket}
+	 * @param bytes the binary message
+	 * @return message converted to {@link JsonrpcMessage}; or null
+	 * @throws OpenemsNamedException if conversion is not possible
+	 */
+	protected JsonrpcMessage handleBinaryMessage(WebSocket ws, ByteBuffer bytes) throws OpenemsNamedException {
+		throw new OpenemsException("Unhandled binary message");
+	}
+
 }
@@ -0,0 +1,166 @@
+package io.openems.common.websocket;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executes the tasks of one websocket connection serially, in the order they
+ * were submitted, on a shared {@link Executor}.
+ *
+ * <p>
+ * The queue is bounded: if it is full, droppable tasks (e.g. data
+ * notifications) are dropped according to the {@link OverflowPolicy}. Other
+ * tasks are never dropped and may exceed the capacity.
+ */
+public class ConnectionLane {
+
+	public static enum OverflowPolicy {
+		/**
+		 * Drops the oldest queued droppable task to make room for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * Drops the new droppable task.
+		 */
+		DROP_NEWEST;
+	}
+
+	/**
+	 * Maximum number of tasks that are executed in one go, before the lane gives
+	 * other lanes a chance on the shared {@link Executor}.
+	 */
+	protected static final int MAX_BATCH = 16;
+
+	private static class Task {
+		private final Runnable command;
+		private final boolean isDroppable;
+		private final long enqueuedAt;
+
+		private Task(Runnable command, boolean isDroppable) {
+			this.command = command;
+			this.isDroppable = isDroppable;
+			this.enqueuedAt = System.currentTimeMillis();
+		}
+	}
+
+	private final Executor executor;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final ArrayDeque<Task> queue = new ArrayDeque<>();
+
+	private boolean isScheduled = false;
+	private long dropped = 0;
+
+	public ConnectionLane(Executor executor, int capacity, OverflowPolicy overflowPolicy) {
+		this.executor = executor;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Submits a task.
+	 *
+	 * @param command     the {@link Runnable}
+	 * @param isDroppable true if the task may be dropped if the queue is full
+	 * @return false if the task was dropped
+	 */
+	public synchronized boolean submit(Runnable command, boolean isDroppable) {
+		if (isDroppable && this.queue.size() >= this.capacity && !this.makeRoom()) {
+			this.dropped++;
+			return false;
+		}
+		this.queue.add(new Task(command, isDroppable));
+		if (!this.isScheduled) {
+			this.schedule();
+		}
+		return true;
+	}
+
+	/**
+	 * Tries to drop a queued task according to the {@link OverflowPolicy}.
+	 *
+	 * @return true if a task was dropped
+	 */
+	private boolean makeRoom() {
+		if (this.overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+			var iterator = this.queue.iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().isDroppable) {
+					iterator.remove();
+					this.dropped++;
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void schedule() {
+		try {
+			this.executor.execute(this::drain);
+			this.isScheduled = true;
+		} catch (RejectedExecutionException e) {
+			// Executor is shut down
+			this.queue.clear();
+			this.isScheduled = false;
+		}
+	}
+
+	private void drain() {
+		try {
+			for (var i = 0; i < MAX_BATCH; i++) {
+				Task task;
+				synchronized (this) {
+					task = this.queue.poll();
+					if (task == null) {
+						return;
+					}
+				}
+				task.command.run();
+			}
+		} finally {
+			// Also reached if a task throws; the lane must not stall
+			synchronized (this) {
+				if (this.queue.isEmpty()) {
+					this.isScheduled = false;
+				} else {
+					// Continue later to be fair to other lanes
+					this.schedule();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of queued tasks.
+	 *
+	 * @return the queue depth
+	 */
+	public synchronized int getQueueSize() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Gets the time the oldest queued task is waiting.
+	 *
+	 * @return the lag in [ms]; 0 if the queue is empty
+	 */
+	public synchronized long getLag() {
+		var task = this.queue.peek();
+		if (task == null) {
+			return 0;
+		}
+		return Math.max(0, System.currentTimeMillis() - task.enqueuedAt);
+	}
+
+	/**
+	 * Gets the number of dropped tasks.
+	 *
+	 * @return the number of dropped tasks
+	 */
+	public synchronized long getDropped() {
+		return this.dropped;
+	}
+
+}
@@ -28,6 +28,11 @@ public abstract class WsData {
 	 */
 	private WebSocket websocket = null;
 
+	/**
+	 * Holds the {@link ConnectionLane} for ordered processing. Possibly null!
+	 */
+	private ConnectionLane lane = null;
+
 	/**
 	 * Holds Futures for JSON-RPC Requests.
 	 */
@@ -62,6 +67,24 @@ public abstract class WsData {
 		return this.websocket;
 	}
 
+	/**
+	 * Sets the {@link ConnectionLane}.
+	 *
+	 * @param lane the {@link ConnectionLane}
+	 */
+	public void setLane(ConnectionLane lane) {
+		this.lane = lane;
+	}
+
+	/**
+	 * Gets the {@link ConnectionLane}. Possibly null!
+	 *
+	 * @return the {@link ConnectionLane}
+	 */
+	public ConnectionLane getLane() {
+		return this.lane;
+	}
+
 	/**
 	 * Sends a JSON-RPC request to a Websocket and registers a callback.
 	 *
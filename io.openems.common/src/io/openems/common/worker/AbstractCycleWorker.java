@@ -14,6 +14,22 @@ package io.openems.common.worker;
  */
 public abstract class AbstractCycleWorker extends AbstractWorker {
 
+	/**
+	 * Creates a worker that is started by the default {@link WorkerExecutor}.
+	 */
+	protected AbstractCycleWorker() {
+		super();
+	}
+
+	/**
+	 * Creates a worker that is started by the given {@link WorkerExecutor}.
+	 *
+	 * @param executor the {@link WorkerExecutor}
+	 */
+	protected AbstractCycleWorker(WorkerExecutor executor) {
+		super(executor);
+	}
+
 	@Override
 	public void activate(String name) {
 		super.activate(name);
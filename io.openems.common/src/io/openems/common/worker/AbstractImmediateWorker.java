@@ -9,6 +9,22 @@ package io.openems.common.worker;
  */
 public abstract class AbstractImmediateWorker extends AbstractWorker {
 
+	/**
+	 * Creates a worker that is started by the default {@link WorkerExecutor}.
+	 */
+	protected AbstractImmediateWorker() {
+		super();
+	}
+
+	/**
+	 * Creates a worker that is started by the given {@link WorkerExecutor}.
+	 *
+	 * @param executor the {@link WorkerExecutor}
+	 */
+	protected AbstractImmediateWorker(WorkerExecutor executor) {
+		super(executor);
+	}
+
 	@Override
 	public void activate(String name) {
 		super.activate(name);
@@ -1,5 +1,6 @@
 package io.openems.common.worker;
 
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -24,6 +25,10 @@ import io.openems.common.utils.Mutex;
  * <p>
  * If Cycle-Time is zero (e.g. by using {@link #DO_NOT_WAIT}), the forever()
  * method is always called immediately without any delay.
+ *
+ * <p>
+ * The loop is started by a {@link WorkerExecutor}, by default
+ * {@link WorkerExecutors#getDefault()}.
  */
 public abstract class AbstractWorker {
 
@@ -34,6 +39,25 @@ public abstract class AbstractWorker {
 
 	private final AtomicBoolean isStopped = new AtomicBoolean(false);
 	private final Mutex cycleMutex = new Mutex(false);
+	private final WorkerExecutor executor;
+
+	private Future<?> future = null;
+
+	/**
+	 * Creates a worker that is started by the default {@link WorkerExecutor}.
+	 */
+	protected AbstractWorker() {
+		this(WorkerExecutors.getDefault());
+	}
+
+	/**
+	 * Creates a worker that is started by the given {@link WorkerExecutor}.
+	 *
+	 * @param executor the {@link WorkerExecutor}
+	 */
+	protected AbstractWorker(WorkerExecutor executor) {
+		this.executor = executor;
+	}
 
 	/**
 	 * Initializes the worker and starts the worker thread.
@@ -50,25 +74,28 @@ public abstract class AbstractWorker {
 	 * @param name the name of the worker thread
 	 */
 	public void modified(String name) {
-		if (!this.thread.isAlive() && !this.thread.isInterrupted() && !this.isStopped.get()) {
+		if (!this.isStopped.get()) {
 			this.startWorker(name);
 		}
 	}
 
-	private void startWorker(String name) {
-		if (name != null) {
-			this.thread.setName(name);
+	private synchronized void startWorker(String name) {
+		if (this.future != null && !this.future.isDone()) {
+			// already running
+			return;
 		}
-		this.thread.start();
+		this.future = this.executor.start(name, this.loop);
 		this.triggerNextRun();
 	}
 
 	/**
 	 * Stops the worker thread.
 	 */
-	public void deactivate() {
+	public synchronized void deactivate() {
 		this.isStopped.set(true);
-		this.thread.interrupt();
+		if (this.future != null) {
+			this.future.cancel(true);
+		}
 	}
 
 	/**
@@ -96,7 +123,7 @@ public abstract class AbstractWorker {
 		this.cycleMutex.release();
 	}
 
-	protected final Thread thread = new Thread() {
+	private final Runnable loop = new Runnable() {
 		@Override
 		public void run() {
 			var onWorkerExceptionSleep = 1L; // seconds
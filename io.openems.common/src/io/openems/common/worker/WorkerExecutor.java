@@ -0,0 +1,23 @@
+package io.openems.common.worker;
+
+import java.util.concurrent.Future;
+
+/**
+ * Starts the loop of an {@link AbstractWorker}.
+ *
+ * <p>
+ * Implementations are available via {@link WorkerExecutors}. The loop runs
+ * until the returned {@link Future} is cancelled with interruption.
+ */
+public interface WorkerExecutor {
+
+	/**
+	 * Starts the loop of a Worker.
+	 *
+	 * @param name the name of the worker; possibly null
+	 * @param loop the loop of the Worker
+	 * @return a {@link Future} that is cancelled to stop the loop
+	 */
+	public Future<?> start(String name, Runnable loop);
+
+}
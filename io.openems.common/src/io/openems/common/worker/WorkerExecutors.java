@@ -0,0 +1,196 @@
+package io.openems.common.worker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Factory for {@link WorkerExecutor}s.
+ *
+ * <p>
+ * The default {@link WorkerExecutor} of all Workers is selected by the system
+ * property {@value #PROPERTY}:
+ * <ul>
+ * <li>THREAD (default): one dedicated platform thread per Worker
+ * <li>POOL: a shared, unbounded pool of platform threads; threads of stopped
+ * Workers are reused
+ * <li>VIRTUAL: one virtual thread per Worker; requires Java 21 or newer, falls
+ * back to THREAD otherwise
+ * </ul>
+ */
+public final class WorkerExecutors {
+
+	public static enum Type {
+		THREAD, POOL, VIRTUAL;
+	}
+
+	/**
+	 * System property that selects the default {@link Type}.
+	 */
+	public static final String PROPERTY = "openems.worker.executor";
+
+	private static final Logger LOG = LoggerFactory.getLogger(WorkerExecutors.class);
+
+	private static final WorkerExecutor THREAD = (name, loop) -> {
+		var task = new FutureTask<Void>(loop, null);
+		var thread = name == null ? new Thread(task) : new Thread(task, name);
+		thread.start();
+		return task;
+	};
+
+	private static WorkerExecutor pool = null;
+	private static WorkerExecutor virtual = null;
+	private static WorkerExecutor defaultExecutor = null;
+
+	private WorkerExecutors() {
+	}
+
+	/**
+	 * Gets the {@link WorkerExecutor} that runs every Worker in its own dedicated
+	 * platform thread.
+	 *
+	 * @return the {@link WorkerExecutor}
+	 */
+	public static WorkerExecutor thread() {
+		return THREAD;
+	}
+
+	/**
+	 * Gets the {@link WorkerExecutor} that runs Workers in a shared pool of
+	 * platform threads. While a Worker is running, its thread carries the name of
+	 * the Worker.
+	 *
+	 * @return the {@link WorkerExecutor}
+	 */
+	public static synchronized WorkerExecutor pool() {
+		if (pool == null) {
+			final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder() //
+					.setNameFormat("Worker-%d") //
+					.setDaemon(true) //
+					.build());
+			pool = (name, loop) -> executor.submit(() -> {
+				var thread = Thread.currentThread();
+				var poolName = thread.getName();
+				if (name != null) {
+					thread.setName(name);
+				}
+				try {
+					loop.run();
+				} finally {
+					thread.setName(poolName);
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Gets the {@link WorkerExecutor} that runs every Worker in its own virtual
+	 * thread. Falls back to {@link #thread()} if virtual threads are not
+	 * available.
+	 *
+	 * @return the {@link WorkerExecutor}
+	 */
+	public static synchronized WorkerExecutor virtual() {
+		if (virtual == null) {
+			virtual = createVirtual();
+		}
+		return virtual;
+	}
+
+	/**
+	 * Gets the default {@link WorkerExecutor} as selected by the system property
+	 * {@value #PROPERTY}.
+	 *
+	 * @return the {@link WorkerExecutor}
+	 */
+	public static synchronized WorkerExecutor getDefault() {
+		if (defaultExecutor == null) {
+			defaultExecutor = of(parseType(System.getProperty(PROPERTY)));
+		}
+		return defaultExecutor;
+	}
+
+	/**
+	 * Gets the {@link WorkerExecutor} for a {@link Type}.
+	 *
+	 * @param type the {@link Type}
+	 * @return the {@link WorkerExecutor}
+	 */
+	public static WorkerExecutor of(Type type) {
+		switch (type) {
+		case POOL:
+			return pool();
+		case VIRTUAL:
+			return virtual();
+		case THREAD:
+		default:
+			return thread();
+		}
+	}
+
+	/**
+	 * Are virtual threads available in this Java runtime?.
+	 *
+	 * @return true if yes
+	 */
+	public static boolean isVirtualAvailable() {
+		return virtual() != THREAD;
+	}
+
+	private static Type parseType(String value) {
+		if (value == null || value.isBlank()) {
+			return Type.THREAD;
+		}
+		try {
+			return Type.valueOf(value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			LOG.warn("Unknown Worker-Executor [" + value + "]. Using [" + Type.THREAD + "]");
+			return Type.THREAD;
+		}
+	}
+
+	/**
+	 * Creates a {@link WorkerExecutor} for virtual threads via reflection, as they
+	 * are not available in the Java version the sources are compiled for.
+	 *
+	 * @return the {@link WorkerExecutor}; {@link #thread()} if not available
+	 */
+	private static WorkerExecutor createVirtual() {
+		final Method ofVirtual;
+		final Method setName;
+		final Method unstarted;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			var builderClass = Class.forName("java.lang.Thread$Builder");
+			setName = builderClass.getMethod("name", String.class);
+			unstarted = builderClass.getMethod("unstarted", Runnable.class);
+		} catch (ReflectiveOperationException e) {
+			LOG.info("Virtual threads are not available in Java [" + Runtime.version() + "]. " //
+					+ "Using [" + Type.THREAD + "]");
+			return THREAD;
+		}
+		return (name, loop) -> {
+			var task = new FutureTask<Void>(loop, null);
+			try {
+				var builder = ofVirtual.invoke(null);
+				if (name != null) {
+					builder = setName.invoke(builder, name);
+				}
+				((Thread) unstarted.invoke(builder, task)).start();
+				return task;
+			} catch (ReflectiveOperationException e) {
+				LOG.warn("Unable to start virtual thread [" + name + "]: " + e.getMessage());
+				return THREAD.start(name, loop);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,166 @@
+package io.openems.common.jsonrpc.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+
+public class BinaryTimestampedDataTest {
+
+	private static final long TIMESTAMP = 1577836800000L; /* 1. January 2020 00:00:00 */
+
+	private static Map<String, JsonElement> values(Object... addressesAndValues) {
+		var result = new HashMap<String, JsonElement>();
+		for (var i = 0; i < addressesAndValues.length; i += 2) {
+			var value = addressesAndValues[i + 1];
+			final JsonElement element;
+			if (value == null) {
+				element = JsonNull.INSTANCE;
+			} else if (value instanceof Number) {
+				element = new JsonPrimitive((Number) value);
+			} else if (value instanceof Boolean) {
+				element = new JsonPrimitive((Boolean) value);
+			} else {
+				element = new JsonPrimitive(value.toString());
+			}
+			result.put((String) addressesAndValues[i], element);
+		}
+		return result;
+	}
+
+	private static void assertRoundtrip(BinaryTimestampedDataEncoder encoder, BinaryTimestampedDataDecoder decoder,
+			long timestamp, Map<String, JsonElement> values) throws OpenemsException {
+		var frame = encoder.encode(timestamp, values);
+		var notification = decoder.decode(ByteBuffer.wrap(frame));
+		var data = notification.getData();
+		assertEquals(values.size(), data.size());
+		for (var entry : values.entrySet()) {
+			assertEquals(entry.getKey(), entry.getValue(), data.get(timestamp, entry.getKey()));
+		}
+	}
+
+	@Test
+	public void testRoundtrip() throws OpenemsException {
+		var encoder = new BinaryTimestampedDataEncoder(false);
+		var decoder = new BinaryTimestampedDataDecoder();
+
+		assertRoundtrip(encoder, decoder, TIMESTAMP, values(//
+				"_sum/State", 0, //
+				"_sum/EssSoc", 55, //
+				"_sum/GridActivePower", -1234, //
+				"_sum/ProductionActiveEnergy", 123456789012L, //
+				"meter0/Frequency", 50.02, //
+				"meter0/VoltageL1", 230.1F, //
+				"ess0/StartStop", true, //
+				"ess0/Alias", "Speicher äöü", //
+				"ess0/ActivePower", null));
+		assertEquals(9, encoder.getDictionarySize());
+
+		// Deltas relative to previous frame; new Channel-Address
+		assertRoundtrip(encoder, decoder, TIMESTAMP + 1000, values(//
+				"_sum/GridActivePower", 4321, //
+				"_sum/ProductionActiveEnergy", 123456789013L, //
+				"ess0/StartStop", false, //
+				"ess0/ActivePower", -500, //
+				"ess1/ActivePower", Integer.MIN_VALUE));
+		assertEquals(10, encoder.getDictionarySize());
+
+		// Timestamp jumps back
+		assertRoundtrip(encoder, decoder, TIMESTAMP - 5000, values(//
+				"_sum/EssSoc", 54));
+
+		// Empty frame
+		assertRoundtrip(encoder, decoder, TIMESTAMP, values());
+	}
+
+	@Test
+	public void testDeflate() throws OpenemsException {
+		var encoder = new BinaryTimestampedDataEncoder(true);
+		var decoder = new BinaryTimestampedDataDecoder();
+
+		var values = new HashMap<String, JsonElement>();
+		for (var i = 0; i < 200; i++) {
+			values.put("meter" + i + "/ActivePower", new JsonPrimitive(i * 10));
+		}
+		var frame = encoder.encode(TIMESTAMP, values);
+		assertEquals(BinaryTimestampedData.FLAG_DEFLATE, frame[1]);
+
+		var data = decoder.decode(ByteBuffer.wrap(frame)).getData();
+		assertEquals(200, data.size());
+		assertEquals(new JsonPrimitive(1990), data.get(TIMESTAMP, "meter199/ActivePower"));
+
+		// Small frames are not deflated
+		assertRoundtrip(encoder, decoder, TIMESTAMP + 1000, values(//
+				"meter5/ActivePower", 51));
+	}
+
+	@Test
+	public void testSmallerThanJson() {
+		var values = new HashMap<String, JsonElement>();
+		for (var i = 0; i < 100; i++) {
+			values.put("meter" + i + "/ActivePower", new JsonPrimitive(1000 + i));
+		}
+		var notification = new TimestampedDataNotification();
+		notification.add(TIMESTAMP, values);
+		var json = notification.toString().length();
+
+		var encoder = new BinaryTimestampedDataEncoder(false);
+		var first = encoder.encode(TIMESTAMP, values).length;
+		var second = encoder.encode(TIMESTAMP + 1000, values).length;
+		assertTrue(first < json);
+		assertTrue(second * 5 < first);
+	}
+
+	@Test
+	public void testInvalid() {
+		var decoder = new BinaryTimestampedDataDecoder();
+
+		// Unsupported version
+		assertThrows(OpenemsException.class, () -> decoder.decode(ByteBuffer.wrap(new byte[] { 99, 0 })));
+
+		// Truncated
+		var frame = new BinaryTimestampedDataEncoder(false).encode(TIMESTAMP, values("_sum/EssSoc", 55));
+		assertThrows(OpenemsException.class,
+				() -> decoder.decode(ByteBuffer.wrap(frame, 0, frame.length - 1).slice()));
+
+		// Unknown Channel-ID
+		var otherEncoder = new BinaryTimestampedDataEncoder(false);
+		otherEncoder.encode(TIMESTAMP, values("_sum/EssSoc", 55));
+		var unknownId = otherEncoder.encode(TIMESTAMP, values("_sum/GridActivePower", 0));
+		assertThrows(OpenemsException.class,
+				() -> new BinaryTimestampedDataDecoder().decode(ByteBuffer.wrap(unknownId)));
+	}
+
+	@Test
+	public void testLimits() throws OpenemsException {
+		var values = new HashMap<String, JsonElement>();
+		for (var i = 0; i < 200; i++) {
+			values.put("meter" + i + "/ActivePower", new JsonPrimitive(0));
+		}
+		var deflated = new BinaryTimestampedDataEncoder(true).encode(TIMESTAMP, values);
+		var plain = new BinaryTimestampedDataEncoder(false).encode(TIMESTAMP, values);
+		assertEquals(BinaryTimestampedData.FLAG_DEFLATE, deflated[1]);
+
+		// Inflated size
+		assertThrows(OpenemsException.class,
+				() -> new BinaryTimestampedDataDecoder(1024, 1000).decode(ByteBuffer.wrap(deflated)));
+		new BinaryTimestampedDataDecoder(plain.length, 1000).decode(ByteBuffer.wrap(deflated));
+
+		// Dictionary size
+		assertThrows(OpenemsException.class,
+				() -> new BinaryTimestampedDataDecoder(1024, 199).decode(ByteBuffer.wrap(plain)));
+		new BinaryTimestampedDataDecoder(1024, 200).decode(ByteBuffer.wrap(plain));
+	}
+
+}
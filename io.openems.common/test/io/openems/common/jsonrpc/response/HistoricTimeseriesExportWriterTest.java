@@ -0,0 +1,77 @@
+package io.openems.common.jsonrpc.response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.response.HistoricTimeseriesExportWriter.Format;
+import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse.Channel;
+import io.openems.common.session.Language;
+import io.openems.common.timedata.HistoricTimeseriesData;
+import io.openems.common.types.ChannelAddress;
+
+public class HistoricTimeseriesExportWriterTest {
+
+	private static final ZonedDateTime FROM_DATE = ZonedDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final ZonedDateTime TO_DATE = FROM_DATE.plusDays(20);
+
+	/**
+	 * Returns one row per hour; including 'toDate' to simulate a database that
+	 * returns the end of the period.
+	 */
+	private static HistoricTimeseriesData query(ZonedDateTime fromDate, ZonedDateTime toDate) {
+		var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		for (var timestamp = fromDate; !timestamp.isAfter(toDate); timestamp = timestamp.plusHours(1)) {
+			var values = new TreeMap<ChannelAddress, JsonElement>();
+			values.put(Channel.GRID_ACTIVE_POWER, new JsonPrimitive(-1500));
+			values.put(Channel.ESS_DISCHARGE_POWER, new JsonPrimitive(200.4));
+			values.put(Channel.ESS_SOC, new JsonPrimitive(50));
+			result.put(timestamp, values);
+		}
+		return HistoricTimeseriesData.from(result);
+	}
+
+	@Test
+	public void testCsv() throws IOException, OpenemsNamedException {
+		var chunks = new ArrayList<ZonedDateTime>();
+		var os = new ByteArrayOutputStream();
+		HistoricTimeseriesExportWriter.write(Format.CSV, os, "edge0", FROM_DATE, TO_DATE, null,
+				(fromDate, toDate) -> {
+					chunks.add(fromDate);
+					return query(fromDate, toDate);
+				}, Language.EN);
+
+		// 7 + 7 + 6 days
+		assertEquals(3, chunks.size());
+		assertEquals(FROM_DATE.plusDays(HistoricTimeseriesExportWriter.CHUNK_DAYS), chunks.get(1));
+
+		var lines = new String(os.toByteArray(), StandardCharsets.UTF_8).split("\r\n");
+		var hours = (int) ChronoUnit.HOURS.between(FROM_DATE, TO_DATE);
+		// Header + one line per hour, no duplicates at the chunk borders
+		assertEquals(1 + hours + 1, lines.length);
+		assertTrue(lines[0].startsWith("Date / Time,Grid Purchase [W],"));
+		assertEquals("01.01.2023 00:00:00 +0000,0,1500,,0,200,,50", lines[1]);
+	}
+
+	@Test
+	public void testFormat() throws OpenemsNamedException {
+		assertEquals(Format.CSV, Format.fromFileExtension("CSV"));
+		assertEquals(Format.XLSX, Format.fromFileExtension("xlsx"));
+	}
+
+}
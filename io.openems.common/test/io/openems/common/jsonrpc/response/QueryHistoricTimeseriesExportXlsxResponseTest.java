@@ -22,6 +22,7 @@ import com.google.gson.JsonPrimitive;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse.Channel;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse.XlsxUtils;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.types.ChannelAddress;
 
 public class QueryHistoricTimeseriesExportXlsxResponseTest {
@@ -77,7 +78,7 @@ public class QueryHistoricTimeseriesExportXlsxResponseTest {
 
 			XlsxUtils.addBasicInfo(ws, "0", fromDate, toDate, translationBundle);
 			XlsxUtils.addEnergyData(ws, energyData, translationBundle);
-			XlsxUtils.addPowerData(ws, powerData, translationBundle);
+			XlsxUtils.addPowerData(ws, HistoricTimeseriesData.from(powerData), translationBundle);
 
 			workbook.finish();
 			os.flush();
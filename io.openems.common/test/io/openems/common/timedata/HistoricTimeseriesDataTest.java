@@ -0,0 +1,97 @@
+package io.openems.common.timedata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class HistoricTimeseriesDataTest {
+
+	private static final ZoneId ZONE = ZoneId.of("UTC");
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress POWER = new ChannelAddress("_sum", "GridActivePower");
+	private static final ChannelAddress STATE = new ChannelAddress("meter0", "State");
+
+	@Test
+	public void testBuilder() {
+		var data = HistoricTimeseriesData.create(ZONE) //
+				.addChannel(STATE) //
+				.add(2000, SOC, 51) //
+				.add(0, SOC, 50) // out of order
+				.add(1000, POWER, 1.5) //
+				.add(2000, POWER, Double.NaN) //
+				.add(1000, SOC, new JsonPrimitive("foo")) //
+				.build();
+
+		assertEquals(3, data.size());
+		assertEquals(0, data.getEpochMilli(0));
+		assertEquals(1000, data.getEpochMilli(1));
+		assertEquals(2000, data.getEpochMilli(2));
+		assertEquals(3, data.getChannels().size());
+
+		var soc = data.getColumn(SOC);
+		assertFalse(soc.isNumeric());
+		assertEquals(new JsonPrimitive(50L), soc.getAsJson(0));
+		assertEquals(new JsonPrimitive("foo"), soc.getAsJson(1));
+		assertEquals(new JsonPrimitive(51L), soc.getAsJson(2));
+		assertTrue(Double.isNaN(soc.getAsDouble(1)));
+
+		var power = data.getColumn(POWER);
+		assertTrue(power.isNumeric());
+		assertTrue(power.isNull(0));
+		assertEquals(1.5, power.getAsDouble(1), 0.001);
+		assertEquals(JsonNull.INSTANCE, power.getAsJson(2));
+
+		var state = data.getColumn(STATE);
+		for (var row = 0; row < data.size(); row++) {
+			assertTrue(state.isNull(row));
+		}
+	}
+
+	@Test
+	public void testToJson() {
+		var data = HistoricTimeseriesData.create(ZONE) //
+				.add(0, SOC, 50) //
+				.add(900_000, SOC, 51) //
+				.addTimestamp(1_800_000) //
+				.build();
+
+		assertEquals("{\"timestamps\":[" //
+				+ "\"1970-01-01T00:00:00Z\",\"1970-01-01T00:15:00Z\",\"1970-01-01T00:30:00Z\"]," //
+				+ "\"data\":{\"_sum/EssSoc\":[50,51,null]}}", //
+				data.toJson().toString());
+	}
+
+	@Test
+	public void testMapConversion() {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		var timestamp = ZonedDateTime.of(2020, 7, 1, 0, 0, 0, 0, ZONE);
+		for (var i = 0; i < 4; i++) {
+			SortedMap<ChannelAddress, JsonElement> row = new TreeMap<>();
+			row.put(SOC, i == 2 ? JsonNull.INSTANCE : new JsonPrimitive(i));
+			row.put(POWER, new JsonPrimitive(i * 0.5));
+			table.put(timestamp.plusMinutes(15 * i), row);
+		}
+
+		var data = HistoricTimeseriesData.from(table);
+		assertEquals(4, data.size());
+		assertEquals(timestamp.plusMinutes(45), data.getTimestamp(3));
+		assertEquals(table, data.toMap());
+
+		assertNull(HistoricTimeseriesData.from(null));
+	}
+
+}
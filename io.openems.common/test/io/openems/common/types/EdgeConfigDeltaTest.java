@@ -0,0 +1,101 @@
+package io.openems.common.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.EdgeConfig.Component.JsonFormat;
+import io.openems.common.types.EdgeConfig.Factory;
+import io.openems.common.utils.JsonUtils;
+
+public class EdgeConfigDeltaTest {
+
+	private static EdgeConfig.Component component(String id, String ip) {
+		return new EdgeConfig.Component(id, "", "Component.Foo", JsonUtils.buildJsonObject() //
+				.addProperty("ip", ip) //
+				.build());
+	}
+
+	private static Factory factory(String id, String name) {
+		return new Factory(id, name, "", new EdgeConfig.Factory.Property[0], new String[0]);
+	}
+
+	@Test
+	public void testDiffAndApply() throws OpenemsNamedException {
+		var config1 = new EdgeConfig.ActualEdgeConfig.Builder() //
+				.addComponent("foo0", component("foo0", "10.4.0.1")) //
+				.addComponent("foo1", component("foo1", "10.4.0.2")) //
+				.addFactory("Component.Foo", factory("Component.Foo", "Foo")) //
+				.buildEdgeConfig();
+		var config2 = new EdgeConfig.ActualEdgeConfig.Builder() //
+				.addComponent("foo0", component("foo0", "10.4.0.1")) //
+				.addComponent("foo2", component("foo2", "10.4.0.3")) //
+				.addFactory("Component.Foo", factory("Component.Foo", "Foo v2")) //
+				.buildEdgeConfig();
+		var store = new HashMap<String, Factory>();
+
+		// Complete EdgeConfig: Backend asks for the Factory definition
+		var full = EdgeConfigDelta.fromJson(EdgeConfigDelta.full(1, config1).toJson());
+		assertNull(full.getBaseVersion());
+		var missing = full.getMissingFactories(store::get);
+		assertEquals(1, missing.size());
+		full = EdgeConfigDelta.fromJson(full.withFactoryDefinitions(config1, missing).toJson());
+		assertTrue(full.getMissingFactories(store::get).isEmpty());
+		store.putAll(full.getFactoryDefinitions());
+		var applied1 = full.apply(EdgeConfig.empty(), store::get);
+		assertEquals(config1.toJson(), applied1.toJson());
+
+		// Changes only
+		var diff = EdgeConfigDelta.diff(1, config1, 2, config2);
+		assertTrue(diff.hasComponentChanges());
+		var json = diff.toJson();
+		assertFalse(JsonUtils.getAsJsonObject(json, "components").has("foo0"));
+		assertTrue(JsonUtils.getAsJsonObject(json, "components").get("foo1").isJsonNull());
+		diff = EdgeConfigDelta.fromJson(diff.withFactoryDefinitions(config2, diff.getMissingFactories(store::get))
+				.toJson());
+		store.putAll(diff.getFactoryDefinitions());
+		var applied2 = diff.apply(applied1, store::get);
+		assertEquals(config2.toJson(), applied2.toJson());
+
+		// No changes; Factories are shared
+		var empty = EdgeConfigDelta.diff(2, config2, 3, config2);
+		assertTrue(empty.isEmpty());
+		assertFalse(empty.hasComponentChanges());
+		var applied3 = empty.apply(applied2, store::get);
+		assertSame(applied2.getFactories().get("Component.Foo"), applied3.getFactories().get("Component.Foo"));
+	}
+
+	@Test(expected = OpenemsNamedException.class)
+	public void testInvalidHash() throws OpenemsNamedException {
+		var config = new EdgeConfig.ActualEdgeConfig.Builder() //
+				.addFactory("Component.Foo", factory("Component.Foo", "Foo")) //
+				.buildEdgeConfig();
+		var delta = EdgeConfigDelta.full(1, config);
+		var json = delta.withFactoryDefinitions(config, delta.getMissingFactories(hash -> null)).toJson();
+		var definition = JsonUtils.getAsJsonObject(json, "factoryDefinitions").entrySet().iterator().next();
+		JsonUtils.getAsJsonObject(definition.getValue(), "factory").addProperty("name", "Bar");
+		EdgeConfigDelta.fromJson(json);
+	}
+
+	@Test
+	public void testLazyComponents() {
+		var config = new EdgeConfig.ActualEdgeConfig.Builder() //
+				.addComponent("foo0", component("foo0", "10.4.0.1")) //
+				.addComponent("foo1", component("foo1", "10.4.0.2")) //
+				.buildEdgeConfig();
+		var parsed = EdgeConfig.fromJson(config.toJson());
+		assertEquals("10.4.0.2", parsed.getComponent("foo1").get().getProperty("ip").get().getAsString());
+		assertFalse(parsed.getComponent("foo3").isPresent());
+		assertEquals(config.getComponents().get("foo0").toJson(JsonFormat.COMPLETE),
+				parsed.getComponents().get("foo0").toJson(JsonFormat.COMPLETE));
+		assertEquals(config.toJson(), parsed.toJson());
+	}
+
+}
@@ -0,0 +1,131 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import io.openems.common.websocket.ConnectionLane.OverflowPolicy;
+
+public class ConnectionLaneTest {
+
+	/**
+	 * Collects submitted {@link Runnable}s; they are executed manually.
+	 */
+	private static class ManualExecutor implements Executor {
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+		@Override
+		public void execute(Runnable command) {
+			this.tasks.add(command);
+		}
+
+		private void runAll() {
+			Runnable task;
+			while ((task = this.tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	@Test
+	public void testOrder() {
+		var executor = new ManualExecutor();
+		var lane = new ConnectionLane(executor, 100, OverflowPolicy.DROP_OLDEST);
+		var result = new ArrayList<Integer>();
+		for (var i = 0; i < 50; i++) {
+			final var value = i;
+			lane.submit(() -> result.add(value), i % 2 == 0);
+		}
+		// Only one drain task is scheduled at a time
+		assertEquals(1, executor.tasks.size());
+		assertEquals(50, lane.getQueueSize());
+
+		executor.runAll();
+		assertEquals(50, result.size());
+		for (var i = 0; i < 50; i++) {
+			assertEquals(i, (int) result.get(i));
+		}
+		assertEquals(0, lane.getQueueSize());
+		assertEquals(0, lane.getLag());
+	}
+
+	@Test
+	public void testDropOldest() {
+		var executor = new ManualExecutor();
+		var lane = new ConnectionLane(executor, 3, OverflowPolicy.DROP_OLDEST);
+		var result = new ArrayList<String>();
+		lane.submit(add(result, "request"), false);
+		lane.submit(add(result, "data1"), true);
+		lane.submit(add(result, "data2"), true);
+		assertTrue(lane.submit(add(result, "data3"), true));
+		// Non-droppable tasks are always accepted
+		assertTrue(lane.submit(add(result, "config"), false));
+
+		executor.runAll();
+		assertEquals(List.of("request", "data2", "data3", "config"), result);
+		assertEquals(1, lane.getDropped());
+	}
+
+	@Test
+	public void testDropNewest() {
+		var executor = new ManualExecutor();
+		var lane = new ConnectionLane(executor, 2, OverflowPolicy.DROP_NEWEST);
+		var result = new ArrayList<String>();
+		lane.submit(add(result, "data1"), true);
+		lane.submit(add(result, "data2"), true);
+		assertFalse(lane.submit(add(result, "data3"), true));
+
+		executor.runAll();
+		assertEquals(List.of("data1", "data2"), result);
+		assertEquals(1, lane.getDropped());
+	}
+
+	@Test
+	public void testNoDroppableTask() {
+		var executor = new ManualExecutor();
+		var lane = new ConnectionLane(executor, 1, OverflowPolicy.DROP_OLDEST);
+		var result = new ArrayList<String>();
+		lane.submit(add(result, "request"), false);
+		assertFalse(lane.submit(add(result, "data"), true));
+
+		executor.runAll();
+		assertEquals(List.of("request"), result);
+	}
+
+	@Test
+	public void testThrowingTask() {
+		var executor = new ManualExecutor();
+		var lane = new ConnectionLane(executor, 10, OverflowPolicy.DROP_OLDEST);
+		var result = new ArrayList<String>();
+		lane.submit(() -> {
+			throw new IllegalStateException("failed");
+		}, false);
+		lane.submit(add(result, "next"), false);
+
+		try {
+			executor.tasks.poll().run();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		// The remaining task was rescheduled
+		executor.runAll();
+		assertEquals(List.of("next"), result);
+
+		// The lane still accepts and executes tasks
+		lane.submit(add(result, "later"), false);
+		executor.runAll();
+		assertEquals(List.of("next", "later"), result);
+	}
+
+	private static Runnable add(List<String> result, String value) {
+		return () -> result.add(value);
+	}
+
+}
@@ -0,0 +1,69 @@
+package io.openems.common.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.openems.common.worker.WorkerExecutors.Type;
+
+public class WorkerExecutorsTest {
+
+	@Test
+	public void testLifecycle() throws InterruptedException {
+		for (var type : Type.values()) {
+			this.testLifecycle(WorkerExecutors.of(type));
+		}
+	}
+
+	private void testLifecycle(WorkerExecutor executor) throws InterruptedException {
+		final var counter = new AtomicInteger(0);
+		final var threadName = new AtomicReference<String>();
+		final var runs = new Semaphore(0);
+
+		var worker = new AbstractCycleWorker(executor) {
+
+			@Override
+			protected void forever() {
+				threadName.set(Thread.currentThread().getName());
+				counter.incrementAndGet();
+				runs.release();
+			}
+		};
+
+		worker.activate("test-worker");
+		assertTrue(runs.tryAcquire(1, TimeUnit.SECONDS));
+		assertEquals("test-worker", threadName.get());
+
+		// modified() does not start a second loop
+		worker.modified("test-worker");
+
+		// Every trigger causes exactly one run; wait for it before triggering again
+		for (var i = 0; i < 5; i++) {
+			worker.triggerNextRun();
+			assertTrue(runs.tryAcquire(1, TimeUnit.SECONDS));
+		}
+
+		// No more runs than triggers
+		worker.deactivate();
+		worker.triggerNextRun();
+		assertFalse(runs.tryAcquire(100, TimeUnit.MILLISECONDS));
+		assertTrue(counter.get() <= 6);
+	}
+
+	@Test
+	public void testVirtualFallback() {
+		if (Runtime.version().feature() < 21) {
+			assertEquals(WorkerExecutors.thread(), WorkerExecutors.virtual());
+		} else {
+			assertTrue(WorkerExecutors.isVirtualAvailable());
+		}
+	}
+
+}
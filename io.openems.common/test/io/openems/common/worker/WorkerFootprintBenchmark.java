@@ -0,0 +1,122 @@
+package io.openems.common.worker;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.openems.common.worker.WorkerExecutors.Type;
+
+/**
+ * Startup and footprint benchmark for Workers on the different
+ * {@link WorkerExecutor}s.
+ *
+ * <p>
+ * For 1, 50 and 500 idle {@link AbstractCycleWorker}s it prints the startup
+ * time, the number of live platform threads and the resident set size of the
+ * process (Linux only). Virtual threads require Java 21 or newer.
+ *
+ * <p>
+ * Run via {@link #main(String[])}; for comparable RSS values, run one
+ * {@link Type} per JVM, e.g. with argument 'VIRTUAL'.
+ */
+public class WorkerFootprintBenchmark {
+
+	private static final int[] WORKERS = { 1, 50, 500 };
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args optionally the {@link Type}s to benchmark
+	 * @throws Exception on error
+	 */
+	public static void main(String[] args) throws Exception {
+		var types = new ArrayList<Type>();
+		for (var arg : args) {
+			types.add(Type.valueOf(arg.toUpperCase()));
+		}
+		if (types.isEmpty()) {
+			types.add(Type.THREAD);
+			types.add(Type.POOL);
+			types.add(Type.VIRTUAL);
+		}
+
+		System.out.println("Java " + Runtime.version() + ", virtual threads available: "
+				+ WorkerExecutors.isVirtualAvailable());
+		System.out.println(String.format("%-8s %8s %12s %10s %12s", //
+				"Type", "Workers", "Startup [ms]", "Threads", "RSS [kB]"));
+		for (var type : types) {
+			for (var noOfWorkers : WORKERS) {
+				run(type, noOfWorkers);
+			}
+		}
+	}
+
+	private static void run(Type type, int noOfWorkers) throws InterruptedException {
+		var executor = WorkerExecutors.of(type);
+		var started = new CountDownLatch(noOfWorkers);
+		var workers = new ArrayList<AbstractCycleWorker>(noOfWorkers);
+
+		System.gc();
+		var threadsBefore = getThreadCount();
+		var rssBefore = getRss();
+
+		var start = System.nanoTime();
+		for (var i = 0; i < noOfWorkers; i++) {
+			var worker = new AbstractCycleWorker(executor) {
+				private boolean isFirstRun = true;
+
+				@Override
+				protected void forever() {
+					if (this.isFirstRun) {
+						this.isFirstRun = false;
+						started.countDown();
+					}
+				}
+			};
+			worker.activate("Worker" + i);
+			workers.add(worker);
+		}
+		started.await(1, TimeUnit.MINUTES);
+		var startup = (System.nanoTime() - start) / 1_000_000;
+
+		// Let all Workers settle in their wait for the next run
+		Thread.sleep(500);
+		var threads = getThreadCount() - threadsBefore;
+		var rss = rssBefore < 0 ? -1 : getRss() - rssBefore;
+
+		System.out.println(String.format("%-8s %8d %12d %10d %12d", //
+				type, noOfWorkers, startup, threads, rss));
+
+		for (var worker : workers) {
+			worker.deactivate();
+		}
+		Thread.sleep(500);
+	}
+
+	private static int getThreadCount() {
+		return ManagementFactory.getThreadMXBean().getThreadCount();
+	}
+
+	/**
+	 * Gets the resident set size of this process.
+	 *
+	 * @return the RSS in [kB]; -1 if not available
+	 */
+	private static long getRss() {
+		try {
+			for (var line : Files.readAllLines(Path.of("/proc/self/status"))) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.replaceAll("[^0-9]", ""));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// not available
+		}
+		return -1;
+	}
+
+}
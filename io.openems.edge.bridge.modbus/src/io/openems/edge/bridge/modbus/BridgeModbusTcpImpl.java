@@ -12,6 +12,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.event.EventHandler;
 import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.ghgande.j2mod.modbus.io.ModbusTCPTransaction;
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
@@ -41,6 +43,8 @@ import io.openems.edge.common.event.EdgeEventConstants;
 public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		implements BridgeModbus, BridgeModbusTcp, OpenemsComponent, EventHandler {
 
+	private final Logger log = LoggerFactory.getLogger(BridgeModbusTcpImpl.class);
+
 	@Reference
 	private Cycle cycle;
 
@@ -50,6 +54,11 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	private InetAddress ipAddress = null;
 	private int port;
 
+	/**
+	 * The pipelined transport; null if pipelining is disabled.
+	 */
+	private PipelinedModbusTcpTransport pipeline = null;
+
 	public BridgeModbusTcpImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -60,16 +69,26 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
-		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
+		if (config.maxConcurrentRequests() > 1) {
+			this.pipeline = new PipelinedModbusTcpTransport(this.ipAddress, this.port,
+					AbstractModbusBridge.DEFAULT_TIMEOUT, config.maxConcurrentRequests(), () -> {
+						this.logWarn(this.log, "Device rejects concurrent requests. Using sequential requests");
+						this._setConcurrentRequestsRejected(true);
+					});
+		}
+		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
+				config.invalidateElementsAfterReadErrors());
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.pipeline != null) {
+			this.pipeline.close();
+		}
 	}
 
 	@Override
@@ -79,6 +98,10 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Override
 	public void closeModbusConnection() {
+		if (this.pipeline != null) {
+			this.pipeline.closeConnection();
+			return;
+		}
 		if (this._connection != null) {
 			this._connection.close();
 			this._connection = null;
@@ -87,12 +110,23 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Override
 	public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
+		if (this.pipeline != null) {
+			return this.pipeline.newTransaction();
+		}
 		var connection = this.getModbusConnection();
 		var transaction = new ModbusTCPTransaction(connection);
 		transaction.setRetries(AbstractModbusBridge.DEFAULT_RETRIES);
 		return transaction;
 	}
 
+	@Override
+	public int getMaxConcurrentRequests() {
+		if (this.pipeline != null) {
+			return this.pipeline.getMaxConcurrentRequests();
+		}
+		return 1;
+	}
+
 	private TCPMasterConnection _connection = null;
 
 	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
@@ -33,5 +33,8 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Max. concurrent requests", description = "Send requests to devices with different Unit-IDs without waiting for previous responses, e.g. for Modbus/TCP gateways. '1' disables pipelining.")
+	int maxConcurrentRequests() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
@@ -0,0 +1,384 @@
+package io.openems.edge.bridge.modbus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ExceptionResponse;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+
+/**
+ * A Modbus/TCP transport that sends requests without waiting for the responses
+ * to previous requests (pipelining).
+ *
+ * <p>
+ * Responses are matched to their requests by the transaction identifier of the
+ * MBAP header, so they may arrive in any order. This helps with Modbus/TCP
+ * gateways that forward requests to multiple devices with different Unit-IDs.
+ * The caller is responsible for the order of requests to the same Unit-ID.
+ *
+ * <p>
+ * Some devices do not support concurrent transactions: they answer with a
+ * 'Slave Device Busy' exception or with a wrong transaction identifier. If
+ * concurrent transactions are rejected repeatedly without any concurrent
+ * transaction succeeding in between, {@link #getMaxConcurrentRequests()} falls
+ * back to 1. Timeouts and closed connections are not counted as rejections.
+ *
+ * <p>
+ * If no data is received for 'timeout' while requests are unanswered, the
+ * connection is considered half-open and is closed.
+ */
+public class PipelinedModbusTcpTransport {
+
+	/**
+	 * Modbus exception code 'Slave Device Busy'.
+	 */
+	private static final int SLAVE_DEVICE_BUSY = 6;
+
+	/**
+	 * Number of failed concurrent transactions in a row, after which concurrent
+	 * transactions are considered to be rejected.
+	 */
+	private static final int REJECTION_THRESHOLD = 3;
+
+	private static class PendingTransaction {
+		private final CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+		private final Socket socket;
+		private final boolean isConcurrent;
+
+		private PendingTransaction(Socket socket, boolean isConcurrent) {
+			this.socket = socket;
+			this.isConcurrent = isConcurrent;
+		}
+	}
+
+	/**
+	 * A {@link ModbusTransaction} that is executed on the
+	 * {@link PipelinedModbusTcpTransport}.
+	 */
+	private class Transaction extends ModbusTransaction {
+
+		@Override
+		public void execute() throws ModbusException {
+			this.response = PipelinedModbusTcpTransport.this.execute(this.request);
+		}
+
+	}
+
+	private final InetAddress ipAddress;
+	private final int port;
+	private final int timeout;
+	private final int maxConcurrentRequests;
+	private final Runnable onConcurrentRequestsRejected;
+	private final ConcurrentHashMap<Integer, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
+	// Transactions that timed out, by transaction identifier; a late response is not a mismatch
+	private final ConcurrentHashMap<Integer, Socket> abandonedTransactions = new ConcurrentHashMap<>();
+	// The Socket that was last used by the current thread; see closeConnection()
+	private final ThreadLocal<Socket> lastUsedSocket = new ThreadLocal<>();
+
+	private Socket socket = null;
+	private DataOutputStream out = null;
+	private int nextTransactionId = 0;
+	private int failedConcurrentTransactions = 0;
+	private volatile boolean concurrentRequestsRejected = false;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param ipAddress                    the IP address of the device
+	 * @param port                         the port of the device
+	 * @param timeout                      the response timeout in [ms]
+	 * @param maxConcurrentRequests        the maximum number of concurrent
+	 *                                     requests
+	 * @param onConcurrentRequestsRejected called once when the device is detected
+	 *                                     to reject concurrent requests
+	 */
+	public PipelinedModbusTcpTransport(InetAddress ipAddress, int port, int timeout, int maxConcurrentRequests,
+			Runnable onConcurrentRequestsRejected) {
+		this.ipAddress = ipAddress;
+		this.port = port;
+		this.timeout = timeout;
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.onConcurrentRequestsRejected = onConcurrentRequestsRejected;
+	}
+
+	/**
+	 * Creates a new {@link ModbusTransaction} on this transport.
+	 *
+	 * @return the {@link ModbusTransaction}
+	 */
+	public ModbusTransaction newTransaction() {
+		return new Transaction();
+	}
+
+	/**
+	 * Gets the maximum number of concurrent requests.
+	 *
+	 * @return the configured maximum; or 1 if the device rejects concurrent
+	 *         requests
+	 */
+	public int getMaxConcurrentRequests() {
+		if (this.concurrentRequestsRejected) {
+			return 1;
+		}
+		return this.maxConcurrentRequests;
+	}
+
+	/**
+	 * Sends a {@link ModbusRequest} and waits for the matching
+	 * {@link ModbusResponse}.
+	 *
+	 * @param request the {@link ModbusRequest}
+	 * @return the {@link ModbusResponse}
+	 * @throws ModbusException on error
+	 */
+	protected ModbusResponse execute(ModbusRequest request) throws ModbusException {
+		final int transactionId;
+		final PendingTransaction pending;
+		synchronized (this) {
+			var out = this.getOutputStream();
+			transactionId = this.getNextTransactionId();
+			pending = new PendingTransaction(this.socket, !this.pendingTransactions.isEmpty());
+			this.pendingTransactions.put(transactionId, pending);
+			this.lastUsedSocket.set(this.socket);
+			try {
+				this.writeRequest(out, transactionId, request);
+			} catch (IOException e) {
+				this.pendingTransactions.remove(transactionId);
+				this.close(this.socket, e);
+				throw new ModbusIOException("Sending request to [" + this.ipAddress.getHostAddress() + "] failed: "
+						+ e.getMessage());
+			}
+		}
+
+		try {
+			var response = pending.future.get(this.timeout, TimeUnit.MILLISECONDS);
+			if (response instanceof ExceptionResponse) {
+				var exceptionCode = ((ExceptionResponse) response).getExceptionCode();
+				if (exceptionCode == SLAVE_DEVICE_BUSY && pending.isConcurrent) {
+					this.onConcurrentTransactionRejected();
+				}
+				throw new ModbusSlaveException(exceptionCode);
+			}
+			if (pending.isConcurrent) {
+				this.onConcurrentTransactionSucceeded();
+			}
+			return response;
+
+		} catch (TimeoutException e) {
+			this.abandonedTransactions.put(transactionId, pending.socket);
+			throw new ModbusIOException("No response from [" + this.ipAddress.getHostAddress() + "] within ["
+					+ this.timeout + "ms]");
+
+		} catch (ExecutionException e) {
+			// Connection was closed
+			throw new ModbusIOException("Connection to [" + this.ipAddress.getHostAddress() + "] failed: "
+					+ e.getCause().getMessage());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModbusIOException("Interrupted while waiting for response");
+
+		} finally {
+			this.pendingTransactions.remove(transactionId, pending);
+		}
+	}
+
+	private synchronized void onConcurrentTransactionSucceeded() {
+		this.failedConcurrentTransactions = 0;
+	}
+
+	private synchronized void onConcurrentTransactionRejected() {
+		if (this.concurrentRequestsRejected) {
+			return;
+		}
+		this.failedConcurrentTransactions++;
+		if (this.failedConcurrentTransactions >= REJECTION_THRESHOLD) {
+			this.concurrentRequestsRejected = true;
+			this.onConcurrentRequestsRejected.run();
+		}
+	}
+
+	private int getNextTransactionId() {
+		int result;
+		do {
+			result = this.nextTransactionId;
+			this.nextTransactionId = (this.nextTransactionId + 1) & 0xFFFF;
+		} while (this.pendingTransactions.containsKey(result));
+		this.abandonedTransactions.remove(result);
+		return result;
+	}
+
+	private void writeRequest(DataOutputStream out, int transactionId, ModbusRequest request) throws IOException {
+		var pdu = new ByteArrayOutputStream();
+		var pduOut = new DataOutputStream(pdu);
+		pduOut.writeByte(request.getFunctionCode());
+		request.writeData(pduOut);
+
+		// MBAP header
+		out.writeShort(transactionId);
+		out.writeShort(0); // protocol identifier
+		out.writeShort(pdu.size() + 1);
+		out.writeByte(request.getUnitID());
+		out.write(pdu.toByteArray());
+		out.flush();
+	}
+
+	private DataOutputStream getOutputStream() throws ModbusIOException {
+		if (this.socket == null) {
+			var socket = new Socket();
+			try {
+				socket.connect(new InetSocketAddress(this.ipAddress, this.port), this.timeout);
+				socket.setTcpNoDelay(true);
+				socket.setSoTimeout(this.timeout);
+				this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			} catch (IOException e) {
+				try {
+					socket.close();
+				} catch (IOException e1) {
+					// ignore
+				}
+				throw new ModbusIOException(
+						"Connection to [" + this.ipAddress.getHostAddress() + "] failed: " + e.getMessage());
+			}
+			this.socket = socket;
+			var reader = new Thread(() -> this.read(socket), "Modbus-TCP-" + this.ipAddress.getHostAddress());
+			reader.setDaemon(true);
+			reader.start();
+		}
+		return this.out;
+	}
+
+	/**
+	 * Reads responses from the {@link Socket} and completes the matching
+	 * {@link PendingTransaction}s. Runs in its own thread until the {@link Socket}
+	 * is closed.
+	 *
+	 * @param socket the {@link Socket}
+	 */
+	private void read(Socket socket) {
+		try (var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+			while (true) {
+				// Wait for the next response
+				final int firstByte;
+				try {
+					firstByte = in.read();
+				} catch (SocketTimeoutException e) {
+					if (this.hasUnansweredTransactions(socket)) {
+						throw new IOException("Connection is half-open: no data within [" + this.timeout + "ms]");
+					}
+					continue;
+				}
+				if (firstByte < 0) {
+					throw new IOException("Connection closed by device");
+				}
+
+				// MBAP header; a timeout within a response is an error
+				var transactionId = firstByte << 8 | in.readUnsignedByte();
+				var protocolId = in.readUnsignedShort();
+				var length = in.readUnsignedShort();
+				if (protocolId != 0 || length < 2 || length > 254) {
+					throw new IOException("Invalid MBAP header. Protocol-ID [" + protocolId + "] Length [" + length
+							+ "]");
+				}
+				var unitId = in.readUnsignedByte();
+				var pdu = new byte[length - 1];
+				in.readFully(pdu);
+
+				var pending = this.pendingTransactions.get(transactionId);
+				if (pending == null) {
+					if (this.abandonedTransactions.remove(transactionId) == null) {
+						// Device does not keep track of concurrent transactions
+						this.onConcurrentTransactionRejected();
+					}
+					// else: late response to a request that already timed out
+					continue;
+				}
+				var response = ModbusResponse.createModbusResponse(pdu[0] & 0xFF);
+				response.setUnitID(unitId);
+				response.setTransactionID(transactionId);
+				response.readData(new DataInputStream(new ByteArrayInputStream(pdu, 1, pdu.length - 1)));
+				pending.future.complete(response);
+			}
+		} catch (IOException e) {
+			this.close(socket, e);
+		}
+	}
+
+	/**
+	 * Closes the given {@link Socket} and fails all transactions that are pending
+	 * on it.
+	 *
+	 * @param socket the {@link Socket}
+	 * @param cause  the cause
+	 */
+	private synchronized void close(Socket socket, Exception cause) {
+		if (socket == null) {
+			return;
+		}
+		if (this.socket == socket) {
+			this.socket = null;
+			this.out = null;
+		}
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		for (var pending : this.pendingTransactions.values()) {
+			if (pending.socket == socket) {
+				pending.future.completeExceptionally(cause);
+			}
+		}
+		this.abandonedTransactions.values().removeIf(s -> s == socket);
+	}
+
+	private boolean hasUnansweredTransactions(Socket socket) {
+		return this.pendingTransactions.values().stream().anyMatch(p -> p.socket == socket)
+				|| this.abandonedTransactions.containsValue(socket);
+	}
+
+	/**
+	 * Closes the connection that was used by the last transaction of the current
+	 * thread, if it is still open. A following transaction opens a new
+	 * connection.
+	 *
+	 * <p>
+	 * Transactions of other threads on the same connection fail. Connections that
+	 * were already replaced are not touched, so that failing transactions do not
+	 * close each other's new connection.
+	 */
+	public synchronized void closeConnection() {
+		var socket = this.lastUsedSocket.get();
+		this.lastUsedSocket.remove();
+		if (socket != null && socket == this.socket) {
+			this.close(socket, new IOException("Connection closed after error"));
+		}
+	}
+
+	/**
+	 * Closes the connection and fails all pending transactions.
+	 */
+	public synchronized void close() {
+		this.close(this.socket, new IOException("Connection closed"));
+	}
+
+}
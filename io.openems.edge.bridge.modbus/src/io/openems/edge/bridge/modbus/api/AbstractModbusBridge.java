@@ -121,6 +121,18 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	public abstract void closeModbusConnection();
 
+	/**
+	 * Gets the maximum number of requests that may be executed concurrently on the
+	 * Modbus connection, i.e. the number of {@link ModbusTransaction}s that may be
+	 * in flight at the same time.
+	 *
+	 * @return the maximum number of concurrent requests; 1 for sequential
+	 *         execution
+	 */
+	public int getMaxConcurrentRequests() {
+		return 1;
+	}
+
 	public LogVerbosity getLogVerbosity() {
 		return this.logVerbosity;
 	}
@@ -7,6 +7,7 @@ import io.openems.common.channel.Level;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
@@ -19,6 +20,21 @@ public interface BridgeModbus extends OpenemsComponent {
 		CYCLE_TIME_IS_TOO_SHORT(Doc.of(Level.INFO) //
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
 		EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Number of Read-Tasks that were merged with adjacent Read-Tasks to combined
+		 * Modbus requests in the last planning.
+		 */
+		MERGED_READ_TASKS(Doc.of(OpenemsType.INTEGER)), //
+		/**
+		 * Achieved maximum refresh interval of any HIGH priority Read-Task.
+		 */
+		HIGH_PRIORITY_REFRESH_INTERVAL(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Achieved maximum refresh interval of any LOW priority Read-Task.
+		 */
+		LOW_PRIORITY_REFRESH_INTERVAL(Doc.of(OpenemsType.LONG) //
 				.unit(Unit.MILLISECONDS));
 
 		private final Doc doc;
@@ -91,6 +107,93 @@ public interface BridgeModbus extends OpenemsComponent {
 		this.getExecutionDurationChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#MERGED_READ_TASKS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getMergedReadTasksChannel() {
+		return this.channel(ChannelId.MERGED_READ_TASKS);
+	}
+
+	/**
+	 * Gets the number of merged Read-Tasks, see
+	 * {@link ChannelId#MERGED_READ_TASKS}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getMergedReadTasks() {
+		return this.getMergedReadTasksChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#MERGED_READ_TASKS}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMergedReadTasks(int value) {
+		this.getMergedReadTasksChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#HIGH_PRIORITY_REFRESH_INTERVAL}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getHighPriorityRefreshIntervalChannel() {
+		return this.channel(ChannelId.HIGH_PRIORITY_REFRESH_INTERVAL);
+	}
+
+	/**
+	 * Gets the achieved refresh interval of HIGH priority Read-Tasks in [ms], see
+	 * {@link ChannelId#HIGH_PRIORITY_REFRESH_INTERVAL}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getHighPriorityRefreshInterval() {
+		return this.getHighPriorityRefreshIntervalChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#HIGH_PRIORITY_REFRESH_INTERVAL} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setHighPriorityRefreshInterval(Long value) {
+		this.getHighPriorityRefreshIntervalChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#LOW_PRIORITY_REFRESH_INTERVAL}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getLowPriorityRefreshIntervalChannel() {
+		return this.channel(ChannelId.LOW_PRIORITY_REFRESH_INTERVAL);
+	}
+
+	/**
+	 * Gets the achieved refresh interval of LOW priority Read-Tasks in [ms], see
+	 * {@link ChannelId#LOW_PRIORITY_REFRESH_INTERVAL}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getLowPriorityRefreshInterval() {
+		return this.getLowPriorityRefreshIntervalChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#LOW_PRIORITY_REFRESH_INTERVAL} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setLowPriorityRefreshInterval(Long value) {
+		this.getLowPriorityRefreshIntervalChannel().setNextValue(value);
+	}
+
 	/**
 	 * Adds a Protocol with a source identifier to this Modbus Bridge.
 	 *
@@ -4,13 +4,17 @@ import java.net.InetAddress;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import io.openems.common.channel.Level;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.Value;
 
 @ProviderType
 public interface BridgeModbusTcp extends BridgeModbus {
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
-		;
+		CONCURRENT_REQUESTS_REJECTED(Doc.of(Level.INFO) //
+				.text("Device rejects concurrent requests. Falling back to sequential requests")); //
 
 		private final Doc doc;
 
@@ -24,6 +28,35 @@ public interface BridgeModbusTcp extends BridgeModbus {
 		}
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#CONCURRENT_REQUESTS_REJECTED}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getConcurrentRequestsRejectedChannel() {
+		return this.channel(ChannelId.CONCURRENT_REQUESTS_REJECTED);
+	}
+
+	/**
+	 * Gets the Concurrent-Requests-Rejected State. See
+	 * {@link ChannelId#CONCURRENT_REQUESTS_REJECTED}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getConcurrentRequestsRejected() {
+		return this.getConcurrentRequestsRejectedChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#CONCURRENT_REQUESTS_REJECTED} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setConcurrentRequestsRejected(boolean value) {
+		this.getConcurrentRequestsRejectedChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the IP address.
 	 *
@@ -2,6 +2,7 @@ package io.openems.edge.bridge.modbus.api.task;
 
 import java.util.Arrays;
 
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
 import com.ghgande.j2mod.modbus.procimg.InputRegister;
 
 import io.openems.common.exceptions.OpenemsException;
@@ -16,6 +17,22 @@ public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<In
 		super(startAddress, priority, elements);
 	}
 
+	@Override
+	protected ModbusRequest getRequest() {
+		return this.getRequest(this.getStartAddress(), this.getLength());
+	}
+
+	/**
+	 * Creates a {@link ModbusRequest} with the function code of this task for an
+	 * arbitrary register range. This allows {@link MergedReadRegistersTask} to
+	 * read adjacent tasks with one request.
+	 *
+	 * @param startAddress the start address
+	 * @param length       the number of registers
+	 * @return the {@link ModbusRequest}
+	 */
+	protected abstract ModbusRequest getRequest(int startAddress, int length);
+
 	@Override
 	protected boolean isCorrectElementInstance(ModbusElement<?> modbusElement) {
 		return modbusElement instanceof ModbusRegisterElement;
@@ -37,4 +54,4 @@ public abstract class AbstractReadInputRegistersTask extends AbstractReadTask<In
 	protected int increasePosition(int position, ModbusElement<?> modbusElement) {
 		return position + modbusElement.getLength();
 	}
-}
\ No newline at end of file
+}
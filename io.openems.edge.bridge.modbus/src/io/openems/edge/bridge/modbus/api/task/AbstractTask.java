@@ -94,6 +94,17 @@ public abstract class AbstractTask implements Task {
 
 	protected abstract int _execute(AbstractModbusBridge bridge) throws OpenemsException;
 
+	/**
+	 * Marks this task as successfully executed as part of a combined request. See
+	 * {@link MergedReadRegistersTask}.
+	 *
+	 * @param executeDuration the share of the execution duration in [ms]
+	 */
+	void markExecuted(long executeDuration) {
+		this.hasBeenExecutedSuccessfully = true;
+		this.lastExecuteDuration = executeDuration;
+	}
+
 	/*
 	 * Enable Debug mode for this Element. Activates verbose logging. TODO:
 	 * implement debug write in all implementations (FC16 is already done)
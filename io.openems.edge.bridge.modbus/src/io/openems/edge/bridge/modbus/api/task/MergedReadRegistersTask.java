@@ -0,0 +1,200 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.google.common.base.Stopwatch;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Combines multiple {@link AbstractReadInputRegistersTask}s of the same
+ * Component and the same function code, whose register ranges are adjacent or
+ * separated by only a small gap, into one Modbus request.
+ *
+ * <p>
+ * The response is split up again and distributed to the original tasks. The
+ * task does not retry on error; instead the {@link #getTasks() original tasks}
+ * should be executed individually.
+ */
+public class MergedReadRegistersTask extends AbstractTask implements ReadTask {
+
+	/**
+	 * The maximum number of registers per read request as defined by the Modbus
+	 * specification.
+	 */
+	public static final int MAX_LENGTH = 125;
+
+	/**
+	 * The maximum number of unused registers between two merged tasks.
+	 */
+	public static final int MAX_GAP = 4;
+
+	private final Logger log = LoggerFactory.getLogger(MergedReadRegistersTask.class);
+
+	private final List<AbstractReadInputRegistersTask> tasks;
+	private final int length;
+	private final Priority priority;
+
+	private MergedReadRegistersTask(List<AbstractReadInputRegistersTask> tasks) {
+		super(tasks.get(0).getStartAddress());
+		this.tasks = tasks;
+		var last = tasks.get(tasks.size() - 1);
+		this.length = last.getStartAddress() + last.getLength() - this.getStartAddress();
+		this.priority = tasks.stream().anyMatch(t -> t.getPriority() == Priority.HIGH) //
+				? Priority.HIGH //
+				: Priority.LOW;
+		this.setParent(tasks.get(0).getParent());
+	}
+
+	/**
+	 * Merges adjacent {@link AbstractReadInputRegistersTask}s.
+	 *
+	 * <p>
+	 * Tasks are only merged with tasks of the same Component and the same class,
+	 * i.e. the same Modbus function code. Each merged task takes the position of
+	 * its first original task in the list; all other tasks keep their order.
+	 *
+	 * @param tasks       the list of {@link ReadTask}s
+	 * @param isMergeable filters tasks that are allowed to be merged
+	 * @return a new list of {@link ReadTask}s
+	 */
+	public static List<ReadTask> merge(List<ReadTask> tasks, Predicate<ReadTask> isMergeable) {
+		var candidates = new ArrayList<AbstractReadInputRegistersTask>();
+		for (var task : tasks) {
+			if (task instanceof AbstractReadInputRegistersTask && task.getParent() != null
+					&& isMergeable.test(task)) {
+				candidates.add((AbstractReadInputRegistersTask) task);
+			}
+		}
+		if (candidates.size() < 2) {
+			return tasks;
+		}
+		candidates.sort(Comparator //
+				.comparing((AbstractReadInputRegistersTask t) -> t.getParent().id()) //
+				.thenComparing(t -> t.getClass().getName()) //
+				.thenComparingInt(AbstractReadInputRegistersTask::getStartAddress));
+
+		// Build groups of adjacent tasks
+		var groups = new IdentityHashMap<ReadTask, List<AbstractReadInputRegistersTask>>();
+		List<AbstractReadInputRegistersTask> group = null;
+		AbstractReadInputRegistersTask previous = null;
+		for (var task : candidates) {
+			if (previous != null && isAdjacent(group.get(0), previous, task)) {
+				group.add(task);
+			} else {
+				group = new ArrayList<>();
+				group.add(task);
+			}
+			groups.put(task, group);
+			previous = task;
+		}
+
+		// Replace groups by MergedReadRegistersTasks
+		var result = new ArrayList<ReadTask>(tasks.size());
+		var merged = new IdentityHashMap<List<AbstractReadInputRegistersTask>, Boolean>();
+		for (var task : tasks) {
+			var taskGroup = groups.get(task);
+			if (taskGroup == null || taskGroup.size() < 2) {
+				result.add(task);
+			} else if (merged.put(taskGroup, Boolean.TRUE) == null) {
+				result.add(new MergedReadRegistersTask(taskGroup));
+			}
+		}
+		return result;
+	}
+
+	private static boolean isAdjacent(AbstractReadInputRegistersTask first, AbstractReadInputRegistersTask previous,
+			AbstractReadInputRegistersTask next) {
+		if (previous.getParent() != next.getParent() || previous.getClass() != next.getClass()) {
+			return false;
+		}
+		var gap = next.getStartAddress() - (previous.getStartAddress() + previous.getLength());
+		if (gap < 0 || gap > MAX_GAP) {
+			return false;
+		}
+		return next.getStartAddress() + next.getLength() - first.getStartAddress() <= MAX_LENGTH;
+	}
+
+	/**
+	 * Gets the original tasks.
+	 *
+	 * @return an unmodifiable list of tasks
+	 */
+	public List<AbstractReadInputRegistersTask> getTasks() {
+		return Collections.unmodifiableList(this.tasks);
+	}
+
+	@Override
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.priority;
+	}
+
+	@Override
+	protected int _execute(AbstractModbusBridge bridge) throws OpenemsException {
+		var stopwatch = Stopwatch.createStarted();
+		var first = this.tasks.get(0);
+		var request = first.getRequest(this.getStartAddress(), this.length);
+		int unitId = this.getParent().getUnitId();
+		InputRegister[] response;
+		try {
+			response = first.handleResponse(Utils.getResponse(request, unitId, bridge));
+		} catch (ModbusException e) {
+			throw new OpenemsException("Merged transaction failed: " + e.getMessage(), e);
+		}
+
+		// Verify response length
+		if (response.length < this.length) {
+			throw new OpenemsException("Received message is too short. Expected [" + this.length + "], got ["
+					+ response.length + "]");
+		}
+
+		// debug output
+		switch (this.getLogVerbosity(bridge)) {
+		case READS_AND_WRITES:
+			bridge.logInfo(this.log, this.getActiondescription() //
+					+ " [" + unitId + ":" + this.getStartAddress() + "/0x" + Integer.toHexString(this.getStartAddress())
+					+ "]: " //
+					+ Arrays.stream(response) //
+							.map(r -> String.format("%4s", Integer.toHexString(r.getValue())).replace(' ', '0')) //
+							.collect(Collectors.joining(" ")));
+			break;
+		case WRITES:
+		case NONE:
+			break;
+		}
+
+		var duration = stopwatch.elapsed(TimeUnit.MILLISECONDS) / this.tasks.size();
+		for (var task : this.tasks) {
+			var offset = task.getStartAddress() - this.getStartAddress();
+			task.fillElements(Arrays.copyOfRange(response, offset, offset + task.getLength()));
+			task.markExecuted(duration);
+		}
+		return this.tasks.size();
+	}
+
+	@Override
+	protected String getActiondescription() {
+		return "Merged" + this.tasks.get(0).getActiondescription() + "x" + this.tasks.size();
+	}
+
+}
@@ -0,0 +1,115 @@
+package io.openems.edge.bridge.modbus.api.worker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.task.Task;
+
+/**
+ * Estimates the round-trip time of Modbus requests per Unit-ID.
+ *
+ * <p>
+ * The last {@link #WINDOW} durations of every Unit-ID are kept in a ring
+ * buffer. The estimate is a high percentile of these samples, so that a single
+ * slow response does not dominate, but a device that is regularly slow is
+ * planned pessimistically.
+ */
+public class LatencyModel {
+
+	/**
+	 * Number of samples per Unit-ID.
+	 */
+	protected static final int WINDOW = 32;
+
+	/**
+	 * The percentile of the samples that is used as estimate.
+	 */
+	protected static final double PERCENTILE = 0.9;
+
+	private static class Samples {
+		private final long[] values = new long[WINDOW];
+		private int count = 0;
+		private int next = 0;
+		private long estimate = -1;
+
+		private void add(long value) {
+			this.values[this.next] = value;
+			this.next = (this.next + 1) % WINDOW;
+			if (this.count < WINDOW) {
+				this.count++;
+			}
+			this.estimate = -1;
+		}
+
+		private long getEstimate() {
+			if (this.estimate < 0) {
+				var sorted = Arrays.copyOf(this.values, this.count);
+				Arrays.sort(sorted);
+				this.estimate = sorted[(int) Math.ceil(PERCENTILE * this.count) - 1];
+			}
+			return this.estimate;
+		}
+	}
+
+	private final Map<Integer, Samples> samples = new HashMap<>();
+
+	/**
+	 * Adds the measured duration of an executed request.
+	 *
+	 * @param unitId   the Modbus Unit-ID
+	 * @param duration the duration in [ms]
+	 */
+	public synchronized void addSample(int unitId, long duration) {
+		this.samples.computeIfAbsent(unitId, u -> new Samples()).add(duration);
+	}
+
+	/**
+	 * Gets the estimated round-trip time for the given Unit-ID.
+	 *
+	 * @param unitId          the Modbus Unit-ID
+	 * @param defaultDuration the value to return if there are no samples
+	 * @return the estimated duration in [ms]
+	 */
+	public synchronized long getEstimate(int unitId, long defaultDuration) {
+		var unitSamples = this.samples.get(unitId);
+		if (unitSamples == null) {
+			return defaultDuration;
+		}
+		return unitSamples.getEstimate();
+	}
+
+	/**
+	 * Gets the estimated duration of a {@link Task}.
+	 *
+	 * <p>
+	 * Falls back to the last execution duration of the {@link Task}, if the
+	 * Unit-ID is unknown.
+	 *
+	 * @param task the {@link Task}
+	 * @return the estimated duration in [ms]
+	 */
+	public long getEstimate(Task task) {
+		var unitId = getUnitId(task);
+		if (unitId == null) {
+			return task.getExecuteDuration();
+		}
+		return this.getEstimate(unitId, task.getExecuteDuration());
+	}
+
+	/**
+	 * Gets the Modbus Unit-ID of the parent of a {@link Task}.
+	 *
+	 * @param task the {@link Task}
+	 * @return the Unit-ID; or null if it is unknown
+	 */
+	protected static Integer getUnitId(Task task) {
+		var parent = task.getParent();
+		if (parent instanceof AbstractOpenemsModbusComponent) {
+			return ((AbstractOpenemsModbusComponent) parent).getUnitId();
+		}
+		return null;
+	}
+
+}
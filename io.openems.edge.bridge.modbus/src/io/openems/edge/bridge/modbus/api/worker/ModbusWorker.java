@@ -2,23 +2,34 @@ package io.openems.edge.bridge.modbus.api.worker;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.ModbusProtocol;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
 import io.openems.edge.bridge.modbus.api.task.ReadTask;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WaitTask;
@@ -36,17 +47,40 @@ import io.openems.edge.common.taskmanager.Priority;
  * TOPIC_CYCLE_EXECUTE_WRITE event) and all Read-Tasks as late as possible to
  * have correct values available exactly when they are needed (i.e. at the
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event).
+ *
+ * <p>
+ * If the Bridge supports concurrent requests (see
+ * {@link AbstractModbusBridge#getMaxConcurrentRequests()}), Tasks of different
+ * Unit-IDs are executed in parallel.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
 	private static final long TASK_DURATION_BUFFER = 50;
 
+	/**
+	 * Target interval in [ms] in which every LOW priority Read-Task should be
+	 * executed.
+	 */
+	private static final long LOW_PRIORITY_REFRESH_TARGET = 10_000;
+
 	private final Logger log = LoggerFactory.getLogger(ModbusWorker.class);
 	private final Stopwatch stopwatch = Stopwatch.createUnstarted();
 	private final LinkedBlockingDeque<Task> tasksQueue = new LinkedBlockingDeque<>();
 	private final MetaTasksManager<ReadTask> readTasksManager = new MetaTasksManager<>();
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
 	private final AbstractModbusBridge parent;
+	private final LatencyModel latencyModel = new LatencyModel();
+	private final Set<Task> unmergeableTasks = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+	// Last successful execution of Read-Tasks
+	private final Map<ReadTask, Long> lastExecutions = Collections.synchronizedMap(new WeakHashMap<>());
+	// Tasks that are executed concurrently, by Unit-ID; only accessed by the worker thread
+	private final Map<Integer, CompletableFuture<Void>> pendingTasksByUnitId = new HashMap<>();
+	// Created on first concurrent execution; guarded by 'this'
+	private ExecutorService executor = null;
+	private boolean isDeactivated = false;
+	private final AtomicLong highPriorityRefreshInterval = new AtomicLong(0);
+	private final AtomicLong lowPriorityRefreshInterval = new AtomicLong(0);
 
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
@@ -68,29 +102,48 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
-		// Collect the next read-tasks
-		List<ReadTask> nextReadTasks = new ArrayList<>();
-		var lowPriorityTask = this.getOneLowPriorityReadTask();
-		if (lowPriorityTask != null) {
-			nextReadTasks.add(lowPriorityTask);
+		// Set achieved refresh intervals since last planning
+		var highPriorityRefreshInterval = this.highPriorityRefreshInterval.getAndSet(0);
+		if (highPriorityRefreshInterval > 0) {
+			this.parent._setHighPriorityRefreshInterval(highPriorityRefreshInterval);
 		}
-		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
-		var readTasksDuration = 0L;
-		for (ReadTask task : nextReadTasks) {
-			readTasksDuration += task.getExecuteDuration();
+		var lowPriorityRefreshInterval = this.lowPriorityRefreshInterval.getAndSet(0);
+		if (lowPriorityRefreshInterval > 0) {
+			this.parent._setLowPriorityRefreshInterval(lowPriorityRefreshInterval);
 		}
 
 		// collect the next write-tasks
 		var writeTasksDuration = 0L;
 		var nextWriteTasks = this.getAllWriteTasks();
 		for (WriteTask task : nextWriteTasks) {
-			writeTasksDuration += task.getExecuteDuration();
+			writeTasksDuration += this.latencyModel.getEstimate(task);
 		}
 
+		// Collect the next read-tasks
+		var cycleTime = this.parent.getCycle().getCycleTime();
+		List<ReadTask> nextReadTasks = new ArrayList<>(this.getAllHighPriorityReadTasks());
+		var highPriorityTasksDuration = 0L;
+		for (ReadTask task : nextReadTasks) {
+			highPriorityTasksDuration += this.latencyModel.getEstimate(task);
+		}
+		nextReadTasks.addAll(this.getLowPriorityReadTasks(
+				cycleTime - TASK_DURATION_BUFFER - writeTasksDuration - highPriorityTasksDuration));
+
+		// Merge adjacent read-tasks to combined requests
+		nextReadTasks = MergedReadRegistersTask.merge(nextReadTasks, task -> !this.unmergeableTasks.contains(task));
+		var noOfMergedReadTasks = 0;
+		var readTasksDuration = 0L;
+		for (ReadTask task : nextReadTasks) {
+			if (task instanceof MergedReadRegistersTask) {
+				noOfMergedReadTasks += ((MergedReadRegistersTask) task).getTasks().size();
+			}
+			readTasksDuration += this.latencyModel.getEstimate(task);
+		}
+		this.parent._setMergedReadTasks(noOfMergedReadTasks);
+
 		// plan the execution for the next cycles
 		var totalDuration = readTasksDuration + writeTasksDuration;
 		var totalDurationWithBuffer = totalDuration + TASK_DURATION_BUFFER;
-		var cycleTime = this.parent.getCycle().getCycleTime();
 		var noOfRequiredCycles = ceilDiv(totalDurationWithBuffer, cycleTime);
 
 		// Set EXECUTION_DURATION channel
@@ -110,7 +163,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				break;
 			}
 			noOfTasksBeforeExecuteWriteEvent++;
-			durationOfTasksBeforeExecuteWriteEvent += task.getExecuteDuration();
+			durationOfTasksBeforeExecuteWriteEvent += this.latencyModel.getEstimate(task);
 		}
 
 		// Build Queue
@@ -165,11 +218,113 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		var maxConcurrentRequests = this.parent.getMaxConcurrentRequests();
+		if (maxConcurrentRequests > 1 && !(task instanceof WaitTask)) {
+			this.executeConcurrently(task, maxConcurrentRequests);
+		} else {
+			this.awaitConcurrentTasks();
+			this.execute(task);
+		}
+	}
+
+	/**
+	 * Executes a {@link Task} in parallel to other Tasks.
+	 *
+	 * <p>
+	 * Tasks of the same Unit-ID are executed one after the other in the order of
+	 * the queue. Tasks of different Unit-IDs are executed concurrently, with at
+	 * most 'maxConcurrentRequests' Unit-IDs at a time.
+	 *
+	 * @param task                  the {@link Task}
+	 * @param maxConcurrentRequests the maximum number of concurrent requests
+	 */
+	private void executeConcurrently(Task task, int maxConcurrentRequests) {
+		var unitId = LatencyModel.getUnitId(task);
+		this.pendingTasksByUnitId.values().removeIf(CompletableFuture::isDone);
+		var previous = this.pendingTasksByUnitId.get(unitId);
+		if (previous == null) {
+			// wait for a free slot
+			while (this.pendingTasksByUnitId.size() >= maxConcurrentRequests) {
+				CompletableFuture.anyOf(this.pendingTasksByUnitId.values().toArray(new CompletableFuture[0])).join();
+				this.pendingTasksByUnitId.values().removeIf(CompletableFuture::isDone);
+			}
+			previous = CompletableFuture.completedFuture(null);
+		}
+		this.pendingTasksByUnitId.put(unitId, previous.thenRunAsync(() -> {
+			try {
+				this.execute(task);
+			} catch (RuntimeException e) {
+				OpenemsComponent.logWarn(this.parent, this.log,
+						task.toString() + " execution failed: " + e.getMessage());
+			}
+		}, this.getExecutor()));
+	}
+
+	/**
+	 * Waits till all Tasks that are executed concurrently are finished.
+	 */
+	private void awaitConcurrentTasks() {
+		if (this.pendingTasksByUnitId.isEmpty()) {
+			return;
+		}
+		CompletableFuture.allOf(this.pendingTasksByUnitId.values().toArray(new CompletableFuture[0])).join();
+		this.pendingTasksByUnitId.clear();
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (this.isDeactivated) {
+			throw new IllegalStateException("ModbusWorker is deactivated");
+		}
+		if (this.executor == null) {
+			this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder() //
+					.setNameFormat("Modbus-" + this.parent.id() + "-%d") //
+					.setDaemon(true) //
+					.build());
+		}
+		return this.executor;
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		synchronized (this) {
+			this.isDeactivated = true;
+			if (this.executor != null) {
+				this.executor.shutdownNow();
+				this.executor = null;
+			}
+		}
+	}
+
+	/**
+	 * Executes a {@link Task} and updates the latency model and refresh
+	 * intervals.
+	 *
+	 * <p>
+	 * If a {@link MergedReadRegistersTask} fails, its original tasks are executed
+	 * individually. If that succeeds, the original tasks are not merged again.
+	 *
+	 * @param task the {@link Task}
+	 * @return true if the {@link Task} was executed successfully
+	 */
+	private boolean execute(Task task) {
 		var modbusComponent = task.getParent();
+		var unitId = LatencyModel.getUnitId(task);
 		try {
 			// execute the task
 			var noOfExecutedSubTasks = task.execute(this.parent);
 
+			if (unitId != null) {
+				this.latencyModel.addSample(unitId, task.getExecuteDuration());
+			}
+			if (task instanceof MergedReadRegistersTask) {
+				for (var subTask : ((MergedReadRegistersTask) task).getTasks()) {
+					this.updateRefreshInterval(subTask);
+				}
+			} else if (task instanceof ReadTask) {
+				this.updateRefreshInterval((ReadTask) task);
+			}
+
 			if (noOfExecutedSubTasks > 0) {
 				// no exception & at least one sub-task executed -> remove this component from
 				// erroneous list and set the CommunicationFailedChannel to false
@@ -177,8 +332,28 @@ public class ModbusWorker extends AbstractImmediateWorker {
 					modbusComponent._setModbusCommunicationFailed(false);
 				}
 			}
+			return true;
 
 		} catch (OpenemsException e) {
+			if (unitId != null) {
+				this.latencyModel.addSample(unitId, task.getExecuteDuration());
+			}
+
+			if (task instanceof MergedReadRegistersTask) {
+				OpenemsComponent.logWarn(this.parent, this.log,
+						task.toString() + " execution failed: " + e.getMessage() + ". Executing tasks individually");
+				var subTasks = ((MergedReadRegistersTask) task).getTasks();
+				var isAnySubTaskSuccessful = false;
+				for (var subTask : subTasks) {
+					isAnySubTaskSuccessful |= this.execute(subTask);
+				}
+				if (isAnySubTaskSuccessful) {
+					// Device is reachable, but does not support the merged request
+					this.unmergeableTasks.addAll(subTasks);
+				}
+				return isAnySubTaskSuccessful;
+			}
+
 			OpenemsComponent.logWarn(this.parent, this.log, task.toString() + " execution failed: " + e.getMessage());
 
 			// mark this component as erroneous
@@ -190,17 +365,64 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			for (ModbusElement<?> element : task.getElements()) {
 				element.invalidate(this.parent);
 			}
+			return false;
+		}
+	}
+
+	/**
+	 * Updates the achieved refresh interval of the Priority of the given
+	 * {@link ReadTask}.
+	 *
+	 * @param task the successfully executed {@link ReadTask}
+	 */
+	private void updateRefreshInterval(ReadTask task) {
+		var now = System.currentTimeMillis();
+		var lastExecution = this.lastExecutions.put(task, now);
+		if (lastExecution == null) {
+			return;
+		}
+		var interval = now - lastExecution;
+		switch (task.getPriority()) {
+		case HIGH:
+			this.highPriorityRefreshInterval.accumulateAndGet(interval, Math::max);
+			break;
+		case LOW:
+			this.lowPriorityRefreshInterval.accumulateAndGet(interval, Math::max);
+			break;
 		}
 	}
 
 	/**
-	 * Gets one Read-Tasks with priority Low or Once.
+	 * Gets the next Read-Tasks with priority Low.
 	 *
-	 * @return a list of ReadTasks by Source-ID
+	 * <p>
+	 * Low priority tasks are executed sequentially. The number of tasks per cycle
+	 * is chosen so that every task is executed within
+	 * {@link #LOW_PRIORITY_REFRESH_TARGET}, as far as the available duration
+	 * allows. At least one task is returned if there are any.
+	 *
+	 * @param availableDuration the estimated duration that is left in this cycle
+	 *                          in [ms]
+	 * @return a list of ReadTasks
 	 */
-	private ReadTask getOneLowPriorityReadTask() {
-		var lowPriorityTask = this.readTasksManager.getOneTask(Priority.LOW);
-		return lowPriorityTask;
+	private List<ReadTask> getLowPriorityReadTasks(long availableDuration) {
+		var noOfLowPriorityTasks = this.readTasksManager.getAllTasksBySourceId(Priority.LOW).size();
+		var cycleTime = this.parent.getCycle().getCycleTime();
+		var noOfTasks = Math.max(1, ceilDiv(noOfLowPriorityTasks * cycleTime, LOW_PRIORITY_REFRESH_TARGET));
+		List<ReadTask> result = new ArrayList<>();
+		var duration = 0L;
+		for (var i = 0; i < Math.min(noOfTasks, noOfLowPriorityTasks); i++) {
+			var task = this.readTasksManager.getOneTask(Priority.LOW);
+			if (task == null) {
+				break;
+			}
+			result.add(task);
+			duration += this.latencyModel.getEstimate(task);
+			if (duration >= availableDuration) {
+				break;
+			}
+		}
+		return result;
 	}
 
 	/**
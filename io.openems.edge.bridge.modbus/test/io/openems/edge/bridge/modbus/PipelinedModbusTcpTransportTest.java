@@ -0,0 +1,259 @@
+package io.openems.edge.bridge.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersResponse;
+
+public class PipelinedModbusTcpTransportTest {
+
+	private static class Request {
+		private final int transactionId;
+		private final int unitId;
+		private final int functionCode;
+		private final int reference;
+
+		private Request(int transactionId, int unitId, int functionCode, int reference) {
+			this.transactionId = transactionId;
+			this.unitId = unitId;
+			this.functionCode = functionCode;
+			this.reference = reference;
+		}
+	}
+
+	private static enum Mode {
+		OK, BUSY, WRONG_TRANSACTION_ID, SILENT
+	}
+
+	private static class Gateway implements AutoCloseable {
+		private final ServerSocket serverSocket;
+		private final CompletableFuture<Void> connectionClosed = new CompletableFuture<>();
+
+		private Gateway(ServerSocket serverSocket) {
+			this.serverSocket = serverSocket;
+		}
+
+		private int getLocalPort() {
+			return this.serverSocket.getLocalPort();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.serverSocket.close();
+		}
+	}
+
+	/**
+	 * Simulates a Modbus/TCP gateway: waits for a number of requests and answers
+	 * them in reverse order.
+	 */
+	private static Gateway startGateway(int noOfRequests, Mode mode) throws IOException {
+		var gateway = new Gateway(new ServerSocket(0));
+		var serverSocket = gateway.serverSocket;
+		var thread = new Thread(() -> {
+			try (var socket = serverSocket.accept(); //
+					var in = new DataInputStream(socket.getInputStream()); //
+					var out = new DataOutputStream(socket.getOutputStream())) {
+				var requests = new ArrayList<Request>();
+				for (var i = 0; i < noOfRequests; i++) {
+					var transactionId = in.readUnsignedShort();
+					in.readUnsignedShort(); // protocol identifier
+					in.readUnsignedShort(); // length
+					var unitId = in.readUnsignedByte();
+					var functionCode = in.readUnsignedByte();
+					var reference = in.readUnsignedShort();
+					in.readUnsignedShort(); // count
+					requests.add(new Request(transactionId, unitId, functionCode, reference));
+				}
+				Collections.reverse(requests);
+				for (var request : requests) {
+					if (mode == Mode.SILENT) {
+						break;
+					}
+					out.writeShort(request.transactionId + (mode == Mode.WRONG_TRANSACTION_ID ? 1000 : 0));
+					out.writeShort(0);
+					if (mode == Mode.BUSY) {
+						out.writeShort(3);
+						out.writeByte(request.unitId);
+						out.writeByte(request.functionCode | 0x80);
+						out.writeByte(6); // Slave Device Busy
+					} else {
+						out.writeShort(5);
+						out.writeByte(request.unitId);
+						out.writeByte(request.functionCode);
+						out.writeByte(2);
+						out.writeShort(request.reference); // register value = reference
+					}
+				}
+				out.flush();
+				in.read(); // wait for close
+			} catch (IOException e) {
+				// ignore
+			}
+			gateway.connectionClosed.complete(null);
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return gateway;
+	}
+
+	private static List<CompletableFuture<Integer>> readConcurrently(PipelinedModbusTcpTransport sut,
+			int... references) {
+		var executor = Executors.newFixedThreadPool(references.length);
+		var result = new ArrayList<CompletableFuture<Integer>>();
+		for (var i = 0; i < references.length; i++) {
+			var reference = references[i];
+			var unitId = i + 1;
+			result.add(CompletableFuture.supplyAsync(() -> {
+				var request = new ReadMultipleRegistersRequest(reference, 1);
+				request.setUnitID(unitId);
+				var transaction = sut.newTransaction();
+				transaction.setRequest(request);
+				try {
+					transaction.execute();
+				} catch (ModbusException e) {
+					throw new RuntimeException(e);
+				}
+				return ((ReadMultipleRegistersResponse) transaction.getResponse()).getRegisters()[0].getValue();
+			}, executor));
+		}
+		executor.shutdown();
+		return result;
+	}
+
+	@Test
+	public void testOutOfOrderResponses() throws Exception {
+		try (var gateway = startGateway(3, Mode.OK)) {
+			var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), gateway.getLocalPort(), 2000,
+					3, () -> {
+					});
+			var results = readConcurrently(sut, 100, 200, 300);
+			assertEquals(Integer.valueOf(100), results.get(0).get());
+			assertEquals(Integer.valueOf(200), results.get(1).get());
+			assertEquals(Integer.valueOf(300), results.get(2).get());
+			assertEquals(3, sut.getMaxConcurrentRequests());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testConcurrentRequestsRejected() throws Exception {
+		try (var gateway = startGateway(4, Mode.BUSY)) {
+			var rejected = new AtomicBoolean(false);
+			var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), gateway.getLocalPort(), 2000,
+					4, () -> rejected.set(true));
+			for (var result : readConcurrently(sut, 100, 200, 300, 400)) {
+				try {
+					result.join();
+				} catch (RuntimeException e) {
+					assertTrue(e.getCause().getCause() instanceof ModbusSlaveException);
+				}
+			}
+			assertTrue(rejected.get());
+			assertEquals(1, sut.getMaxConcurrentRequests());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testWrongTransactionId() throws Exception {
+		try (var gateway = startGateway(3, Mode.WRONG_TRANSACTION_ID)) {
+			var rejected = new AtomicBoolean(false);
+			var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), gateway.getLocalPort(), 500,
+					3, () -> rejected.set(true));
+			for (var result : readConcurrently(sut, 100, 200, 300)) {
+				try {
+					result.join();
+				} catch (RuntimeException e) {
+					// expected
+				}
+			}
+			assertTrue(rejected.get());
+			assertEquals(1, sut.getMaxConcurrentRequests());
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testTimeoutIsNoRejection() throws Exception {
+		try (var gateway = startGateway(3, Mode.SILENT)) {
+			var rejected = new AtomicBoolean(false);
+			var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), gateway.getLocalPort(), 200,
+					3, () -> rejected.set(true));
+			for (var result : readConcurrently(sut, 100, 200, 300)) {
+				try {
+					result.join();
+				} catch (RuntimeException e) {
+					assertTrue(e.getCause().getCause() instanceof ModbusIOException);
+				}
+			}
+			assertFalse(rejected.get());
+			assertEquals(3, sut.getMaxConcurrentRequests());
+
+			// Half-open connection is closed by the read timeout
+			gateway.connectionClosed.get(5, TimeUnit.SECONDS);
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testCloseConnection() throws Exception {
+		try (var gateway = startGateway(1, Mode.OK)) {
+			var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), gateway.getLocalPort(), 2000,
+					2, () -> {
+					});
+			var transaction = sut.newTransaction();
+			transaction.setRequest(new ReadMultipleRegistersRequest(100, 1));
+			transaction.execute();
+
+			// Closes the connection that was used by this thread
+			sut.closeConnection();
+			gateway.connectionClosed.get(5, TimeUnit.SECONDS);
+
+			// Nothing left to close
+			sut.closeConnection();
+			sut.close();
+		}
+	}
+
+	@Test
+	public void testConnectionFailed() throws Exception {
+		int port;
+		try (var serverSocket = new ServerSocket(0)) {
+			port = serverSocket.getLocalPort();
+		}
+		var sut = new PipelinedModbusTcpTransport(InetAddress.getLoopbackAddress(), port, 1000, 2, () -> {
+		});
+		var transaction = sut.newTransaction();
+		transaction.setRequest(new ReadMultipleRegistersRequest(0, 1));
+		var failed = false;
+		try {
+			transaction.execute();
+		} catch (ModbusException e) {
+			failed = true;
+		}
+		assertTrue(failed);
+		assertEquals(2, sut.getMaxConcurrentRequests());
+	}
+
+}
@@ -0,0 +1,99 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.BridgeModbusTcpImpl;
+import io.openems.edge.bridge.modbus.DummyModbusComponent;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class MergedReadRegistersTaskTest {
+
+	private static class MyModbusComponent extends DummyModbusComponent {
+
+		public MyModbusComponent(String id, AbstractModbusBridge bridge) throws OpenemsException {
+			super(id, bridge, 1, new io.openems.edge.common.channel.ChannelId[0]);
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() throws OpenemsException {
+			return new ModbusProtocol(this);
+		}
+
+	}
+
+	private static <T extends Task> T withParent(T task, MyModbusComponent parent) {
+		task.setParent(parent);
+		return task;
+	}
+
+	@Test
+	public void testMerge() throws OpenemsException {
+		var bridge = new BridgeModbusTcpImpl();
+		var device0 = new MyModbusComponent("device0", bridge);
+		var device1 = new MyModbusComponent("device1", bridge);
+
+		var fc3at0 = withParent(new FC3ReadRegistersTask(0, Priority.LOW, //
+				new UnsignedDoublewordElement(0)), device0);
+		var fc3at2 = withParent(new FC3ReadRegistersTask(2, Priority.HIGH, //
+				new UnsignedWordElement(2), //
+				new UnsignedWordElement(3)), device0);
+		var fc4at4 = withParent(new FC4ReadInputRegistersTask(4, Priority.HIGH, //
+				new UnsignedWordElement(4)), device0);
+		var fc3at8 = withParent(new FC3ReadRegistersTask(8, Priority.HIGH, //
+				new UnsignedWordElement(8)), device0); // gap of 4 registers
+		var fc3at20 = withParent(new FC3ReadRegistersTask(20, Priority.HIGH, //
+				new UnsignedWordElement(20)), device0); // gap too large
+		var fc3at4device1 = withParent(new FC3ReadRegistersTask(4, Priority.HIGH, //
+				new UnsignedWordElement(4)), device1);
+
+		var result = MergedReadRegistersTask.merge(List.of(fc3at2, fc4at4, fc3at20, fc3at4device1, fc3at8, fc3at0),
+				task -> true);
+		assertEquals(4, result.size());
+		assertTrue(result.get(0) instanceof MergedReadRegistersTask);
+		var merged = (MergedReadRegistersTask) result.get(0);
+		assertEquals(List.of(fc3at0, fc3at2, fc3at8), merged.getTasks());
+		assertEquals(0, merged.getStartAddress());
+		assertEquals(9, merged.getLength());
+		assertEquals(Priority.HIGH, merged.getPriority());
+		assertSame(device0, merged.getParent());
+		assertSame(fc4at4, result.get(1));
+		assertSame(fc3at20, result.get(2));
+		assertSame(fc3at4device1, result.get(3));
+
+		// Unmergeable tasks
+		result = MergedReadRegistersTask.merge(List.of(fc3at0, fc3at2, fc3at8), task -> task != fc3at2);
+		assertEquals(List.of(fc3at0, fc3at2, fc3at8), result);
+	}
+
+	@Test
+	public void testMaxLength() throws OpenemsException {
+		var bridge = new BridgeModbusTcpImpl();
+		var device0 = new MyModbusComponent("device0", bridge);
+
+		var elements0 = new UnsignedWordElement[100];
+		for (var i = 0; i < elements0.length; i++) {
+			elements0[i] = new UnsignedWordElement(i);
+		}
+		var task0 = withParent(new FC3ReadRegistersTask(0, Priority.HIGH, elements0), device0);
+		var elements1 = new UnsignedWordElement[30];
+		for (var i = 0; i < elements1.length; i++) {
+			elements1[i] = new UnsignedWordElement(100 + i);
+		}
+		var task1 = withParent(new FC3ReadRegistersTask(100, Priority.HIGH, elements1), device0);
+
+		var result = MergedReadRegistersTask.merge(List.of(task0, task1), task -> true);
+		assertEquals(List.of(task0, task1), result);
+	}
+
+}
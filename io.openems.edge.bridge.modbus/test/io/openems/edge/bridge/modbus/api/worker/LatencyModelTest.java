@@ -0,0 +1,31 @@
+package io.openems.edge.bridge.modbus.api.worker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyModelTest {
+
+	@Test
+	public void testEstimate() {
+		var sut = new LatencyModel();
+		assertEquals(300, sut.getEstimate(1, 300));
+
+		for (var i = 1; i <= 10; i++) {
+			sut.addSample(1, i * 10);
+		}
+		assertEquals(90, sut.getEstimate(1, 300)); // 90th percentile
+		assertEquals(300, sut.getEstimate(2, 300)); // other Unit-ID
+
+		// Single outlier is ignored
+		sut.addSample(1, 5_000);
+		assertEquals(100, sut.getEstimate(1, 300));
+
+		// Old samples drop out of the window
+		for (var i = 0; i < LatencyModel.WINDOW; i++) {
+			sut.addSample(1, 20);
+		}
+		assertEquals(20, sut.getEstimate(1, 300));
+	}
+
+}
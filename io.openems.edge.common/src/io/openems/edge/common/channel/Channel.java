@@ -10,6 +10,7 @@ import io.openems.edge.common.channel.internal.AbstractReadChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -89,6 +90,30 @@ public interface Channel<T> {
 	 */
 	void nextProcessImage();
 
+	/**
+	 * Switches to the next process image like {@link #nextProcessImage()}, but
+	 * does not yet call the onUpdate and onChange callbacks.
+	 *
+	 * <p>
+	 * This allows to switch the process image of all Channels first - possibly in
+	 * parallel - and call the callbacks afterwards, when every Channel holds its
+	 * new value. If this method returns true,
+	 * {@link #triggerProcessImageCallbacks()} has to be called afterwards.
+	 *
+	 * @return true if there are callbacks to be triggered
+	 */
+	default boolean switchProcessImage() {
+		this.nextProcessImage();
+		return false;
+	}
+
+	/**
+	 * Calls the onUpdate and onChange callbacks after
+	 * {@link #switchProcessImage()}.
+	 */
+	default void triggerProcessImageCallbacks() {
+	}
+
 	/**
 	 * Gets the type of this Channel, e.g. INTEGER, BOOLEAN,..
 	 *
@@ -167,11 +192,26 @@ public interface Channel<T> {
 	/**
 	 * Gets the past values for this Channel.
 	 *
+	 * <p>
+	 * The map is created on every call from {@link #pastValues()}. Prefer
+	 * {@link #pastValues()} for range and aggregate queries, as it does not
+	 * allocate an object per value.
+	 *
 	 * @return a map of recording time and historic value at that time
+	 * @deprecated use {@link #pastValues()}
 	 */
 	// TODO this should be a ZonedDateTime
+	@Deprecated
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
 
+	/**
+	 * Gets the past values for this Channel as a type-specialized ring buffer of
+	 * the last {@link #NO_OF_PAST_VALUES} values.
+	 *
+	 * @return the {@link PastValues}
+	 */
+	public PastValues<T> pastValues();
+
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
 	 * nextProcessImage().
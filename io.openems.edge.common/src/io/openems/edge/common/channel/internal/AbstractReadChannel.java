@@ -20,6 +20,7 @@ import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
+import io.openems.edge.common.type.pastvalues.PastValues;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -33,16 +34,24 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final PastValues<T> pastValues;
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
 
+	/**
+	 * The value before the last {@link #switchProcessImage()}, if it changed and
+	 * onChange callbacks are pending.
+	 */
+	private Value<T> previousValue = null;
+	private boolean hasPendingChange = false;
+
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc) {
 		this.type = type;
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = PastValues.of(type, NO_OF_PAST_VALUES);
 		this.nextValue = new Value<>(this, null);
 		this.activeValue = new Value<>(this, null);
 
@@ -99,21 +108,43 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 
 	@Override
 	public void nextProcessImage() {
+		if (this.switchProcessImage()) {
+			this.triggerProcessImageCallbacks();
+		}
+	}
+
+	@Override
+	public boolean switchProcessImage() {
 		var oldValue = this.activeValue;
+		var nextValue = this.nextValue;
 		final boolean valueHasChanged;
-		if (oldValue == null && this.nextValue == null) {
+		if (oldValue == null && nextValue == null) {
 			valueHasChanged = false;
-		} else if (oldValue == null || this.nextValue == null) {
+		} else if (oldValue == null || nextValue == null) {
 			valueHasChanged = true;
 		} else {
-			valueHasChanged = !Objects.equals(oldValue.get(), this.nextValue.get());
+			valueHasChanged = !Objects.equals(oldValue.get(), nextValue.get());
 		}
-		this.activeValue = this.nextValue;
-		this.onUpdateCallbacks.forEach(callback -> callback.accept(this.activeValue));
-		if (valueHasChanged) {
-			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
+		this.activeValue = nextValue;
+		this.pastValues.add(nextValue.getEpochMilli(), nextValue.get());
+		if (valueHasChanged && !this.onChangeCallbacks.isEmpty()) {
+			this.previousValue = oldValue;
+			this.hasPendingChange = true;
+			return true;
+		}
+		return !this.onUpdateCallbacks.isEmpty();
+	}
+
+	@Override
+	public void triggerProcessImageCallbacks() {
+		var activeValue = this.activeValue;
+		this.onUpdateCallbacks.forEach(callback -> callback.accept(activeValue));
+		if (this.hasPendingChange) {
+			var previousValue = this.previousValue;
+			this.hasPendingChange = false;
+			this.previousValue = null;
+			this.onChangeCallbacks.forEach(callback -> callback.accept(previousValue, activeValue));
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
 	}
 
 	@Override
@@ -255,9 +286,16 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	 * Gets the past values for this Channel.
 	 *
 	 * @return a map of recording time and historic value at that time
+	 * @deprecated use {@link #pastValues()}
 	 */
 	@Override
+	@Deprecated
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
+		return this.pastValues.toMap(this);
+	}
+
+	@Override
+	public PastValues<T> pastValues() {
 		return this.pastValues;
 	}
 
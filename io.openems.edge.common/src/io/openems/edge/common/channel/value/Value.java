@@ -1,6 +1,8 @@
 package io.openems.edge.common.channel.value;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 import com.google.gson.JsonElement;
@@ -42,12 +44,16 @@ public class Value<T> {
 
 	private final Channel<T> parent;
 	private final T value;
-	private final LocalDateTime timestamp;
+	private final long timestamp;
 
 	public Value(Channel<T> parent, T value) {
+		this(parent, value, System.currentTimeMillis());
+	}
+
+	public Value(Channel<T> parent, T value, long timestamp) {
 		this.parent = parent;
 		this.value = value;
-		this.timestamp = LocalDateTime.now();
+		this.timestamp = timestamp;
 	}
 
 	/**
@@ -214,6 +220,15 @@ public class Value<T> {
 	 * @return the timestamp
 	 */
 	public LocalDateTime getTimestamp() {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(this.timestamp), ZoneId.systemDefault());
+	}
+
+	/**
+	 * Gets the timestamp when the value was created in epoch milliseconds.
+	 *
+	 * @return the timestamp
+	 */
+	public long getEpochMilli() {
 		return this.timestamp;
 	}
 }
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Dictionary;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.osgi.framework.ServiceReference;
@@ -48,6 +49,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	 * CaseFormat.UPPER_CAMEL).
 	 */
 	private final Map<String, Channel<?>> channels = new ConcurrentHashMap<>();
+	private final AtomicInteger channelModificationCount = new AtomicInteger();
 
 	private String id = null;
 	private String alias = null;
@@ -376,6 +378,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		}
 		// Add Channel to channels list
 		this.channels.put(channel.channelId().id(), channel);
+		this.channelModificationCount.incrementAndGet();
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().addChannel((StateChannel) channel);
@@ -463,7 +466,9 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	// TODO remove Channel(s) using Channel-ID; see addChannels()-method above.
 	protected void removeChannel(Channel<?> channel) {
 		// Add Channel to channels list
-		this.channels.remove(channel.channelId().id(), channel);
+		if (this.channels.remove(channel.channelId().id(), channel)) {
+			this.channelModificationCount.incrementAndGet();
+		}
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().removeChannel((StateChannel) channel);
@@ -475,6 +480,11 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		return this.channels.values();
 	}
 
+	@Override
+	public int getChannelModificationCount() {
+		return this.channelModificationCount.get();
+	}
+
 	/**
 	 * Log a debug message including the Component ID.
 	 *
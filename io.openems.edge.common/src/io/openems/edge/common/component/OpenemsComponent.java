@@ -183,6 +183,17 @@ public interface OpenemsComponent {
 	 */
 	public Collection<Channel<?>> channels();
 
+	/**
+	 * Gets a counter that changes whenever a Channel is added to or removed from
+	 * this Component.
+	 *
+	 * @return the modification counter; -1 if this Component does not track
+	 *         modifications
+	 */
+	public default int getChannelModificationCount() {
+		return -1;
+	}
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		// Running State of the component. Keep values in sync with 'Level' enum!
 		STATE(new StateCollectorChannelDoc() //
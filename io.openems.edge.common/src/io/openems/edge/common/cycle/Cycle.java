@@ -35,7 +35,107 @@ public interface Cycle extends OpenemsComponent {
 		 * <li>Type: State
 		 * </ul>
 		 */
-		IGNORE_DISABLED_CONTROLLER(Doc.of(Level.INFO));
+		IGNORE_DISABLED_CONTROLLER(Doc.of(Level.INFO)),
+		/**
+		 * Duration of switching the process image of all Channels in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		PROCESS_IMAGE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of executing all Controllers in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CONTROLLERS_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of updating and switching the Sum Component in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		SUM_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the BEFORE_PROCESS_IMAGE event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_BEFORE_PROCESS_IMAGE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the AFTER_PROCESS_IMAGE event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_AFTER_PROCESS_IMAGE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the BEFORE_CONTROLLERS event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_BEFORE_CONTROLLERS_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the AFTER_CONTROLLERS event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_AFTER_CONTROLLERS_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the BEFORE_WRITE event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_BEFORE_WRITE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the EXECUTE_WRITE event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_EXECUTE_WRITE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Duration of handling the AFTER_WRITE event in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		EVENT_AFTER_WRITE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS));
 
 		private final Doc doc;
 
@@ -117,6 +217,92 @@ public interface Cycle extends OpenemsComponent {
 		this.getIgnoreDisabledControllerChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getProcessImageDurationChannel() {
+		return this.channel(ChannelId.PROCESS_IMAGE_DURATION);
+	}
+
+	/**
+	 * Gets the Process Image Duration in [ms]. See
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getProcessImageDuration() {
+		return this.getProcessImageDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setProcessImageDuration(long value) {
+		this.getProcessImageDurationChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SUM_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getSumDurationChannel() {
+		return this.channel(ChannelId.SUM_DURATION);
+	}
+
+	/**
+	 * Gets the Sum Duration in [ms]. See {@link ChannelId#SUM_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getSumDuration() {
+		return this.getSumDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#SUM_DURATION}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSumDuration(long value) {
+		this.getSumDurationChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CONTROLLERS_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getControllersDurationChannel() {
+		return this.channel(ChannelId.CONTROLLERS_DURATION);
+	}
+
+	/**
+	 * Gets the Controllers Duration in [ms]. See
+	 * {@link ChannelId#CONTROLLERS_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getControllersDuration() {
+		return this.getControllersDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#CONTROLLERS_DURATION} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setControllersDuration(long value) {
+		this.getControllersDurationChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the duration of one global OpenEMS Cycle in [ms].
 	 *
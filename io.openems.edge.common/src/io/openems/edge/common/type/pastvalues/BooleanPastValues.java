@@ -0,0 +1,29 @@
+package io.openems.edge.common.type.pastvalues;
+
+import io.openems.common.types.OpenemsType;
+
+public class BooleanPastValues extends PastValues<Boolean> {
+
+	private final boolean[] values;
+
+	public BooleanPastValues(int capacity) {
+		super(OpenemsType.BOOLEAN, capacity);
+		this.values = new boolean[capacity];
+	}
+
+	@Override
+	protected void store(int slot, Boolean value) {
+		this.values[slot] = value;
+	}
+
+	@Override
+	protected Boolean load(int slot) {
+		return this.values[slot];
+	}
+
+	@Override
+	protected double loadAsDouble(int slot) {
+		return this.values[slot] ? 1d : 0d;
+	}
+
+}
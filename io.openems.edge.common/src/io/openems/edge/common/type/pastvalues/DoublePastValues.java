@@ -0,0 +1,42 @@
+package io.openems.edge.common.type.pastvalues;
+
+import io.openems.common.types.OpenemsType;
+
+/**
+ * Holds past values of {@link OpenemsType#FLOAT} and {@link OpenemsType#DOUBLE}
+ * Channels in a double-array.
+ *
+ * @param <T> either {@link Float} or {@link Double}
+ */
+public class DoublePastValues<T extends Number> extends PastValues<T> {
+
+	private final double[] values;
+
+	public DoublePastValues(OpenemsType type, int capacity) {
+		super(type, capacity);
+		if (type != OpenemsType.FLOAT && type != OpenemsType.DOUBLE) {
+			throw new IllegalArgumentException("Type [" + type + "] is not supported.");
+		}
+		this.values = new double[capacity];
+	}
+
+	@Override
+	protected void store(int slot, T value) {
+		this.values[slot] = value.doubleValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected T load(int slot) {
+		if (this.getType() == OpenemsType.FLOAT) {
+			return (T) Float.valueOf((float) this.values[slot]);
+		}
+		return (T) Double.valueOf(this.values[slot]);
+	}
+
+	@Override
+	protected double loadAsDouble(int slot) {
+		return this.values[slot];
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.openems.edge.common.type.pastvalues;
+
+import io.openems.common.types.OpenemsType;
+
+/**
+ * Holds past values of {@link OpenemsType#SHORT} and
+ * {@link OpenemsType#INTEGER} Channels in an int-array.
+ *
+ * @param <T> either {@link Short} or {@link Integer}
+ */
+public class IntegerPastValues<T extends Number> extends PastValues<T> {
+
+	private final int[] values;
+
+	public IntegerPastValues(OpenemsType type, int capacity) {
+		super(type, capacity);
+		if (type != OpenemsType.SHORT && type != OpenemsType.INTEGER) {
+			throw new IllegalArgumentException("Type [" + type + "] is not supported.");
+		}
+		this.values = new int[capacity];
+	}
+
+	/**
+	 * Gets the value at the given index as int.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return the value
+	 * @throws NullPointerException if the value is not defined
+	 */
+	public int getAsInt(int index) {
+		if (!this.isDefined(index)) {
+			throw new NullPointerException("Value at index [" + index + "] is not defined");
+		}
+		return this.values[this.checkedSlot(index)];
+	}
+
+	@Override
+	protected void store(int slot, T value) {
+		this.values[slot] = value.intValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected T load(int slot) {
+		if (this.getType() == OpenemsType.SHORT) {
+			return (T) Short.valueOf((short) this.values[slot]);
+		}
+		return (T) Integer.valueOf(this.values[slot]);
+	}
+
+	@Override
+	protected double loadAsDouble(int slot) {
+		return this.values[slot];
+	}
+
+}
@@ -0,0 +1,29 @@
+package io.openems.edge.common.type.pastvalues;
+
+import io.openems.common.types.OpenemsType;
+
+public class LongPastValues extends PastValues<Long> {
+
+	private final long[] values;
+
+	public LongPastValues(int capacity) {
+		super(OpenemsType.LONG, capacity);
+		this.values = new long[capacity];
+	}
+
+	@Override
+	protected void store(int slot, Long value) {
+		this.values[slot] = value;
+	}
+
+	@Override
+	protected Long load(int slot) {
+		return this.values[slot];
+	}
+
+	@Override
+	protected double loadAsDouble(int slot) {
+		return this.values[slot];
+	}
+
+}
@@ -0,0 +1,462 @@
+package io.openems.edge.common.type.pastvalues;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.CircularTreeMap;
+
+/**
+ * Holds the past values of a Channel in a fixed-size ring buffer.
+ *
+ * <p>
+ * In contrast to a {@link CircularTreeMap} of {@link Value}s, values are
+ * stored in type-specialized primitive arrays together with their timestamp
+ * in epoch milliseconds. Adding a value does not allocate any objects.
+ *
+ * <p>
+ * Values are addressed by an index from 0 (= oldest value) to
+ * {@link #size()} - 1 (= newest value). Timestamps are guaranteed to be
+ * strictly increasing, so range queries are answered using binary search. All
+ * aggregate queries work directly on the primitive arrays and return
+ * {@link Double#NaN} if there is no defined value in the requested range.
+ *
+ * <p>
+ * This class is not thread-safe. It is meant to be updated and read within the
+ * OpenEMS Edge Cycle.
+ *
+ * @param <T> the type of the Value
+ */
+public abstract class PastValues<T> {
+
+	/**
+	 * Creates a {@link PastValues} instance for the given {@link OpenemsType}.
+	 *
+	 * @param <T>      the type of the Value
+	 * @param type     the {@link OpenemsType}
+	 * @param capacity the maximum number of values
+	 * @return the {@link PastValues}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PastValues<T> of(OpenemsType type, int capacity) {
+		switch (type) {
+		case BOOLEAN:
+			return (PastValues<T>) new BooleanPastValues(capacity);
+		case SHORT:
+		case INTEGER:
+			return (PastValues<T>) new IntegerPastValues<>(type, capacity);
+		case LONG:
+			return (PastValues<T>) new LongPastValues(capacity);
+		case FLOAT:
+		case DOUBLE:
+			return (PastValues<T>) new DoublePastValues<>(type, capacity);
+		case STRING:
+			return (PastValues<T>) new StringPastValues(capacity);
+		}
+		throw new IllegalArgumentException("Type [" + type + "] is not supported.");
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} in system default time-zone to epoch
+	 * milliseconds, i.e. the timestamp format used by {@link PastValues}.
+	 *
+	 * @param dateTime the {@link LocalDateTime}
+	 * @return the epoch milliseconds
+	 */
+	public static long toEpochMilli(LocalDateTime dateTime) {
+		if (dateTime.equals(LocalDateTime.MIN)) {
+			return Long.MIN_VALUE;
+		}
+		if (dateTime.equals(LocalDateTime.MAX)) {
+			return Long.MAX_VALUE;
+		}
+		return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private final OpenemsType type;
+	private final int capacity;
+	private final long[] timestamps;
+	private final boolean[] defined;
+
+	private int head = 0;
+	private int size = 0;
+
+	protected PastValues(OpenemsType type, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive. Got [" + capacity + "]");
+		}
+		this.type = type;
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+	}
+
+	/**
+	 * Stores a not-null value in the given slot of the ring buffer.
+	 *
+	 * @param slot  the slot
+	 * @param value the value; never null
+	 */
+	protected abstract void store(int slot, T value);
+
+	/**
+	 * Loads the value from the given slot of the ring buffer.
+	 *
+	 * @param slot the slot; always holds a defined value
+	 * @return the value
+	 */
+	protected abstract T load(int slot);
+
+	/**
+	 * Loads the value from the given slot of the ring buffer as double.
+	 *
+	 * @param slot the slot; always holds a defined value
+	 * @return the value as double
+	 */
+	protected abstract double loadAsDouble(int slot);
+
+	/**
+	 * Gets the {@link OpenemsType} of the values.
+	 *
+	 * @return the {@link OpenemsType}
+	 */
+	public OpenemsType getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gets the maximum number of values.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Is this buffer empty?.
+	 *
+	 * @return true if there are no values
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes all values.
+	 */
+	public void clear() {
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Adds a value. If the buffer is full, the oldest value is dropped.
+	 *
+	 * <p>
+	 * If the timestamp equals the timestamp of the newest value, the newest value
+	 * is replaced. If the timestamp is older than the newest value (e.g. because
+	 * the system clock was set back), all values are cleared to keep timestamps
+	 * strictly increasing.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the value; possibly null
+	 */
+	public void add(long timestamp, T value) {
+		if (this.size > 0) {
+			var lastSlot = this.slot(this.size - 1);
+			var lastTimestamp = this.timestamps[lastSlot];
+			if (timestamp == lastTimestamp) {
+				this.set(lastSlot, timestamp, value);
+				return;
+			}
+			if (timestamp < lastTimestamp) {
+				this.clear();
+			}
+		}
+		if (this.size == this.capacity) {
+			this.head = (this.head + 1) % this.capacity;
+			this.size--;
+		}
+		this.set(this.slot(this.size), timestamp, value);
+		this.size++;
+	}
+
+	/**
+	 * Gets the timestamp of the value at the given index.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getTimestamp(int index) {
+		return this.timestamps[this.checkedSlot(index)];
+	}
+
+	/**
+	 * Is the value at the given index defined, i.e. not null?.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return true if the value is defined
+	 */
+	public boolean isDefined(int index) {
+		return this.defined[this.checkedSlot(index)];
+	}
+
+	/**
+	 * Gets the value at the given index.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return the value; possibly null
+	 */
+	public T get(int index) {
+		var slot = this.checkedSlot(index);
+		if (!this.defined[slot]) {
+			return null;
+		}
+		return this.load(slot);
+	}
+
+	/**
+	 * Gets the value at the given index as double.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return the value; {@link Double#NaN} if the value is not defined
+	 */
+	public double getAsDouble(int index) {
+		var slot = this.checkedSlot(index);
+		if (!this.defined[slot]) {
+			return Double.NaN;
+		}
+		return this.loadAsDouble(slot);
+	}
+
+	/**
+	 * Gets the index of the first value at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the index; {@link #size()} if there is no such value
+	 */
+	public int indexOf(long fromTimestamp, boolean inclusive) {
+		var low = 0;
+		var high = this.size;
+		while (low < high) {
+			var mid = (low + high) >>> 1;
+			var timestamp = this.timestamps[this.slot(mid)];
+			if (timestamp < fromTimestamp || !inclusive && timestamp == fromTimestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets the index of the oldest defined value at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the index; -1 if there is no such value
+	 */
+	public int indexOfFirstDefined(long fromTimestamp, boolean inclusive) {
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			if (this.defined[this.slot(i)]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the index of the newest defined value.
+	 *
+	 * @return the index; -1 if there is no defined value
+	 */
+	public int indexOfLastDefined() {
+		for (var i = this.size - 1; i >= 0; i--) {
+			if (this.defined[this.slot(i)]) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Is the given value contained at or after the given timestamp?.
+	 *
+	 * <p>
+	 * Values are compared using their double representation, i.e. enum values can
+	 * be checked via their integer value.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @param value         the value
+	 * @return true if the value exists
+	 */
+	public boolean contains(long fromTimestamp, boolean inclusive, double value) {
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			var slot = this.slot(i);
+			if (this.defined[slot] && this.loadAsDouble(slot) == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Counts the defined values at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the number of defined values
+	 */
+	public int count(long fromTimestamp, boolean inclusive) {
+		var result = 0;
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			if (this.defined[this.slot(i)]) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sums the defined values at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the sum; {@link Double#NaN} if there is no defined value
+	 */
+	public double sum(long fromTimestamp, boolean inclusive) {
+		var result = 0d;
+		var count = 0;
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			var slot = this.slot(i);
+			if (this.defined[slot]) {
+				result += this.loadAsDouble(slot);
+				count++;
+			}
+		}
+		return count == 0 ? Double.NaN : result;
+	}
+
+	/**
+	 * Calculates the average of the defined values at or after the given
+	 * timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the average; {@link Double#NaN} if there is no defined value
+	 */
+	public double average(long fromTimestamp, boolean inclusive) {
+		var result = 0d;
+		var count = 0;
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			var slot = this.slot(i);
+			if (this.defined[slot]) {
+				result += this.loadAsDouble(slot);
+				count++;
+			}
+		}
+		return count == 0 ? Double.NaN : result / count;
+	}
+
+	/**
+	 * Gets the minimum of the defined values at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the minimum; {@link Double#NaN} if there is no defined value
+	 */
+	public double min(long fromTimestamp, boolean inclusive) {
+		var result = Double.NaN;
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			var slot = this.slot(i);
+			if (this.defined[slot]) {
+				var value = this.loadAsDouble(slot);
+				if (Double.isNaN(result) || value < result) {
+					result = value;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the maximum of the defined values at or after the given timestamp.
+	 *
+	 * @param fromTimestamp the timestamp in epoch milliseconds
+	 * @param inclusive     true to include a value exactly at the timestamp
+	 * @return the maximum; {@link Double#NaN} if there is no defined value
+	 */
+	public double max(long fromTimestamp, boolean inclusive) {
+		var result = Double.NaN;
+		for (var i = this.indexOf(fromTimestamp, inclusive); i < this.size; i++) {
+			var slot = this.slot(i);
+			if (this.defined[slot]) {
+				var value = this.loadAsDouble(slot);
+				if (Double.isNaN(result) || value > result) {
+					result = value;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Copies the values to a {@link CircularTreeMap}, as it was used to store
+	 * past values before. This allocates one {@link Value} per entry.
+	 *
+	 * @param channel the parent {@link Channel} of the values
+	 * @return a new {@link CircularTreeMap}
+	 */
+	public CircularTreeMap<LocalDateTime, Value<T>> toMap(Channel<T> channel) {
+		var result = new CircularTreeMap<LocalDateTime, Value<T>>(this.capacity);
+		for (var i = 0; i < this.size; i++) {
+			var value = new Value<>(channel, this.get(i), this.getTimestamp(i));
+			result.put(value.getTimestamp(), value);
+		}
+		return result;
+	}
+
+	private void set(int slot, long timestamp, T value) {
+		this.timestamps[slot] = timestamp;
+		if (value == null) {
+			this.defined[slot] = false;
+		} else {
+			this.defined[slot] = true;
+			this.store(slot, value);
+		}
+	}
+
+	private int slot(int index) {
+		return (this.head + index) % this.capacity;
+	}
+
+	/**
+	 * Gets the slot in the ring buffer for the given index.
+	 *
+	 * @param index the index; 0 is the oldest value
+	 * @return the slot
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	protected int checkedSlot(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index [" + index + "] out of bounds for size [" + this.size + "]");
+		}
+		return this.slot(index);
+	}
+
+}
@@ -0,0 +1,30 @@
+package io.openems.edge.common.type.pastvalues;
+
+import io.openems.common.types.OpenemsType;
+
+public class StringPastValues extends PastValues<String> {
+
+	private final String[] values;
+
+	public StringPastValues(int capacity) {
+		super(OpenemsType.STRING, capacity);
+		this.values = new String[capacity];
+	}
+
+	@Override
+	protected void store(int slot, String value) {
+		this.values[slot] = value;
+	}
+
+	@Override
+	protected String load(int slot) {
+		return this.values[slot];
+	}
+
+	@Override
+	protected double loadAsDouble(int slot) {
+		// Strings have no numeric representation
+		return 0d;
+	}
+
+}
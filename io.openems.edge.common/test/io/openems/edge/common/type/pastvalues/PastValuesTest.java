@@ -0,0 +1,88 @@
+package io.openems.edge.common.type.pastvalues;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+
+public class PastValuesTest {
+
+	@Test
+	public void testRingBuffer() {
+		PastValues<Integer> v = PastValues.of(OpenemsType.INTEGER, 3);
+		v.add(1000, 1);
+		v.add(2000, 2);
+		v.add(3000, 3);
+		v.add(4000, 4);
+
+		assertEquals(3, v.size());
+		assertEquals(2000, v.getTimestamp(0));
+		assertEquals(Integer.valueOf(2), v.get(0));
+		assertEquals(Integer.valueOf(4), v.get(2));
+
+		// same timestamp replaces the newest value
+		v.add(4000, null);
+		assertEquals(3, v.size());
+		assertNull(v.get(2));
+		assertFalse(v.isDefined(2));
+
+		// older timestamp clears the buffer
+		v.add(500, 5);
+		assertEquals(1, v.size());
+		assertEquals(Integer.valueOf(5), v.get(0));
+	}
+
+	@Test
+	public void testAggregates() {
+		PastValues<Integer> v = PastValues.of(OpenemsType.INTEGER, 10);
+		v.add(1000, 10);
+		v.add(2000, null);
+		v.add(3000, 20);
+		v.add(4000, 30);
+
+		assertEquals(1, v.indexOf(2000, true));
+		assertEquals(2, v.indexOf(2000, false));
+		assertEquals(4, v.indexOf(5000, true));
+
+		assertEquals(3, v.count(0, true));
+		assertEquals(60, v.sum(0, true), 0.001);
+		assertEquals(20, v.average(0, true), 0.001);
+		assertEquals(25, v.average(2000, true), 0.001);
+		assertEquals(10, v.min(0, true), 0.001);
+		assertEquals(30, v.max(0, true), 0.001);
+		assertTrue(Double.isNaN(v.average(4000, false)));
+
+		assertEquals(0, v.indexOfFirstDefined(0, true));
+		assertEquals(2, v.indexOfFirstDefined(1000, false));
+		assertEquals(3, v.indexOfLastDefined());
+
+		assertTrue(v.contains(0, true, 20));
+		assertFalse(v.contains(3000, false, 20));
+	}
+
+	@Test
+	public void testTypes() {
+		PastValues<Short> s = PastValues.of(OpenemsType.SHORT, 2);
+		s.add(1000, (short) 7);
+		assertEquals(Short.valueOf((short) 7), s.get(0));
+
+		PastValues<Float> f = PastValues.of(OpenemsType.FLOAT, 2);
+		f.add(1000, 1.5F);
+		assertEquals(Float.valueOf(1.5F), f.get(0));
+
+		PastValues<Boolean> b = PastValues.of(OpenemsType.BOOLEAN, 2);
+		b.add(1000, true);
+		b.add(2000, false);
+		assertEquals(0.5, b.average(0, true), 0.001);
+
+		PastValues<String> str = PastValues.of(OpenemsType.STRING, 2);
+		str.add(1000, "foo");
+		assertEquals("foo", str.get(0));
+		assertEquals(0, str.average(0, true), 0.001);
+	}
+
+}
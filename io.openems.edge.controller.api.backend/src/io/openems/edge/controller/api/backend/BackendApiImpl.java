@@ -36,7 +36,6 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
-import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.ThreadPoolUtils;
@@ -73,6 +72,8 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 
 	protected final ApiWorker apiWorker = new ApiWorker(this);
 
+	protected final SendEdgeConfigHandler sendEdgeConfigHandler = new SendEdgeConfigHandler(this);
+
 	private final Logger log = LoggerFactory.getLogger(BackendApiImpl.class);
 
 	protected WebsocketClient websocket = null;
@@ -214,12 +215,10 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		case EdgeEventConstants.TOPIC_CONFIG_UPDATE:
 			// Send new EdgeConfig
 			var config = (EdgeConfig) event.getProperty(EdgeEventConstants.TOPIC_CONFIG_UPDATE_KEY);
-			var message = new EdgeConfigNotification(config);
-			var ws = this.websocket;
-			if (ws == null) {
+			if (this.websocket == null) {
 				return;
 			}
-			ws.sendMessage(message);
+			this.sendEdgeConfigHandler.onConfigUpdate(config);
 
 			// Trigger sending of all channel values, because a Component might have
 			// disappeared
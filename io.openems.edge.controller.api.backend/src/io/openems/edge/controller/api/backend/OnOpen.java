@@ -1,12 +1,18 @@
 package io.openems.edge.controller.api.backend;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonObject;
 
-import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataEncoder;
+import io.openems.common.jsonrpc.request.EnableBinaryTimestampedDataRequest;
+import io.openems.common.jsonrpc.response.EnableBinaryTimestampedDataResponse;
 
 public class OnOpen implements io.openems.common.websocket.OnOpen {
 
@@ -23,11 +29,45 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 
 		// Immediately send Config
 		var config = this.parent.componentManager.getEdgeConfig();
-		var message = new EdgeConfigNotification(config);
-		this.parent.websocket.sendMessage(message);
+		this.parent.sendEdgeConfigHandler.onOpen(config);
+
+		// Send JSON till the binary format is negotiated
+		this.parent.sendChannelValuesWorker.setBinaryEncoder(null);
+		this.negotiateBinaryTimestampedData();
 
 		// Send all Channel values
 		this.parent.sendChannelValuesWorker.sendValuesOfAllChannelsOnce();
 	}
 
+	/**
+	 * Asks the Backend to accept binary timestamped data. Older Backends answer
+	 * with an error; then JSON is kept.
+	 */
+	private void negotiateBinaryTimestampedData() {
+		final CompletableFuture<JsonrpcResponseSuccess> future;
+		try {
+			future = this.parent.websocket
+					.sendRequest(new EnableBinaryTimestampedDataRequest(BinaryTimestampedDataEncoder.VERSION, true));
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Unable to negotiate binary timestamped data: " + e.getMessage());
+			return;
+		}
+		future.whenComplete((r, ex) -> {
+			if (ex != null) {
+				this.parent.logInfo(this.log, "Backend does not support binary timestamped data: " + ex.getMessage());
+				return;
+			}
+			try {
+				var response = EnableBinaryTimestampedDataResponse.from(r);
+				this.parent.sendChannelValuesWorker
+						.setBinaryEncoder(new BinaryTimestampedDataEncoder(response.isDeflate()));
+				this.parent.logInfo(this.log, "Sending binary timestamped data" //
+						+ (response.isDeflate() ? " with deflate" : ""));
+
+			} catch (OpenemsNamedException e) {
+				this.parent.logWarn(this.log, "Unable to negotiate binary timestamped data: " + e.getMessage());
+			}
+		});
+	}
+
 }
@@ -3,23 +3,25 @@ package io.openems.edge.controller.api.backend;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.common.channel.AccessMode;
+import io.openems.common.jsonrpc.notification.BinaryTimestampedDataEncoder;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -30,6 +32,12 @@ import io.openems.edge.common.component.OpenemsComponent;
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
  * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ *
+ * <p>
+ * Changes are detected via {@link Channel#onChange(BiConsumer)} callbacks, that
+ * set a dirty-flag on the {@link TrackedChannel}. Only values of dirty Channels
+ * are converted to JSON and added to the pending values. Pending values are
+ * kept until they were sent successfully.
  */
 public class SendChannelValuesWorker {
 
@@ -51,12 +59,36 @@ public class SendChannelValuesWorker {
 	/**
 	 * Keeps the last timestamp when all channel values were sent.
 	 */
-	private Instant lastSendValuesOfAllChannels = Instant.MIN;
+	private volatile Instant lastSendValuesOfAllChannels = Instant.MIN;
+
+	/**
+	 * Index of all tracked Channels. Only accessed synchronously with the
+	 * Core.Cycle.
+	 */
+	private final IdentityHashMap<Channel<?>, TrackedChannel> trackedChannels = new IdentityHashMap<>();
+
+	/**
+	 * Incremented on every {@link #collectData()}; used to detect Channels that
+	 * disappeared.
+	 */
+	private long collectCount = 0;
+
+	/**
+	 * Values that were collected but not yet sent successfully. Guarded by
+	 * 'this'.
+	 */
+	private HashMap<String, JsonElement> pendingValues = new HashMap<>();
+
+	/**
+	 * True if {@link #pendingValues} holds the values of all Channels. Guarded by
+	 * 'this'.
+	 */
+	private boolean pendingValuesAreComplete = false;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Encoder for binary timestamped data; null to send JSON.
 	 */
-	private ImmutableMap<String, JsonElement> lastAllValues = ImmutableMap.of();
+	private volatile BinaryTimestampedDataEncoder binaryEncoder = null;
 
 	protected SendChannelValuesWorker(BackendApiImpl parent) {
 		this.parent = parent;
@@ -69,12 +101,28 @@ public class SendChannelValuesWorker {
 		this.sendValuesOfAllChannels.set(true);
 	}
 
+	/**
+	 * Sets the {@link BinaryTimestampedDataEncoder} for the current websocket
+	 * session.
+	 *
+	 * @param binaryEncoder the {@link BinaryTimestampedDataEncoder}; null to send
+	 *                      {@link TimestampedDataNotification}s
+	 */
+	public void setBinaryEncoder(BinaryTimestampedDataEncoder binaryEncoder) {
+		this.binaryEncoder = binaryEncoder;
+	}
+
 	/**
 	 * Stops the {@link SendChannelValuesWorker}.
 	 */
 	public void deactivate() {
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+
+		synchronized (this) {
+			this.trackedChannels.values().forEach(TrackedChannel::unregister);
+			this.trackedChannels.clear();
+		}
 	}
 
 	/**
@@ -84,44 +132,127 @@ public class SendChannelValuesWorker {
 	public synchronized void collectData() {
 		var now = Instant.now(this.parent.componentManager.getClock());
 
-		// Update the values of all channels
+		// Update the index of tracked channels
 		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		this.updateTrackedChannels(enabledComponents);
+
+		// Collect values of all or only of changed Channels
+		final var sendAll = this.sendValuesOfAllChannels.getAndSet(false) //
+				|| Duration.between(this.lastSendValuesOfAllChannels, now)
+						.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS;
+		if (sendAll) {
+			this.pendingValues.clear();
+			this.pendingValuesAreComplete = true;
+		}
+		for (var trackedChannel : this.trackedChannels.values()) {
+			if (trackedChannel.dirty || sendAll) {
+				trackedChannel.dirty = false;
+				this.pendingValues.put(trackedChannel.address, trackedChannel.channel.value().asJson());
+			}
+		}
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		this.executor.execute(new SendTask(this, now));
 	}
 
 	/**
-	 * Cycles through all Channels and collects the value.
+	 * Registers new Channels of the enabled Components and unregisters Channels
+	 * that disappeared.
 	 *
 	 * @param enabledComponents the enabled components
-	 * @return collected data
 	 */
-	private ImmutableMap<String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private void updateTrackedChannels(List<OpenemsComponent> enabledComponents) {
+		final var count = ++this.collectCount;
 		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(//
-							ImmutableMap.toImmutableMap(//
-									c -> c.address().toString(), //
-									c -> c.value().asJson(), //
-									// simple/stupid merge function to avoid
-									// 'java.lang.IllegalArgumentException Duplicate Key'
-									(t, u) -> {
-										this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
-										return t;
-									}));
+			for (var component : enabledComponents) {
+				for (var channel : component.channels()) {
+					var trackedChannel = this.trackedChannels.get(channel);
+					if (trackedChannel == null) {
+						if (// Ignore WRITE_ONLY Channels
+						channel.channelDoc().getAccessMode() == AccessMode.WRITE_ONLY
+								// Ignore Low-Priority Channels
+								|| channel.channelDoc().getPersistencePriority()
+										.isLowerThan(this.parent.config.persistencePriority())) {
+							continue;
+						}
+						trackedChannel = new TrackedChannel(channel);
+						this.trackedChannels.put(channel, trackedChannel);
+					}
+					trackedChannel.lastSeen = count;
+				}
+			}
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
 			// or removed
 			this.parent.logWarn(this.log, "Unable to collect date: " + e.getMessage());
-			return ImmutableMap.of();
+			return;
+		}
+
+		// Remove Channels that disappeared
+		var iterator = this.trackedChannels.values().iterator();
+		while (iterator.hasNext()) {
+			var trackedChannel = iterator.next();
+			if (trackedChannel.lastSeen != count) {
+				trackedChannel.unregister();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Takes the pending values for sending.
+	 *
+	 * @return the {@link PendingValues}
+	 */
+	private synchronized PendingValues takePendingValues() {
+		var result = new PendingValues(this.pendingValues, this.pendingValuesAreComplete);
+		this.pendingValues = new HashMap<>();
+		this.pendingValuesAreComplete = false;
+		return result;
+	}
+
+	/**
+	 * Puts back values that could not be sent. Values that were collected in the
+	 * meantime are newer and are kept.
+	 *
+	 * @param values the values that were not sent
+	 */
+	private synchronized void restorePendingValues(PendingValues values) {
+		values.values.forEach(this.pendingValues::putIfAbsent);
+		this.pendingValuesAreComplete |= values.areComplete;
+	}
+
+	/**
+	 * Holds a tracked {@link Channel} with its interned address.
+	 */
+	private static class TrackedChannel {
+
+		private final Channel<?> channel;
+		private final String address;
+		private final BiConsumer<?, ?> onChange;
+
+		private volatile boolean dirty = true;
+		private long lastSeen = 0;
+
+		private <T> TrackedChannel(Channel<T> channel) {
+			this.channel = channel;
+			this.address = channel.address().toString().intern();
+			this.onChange = channel.onChange((oldValue, newValue) -> this.dirty = true);
+		}
+
+		private void unregister() {
+			this.channel.removeOnChangeCallback(this.onChange);
+		}
+	}
+
+	private static class PendingValues {
+
+		private final HashMap<String, JsonElement> values;
+		private final boolean areComplete;
+
+		private PendingValues(HashMap<String, JsonElement> values, boolean areComplete) {
+			this.values = values;
+			this.areComplete = areComplete;
 		}
 	}
 
@@ -133,80 +264,63 @@ public class SendChannelValuesWorker {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final ImmutableMap<String, JsonElement> allValues;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableMap<String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final ImmutableMap<String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableMap.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableMap.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
-			}
+			// Take all values that were collected since the last successful send. This also
+			// includes values of tasks that were discarded by the executor.
+			final var pendingValues = this.parent.takePendingValues();
 
 			// Round timestamp to Global Cycle-Time
 			final var cycleTime = this.parent.parent.cycle.getCycleTime();
 			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
-			// Prepare message values
-			var sendValuesMap = new HashMap<String, JsonElement>();
-
-			// Collect Changed values
-			for (var entry : this.allValues.entrySet()) {
-				var channelAddress = entry.getKey();
-				var value = entry.getValue();
-				if (!Objects.equals(value, lastAllValues.get(channelAddress))) {
-					sendValuesMap.put(channelAddress, value);
-				}
-			}
-
-			// Create JSON-RPC notification
-			var message = new TimestampedDataNotification();
-			message.add(timestampMillis, sendValuesMap);
-
 			// Debug-Log
 			if (this.parent.parent.config.debugMode()) {
 				this.parent.parent.logInfo(this.parent.log,
-						"Sending [" + sendValuesMap.size() + " values]: " + sendValuesMap);
+						"Sending [" + pendingValues.values.size() + " values]: " + pendingValues.values);
 			}
 
 			// Try to send
-			var wasSent = this.parent.parent.websocket.sendMessage(message);
+			final boolean wasSent;
+			final var binaryEncoder = this.parent.binaryEncoder;
+			if (binaryEncoder != null) {
+				// Send binary frame
+				var frame = binaryEncoder.encode(timestampMillis, pendingValues.values);
+				wasSent = this.parent.parent.websocket.sendBinaryMessage(frame);
+				if (!wasSent) {
+					// Session state of the encoder is lost; fall back to JSON till the binary
+					// format is negotiated again
+					this.parent.binaryEncoder = null;
+				}
+
+			} else {
+				// Create JSON-RPC notification
+				var message = new TimestampedDataNotification();
+				message.add(timestampMillis, pendingValues.values);
+				wasSent = this.parent.parent.websocket.sendMessage(message);
+			}
 
 			// Set the UNABLE_TO_SEND channel
 			this.parent.parent.getUnableToSendChannel().setNextValue(!wasSent);
 
 			if (wasSent) {
 				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
+				if (pendingValues.areComplete) {
+					// all values were sent
 					this.parent.lastSendValuesOfAllChannels = this.timestamp;
 				}
+			} else {
+				// Keep values for next run
+				this.parent.restorePendingValues(pendingValues);
 			}
-
 		}
 
 	}
 
-}
\ No newline at end of file
+}
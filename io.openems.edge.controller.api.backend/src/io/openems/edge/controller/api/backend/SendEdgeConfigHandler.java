@@ -0,0 +1,171 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.request.EdgeConfigDeltaRequest;
+import io.openems.common.jsonrpc.response.EdgeConfigDeltaResponse;
+import io.openems.common.types.EdgeConfig;
+import io.openems.common.types.EdgeConfigDelta;
+
+/**
+ * Sends the {@link EdgeConfig} to the Backend.
+ *
+ * <p>
+ * After connecting, the complete {@link EdgeConfig} is sent once as
+ * {@link EdgeConfigDeltaRequest}. Afterwards only the changes against the
+ * version acknowledged by the Backend are sent. Factories are sent by hash;
+ * their definitions only if the Backend asks for them.
+ *
+ * <p>
+ * If the Backend does not acknowledge a change, the complete
+ * {@link EdgeConfig} is sent again once; if that fails as well, the next change
+ * is sent as complete {@link EdgeConfig}. Older Backends that do not support
+ * {@link EdgeConfigDeltaRequest} receive {@link EdgeConfigNotification}s for
+ * the rest of the websocket session.
+ */
+public class SendEdgeConfigHandler {
+
+	private final Logger log = LoggerFactory.getLogger(SendEdgeConfigHandler.class);
+	private final BackendApiImpl parent;
+
+	// All fields are guarded by 'this'
+	private boolean isSupported = true;
+	private int lastVersion = 0;
+	private int firstVersionOfSession = 1;
+	private EdgeConfig lastConfig = null;
+	private Integer ackedVersion = null;
+	private EdgeConfig ackedConfig = null;
+	private boolean isResend = false;
+
+	public SendEdgeConfigHandler(BackendApiImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Sends the complete {@link EdgeConfig} on a new websocket session.
+	 *
+	 * @param config the {@link EdgeConfig}
+	 */
+	public synchronized void onOpen(EdgeConfig config) {
+		this.isSupported = true;
+		this.firstVersionOfSession = this.lastVersion + 1;
+		this.ackedVersion = null;
+		this.ackedConfig = null;
+		this.isResend = false;
+		this.send(config);
+	}
+
+	/**
+	 * Sends the changes of the {@link EdgeConfig}.
+	 *
+	 * @param config the new {@link EdgeConfig}
+	 */
+	public synchronized void onConfigUpdate(EdgeConfig config) {
+		this.isResend = false;
+		this.send(config);
+	}
+
+	private void send(EdgeConfig config) {
+		this.lastConfig = config;
+		if (!this.isSupported) {
+			this.sendNotification(config);
+			return;
+		}
+		var version = ++this.lastVersion;
+		final EdgeConfigDelta delta;
+		if (this.ackedVersion == null) {
+			delta = EdgeConfigDelta.full(version, config);
+		} else {
+			delta = EdgeConfigDelta.diff(this.ackedVersion, this.ackedConfig, version, config);
+		}
+		this.sendDelta(delta, config, true);
+	}
+
+	private void sendDelta(EdgeConfigDelta delta, EdgeConfig config, boolean retryMissingFactories) {
+		var ws = this.parent.websocket;
+		if (ws == null) {
+			return;
+		}
+		try {
+			ws.sendRequest(new EdgeConfigDeltaRequest(delta)).whenComplete((r, ex) -> {
+				synchronized (this) {
+					if (delta.getVersion() < this.firstVersionOfSession) {
+						// Response of a previous websocket session
+						return;
+					}
+					if (ex != null) {
+						this.onError(delta, ex);
+						return;
+					}
+					try {
+						var response = EdgeConfigDeltaResponse.from(r);
+						if (!response.getMissingFactories().isEmpty()) {
+							if (retryMissingFactories) {
+								this.sendDelta(delta.withFactoryDefinitions(config, response.getMissingFactories()),
+										config, false);
+							} else {
+								this.onError(delta, new OpenemsException("Factories are still missing"));
+							}
+							return;
+						}
+						if (this.ackedVersion == null || delta.getVersion() > this.ackedVersion) {
+							this.ackedVersion = delta.getVersion();
+							this.ackedConfig = config;
+						}
+						this.isResend = false;
+					} catch (OpenemsNamedException e) {
+						this.onError(delta, e);
+					}
+				}
+			});
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Unable to send EdgeConfig: " + e.getMessage());
+		}
+	}
+
+	private void onError(EdgeConfigDelta delta, Throwable ex) {
+		if (ex instanceof CompletionException && ex.getCause() != null) {
+			ex = ex.getCause();
+		}
+		if (ex instanceof OpenemsNamedException
+				&& ((OpenemsNamedException) ex).getError() == OpenemsError.JSONRPC_UNHANDLED_METHOD) {
+			// Backend does not support EdgeConfigDeltaRequest
+			this.parent.logInfo(this.log, "Backend does not support EdgeConfig changes: " + ex.getMessage());
+			this.isSupported = false;
+			this.sendNotification(this.lastConfig);
+			return;
+		}
+		if (delta.getVersion() != this.lastVersion) {
+			// A newer version is on its way
+			return;
+		}
+		this.ackedVersion = null;
+		this.ackedConfig = null;
+		if (this.isResend) {
+			this.parent.logWarn(this.log, "EdgeConfig was not acknowledged: " + ex.getMessage()
+					+ ". Sending complete EdgeConfig with the next change");
+			this.isResend = false;
+			return;
+		}
+		this.parent.logWarn(this.log, "EdgeConfig was not acknowledged: " + ex.getMessage()
+				+ ". Sending complete EdgeConfig");
+		this.isResend = true;
+		this.send(this.lastConfig);
+	}
+
+	private void sendNotification(EdgeConfig config) {
+		var ws = this.parent.websocket;
+		if (ws == null) {
+			return;
+		}
+		ws.sendMessage(new EdgeConfigNotification(config));
+	}
+
+}
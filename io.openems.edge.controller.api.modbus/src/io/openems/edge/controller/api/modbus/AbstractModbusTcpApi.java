@@ -1,12 +1,21 @@
 package io.openems.edge.controller.api.modbus;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +33,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.common.modbusslave.ModbusRecord;
@@ -44,11 +54,12 @@ import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolRequest;
 import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolResponse;
 
 public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
-		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	public static final int UNIT_ID = 1;
 	public static final int DEFAULT_PORT = 502;
 	public static final int DEFAULT_MAX_CONCURRENT_CONNECTIONS = 5;
+	public static final int WRITE_QUEUE_CAPACITY = 1000;
 
 	protected final ApiWorker apiWorker = new ApiWorker(this);
 
@@ -67,6 +78,38 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 	 */
 	private final TreeMap<Integer, String> components = new TreeMap<>();
 
+	/**
+	 * Holds the {@link RegisterImage.Layout} of the current {@link #records};
+	 * guarded by 'this'.
+	 */
+	private RegisterImage.Layout layout = RegisterImage.EMPTY.getLayout();
+
+	/**
+	 * Holds the IDs of disabled Components with records in the process image;
+	 * guarded by 'this'.
+	 */
+	private Set<String> disabledComponentIds = new HashSet<>();
+
+	/**
+	 * Holds the records whose value could not be read in the last Cycle; guarded
+	 * by 'this'.
+	 */
+	private Set<ModbusRecord> faultyRecords = new HashSet<>();
+
+	/**
+	 * Holds the values that are served to Modbus requests. Rebuilt once per Cycle.
+	 */
+	private volatile RegisterImage registerImage = RegisterImage.EMPTY;
+
+	/**
+	 * Holds writes from Modbus requests. Applied in the next Cycle.
+	 */
+	private final BlockingQueue<Runnable> writeQueue = new LinkedBlockingQueue<>(WRITE_QUEUE_CAPACITY);
+
+	private final LongAdder requestCount = new LongAdder();
+	private final LongAdder requestNanos = new LongAdder();
+	private long lastRequestMetricsNanos = System.nanoTime();
+
 	private ConfigRecord config;
 
 	protected synchronized void addComponent(OpenemsComponent component) {
@@ -140,6 +183,8 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 
 		// Initialize Modbus Records
 		this.initializeModbusRecords(this.config.metaComponent, this.config.componentIds);
+		this.layout = new RegisterImage.Layout(this.records);
+		this.updateRegisterImage();
 	}
 
 	@Override
@@ -337,10 +382,113 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 			return;
 		}
 
+		// Apply writes from Modbus requests
+		Runnable write;
+		while ((write = this.writeQueue.poll()) != null) {
+			write.run();
+		}
+
 		this.updateCycleValues();
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.updateRegisterImage();
+			this.updateRequestMetrics();
+			break;
+		}
+	}
+
+	/**
+	 * Rebuilds the {@link RegisterImage} from the current values of the
+	 * {@link ModbusRecord}s.
+	 */
+	private synchronized void updateRegisterImage() {
+		var components = new HashMap<String, OpenemsComponent>();
+		var disabledComponentIds = new HashSet<String>();
+		var faultyRecords = new HashSet<ModbusRecord>();
+		this.registerImage = this.layout.update(record -> {
+			var componentId = record.getComponentId();
+			if (components.containsKey(componentId)) {
+				return components.get(componentId);
+			}
+			OpenemsComponent component = this.getPossiblyDisabledComponent(componentId);
+			if (component != null && !component.isEnabled()) {
+				disabledComponentIds.add(component.id());
+				component = null;
+			}
+			components.put(componentId, component);
+			return component;
+		}, (record, e) -> {
+			faultyRecords.add(record);
+			if (!this.faultyRecords.contains(record)) {
+				this.logWarn(this.log, "Unable to read Modbus record [" + record.getComponentId() + "/"
+						+ record.getName() + "]: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		});
+		for (var id : disabledComponentIds) {
+			if (!this.disabledComponentIds.contains(id)) {
+				this.logWarn(this.log, "Trying to access disabled Component [" + id + "]");
+			}
+		}
+		this.disabledComponentIds = disabledComponentIds;
+		this.faultyRecords = faultyRecords;
+		this._setRecordValueFault(!faultyRecords.isEmpty());
+	}
+
+	/**
+	 * Sets the {@link ModbusTcpApi.ChannelId#REQUEST_RATE} and
+	 * {@link ModbusTcpApi.ChannelId#REQUEST_LATENCY} Channels from the requests
+	 * since the last Cycle.
+	 */
+	private void updateRequestMetrics() {
+		var now = System.nanoTime();
+		var elapsed = now - this.lastRequestMetricsNanos;
+		this.lastRequestMetricsNanos = now;
+		var requests = this.requestCount.sumThenReset();
+		var nanos = this.requestNanos.sumThenReset();
+		if (elapsed > 0) {
+			this._setRequestRate((int) Math.round(requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed));
+		}
+		this._setRequestLatency(requests > 0 ? (int) TimeUnit.NANOSECONDS.toMicros(nanos / requests) : null);
+	}
+
+	/**
+	 * Gets the current {@link RegisterImage}.
+	 *
+	 * @return the {@link RegisterImage}
+	 */
+	protected RegisterImage getRegisterImage() {
+		return this.registerImage;
+	}
+
+	/**
+	 * Queues a write from a Modbus request. It is applied in the next Cycle.
+	 *
+	 * @param write the write operation
+	 * @return false if the write was not queued, because the queue is full
+	 */
+	protected boolean queueWrite(Runnable write) {
+		return this.writeQueue.offer(write);
+	}
+
+	/**
+	 * Counts a Modbus request for the {@link ModbusTcpApi.ChannelId#REQUEST_RATE}
+	 * and {@link ModbusTcpApi.ChannelId#REQUEST_LATENCY} Channels.
+	 *
+	 * @param nanos the time to answer the request in [ns]
+	 */
+	protected void countRequest(long nanos) {
+		this.requestCount.increment();
+		this.requestNanos.add(nanos);
+	}
+
 	@SuppressWarnings("unchecked")
 	/**
 	 * Once every cycle: update the values for each registered
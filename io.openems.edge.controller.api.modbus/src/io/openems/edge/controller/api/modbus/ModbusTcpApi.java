@@ -2,7 +2,10 @@ package io.openems.edge.controller.api.modbus;
 
 import io.openems.common.channel.Debounce;
 import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -19,7 +22,15 @@ public interface ModbusTcpApi extends OpenemsComponent {
 				.text("A configured Component is not available")), //
 		PROCESS_IMAGE_FAULT(Doc.of(Level.FAULT) //
 				.debounce(50, Debounce.FALSE_VALUES_IN_A_ROW_TO_SET_FALSE) //
-				.text("Invalid Modbus Function call. Only FC3, FC4, FC6 and FC16 are supported"));
+				.text("Invalid Modbus Function call. Only FC3, FC4, FC6 and FC16 are supported")), //
+		RECORD_VALUE_FAULT(Doc.of(Level.FAULT) //
+				.text("Unable to read the value of a Modbus record")), //
+		REQUEST_RATE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.NONE) //
+				.text("Number of Modbus requests per second")), //
+		REQUEST_LATENCY(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MICROSECONDS) //
+				.text("Average time to answer a Modbus request"));
 
 		private final Doc doc;
 
@@ -147,4 +158,90 @@ public interface ModbusTcpApi extends OpenemsComponent {
 	public default void _setComponentMissingFault(boolean value) {
 		this.getComponentMissingFaultChannel().setNextValue(value);
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#RECORD_VALUE_FAULT}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getRecordValueFaultChannel() {
+		return this.channel(ChannelId.RECORD_VALUE_FAULT);
+	}
+
+	/**
+	 * Gets the Record Value Fault State. See {@link ChannelId#RECORD_VALUE_FAULT}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getRecordValueFault() {
+		return this.getRecordValueFaultChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#RECORD_VALUE_FAULT} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRecordValueFault(boolean value) {
+		this.getRecordValueFaultChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#REQUEST_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getRequestRateChannel() {
+		return this.channel(ChannelId.REQUEST_RATE);
+	}
+
+	/**
+	 * Gets the Number of Modbus requests per second. See
+	 * {@link ChannelId#REQUEST_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getRequestRate() {
+		return this.getRequestRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#REQUEST_RATE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRequestRate(Integer value) {
+		this.getRequestRateChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#REQUEST_LATENCY}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getRequestLatencyChannel() {
+		return this.channel(ChannelId.REQUEST_LATENCY);
+	}
+
+	/**
+	 * Gets the average time to answer a Modbus request in [us]. See
+	 * {@link ChannelId#REQUEST_LATENCY}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getRequestLatency() {
+		return this.getRequestLatencyChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#REQUEST_LATENCY} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setRequestLatency(Integer value) {
+		this.getRequestLatencyChannel().setNextValue(value);
+	}
 }
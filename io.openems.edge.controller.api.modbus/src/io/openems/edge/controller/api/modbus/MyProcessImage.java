@@ -14,7 +14,6 @@ import com.ghgande.j2mod.modbus.procimg.SimpleDigitalIn;
 import com.ghgande.j2mod.modbus.procimg.SimpleDigitalOut;
 import com.ghgande.j2mod.modbus.procimg.SimpleInputRegister;
 
-import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.modbusslave.ModbusRecord;
 import io.openems.edge.common.modbusslave.ModbusRecordUint16Reserved;
 
@@ -32,7 +31,7 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
 		try {
 			this.parent.logDebug(this.log, "Reading Input Registers. Address [" + offset + "] Count [" + count + "].");
 			var registers = this.getRegisterRange(offset, count);
@@ -51,8 +50,9 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
 		this.parent.logDebug(this.log, "Reading Registers. Address [" + offset + "] Count [" + count + "].");
+		final var start = System.nanoTime();
 
 		try {
 			/*
@@ -65,30 +65,23 @@ public class MyProcessImage implements ProcessImage {
 				throw new MyIllegalAddressException(this, "Invalid length: " + length + "; max. 126 registers allowed");
 			}
 
-			var records = this.parent.records.subMap(offset, offset + count);
+			// Copy the values from the current image; no locking required
+			var image = this.parent.getRegisterImage();
+			var values = image.getRange(offset, count);
 			var result = new Register[count];
 			for (var i = 0; i < count;) {
-				// Get record for modbus address
 				var ref = i + offset;
-				var record = records.get(ref);
+				var record = image.getRecord(ref);
 				if (record == null) {
 					record = new ModbusRecordUint16Reserved(ref);
 				}
-
-				// Get Registers from Record
-				var registers = this.getRecordValueRegisters(record);
-
-				// make sure this Record fits
-				if (result.length < i + registers.length) {
-					throw new MyIllegalAddressException(this,
-							"Record for Modbus address [" + ref + "] does not fit in Result.");
-				}
-				for (var j = 0; j < registers.length; j++) {
-					result[i + j] = registers[j];
+				var words = record.getType().getWords();
+				for (var j = 0; j < words; j++) {
+					result[i + j] = this.toRegister(record, j, values[i + j]);
 				}
 
 				// increase i by word length
-				i += registers.length;
+				i += words;
 			}
 			this.parent._setProcessImageFault(false);
 			return result;
@@ -96,69 +89,73 @@ public class MyProcessImage implements ProcessImage {
 		} catch (Exception e) {
 			this.parent._setProcessImageFault(true);
 			throw new MyIllegalAddressException(this, e.getMessage());
+
+		} finally {
+			this.parent.countRequest(System.nanoTime() - start);
 		}
 	}
 
 	@Override
-	public synchronized Register getRegister(int ref) throws MyIllegalAddressException {
+	public Register getRegister(int ref) throws MyIllegalAddressException {
 		this.parent.logDebug(this.log, "Get Register. Address [" + ref + "].");
+		final var start = System.nanoTime();
 
 		try {
-			var record = this.parent.records.get(ref);
+			var image = this.parent.getRegisterImage();
+			var record = image.getRecord(ref);
 
 			// make sure the ModbusRecord is available
 			if (record == null) {
 				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is not available.");
 			}
 
-			// Get Registers from Record
-			var registers = this.getRecordValueRegisters(record);
-
 			// make sure this Record requires only one Register/Word
-			if (registers.length > 1) {
+			if (record.getType().getWords() > 1) {
 				throw new MyIllegalAddressException(this,
 						"Record for Modbus address [" + ref + "] requires more than one Register.");
 			}
 
 			this.parent._setProcessImageFault(false);
-			return registers[0];
+			return this.toRegister(record, 0, image.getRange(ref, 1)[0]);
 
 		} catch (Exception e) {
 			this.parent._setProcessImageFault(true);
 			throw new MyIllegalAddressException(this, e.getMessage());
+
+		} finally {
+			this.parent.countRequest(System.nanoTime() - start);
 		}
 	}
 
 	/**
-	 * Get value as byte-array and convert it to InputRegisters.
+	 * Converts a value of the {@link RegisterImage} to a Register.
+	 *
+	 * <p>
+	 * Writes to the Register are not applied directly, but queued and forwarded
+	 * to the record in the next Cycle. If the queue is full, the write fails with
+	 * a {@link MyIllegalAddressException}, which is answered with a Modbus
+	 * exception response.
 	 *
 	 * @param record the record
+	 * @param index  the index of the word within the record
+	 * @param value  the value
 	 * @return the Register
 	 */
-	private Register[] getRecordValueRegisters(ModbusRecord record) {
-		var result = new MyRegister[record.getType().getWords()];
-		final OpenemsComponent component;
-		{
-			var cmp = this.parent.getPossiblyDisabledComponent(record.getComponentId());
-			if (cmp != null && !cmp.isEnabled()) {
-				this.parent.logWarn(this.log, "Trying to access disabled Component [" + cmp.id() + "] for " + record);
-				component = null;
-			} else {
-				component = cmp;
-			}
-		}
-
-		var value = record.getValue(component);
-		for (var j = 0; j < value.length / 2; j++) {
-			result[j] = new MyRegister(j, value[j * 2], value[j * 2 + 1], //
-					/*
-					 * On Set-Value event:
-					 */
-					register -> {
-						record.writeValue(register.getIndex(), register.getByte1(), register.getByte2());
-					});
-		}
-		return result;
+	private Register toRegister(ModbusRecord record, int index, short value) {
+		return new MyRegister(index, (byte) (value >> 8), (byte) value, //
+				/*
+				 * On Set-Value event:
+				 */
+				register -> {
+					final var byte1 = register.getByte1();
+					final var byte2 = register.getByte2();
+					if (!this.parent.queueWrite(() -> record.writeValue(index, byte1, byte2))) {
+						// Answered with a Modbus exception response
+						throw new MyIllegalAddressException(this, "Unable to write Modbus record ["
+								+ record.getComponentId() + "/" + record.getName() + "]. Write queue is full ["
+								+ AbstractModbusTcpApi.WRITE_QUEUE_CAPACITY + "]");
+					}
+				});
 	}
 
 	/**********************************************
@@ -167,21 +164,21 @@ public class MyProcessImage implements ProcessImage {
 	 */
 
 	@Override
-	public synchronized InputRegister getInputRegister(int ref) {
+	public InputRegister getInputRegister(int ref) {
 		this.parent.logWarn(this.log, "getInputRegister is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleInputRegister(0);
 	}
 
 	@Override
-	public synchronized int getInputRegisterCount() {
+	public int getInputRegisterCount() {
 		this.parent.logWarn(this.log, "getInputRegisterCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized DigitalOut[] getDigitalOutRange(int offset, int count) {
+	public DigitalOut[] getDigitalOutRange(int offset, int count) {
 		this.parent.logWarn(this.log, "getDigitalOutRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		var result = new DigitalOut[count];
@@ -192,21 +189,21 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized DigitalOut getDigitalOut(int ref) {
+	public DigitalOut getDigitalOut(int ref) {
 		this.parent.logWarn(this.log, "getDigitalOut is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleDigitalOut(false);
 	}
 
 	@Override
-	public synchronized int getDigitalOutCount() {
+	public int getDigitalOutCount() {
 		this.parent.logWarn(this.log, "getDigitalOutCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized DigitalIn[] getDigitalInRange(int offset, int count) {
+	public DigitalIn[] getDigitalInRange(int offset, int count) {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		var result = new DigitalIn[count];
@@ -217,62 +214,62 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized DigitalIn getDigitalIn(int ref) {
+	public DigitalIn getDigitalIn(int ref) {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleDigitalIn(false);
 	}
 
 	@Override
-	public synchronized int getDigitalInCount() {
+	public int getDigitalInCount() {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized int getRegisterCount() {
+	public int getRegisterCount() {
 		this.parent.logWarn(this.log, "getRegisterCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized File getFile(int ref) {
+	public File getFile(int ref) {
 		this.parent.logWarn(this.log, "getFile is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized File getFileByNumber(int ref) {
+	public File getFileByNumber(int ref) {
 		this.parent.logWarn(this.log, "getFileByNumber is not implemented");
 		return null;
 	}
 
 	@Override
-	public synchronized int getFileCount() {
+	public int getFileCount() {
 		this.parent.logWarn(this.log, "getFileByNumber is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized FIFO getFIFO(int ref) {
+	public FIFO getFIFO(int ref) {
 		this.parent.logWarn(this.log, "getFIFO is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized FIFO getFIFOByAddress(int ref) {
+	public FIFO getFIFOByAddress(int ref) {
 		this.parent.logWarn(this.log, "getFIFOByAddress is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized int getFIFOCount() {
+	public int getFIFOCount() {
 		this.parent.logWarn(this.log, "getFIFOCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
@@ -0,0 +1,185 @@
+package io.openems.edge.controller.api.modbus;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordFloat32;
+import io.openems.edge.common.modbusslave.ModbusRecordFloat64;
+import io.openems.edge.common.modbusslave.ModbusRecordString16;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16;
+import io.openems.edge.common.modbusslave.ModbusRecordUint32;
+import io.openems.edge.common.modbusslave.ModbusType;
+
+/**
+ * Holds the values of all Modbus registers of a {@link AbstractModbusTcpApi}.
+ *
+ * <p>
+ * An image is immutable. It is rebuilt once per Cycle and published by
+ * replacing the reference, so Modbus requests read a consistent set of values
+ * without any locking.
+ */
+public class RegisterImage {
+
+	/**
+	 * Value of registers that are not the start of a {@link ModbusRecord}; same
+	 * as {@link io.openems.edge.common.modbusslave.ModbusRecordUint16Reserved}.
+	 */
+	public static final short RESERVED = (short) 0xFFFF;
+
+	/**
+	 * The {@link ModbusRecord}s by their start address. Only changes if the
+	 * {@link ModbusRecord}s of the {@link AbstractModbusTcpApi} change.
+	 */
+	public static class Layout {
+
+		private final ModbusRecord[] records;
+
+		public Layout(SortedMap<Integer, ModbusRecord> records) {
+			var length = 0;
+			if (!records.isEmpty()) {
+				var last = records.lastKey();
+				length = last + records.get(last).getType().getWords();
+			}
+			this.records = new ModbusRecord[length];
+			for (var entry : records.entrySet()) {
+				if (entry.getKey() >= 0) {
+					this.records[entry.getKey()] = entry.getValue();
+				}
+			}
+		}
+
+		/**
+		 * Builds a {@link RegisterImage} with the current values.
+		 *
+		 * <p>
+		 * If the value of a {@link ModbusRecord} cannot be read, the record holds
+		 * the undefined value of its {@link ModbusType} and 'onError' is called; all
+		 * other records are updated as usual.
+		 *
+		 * @param getComponent gets the Component of a {@link ModbusRecord}; null if
+		 *                     it is not available or disabled
+		 * @param onError      called for every {@link ModbusRecord} whose value
+		 *                     cannot be read
+		 * @return the {@link RegisterImage}
+		 */
+		public RegisterImage update(Function<ModbusRecord, OpenemsComponent> getComponent,
+				BiConsumer<ModbusRecord, RuntimeException> onError) {
+			var values = new short[this.records.length];
+			for (var address = 0; address < this.records.length; address++) {
+				var record = this.records[address];
+				if (record == null) {
+					continue;
+				}
+				byte[] value;
+				try {
+					value = record.getValue(getComponent.apply(record));
+				} catch (RuntimeException e) {
+					value = getUndefinedValue(record.getType());
+					onError.accept(record, e);
+				}
+				for (var word = 0; word < value.length / 2 && address + word < values.length; word++) {
+					values[address + word] = (short) ((value[word * 2] & 0xff) << 8 | value[word * 2 + 1] & 0xff);
+				}
+			}
+			return new RegisterImage(this, values);
+		}
+	}
+
+	public static final RegisterImage EMPTY = new Layout(new TreeMap<>()).update(record -> null, (record, e) -> {
+	});
+
+	private final Layout layout;
+	private final short[] values;
+
+	private RegisterImage(Layout layout, short[] values) {
+		this.layout = layout;
+		this.values = values;
+	}
+
+	/**
+	 * Gets the {@link Layout} of this image.
+	 *
+	 * @return the {@link Layout}
+	 */
+	public Layout getLayout() {
+		return this.layout;
+	}
+
+	/**
+	 * Gets the {@link ModbusRecord} that starts at the given address.
+	 *
+	 * @param address the Modbus address
+	 * @return the {@link ModbusRecord}; or null
+	 */
+	public ModbusRecord getRecord(int address) {
+		if (address < 0 || address >= this.layout.records.length) {
+			return null;
+		}
+		return this.layout.records[address];
+	}
+
+	/**
+	 * Copies a range of registers.
+	 *
+	 * <p>
+	 * Registers that are not the start of a {@link ModbusRecord} - i.e. gaps or
+	 * the inner words of a {@link ModbusRecord} that starts before 'offset' - are
+	 * {@link #RESERVED}.
+	 *
+	 * @param offset the start address
+	 * @param count  the number of registers
+	 * @return the values
+	 * @throws IllegalArgumentException if a {@link ModbusRecord} does not fit in
+	 *                                  the range
+	 */
+	public short[] getRange(int offset, int count) throws IllegalArgumentException {
+		var result = new short[count];
+		for (var i = 0; i < count;) {
+			var address = offset + i;
+			var record = this.getRecord(address);
+			if (record == null) {
+				result[i] = RESERVED;
+				i++;
+				continue;
+			}
+			var words = record.getType().getWords();
+			if (i + words > count) {
+				throw new IllegalArgumentException(
+						"Record for Modbus address [" + address + "] does not fit in Result.");
+			}
+			System.arraycopy(this.values, address, result, i, words);
+			i += words;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the value that is served for a {@link ModbusRecord} whose value is not
+	 * available; same as for a WRITE_ONLY
+	 * {@link io.openems.edge.common.modbusslave.ModbusRecordChannel}.
+	 *
+	 * @param type the {@link ModbusType}
+	 * @return the undefined value
+	 */
+	private static byte[] getUndefinedValue(ModbusType type) {
+		switch (type) {
+		case FLOAT32:
+			return ModbusRecordFloat32.UNDEFINED_VALUE;
+		case FLOAT64:
+			return ModbusRecordFloat64.UNDEFINED_VALUE;
+		case STRING16:
+			return ModbusRecordString16.UNDEFINED_VALUE;
+		case ENUM16:
+		case UINT16:
+			return ModbusRecordUint16.UNDEFINED_VALUE;
+		case UINT32:
+			return ModbusRecordUint32.UNDEFINED_VALUE;
+		}
+		throw new IllegalArgumentException("Unhandled ModbusType [" + type + "]");
+	}
+
+}
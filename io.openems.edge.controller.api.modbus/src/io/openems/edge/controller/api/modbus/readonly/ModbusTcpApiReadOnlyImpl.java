@@ -10,6 +10,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 
 import com.ghgande.j2mod.modbus.ModbusException;
@@ -17,6 +19,7 @@ import com.ghgande.j2mod.modbus.ModbusException;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.controller.api.Controller;
@@ -28,8 +31,11 @@ import io.openems.edge.controller.api.modbus.ModbusTcpApi;
 		name = "Controller.Api.ModbusTcp.ReadOnly", //
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE)
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
 public class ModbusTcpApiReadOnlyImpl extends AbstractModbusTcpApi
-		implements ModbusTcpApiReadOnly, ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApiReadOnly, ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	@Reference(policy = ReferencePolicy.STATIC, policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.MANDATORY)
 	protected Meta metaComponent = null;
@@ -0,0 +1,78 @@
+package io.openems.edge.controller.api.modbus;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16;
+import io.openems.edge.common.modbusslave.ModbusRecordUint32;
+
+public class RegisterImageTest {
+
+	private static final short R = RegisterImage.RESERVED;
+
+	private static RegisterImage image() {
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16(0, "a", (short) 1));
+		records.put(1, new ModbusRecordUint32(1, "b", 0x00020003));
+		records.put(5, new ModbusRecordUint16(5, "c", (short) -2));
+		return new RegisterImage.Layout(records).update(record -> null, (record, e) -> {
+			throw e;
+		});
+	}
+
+	@Test
+	public void testGetRange() {
+		var image = image();
+		assertArrayEquals(new short[] { 1, 2, 3, R, R, -2 }, image.getRange(0, 6));
+
+		// Inner word of a record and addresses after the last record are reserved
+		assertArrayEquals(new short[] { R, R, R, -2, R, R }, image.getRange(2, 6));
+		assertArrayEquals(new short[] { R, R }, image.getRange(100, 2));
+		assertArrayEquals(new short[0], image.getRange(0, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRecordDoesNotFit() {
+		image().getRange(0, 2);
+	}
+
+	@Test
+	public void testGetRecord() {
+		var image = image();
+		assertEquals("b", image.getRecord(1).getName());
+		assertNull(image.getRecord(2));
+		assertNull(image.getRecord(-1));
+		assertNull(image.getRecord(6));
+		assertNull(RegisterImage.EMPTY.getRecord(0));
+	}
+
+	@Test
+	public void testRecordValueFault() {
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16(0, "a", (short) 1));
+		records.put(1, new ModbusRecordUint32(1, "b", 0x00020003) {
+			@Override
+			public byte[] getValue(OpenemsComponent component) {
+				throw new IllegalStateException("b");
+			}
+		});
+		records.put(3, new ModbusRecordUint16(3, "c", (short) 4));
+		var errors = new ArrayList<String>();
+		var image = new RegisterImage.Layout(records).update(record -> null,
+				(record, e) -> errors.add(record.getName() + ":" + e.getMessage()));
+
+		// Faulty record is undefined; all other records are still updated
+		assertArrayEquals(new short[] { 1, -1, -1, 4 }, image.getRange(0, 4));
+		assertEquals(1, errors.size());
+		assertEquals("b:b", errors.get(0));
+	}
+
+}
@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +31,7 @@ import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
 import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
@@ -41,11 +43,14 @@ import io.openems.common.jsonrpc.request.DeleteComponentConfigRequest;
 import io.openems.common.jsonrpc.request.GetEdgeConfigRequest;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesDataRequest;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesEnergyRequest;
+import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesExportXlxsRequest;
 import io.openems.common.jsonrpc.request.SetChannelValueRequest;
 import io.openems.common.jsonrpc.request.UpdateComponentConfigRequest;
+import io.openems.common.jsonrpc.response.HistoricTimeseriesExportWriter.Format;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesDataResponse;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesEnergyResponse;
 import io.openems.common.session.Role;
+import io.openems.common.timedata.CommonTimedataService;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.JsonUtils;
 import io.openems.common.utils.StringUtils;
@@ -167,6 +172,9 @@ public class RestHandler extends AbstractHandler {
 		case "channel":
 			return this.handleChannel(user, remainingTargets, baseRequest, request, response);
 
+		case "export":
+			return this.handleExport(user, remainingTargets, baseRequest, request, response);
+
 		default:
 			throw new OpenemsException("Unhandled REST target [" + thisTarget + "]");
 		}
@@ -263,6 +271,64 @@ public class RestHandler extends AbstractHandler {
 		return this.sendOkResponse(baseRequest, response, result);
 	}
 
+	/**
+	 * Handles HTTP GET request to download historic data as file, e.g.
+	 * 'rest/export/csv?fromDate=2023-01-01&amp;toDate=2023-12-31&amp;timezone=-3600'.
+	 *
+	 * <p>
+	 * The file is written directly to the response with chunked transfer
+	 * encoding; see {@link CommonTimedataService#exportHistoricTimeseries}. If
+	 * the export fails after parts of the file were sent, the connection is
+	 * aborted, so the client does not take the truncated file as complete.
+	 *
+	 * @param user        the {@link User}
+	 * @param targets     the remaining targets, i.e. the file format
+	 * @param baseRequest the HTTP GET base-request
+	 * @param request     the HTTP GET request
+	 * @param response    the result to be returned
+	 * @return true if the file was sent
+	 * @throws IOException           on error while writing
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleExport(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws IOException, OpenemsNamedException {
+		if (targets.size() != 1) {
+			throw new OpenemsException("Missing arguments to handle Export");
+		}
+		if (!request.getMethod().equals("GET")) {
+			throw new OpenemsException("Unhandled REST Export request method [" + request.getMethod() + "]");
+		}
+		user.assertRoleIsAtLeast("HTTP GET Export", Role.GUEST);
+
+		var format = Format.fromFileExtension(targets.get(0));
+		var exportRequest = QueryHistoricTimeseriesExportXlxsRequest.from(new GenericJsonrpcRequest(
+				QueryHistoricTimeseriesExportXlxsRequest.METHOD, JsonUtils.buildJsonObject() //
+						.addProperty("fromDate", request.getParameter("fromDate")) //
+						.addProperty("toDate", request.getParameter("toDate")) //
+						.addProperty("timezone", Optional.ofNullable(request.getParameter("timezone")).orElse("0")) //
+						.build()));
+		var timedata = this.parent.getTimedata();
+
+		response.setContentType(format.getContentType());
+		response.setHeader("Content-Disposition",
+				"attachment; filename=\"export." + format.getFileExtension() + "\"");
+		response.setStatus(HttpServletResponse.SC_OK);
+		baseRequest.setHandled(true);
+		try {
+			timedata.exportHistoricTimeseries(null /* ignore Edge-ID */, exportRequest.getFromDate(),
+					exportRequest.getToDate(), format, user.getLanguage(), response.getOutputStream());
+		} catch (OpenemsNamedException | IOException | RuntimeException e) {
+			if (!response.isCommitted()) {
+				// Nothing was sent yet: discard headers and buffered content
+				response.reset();
+				throw e;
+			}
+			this.parent.logWarn(this.log, "Aborting Export: " + e.getMessage());
+			baseRequest.getHttpChannel().abort(e);
+		}
+		return true;
+	}
+
 	/**
 	 * Gets a list of Channels that match the {@link ChannelAddress}; regular
 	 * expressions are allowed.
@@ -502,7 +568,7 @@ public class RestHandler extends AbstractHandler {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleQueryHistoricDataRequest(User user,
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
-		var data = this.parent.getTimedata().queryHistoricData(//
+		var data = this.parent.getTimedata().queryHistoricTimeseriesData(//
 				null, /* ignore Edge-ID */
 				request);
 
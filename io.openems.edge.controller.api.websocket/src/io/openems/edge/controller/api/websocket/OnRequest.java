@@ -25,6 +25,7 @@ import io.openems.common.jsonrpc.request.ComponentJsonApiRequest;
 import io.openems.common.jsonrpc.request.CreateComponentConfigRequest;
 import io.openems.common.jsonrpc.request.DeleteComponentConfigRequest;
 import io.openems.common.jsonrpc.request.EdgeRpcRequest;
+import io.openems.common.jsonrpc.request.GetCycleProfileRequest;
 import io.openems.common.jsonrpc.request.GetEdgeConfigRequest;
 import io.openems.common.jsonrpc.request.GetEdgeRequest;
 import io.openems.common.jsonrpc.request.GetEdgesRequest;
@@ -50,6 +51,7 @@ import io.openems.common.session.Language;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.user.User;
 
@@ -177,6 +179,10 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 			resultFuture = this.handleGetEdgeConfigRequest(user, GetEdgeConfigRequest.from(request));
 			break;
 
+		case GetCycleProfileRequest.METHOD:
+			resultFuture = this.handleGetCycleProfileRequest(user, GetCycleProfileRequest.from(request));
+			break;
+
 		case SetChannelValueRequest.METHOD:
 			resultFuture = this.handleSetChannelValueRequest(user, SetChannelValueRequest.from(request));
 			break;
@@ -290,7 +296,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleQueryHistoricDataRequest(User user,
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
-		var data = this.parent.getTimedata().queryHistoricData(//
+		var data = this.parent.getTimedata().queryHistoricTimeseriesData(//
 				null, /* ignore Edge-ID */
 				request);
 
@@ -414,6 +420,22 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 		return this.handleComponentJsonApiRequest(user, request);
 	}
 
+	/**
+	 * Handles a {@link GetCycleProfileRequest}.
+	 *
+	 * @param user                   the {@link User}
+	 * @param getCycleProfileRequest the {@link GetCycleProfileRequest}
+	 * @return the Future JSON-RPC Response
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleGetCycleProfileRequest(User user,
+			GetCycleProfileRequest getCycleProfileRequest) throws OpenemsNamedException {
+		// wrap original request inside ComponentJsonApiRequest
+		var request = new ComponentJsonApiRequest(Cycle.SINGLETON_COMPONENT_ID, getCycleProfileRequest);
+
+		return this.handleComponentJsonApiRequest(user, request);
+	}
+
 	/**
 	 * Handles a {@link SetChannelValueRequest}.
 	 *
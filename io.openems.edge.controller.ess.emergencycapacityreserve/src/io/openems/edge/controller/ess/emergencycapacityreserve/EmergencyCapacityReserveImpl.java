@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -192,10 +191,11 @@ public class EmergencyCapacityReserveImpl extends AbstractOpenemsComponent
 	 */
 	private OptionalInt getLastValidSoc(IntegerReadChannel channel) {
 		// get first defined value
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.findFirst();
+		var pastValues = channel.pastValues();
+		var index = pastValues.indexOfFirstDefined(Long.MIN_VALUE, true);
+		if (index < 0) {
+			return OptionalInt.empty();
+		}
+		return OptionalInt.of(pastValues.get(index));
 	}
 }
@@ -4,7 +4,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoField;
-import java.util.ArrayList;
 import java.util.OptionalDouble;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -25,13 +24,13 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.ComponentManagerProvider;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.filter.RampFilter;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.meter.api.SymmetricMeter;
@@ -371,19 +370,18 @@ public class GridOptimizedChargeImpl extends AbstractOpenemsComponent
 	private OptionalDouble getChannelAverageOfPastSeconds(int consideredSeconds, IntegerReadChannel channel) {
 
 		// Get the past channel values
-		var pastValues = channel.getPastValues()
-				.tailMap(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true)
-				.values();
+		var pastValues = channel.pastValues();
+		var fromTimestamp = PastValues
+				.toEpochMilli(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds));
 
 		// Make sure we have at least one value
-		if (pastValues.isEmpty()) {
-			pastValues = new ArrayList<>();
-			pastValues.add(channel.value());
+		if (pastValues.indexOf(fromTimestamp, true) == pastValues.size()) {
+			var value = channel.value();
+			return value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
 		}
 
-		return pastValues.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
+		var average = pastValues.average(fromTimestamp, true);
+		return Double.isNaN(average) ? OptionalDouble.empty() : OptionalDouble.of(average);
 	}
 
 	/**
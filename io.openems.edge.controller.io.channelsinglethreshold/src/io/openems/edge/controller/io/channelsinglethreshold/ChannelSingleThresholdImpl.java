@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.Set;
 
 import org.osgi.service.component.ComponentContext;
@@ -23,10 +24,10 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.WriteChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.pastvalues.PastValues;
 import io.openems.edge.controller.api.Controller;
 
 @Designate(ocd = Config.class, factory = true)
@@ -148,19 +149,19 @@ public class ChannelSingleThresholdImpl extends AbstractOpenemsComponent
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		var values = inputChannel.getPastValues().tailMap(
-				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
+		var pastValues = inputChannel.pastValues();
+		var fromTimestamp = PastValues.toEpochMilli(
+				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()));
 
-		// make sure we have at least one value
-		if (values.isEmpty()) {
-			values = new ArrayList<>();
-			values.add(inputChannel.value());
+		final OptionalDouble inputValueOpt;
+		if (pastValues.indexOf(fromTimestamp, true) == pastValues.size()) {
+			// make sure we have at least one value
+			var value = inputChannel.value();
+			inputValueOpt = value.isDefined() ? OptionalDouble.of(value.get()) : OptionalDouble.empty();
+		} else {
+			var average = pastValues.average(fromTimestamp, true);
+			inputValueOpt = Double.isNaN(average) ? OptionalDouble.empty() : OptionalDouble.of(average);
 		}
-
-		var inputValueOpt = values.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
 		int inputValue;
 		if (inputValueOpt.isPresent()) {
 			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
@@ -5,7 +5,6 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
@@ -69,6 +68,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	private final List<ComponentManagerWorker> workers = new ArrayList<>();
 	private final EdgeConfigWorker edgeConfigWorker;
+	private final ComponentRegistry registry = new ComponentRegistry();
 
 	protected BundleContext bundleContext;
 
@@ -102,6 +102,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	private void activate(ComponentContext componentContext, BundleContext bundleContext) throws OpenemsException {
 		super.activate(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
+		if (bundleContext != null) {
+			// Can be null in JUnit tests
+			this.registry.open(bundleContext, this);
+		}
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.activate(this.id());
@@ -130,6 +134,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		this.registry.close();
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.deactivate();
@@ -138,23 +143,23 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
-		return this.getComponentsViaService("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))");
+		return this.registry.getSnapshot().getEnabled();
 	}
 
 	@Override
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
-		return this.getComponentsViaService(clazz, "(enabled=true)");
+		return this.registry.getSnapshot().getEnabledOfType(clazz);
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
-		return this.getComponentsViaService("(!(service.factoryPid=" + ComponentManager.SINGLETON_SERVICE_PID + "))");
+		return this.registry.getSnapshot().getAll();
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId, true);
+		var component = this.registry.getSnapshot().getById(componentId, true);
 		if (component != null) {
 			return (T) component;
 		}
@@ -165,92 +170,13 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
 			throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId);
+		var component = this.registry.getSnapshot().getById(componentId, false);
 		if (component != null) {
 			return (T) component;
 		}
 		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
 	}
 
-	/**
-	 * Gets the components via OSGi service reference.
-	 *
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private List<OpenemsComponent> getComponentsViaService(String filter) {
-		return this.getComponentsViaService(OpenemsComponent.class, filter);
-	}
-
-	/**
-	 * Gets the components via OSGi service reference.
-	 * 
-	 * @param <T>    the class type
-	 * @param clazz  The class under whose name the service was registered. Must not
-	 *               be {@code null}.
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private <T> List<T> getComponentsViaService(Class<T> clazz, String filter) {
-		if (this.bundleContext == null) {
-			// Can be null in JUnit tests
-			return Collections.emptyList();
-		}
-
-		try {
-			var serviceReferences = this.bundleContext.getServiceReferences(clazz, filter);
-
-			var allComponents = new ArrayList<T>(serviceReferences.size());
-			for (var reference : serviceReferences) {
-				var component = this.bundleContext.getService(reference);
-				if (component == null) {
-					continue;
-				}
-				allComponents.add(component);
-				this.bundleContext.ungetService(reference);
-			}
-			return allComponents;
-
-		} catch (InvalidSyntaxException e) {
-			// filter invalid
-			e.printStackTrace();
-			return Collections.emptyList();
-		}
-	}
-
-	/**
-	 * Gets the component via OSGi service reference. Be careful, that the Component
-	 * might not be 'enabled'.
-	 *
-	 * @param <T>         the type of the component
-	 * @param componentId the id of the component
-	 * @return the component or null if not found
-	 */
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId) {
-		return this.getComponentViaService(componentId, false);
-	}
-
-	/**
-	 * Gets the component via OSGi service reference.
-	 *
-	 * @param <T>            the type of the component
-	 * @param componentId    the id of the component
-	 * @param hasToBeEnabled if the component has to be enabled
-	 * @return the component or null if not found
-	 */
-	@SuppressWarnings("unchecked")
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId, boolean hasToBeEnabled) {
-		var filter = "(id=" + componentId + ")";
-		if (hasToBeEnabled) {
-			filter = "(&(enabled=true)" + filter + ")";
-		}
-		var components = this.getComponentsViaService(filter);
-		if (components.isEmpty()) {
-			return null;
-		}
-		return (T) components.get(0);
-	}
-
 	@Override
 	public String debugLog() {
 		final List<String> logs = new ArrayList<>();
@@ -0,0 +1,280 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentConstants;
+import org.osgi.util.tracker.ServiceTracker;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Holds an in-memory index of all {@link OpenemsComponent} services.
+ *
+ * <p>
+ * The index is maintained from OSGi service events via a
+ * {@link ServiceTracker}. On every event an immutable {@link Snapshot} is
+ * built and published (copy-on-write), so lookups never touch the OSGi service
+ * registry and never parse an LDAP filter.
+ */
+class ComponentRegistry {
+
+	/**
+	 * An OpenEMS-Component as registered in the OSGi service registry.
+	 */
+	protected static class Entry {
+
+		protected final String id;
+		protected final OpenemsComponent component;
+		protected final boolean enabled;
+		protected final boolean isComponentManager;
+		protected final Set<String> objectClasses;
+
+		protected Entry(String id, OpenemsComponent component, boolean enabled, boolean isComponentManager,
+				Set<String> objectClasses) {
+			this.id = id;
+			this.component = component;
+			this.enabled = enabled;
+			this.isComponentManager = isComponentManager;
+			this.objectClasses = objectClasses;
+		}
+
+		/**
+		 * Creates an {@link Entry} from the properties of a
+		 * {@link ServiceReference}.
+		 *
+		 * @param reference the {@link ServiceReference}
+		 * @param component the {@link OpenemsComponent}
+		 * @return the {@link Entry}
+		 */
+		protected static Entry from(ServiceReference<?> reference, OpenemsComponent component) {
+			var id = reference.getProperty("id");
+			// Same semantics as the LDAP filter '(enabled=true)'
+			var enabled = "true".equalsIgnoreCase(String.valueOf(reference.getProperty("enabled")));
+			// Same semantics as the LDAP filter '(service.factoryPid=Core.ComponentManager)'
+			var isComponentManager = ComponentManager.SINGLETON_SERVICE_PID
+					.equals(reference.getProperty("service.factoryPid"));
+			var objectClasses = reference.getProperty(Constants.OBJECTCLASS);
+			return new Entry(id instanceof String ? (String) id : component.id(), component, enabled,
+					isComponentManager, objectClasses instanceof String[] //
+							? Set.copyOf(Arrays.asList((String[]) objectClasses)) //
+							: Set.of());
+		}
+	}
+
+	/**
+	 * An immutable view on all registered OpenEMS-Components.
+	 */
+	protected static class Snapshot {
+
+		protected static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+		private final List<Entry> entries;
+		private final List<OpenemsComponent> all;
+		private final List<OpenemsComponent> enabled;
+		private final Map<String, OpenemsComponent> byId;
+		private final Map<String, OpenemsComponent> enabledById;
+		private final Map<Class<?>, List<?>> enabledByType = new ConcurrentHashMap<>();
+
+		protected Snapshot(List<Entry> entries) {
+			var all = new ArrayList<OpenemsComponent>(entries.size());
+			var enabled = new ArrayList<OpenemsComponent>(entries.size());
+			var byId = new HashMap<String, OpenemsComponent>();
+			var enabledById = new HashMap<String, OpenemsComponent>();
+			for (var entry : entries) {
+				if (entry.id != null) {
+					byId.putIfAbsent(entry.id, entry.component);
+					if (entry.enabled) {
+						enabledById.putIfAbsent(entry.id, entry.component);
+					}
+				}
+				if (entry.isComponentManager) {
+					continue;
+				}
+				all.add(entry.component);
+				if (entry.enabled) {
+					enabled.add(entry.component);
+				}
+			}
+			this.entries = entries;
+			this.all = Collections.unmodifiableList(all);
+			this.enabled = Collections.unmodifiableList(enabled);
+			this.byId = byId;
+			this.enabledById = enabledById;
+		}
+
+		/**
+		 * Gets all OpenEMS-Components, excluding the {@link ComponentManager}.
+		 *
+		 * @return an unmodifiable list
+		 */
+		public List<OpenemsComponent> getAll() {
+			return this.all;
+		}
+
+		/**
+		 * Gets all enabled OpenEMS-Components, excluding the
+		 * {@link ComponentManager}.
+		 *
+		 * @return an unmodifiable list
+		 */
+		public List<OpenemsComponent> getEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * Gets all enabled OpenEMS-Components that are registered under the given
+		 * service interface. The result is computed once per {@link Snapshot}.
+		 *
+		 * @param <T>   the type
+		 * @param clazz the service interface
+		 * @return an unmodifiable list
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> List<T> getEnabledOfType(Class<T> clazz) {
+			return (List<T>) this.enabledByType.computeIfAbsent(clazz, c -> {
+				var name = c.getName();
+				var result = new ArrayList<Object>();
+				for (var entry : this.entries) {
+					if (entry.enabled && entry.objectClasses.contains(name)) {
+						result.add(entry.component);
+					}
+				}
+				return Collections.unmodifiableList(result);
+			});
+		}
+
+		/**
+		 * Gets an OpenEMS-Component by its ID.
+		 *
+		 * @param componentId    the Component-ID
+		 * @param hasToBeEnabled if the Component has to be enabled
+		 * @return the Component; or null
+		 */
+		public OpenemsComponent getById(String componentId, boolean hasToBeEnabled) {
+			return hasToBeEnabled ? this.enabledById.get(componentId) : this.byId.get(componentId);
+		}
+	}
+
+	// guarded by 'this'
+	private final Map<Object, Entry> entries = new LinkedHashMap<>();
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+	private ServiceTracker<OpenemsComponent, OpenemsComponent> tracker = null;
+
+	/**
+	 * Starts tracking the OpenEMS-Components.
+	 *
+	 * <p>
+	 * The {@link ComponentManager} opens the registry while it is activating. SCR
+	 * does not hand out a Component that is still activating, so the service of
+	 * the ComponentManager itself is resolved to 'componentManager'.
+	 *
+	 * @param bundleContext    the {@link BundleContext}
+	 * @param componentManager the {@link ComponentManager} that opens the
+	 *                         registry
+	 */
+	public void open(BundleContext bundleContext, OpenemsComponent componentManager) {
+		var tracker = new ServiceTracker<OpenemsComponent, OpenemsComponent>(bundleContext, OpenemsComponent.class,
+				null) {
+
+			@Override
+			public OpenemsComponent addingService(ServiceReference<OpenemsComponent> reference) {
+				final OpenemsComponent component;
+				if (ComponentManager.SINGLETON_SERVICE_PID
+						.equals(reference.getProperty(ComponentConstants.COMPONENT_NAME))) {
+					component = componentManager;
+				} else {
+					component = super.addingService(reference);
+				}
+				if (component != null) {
+					ComponentRegistry.this.put(reference, Entry.from(reference, component));
+				}
+				return component;
+			}
+
+			@Override
+			public void modifiedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+				// e.g. 'enabled' property changed
+				ComponentRegistry.this.put(reference, Entry.from(reference, component));
+			}
+
+			@Override
+			public void removedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+				ComponentRegistry.this.remove(reference);
+				if (component != componentManager) {
+					super.removedService(reference, component);
+				}
+			}
+		};
+		synchronized (this) {
+			if (this.tracker != null) {
+				return;
+			}
+			this.tracker = tracker;
+		}
+		// Calls 'addingService()' for all existing Components
+		tracker.open();
+	}
+
+	/**
+	 * Stops tracking the OpenEMS-Components.
+	 */
+	public void close() {
+		ServiceTracker<OpenemsComponent, OpenemsComponent> tracker;
+		synchronized (this) {
+			tracker = this.tracker;
+			this.tracker = null;
+		}
+		if (tracker != null) {
+			tracker.close();
+		}
+		synchronized (this) {
+			this.entries.clear();
+			this.snapshot = Snapshot.EMPTY;
+		}
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}.
+	 *
+	 * @return the {@link Snapshot}
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Adds or updates an {@link Entry} and publishes a new {@link Snapshot}.
+	 *
+	 * @param key   the key, i.e. the {@link ServiceReference}
+	 * @param entry the {@link Entry}
+	 */
+	protected synchronized void put(Object key, Entry entry) {
+		this.entries.put(key, entry);
+		this.snapshot = new Snapshot(new ArrayList<>(this.entries.values()));
+	}
+
+	/**
+	 * Removes an {@link Entry} and publishes a new {@link Snapshot}.
+	 *
+	 * @param key the key, i.e. the {@link ServiceReference}
+	 */
+	protected synchronized void remove(Object key) {
+		if (this.entries.remove(key) != null) {
+			this.snapshot = new Snapshot(new ArrayList<>(this.entries.values()));
+		}
+	}
+
+}
@@ -13,6 +13,9 @@ import io.openems.edge.common.cycle.Cycle;
 	@AttributeDefinition(name = "Cycle-Time", description = "The duration of one global OpenEMS Cycle in [ms]")
 	int cycleTime() default Cycle.DEFAULT_CYCLE_TIME;
 
+	@AttributeDefinition(name = "Slow Cycle Threshold", description = "Log a trace of all Cycle phases for Cycles that take longer than this in [ms]; 0 to disable")
+	int slowCycleThreshold() default 0;
+
 	String webconsole_configurationFactory_nameHint() default "Core Cycle";
 
 }
\ No newline at end of file
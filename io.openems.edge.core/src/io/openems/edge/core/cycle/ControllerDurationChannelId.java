@@ -0,0 +1,35 @@
+package io.openems.edge.core.cycle;
+
+import com.google.common.base.CaseFormat;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+
+/**
+ * Dynamic Channel-ID for the execution duration of one Controller, e.g.
+ * 'ControllerDurationCtrlBalancing0'.
+ */
+public class ControllerDurationChannelId implements ChannelId {
+
+	private final String name;
+	private final Doc doc;
+
+	public ControllerDurationChannelId(String controllerId) {
+		this.name = "CONTROLLER_DURATION_" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, controllerId);
+		this.doc = Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Execution duration of Controller [" + controllerId + "]");
+	}
+
+	@Override
+	public String name() {
+		return this.name;
+	}
+
+	@Override
+	public Doc doc() {
+		return this.doc;
+	}
+}
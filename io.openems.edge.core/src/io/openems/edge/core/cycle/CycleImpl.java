@@ -1,7 +1,12 @@
 package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -18,13 +23,22 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
+import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.GetCycleProfileRequest;
+import io.openems.common.session.Role;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.user.User;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,9 +49,26 @@ import io.openems.edge.scheduler.api.Scheduler;
 		property = { //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, JsonApi {
 
 	private final CycleWorker worker = new CycleWorker(this);
+	private final ForkJoinPool processImagePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Switches the process image of all Components except the Sum.
+	 */
+	protected final ProcessImage processImage = new ProcessImage(this.processImagePool);
+
+	/**
+	 * Latency distributions of the Cycle phases, Controllers and Events.
+	 */
+	protected final CycleProfile profile = new CycleProfile();
+
+	/**
+	 * Channels for the execution duration per Controller-ID. Only accessed by the
+	 * {@link CycleWorker}.
+	 */
+	private final Map<String, LongReadChannel> controllerDurationChannels = new HashMap<>();
 
 	@Reference
 	private ConfigurationAdmin cm;
@@ -110,6 +141,38 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
+		this.processImagePool.shutdown();
+	}
+
+	/**
+	 * Sets the execution duration of a Controller. Creates the Channel on first
+	 * use.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param duration     the duration in [ms]
+	 */
+	protected void _setControllerDuration(String controllerId, long duration) {
+		var channel = this.controllerDurationChannels.computeIfAbsent(controllerId,
+				id -> (LongReadChannel) this.addChannel(new ControllerDurationChannelId(id)));
+		channel.setNextValue(duration);
+	}
+
+	/**
+	 * Removes the execution duration Channels of Controllers that were not
+	 * executed.
+	 *
+	 * @param executedControllerIds the IDs of the executed Controllers
+	 */
+	protected void removeControllerDurationChannels(Set<String> executedControllerIds) {
+		var iterator = this.controllerDurationChannels.entrySet().iterator();
+		while (iterator.hasNext()) {
+			var entry = iterator.next();
+			if (!executedControllerIds.contains(entry.getKey())) {
+				this.removeChannel(entry.getValue());
+				iterator.remove();
+			}
+		}
+		this.profile.retain(CycleProfile.Type.CONTROLLER, executedControllerIds);
 	}
 
 	@Override
@@ -131,4 +194,52 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		return Cycle.DEFAULT_CYCLE_TIME;
 	}
 
+	/**
+	 * Gets the threshold for logging a trace of slow Cycles.
+	 *
+	 * @return the threshold in [ms]; 0 if disabled
+	 */
+	protected int getSlowCycleThreshold() {
+		var config = this.config;
+		if (config != null) {
+			return config.slowCycleThreshold();
+		}
+		return 0;
+	}
+
+	@Override
+	public CompletableFuture<? extends JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("handleJsonrpcRequest", Role.GUEST);
+
+		switch (request.getMethod()) {
+
+		case GetCycleProfileRequest.METHOD:
+			return this.handleGetCycleProfileRequest(user, GetCycleProfileRequest.from(request));
+
+		default:
+			throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
+		}
+	}
+
+	/**
+	 * Handles a {@link GetCycleProfileRequest}.
+	 *
+	 * @param user    the {@link User}
+	 * @param request the {@link GetCycleProfileRequest}
+	 * @return the Future JSON-RPC Response
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleGetCycleProfileRequest(User user,
+			GetCycleProfileRequest request) throws OpenemsNamedException {
+		if (request.isReset()) {
+			user.assertRoleIsAtLeast(GetCycleProfileRequest.METHOD, Role.ADMIN);
+		}
+		var result = this.profile.toJson();
+		if (request.isReset()) {
+			this.profile.reset();
+		}
+		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId(), result));
+	}
+
 }
@@ -0,0 +1,153 @@
+package io.openems.edge.core.cycle;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Collects {@link LatencyHistogram}s of the phases, Controllers and Events of
+ * the Cycle and a trace of the last slow Cycle.
+ *
+ * <p>
+ * Durations are recorded in [us] by the {@link CycleWorker} thread; the profile
+ * may be read from any thread.
+ */
+public class CycleProfile {
+
+	public static enum Type {
+		PHASE("phases"), //
+		CONTROLLER("controllers"), //
+		EVENT("events");
+
+		private final String key;
+
+		private Type(String key) {
+			this.key = key;
+		}
+	}
+
+	public static final String PHASE_PROCESS_IMAGE = "processImage";
+	public static final String PHASE_SUM = "sum";
+	public static final String PHASE_CONTROLLERS = "controllers";
+	public static final String PHASE_CYCLE = "cycle";
+
+	private static class TraceEntry {
+		private final Type type;
+		private final String id;
+		private final long duration;
+
+		private TraceEntry(Type type, String id, long duration) {
+			this.type = type;
+			this.id = id;
+			this.duration = duration;
+		}
+	}
+
+	private final Map<Type, Map<String, LatencyHistogram>> histograms = new EnumMap<>(Type.class);
+	private final List<TraceEntry> trace = new ArrayList<>();
+
+	private volatile long slowCycles = 0;
+	private volatile JsonObject lastSlowCycle = null;
+
+	public CycleProfile() {
+		for (var type : Type.values()) {
+			this.histograms.put(type, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Records a duration within the current Cycle.
+	 *
+	 * @param type     the {@link Type}
+	 * @param id       the ID, i.e. the phase, Controller-ID or Event topic
+	 * @param duration the duration in [us]
+	 */
+	public void record(Type type, String id, long duration) {
+		this.histograms.get(type).computeIfAbsent(id, i -> new LatencyHistogram()).record(duration);
+		this.trace.add(new TraceEntry(type, id, duration));
+	}
+
+	/**
+	 * Finishes the current Cycle.
+	 *
+	 * @param duration           the duration of the Cycle in [us]
+	 * @param slowCycleThreshold the threshold for slow Cycles in [ms]; 0 to
+	 *                           disable
+	 * @return the trace of the Cycle if it was slow; otherwise null
+	 */
+	public JsonObject finishCycle(long duration, int slowCycleThreshold) {
+		this.histograms.get(Type.PHASE).computeIfAbsent(PHASE_CYCLE, i -> new LatencyHistogram()).record(duration);
+		JsonObject result = null;
+		if (slowCycleThreshold > 0 && duration > slowCycleThreshold * 1000L) {
+			var trace = new JsonArray();
+			for (var entry : this.trace) {
+				trace.add(JsonUtils.buildJsonObject() //
+						.addProperty("type", entry.type.key) //
+						.addProperty("id", entry.id) //
+						.addProperty("duration", entry.duration) //
+						.build());
+			}
+			result = JsonUtils.buildJsonObject() //
+					.addProperty("timestamp", ZonedDateTime.now()) //
+					.addProperty("duration", duration) //
+					.add("trace", trace) //
+					.build();
+			this.lastSlowCycle = result;
+			this.slowCycles++;
+		}
+		this.trace.clear();
+		return result;
+	}
+
+	/**
+	 * Removes the histograms of the given {@link Type} whose IDs are not in the
+	 * given set.
+	 *
+	 * @param type the {@link Type}
+	 * @param ids  the IDs to keep
+	 */
+	public void retain(Type type, Set<String> ids) {
+		this.histograms.get(type).keySet().retainAll(ids);
+	}
+
+	/**
+	 * Resets all histograms and the slow Cycle trace.
+	 */
+	public void reset() {
+		for (var histograms : this.histograms.values()) {
+			histograms.values().forEach(LatencyHistogram::reset);
+		}
+		this.slowCycles = 0;
+		this.lastSlowCycle = null;
+	}
+
+	/**
+	 * Gets the profile as {@link JsonObject}.
+	 *
+	 * @return the {@link JsonObject}
+	 */
+	public JsonObject toJson() {
+		var result = new JsonObject();
+		for (var entry : this.histograms.entrySet()) {
+			var histograms = new JsonObject();
+			entry.getValue().forEach((id, histogram) -> histograms.add(id, histogram.toJson()));
+			result.add(entry.getKey().key, histograms);
+		}
+		result.addProperty("slowCycles", this.slowCycles);
+		var lastSlowCycle = this.lastSlowCycle;
+		if (lastSlowCycle != null) {
+			result.add("lastSlowCycle", lastSlowCycle);
+		}
+		return result;
+	}
+
+}
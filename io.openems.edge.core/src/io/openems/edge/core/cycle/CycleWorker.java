@@ -1,5 +1,7 @@
 package io.openems.edge.core.cycle;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -11,9 +13,12 @@ import info.faljse.SDNotify.SDNotify;
 import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.core.cycle.CycleProfile.Type;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
@@ -47,41 +52,53 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, //
+					Cycle.ChannelId.EVENT_BEFORE_PROCESS_IMAGE_DURATION);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
-			this.parent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			var processImageStopwatch = Stopwatch.createStarted();
+			var components = new ArrayList<OpenemsComponent>();
+			for (var component : this.parent.componentManager.getEnabledComponents()) {
+				if (component.isEnabled() && !(component instanceof Sum) && component != this.parent) {
+					components.add(component);
+				}
+			}
+			components.add(this.parent);
+			this.parent.processImage.nextProcessImage(components);
 
 			/*
-			 * Update the Channels in the Sum-Component.
+			 * Update the Channels in the Sum-Component. This depends on the process image
+			 * of all other Components, so it is switched last.
 			 */
+			var sumStopwatch = Stopwatch.createStarted();
 			this.parent.sumComponent.updateChannelsBeforeProcessImage();
 			this.parent.sumComponent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
+			var sumDuration = sumStopwatch.elapsed(TimeUnit.MICROSECONDS);
+			this.parent._setSumDuration(sumDuration / 1000);
+			this.parent.profile.record(Type.PHASE, CycleProfile.PHASE_SUM, sumDuration);
+			var processImageDuration = processImageStopwatch.elapsed(TimeUnit.MICROSECONDS);
+			this.parent._setProcessImageDuration(processImageDuration / 1000);
+			this.parent.profile.record(Type.PHASE, CycleProfile.PHASE_PROCESS_IMAGE, processImageDuration);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
+					Cycle.ChannelId.EVENT_AFTER_PROCESS_IMAGE_DURATION);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS, //
+					Cycle.ChannelId.EVENT_BEFORE_CONTROLLERS_DURATION);
 
 			var hasDisabledController = false;
+			var controllersStopwatch = Stopwatch.createStarted();
+			var executedControllerIds = new HashSet<String>();
 
 			/*
 			 * Execute Schedulers and their Controllers
@@ -109,6 +126,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						var controllerStopwatch = Stopwatch.createStarted();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -133,6 +151,10 @@ public class CycleWorker extends AbstractWorker {
 							// announce running failed
 							controller._setRunFailed(true);
 						}
+						var controllerDuration = controllerStopwatch.elapsed(TimeUnit.MICROSECONDS);
+						this.parent._setControllerDuration(controller.id(), controllerDuration / 1000);
+						this.parent.profile.record(Type.CONTROLLER, controller.id(), controllerDuration);
+						executedControllerIds.add(controller.id());
 					}
 
 					// announce Scheduler Controller is missing
@@ -142,26 +164,34 @@ public class CycleWorker extends AbstractWorker {
 
 			// announce ignoring disabled Controllers.
 			this.parent._setIgnoreDisabledController(hasDisabledController);
+			var controllersDuration = controllersStopwatch.elapsed(TimeUnit.MICROSECONDS);
+			this.parent._setControllersDuration(controllersDuration / 1000);
+			this.parent.profile.record(Type.PHASE, CycleProfile.PHASE_CONTROLLERS, controllersDuration);
+			this.parent.removeControllerDurationChannels(executedControllerIds);
 
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, //
+					Cycle.ChannelId.EVENT_AFTER_CONTROLLERS_DURATION);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
+					Cycle.ChannelId.EVENT_BEFORE_WRITE_DURATION);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, //
+					Cycle.ChannelId.EVENT_EXECUTE_WRITE_DURATION);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE, //
+					Cycle.ChannelId.EVENT_AFTER_WRITE_DURATION);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -172,7 +202,27 @@ public class CycleWorker extends AbstractWorker {
 		}
 
 		// Measure actual Cycle-Time
-		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		var cycleDuration = stopwatch.elapsed(TimeUnit.MICROSECONDS);
+		this.parent._setMeasuredCycleTime(cycleDuration / 1000);
+		var slowCycle = this.parent.profile.finishCycle(cycleDuration, this.parent.getSlowCycleThreshold());
+		if (slowCycle != null) {
+			this.parent.logWarn(this.log, "Slow Cycle: " + slowCycle);
+		}
+	}
+
+	/**
+	 * Sends an Event and measures the time it takes to handle it by all
+	 * EventHandlers.
+	 *
+	 * @param topic     the Event topic
+	 * @param channelId the {@link Cycle.ChannelId} for the duration
+	 */
+	private void sendEvent(String topic, Cycle.ChannelId channelId) {
+		var stopwatch = Stopwatch.createStarted();
+		EventBuilder.send(this.parent.eventAdmin, topic);
+		var duration = stopwatch.elapsed(TimeUnit.MICROSECONDS);
+		this.parent.channel(channelId).setNextValue(duration / 1000);
+		this.parent.profile.record(Type.EVENT, topic, duration);
 	}
 
 }
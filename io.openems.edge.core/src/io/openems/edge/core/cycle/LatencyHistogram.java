@@ -0,0 +1,125 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * A compact latency histogram with logarithmic buckets, in the spirit of
+ * HdrHistogram.
+ *
+ * <p>
+ * Values below 16 are counted exactly; larger values are counted in buckets of
+ * 8 sub-buckets per power of two, i.e. with a relative error of at most 12.5
+ * %. Recording a value is constant time and allocation-free.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final long[] counts = new long[64 * SUB_BUCKETS];
+	private long totalCount = 0;
+	private long sum = 0;
+	private long max = 0;
+
+	/**
+	 * Records a value.
+	 *
+	 * @param value the value; negative values are recorded as 0
+	 */
+	public synchronized void record(long value) {
+		value = Math.max(0, value);
+		this.counts[getIndex(value)]++;
+		this.totalCount++;
+		this.sum += value;
+		this.max = Math.max(this.max, value);
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the count
+	 */
+	public synchronized long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 * Gets the highest recorded value.
+	 *
+	 * @return the max value; 0 if no value was recorded
+	 */
+	public synchronized long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Gets the value at the given percentile. The result is the upper bound of the
+	 * bucket that contains the percentile, limited to the highest recorded value.
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the value; 0 if no value was recorded
+	 */
+	public synchronized long getValueAtPercentile(double percentile) {
+		if (this.totalCount == 0) {
+			return 0;
+		}
+		var target = Math.max(1, (long) Math.ceil(percentile / 100. * this.totalCount));
+		long count = 0;
+		for (var i = 0; i < this.counts.length; i++) {
+			count += this.counts[i];
+			if (count >= target) {
+				return Math.min(getLowerBound(i + 1) - 1, this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Resets the histogram.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(this.counts, 0);
+		this.totalCount = 0;
+		this.sum = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Gets a summary of the histogram as {@link JsonObject}.
+	 *
+	 * @return the {@link JsonObject} with count, mean, p50, p90, p99 and max
+	 */
+	public synchronized JsonObject toJson() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("count", this.totalCount) //
+				.addProperty("mean", this.totalCount == 0 ? 0 : this.sum / this.totalCount) //
+				.addProperty("p50", this.getValueAtPercentile(50)) //
+				.addProperty("p90", this.getValueAtPercentile(90)) //
+				.addProperty("p99", this.getValueAtPercentile(99)) //
+				.addProperty("max", this.max) //
+				.build();
+	}
+
+	protected static int getIndex(long value) {
+		if (value < 2 * SUB_BUCKETS) {
+			return (int) value;
+		}
+		var exponent = 63 - Long.numberOfLeadingZeros(value);
+		var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	protected static long getLowerBound(int index) {
+		if (index < 2 * SUB_BUCKETS) {
+			return index;
+		}
+		var exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		var subBucket = index % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+	}
+
+}
@@ -0,0 +1,174 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Switches the process image of the Channels of a list of Components.
+ *
+ * <p>
+ * The Channels are kept in a flat array that is only rebuilt if the list of
+ * Components changes or Channels are added to or removed from a Component (see
+ * {@link OpenemsComponent#getChannelModificationCount()}). Switching is done in
+ * two phases:
+ *
+ * <ol>
+ * <li>{@link Channel#switchProcessImage()} on all Channels, in parallel
+ * partitions on a {@link ForkJoinPool}
+ * <li>{@link Channel#triggerProcessImageCallbacks()} sequentially in the order
+ * of the Components, so every callback sees the complete new process image
+ * </ol>
+ */
+public class ProcessImage {
+
+	/**
+	 * Minimum number of Channels per parallel partition.
+	 */
+	protected static final int PARTITION_SIZE = 256;
+
+	private final ForkJoinPool pool;
+
+	private OpenemsComponent[] components = new OpenemsComponent[0];
+	private int[] modificationCounts = new int[0];
+	private int[] offsets = new int[0];
+	private int[] noOfChannels = new int[0];
+	private Channel<?>[] channels = new Channel<?>[0];
+	private boolean[] hasPendingCallbacks = new boolean[0];
+
+	private class SwitchAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		private SwitchAction(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= PARTITION_SIZE) {
+				ProcessImage.this.switchChannels(this.from, this.to);
+			} else {
+				var middle = (this.from + this.to) >>> 1;
+				invokeAll(new SwitchAction(this.from, middle), new SwitchAction(middle, this.to));
+			}
+		}
+	}
+
+	public ProcessImage(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Switches the process image of all Channels of the given Components.
+	 *
+	 * @param components the Components
+	 */
+	public void nextProcessImage(List<? extends OpenemsComponent> components) {
+		if (this.isOutdated(components)) {
+			this.rebuild(components);
+		}
+
+		// Phase 1: switch Channels
+		var channels = this.channels;
+		if (channels.length <= PARTITION_SIZE) {
+			this.switchChannels(0, channels.length);
+		} else {
+			this.pool.invoke(new SwitchAction(0, channels.length));
+		}
+
+		// Phase 2: trigger callbacks
+		for (var i = 0; i < channels.length; i++) {
+			if (this.hasPendingCallbacks[i]) {
+				this.hasPendingCallbacks[i] = false;
+				channels[i].triggerProcessImageCallbacks();
+			}
+		}
+	}
+
+	private void switchChannels(int from, int to) {
+		for (var i = from; i < to; i++) {
+			this.hasPendingCallbacks[i] = this.channels[i].switchProcessImage();
+		}
+	}
+
+	/**
+	 * Checks whether the flat Channel array needs to be rebuilt.
+	 *
+	 * @param components the Components
+	 * @return true if Components or their Channels changed
+	 */
+	private boolean isOutdated(List<? extends OpenemsComponent> components) {
+		if (components.size() != this.components.length) {
+			return true;
+		}
+		for (var i = 0; i < this.components.length; i++) {
+			var component = components.get(i);
+			if (component != this.components[i]) {
+				return true;
+			}
+			var modificationCount = component.getChannelModificationCount();
+			if (modificationCount != this.modificationCounts[i]) {
+				return true;
+			}
+			if (modificationCount < 0 && !this.hasSameChannels(i, component)) {
+				// Component does not track modifications
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSameChannels(int index, OpenemsComponent component) {
+		var channels = component.channels();
+		if (channels.size() != this.noOfChannels[index]) {
+			return false;
+		}
+		var i = this.offsets[index];
+		for (var channel : channels) {
+			if (channel != this.channels[i++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void rebuild(List<? extends OpenemsComponent> components) {
+		var modificationCounts = new int[components.size()];
+		var offsets = new int[components.size()];
+		var noOfChannels = new int[components.size()];
+		var channels = new ArrayList<Channel<?>>();
+		for (var i = 0; i < noOfChannels.length; i++) {
+			var component = components.get(i);
+			// Channels may be added concurrently; take the counter before copying
+			modificationCounts[i] = component.getChannelModificationCount();
+			offsets[i] = channels.size();
+			channels.addAll(component.channels());
+			noOfChannels[i] = channels.size() - offsets[i];
+		}
+		this.components = components.toArray(new OpenemsComponent[components.size()]);
+		this.modificationCounts = modificationCounts;
+		this.offsets = offsets;
+		this.noOfChannels = noOfChannels;
+		this.channels = channels.toArray(new Channel<?>[channels.size()]);
+		this.hasPendingCallbacks = new boolean[this.channels.length];
+	}
+
+	/**
+	 * Gets the number of Channels in the current process image.
+	 *
+	 * @return the number of Channels
+	 */
+	public int getNoOfChannels() {
+		return this.channels.length;
+	}
+
+}
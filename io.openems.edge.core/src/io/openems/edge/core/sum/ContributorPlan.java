@@ -0,0 +1,444 @@
+package io.openems.edge.core.sum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.internal.StateCollectorChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.GridMode;
+import io.openems.edge.ess.api.AsymmetricEss;
+import io.openems.edge.ess.api.HybridEss;
+import io.openems.edge.ess.api.MetaEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.dccharger.api.EssDcCharger;
+import io.openems.edge.meter.api.AsymmetricMeter;
+import io.openems.edge.meter.api.SymmetricMeter;
+import io.openems.edge.meter.api.VirtualMeter;
+
+/**
+ * Holds the Channels that contribute to the {@link SumImpl} values.
+ *
+ * <p>
+ * The plan is built once for a list of enabled Components; all type checks
+ * happen here. Per Cycle the sums are calculated by iterating over plain
+ * Channel arrays - without creating any calculator objects or lists. The
+ * combined State is tracked incrementally via onChange-Callbacks on the
+ * {@link StateCollectorChannel}s.
+ *
+ * <p>
+ * A plan has to be {@link #close()}d once it is replaced.
+ */
+class ContributorPlan {
+
+	/**
+	 * Sum of Integer Channel values; null if no Channel has a value.
+	 */
+	protected static class IntegerSum {
+
+		@SuppressWarnings("unchecked")
+		private Channel<Integer>[] channels = new Channel[0];
+		private boolean[] divideByThree = new boolean[0];
+
+		protected void add(Channel<Integer> channel) {
+			this.add(channel, false);
+		}
+
+		protected void add(Channel<Integer> channel, boolean divideByThree) {
+			var length = this.channels.length;
+			this.channels = Arrays.copyOf(this.channels, length + 1);
+			this.divideByThree = Arrays.copyOf(this.divideByThree, length + 1);
+			this.channels[length] = channel;
+			this.divideByThree[length] = divideByThree;
+		}
+
+		protected Integer calculate() {
+			var isDefined = false;
+			var sum = 0;
+			for (var i = 0; i < this.channels.length; i++) {
+				var value = this.channels[i].value().get();
+				if (value == null) {
+					continue;
+				}
+				isDefined = true;
+				// Same rounding as CalculateIntegerSum.DIVIDE_BY_THREE
+				sum += this.divideByThree[i] ? Math.round(value / 3f) : value;
+			}
+			return isDefined ? sum : null;
+		}
+	}
+
+	/**
+	 * Sum of Long Channel values; null if no Channel has a value.
+	 */
+	protected static class LongSum {
+
+		@SuppressWarnings("unchecked")
+		private Channel<Long>[] channels = new Channel[0];
+
+		protected void add(Channel<Long> channel) {
+			this.channels = Arrays.copyOf(this.channels, this.channels.length + 1);
+			this.channels[this.channels.length - 1] = channel;
+		}
+
+		protected Long calculate() {
+			var isDefined = false;
+			var sum = 0L;
+			for (var channel : this.channels) {
+				var value = channel.value().get();
+				if (value == null) {
+					continue;
+				}
+				isDefined = true;
+				sum += value;
+			}
+			return isDefined ? sum : null;
+		}
+	}
+
+	/**
+	 * Average of Integer Channel values; null if no Channel has a value.
+	 */
+	protected static class Average {
+
+		@SuppressWarnings("unchecked")
+		private Channel<Integer>[] channels = new Channel[0];
+
+		protected void add(Channel<Integer> channel) {
+			this.channels = Arrays.copyOf(this.channels, this.channels.length + 1);
+			this.channels[this.channels.length - 1] = channel;
+		}
+
+		protected Double calculate() {
+			var count = 0;
+			var sum = 0.0;
+			for (var channel : this.channels) {
+				var value = channel.value().get();
+				if (value == null) {
+					continue;
+				}
+				count++;
+				sum += value;
+			}
+			return count > 0 ? sum / count : null;
+		}
+	}
+
+	/**
+	 * Effective {@link GridMode} of all Ess; same as CalculateGridMode.
+	 */
+	protected static class GridModes {
+
+		@SuppressWarnings("unchecked")
+		private Channel<GridMode>[] channels = new Channel[0];
+
+		protected void add(Channel<GridMode> channel) {
+			this.channels = Arrays.copyOf(this.channels, this.channels.length + 1);
+			this.channels[this.channels.length - 1] = channel;
+		}
+
+		protected GridMode calculate() {
+			if (this.channels.length == 0) {
+				return GridMode.UNDEFINED;
+			}
+			var onGrids = 0;
+			var offGrids = 0;
+			for (var channel : this.channels) {
+				GridMode gridMode = channel.getNextValue().asEnum();
+				switch (gridMode) {
+				case OFF_GRID:
+					offGrids++;
+					break;
+				case ON_GRID:
+					onGrids++;
+					break;
+				case UNDEFINED:
+					break;
+				}
+			}
+			if (onGrids == this.channels.length) {
+				return GridMode.ON_GRID;
+			}
+			if (offGrids == this.channels.length) {
+				return GridMode.OFF_GRID;
+			}
+			return GridMode.UNDEFINED;
+		}
+	}
+
+	/**
+	 * Tracks the State {@link Level} of all Components.
+	 */
+	protected static class States {
+
+		private static final Level[] LEVELS = Level.values();
+
+		/**
+		 * Index in {@link #counts} for Components with ignored, non-OK State.
+		 */
+		private static final int IGNORED = LEVELS.length;
+
+		private final StateCollectorChannel[] channels;
+		private final BiConsumer<Value<Integer>, Value<Integer>>[] callbacks;
+		private final boolean[] ignore;
+		private final int[] buckets;
+		private final int[] counts = new int[IGNORED + 1];
+
+		@SuppressWarnings("unchecked")
+		protected States(List<OpenemsComponent> components, Set<String> ignoreStateComponents) {
+			this.channels = new StateCollectorChannel[components.size()];
+			this.callbacks = new BiConsumer[components.size()];
+			this.ignore = new boolean[components.size()];
+			this.buckets = new int[components.size()];
+			for (var i = 0; i < components.size(); i++) {
+				var component = components.get(i);
+				var channel = component.getStateChannel();
+				this.channels[i] = channel;
+				this.ignore[i] = ignoreStateComponents.contains(component.id());
+				this.buckets[i] = this.bucket(i, channel.value());
+				this.counts[this.buckets[i]]++;
+				final var index = i;
+				this.callbacks[i] = channel.onChange((oldValue, newValue) -> this.update(index, newValue));
+			}
+		}
+
+		private int bucket(int index, Value<Integer> value) {
+			Level level = value == null ? Level.OK : value.asEnum();
+			if (level == null) {
+				level = Level.OK;
+			}
+			if (this.ignore[index] && level != Level.OK) {
+				return IGNORED;
+			}
+			return level.ordinal();
+		}
+
+		private synchronized void update(int index, Value<Integer> value) {
+			this.counts[this.buckets[index]]--;
+			this.buckets[index] = this.bucket(index, value);
+			this.counts[this.buckets[index]]++;
+		}
+
+		/**
+		 * Gets the highest {@link Level} of all Components with a State that is not
+		 * ignored.
+		 *
+		 * @return the {@link Level}
+		 */
+		protected synchronized Level getHighestLevel() {
+			for (var i = LEVELS.length - 1; i > 0; i--) {
+				if (this.counts[i] > 0) {
+					return LEVELS[i];
+				}
+			}
+			return Level.OK;
+		}
+
+		/**
+		 * Is there any Component with an ignored, non-OK State?.
+		 *
+		 * @return true if yes
+		 */
+		protected synchronized boolean hasIgnoredComponentStates() {
+			return this.counts[IGNORED] > 0;
+		}
+
+		/**
+		 * Is there any Component with a State that is not ignored?.
+		 *
+		 * @return true if yes
+		 */
+		protected synchronized boolean hasComponentStates() {
+			return this.channels.length > this.counts[IGNORED];
+		}
+
+		private void close() {
+			for (var i = 0; i < this.channels.length; i++) {
+				this.channels[i].removeOnChangeCallback(this.callbacks[i]);
+			}
+		}
+	}
+
+	// Ess
+	protected final Average essSoc = new Average();
+	protected final IntegerSum essActivePower = new IntegerSum();
+	protected final IntegerSum essActivePowerL1 = new IntegerSum();
+	protected final IntegerSum essActivePowerL2 = new IntegerSum();
+	protected final IntegerSum essActivePowerL3 = new IntegerSum();
+	protected final IntegerSum essReactivePower = new IntegerSum();
+	protected final IntegerSum essMaxApparentPower = new IntegerSum();
+	protected final GridModes essGridMode = new GridModes();
+	protected final LongSum essActiveChargeEnergy = new LongSum();
+	protected final LongSum essActiveDischargeEnergy = new LongSum();
+	protected final LongSum essDcChargeEnergy = new LongSum();
+	protected final LongSum essDcDischargeEnergy = new LongSum();
+	protected final IntegerSum essCapacity = new IntegerSum();
+	protected final IntegerSum essDcDischargePower = new IntegerSum();
+
+	// Grid
+	protected final IntegerSum gridActivePower = new IntegerSum();
+	protected final IntegerSum gridActivePowerL1 = new IntegerSum();
+	protected final IntegerSum gridActivePowerL2 = new IntegerSum();
+	protected final IntegerSum gridActivePowerL3 = new IntegerSum();
+	protected final IntegerSum gridMinActivePower = new IntegerSum();
+	protected final IntegerSum gridMaxActivePower = new IntegerSum();
+	protected final LongSum gridBuyActiveEnergy = new LongSum();
+	protected final LongSum gridSellActiveEnergy = new LongSum();
+
+	// Production
+	protected final IntegerSum productionAcActivePower = new IntegerSum();
+	protected final IntegerSum productionAcActivePowerL1 = new IntegerSum();
+	protected final IntegerSum productionAcActivePowerL2 = new IntegerSum();
+	protected final IntegerSum productionAcActivePowerL3 = new IntegerSum();
+	protected final IntegerSum productionMaxAcActivePower = new IntegerSum();
+	protected final IntegerSum productionDcActualPower = new IntegerSum();
+	protected final IntegerSum productionMaxDcActualPower = new IntegerSum();
+	protected final LongSum productionAcActiveEnergy = new LongSum();
+	protected final LongSum productionDcActiveEnergy = new LongSum();
+
+	// handling the corner-case of wrongly measured negative production, due to
+	// cabling errors, etc.
+	protected final LongSum productionAcActiveEnergyNegative = new LongSum();
+
+	// State
+	protected final States states;
+
+	/**
+	 * Builds the plan.
+	 *
+	 * @param components            the enabled Components
+	 * @param sum                   the Sum-Component itself; its State is ignored
+	 * @param ignoreStateComponents the Component-IDs whose State should be ignored
+	 */
+	protected ContributorPlan(List<OpenemsComponent> components, OpenemsComponent sum,
+			Set<String> ignoreStateComponents) {
+		for (var component : components) {
+			if (component instanceof SymmetricEss) {
+				this.addEss((SymmetricEss) component);
+
+			} else if (component instanceof SymmetricMeter) {
+				this.addMeter((SymmetricMeter) component);
+
+			} else if (component instanceof EssDcCharger) {
+				var charger = (EssDcCharger) component;
+				this.productionDcActualPower.add(charger.getActualPowerChannel());
+				this.productionMaxDcActualPower.add(charger.getMaxActualPowerChannel());
+				this.productionDcActiveEnergy.add(charger.getActualEnergyChannel());
+			}
+		}
+		var stateComponents = new ArrayList<OpenemsComponent>(components.size());
+		for (var component : components) {
+			if (component != sum) {
+				stateComponents.add(component);
+			}
+		}
+		this.states = new States(stateComponents, ignoreStateComponents);
+	}
+
+	private void addEss(SymmetricEss ess) {
+		if (ess instanceof MetaEss) {
+			// ignore this Ess
+			return;
+		}
+		this.essSoc.add(ess.getSocChannel());
+		this.essActivePower.add(ess.getActivePowerChannel());
+		this.essReactivePower.add(ess.getReactivePowerChannel());
+		this.essMaxApparentPower.add(ess.getMaxApparentPowerChannel());
+		this.essGridMode.add(ess.getGridModeChannel());
+		this.essActiveChargeEnergy.add(ess.getActiveChargeEnergyChannel());
+		this.essActiveDischargeEnergy.add(ess.getActiveDischargeEnergyChannel());
+		this.essCapacity.add(ess.getCapacityChannel());
+
+		if (ess instanceof AsymmetricEss) {
+			var e = (AsymmetricEss) ess;
+			this.essActivePowerL1.add(e.getActivePowerL1Channel());
+			this.essActivePowerL2.add(e.getActivePowerL2Channel());
+			this.essActivePowerL3.add(e.getActivePowerL3Channel());
+		} else {
+			this.essActivePowerL1.add(ess.getActivePowerChannel(), true);
+			this.essActivePowerL2.add(ess.getActivePowerChannel(), true);
+			this.essActivePowerL3.add(ess.getActivePowerChannel(), true);
+		}
+
+		if (ess instanceof HybridEss) {
+			var e = (HybridEss) ess;
+			this.essDcChargeEnergy.add(e.getDcChargeEnergyChannel());
+			this.essDcDischargeEnergy.add(e.getDcDischargeEnergyChannel());
+			this.essDcDischargePower.add(e.getDcDischargePowerChannel());
+		} else {
+			this.essDcChargeEnergy.add(ess.getActiveChargeEnergyChannel());
+			this.essDcDischargeEnergy.add(ess.getActiveDischargeEnergyChannel());
+		}
+	}
+
+	private void addMeter(SymmetricMeter meter) {
+		if (meter instanceof VirtualMeter && !((VirtualMeter) meter).addToSum()) {
+			// Ignore VirtualMeter if "addToSum" is not activated (default)
+			return;
+		}
+
+		switch (meter.getMeterType()) {
+		case PRODUCTION_AND_CONSUMPTION:
+			// TODO PRODUCTION_AND_CONSUMPTION
+			break;
+
+		case CONSUMPTION_METERED:
+			// TODO CONSUMPTION_METERED
+			break;
+
+		case CONSUMPTION_NOT_METERED:
+			// TODO CONSUMPTION_NOT_METERED
+			break;
+
+		case GRID:
+			this.gridActivePower.add(meter.getActivePowerChannel());
+			this.gridMinActivePower.add(meter.getMinActivePowerChannel());
+			this.gridMaxActivePower.add(meter.getMaxActivePowerChannel());
+			this.gridBuyActiveEnergy.add(meter.getActiveProductionEnergyChannel());
+			this.gridSellActiveEnergy.add(meter.getActiveConsumptionEnergyChannel());
+
+			if (meter instanceof AsymmetricMeter) {
+				var m = (AsymmetricMeter) meter;
+				this.gridActivePowerL1.add(m.getActivePowerL1Channel());
+				this.gridActivePowerL2.add(m.getActivePowerL2Channel());
+				this.gridActivePowerL3.add(m.getActivePowerL3Channel());
+			} else {
+				this.gridActivePowerL1.add(meter.getActivePowerChannel(), true);
+				this.gridActivePowerL2.add(meter.getActivePowerChannel(), true);
+				this.gridActivePowerL3.add(meter.getActivePowerChannel(), true);
+			}
+			break;
+
+		case PRODUCTION:
+			this.productionAcActivePower.add(meter.getActivePowerChannel());
+			this.productionMaxAcActivePower.add(meter.getMaxActivePowerChannel());
+			this.productionAcActiveEnergy.add(meter.getActiveProductionEnergyChannel());
+			this.productionAcActiveEnergyNegative.add(meter.getActiveConsumptionEnergyChannel());
+
+			if (meter instanceof AsymmetricMeter) {
+				var m = (AsymmetricMeter) meter;
+				this.productionAcActivePowerL1.add(m.getActivePowerL1Channel());
+				this.productionAcActivePowerL2.add(m.getActivePowerL2Channel());
+				this.productionAcActivePowerL3.add(m.getActivePowerL3Channel());
+			} else {
+				this.productionAcActivePowerL1.add(meter.getActivePowerChannel(), true);
+				this.productionAcActivePowerL2.add(meter.getActivePowerChannel(), true);
+				this.productionAcActivePowerL3.add(meter.getActivePowerChannel(), true);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Removes the onChange-Callbacks of this plan.
+	 */
+	protected void close() {
+		this.states.close();
+	}
+
+}
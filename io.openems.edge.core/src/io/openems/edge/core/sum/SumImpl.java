@@ -1,7 +1,7 @@
 package io.openems.edge.core.sum;
 
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -18,9 +18,6 @@ import org.osgi.service.metatype.annotations.Designate;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Level;
-import io.openems.edge.common.channel.calculate.CalculateAverage;
-import io.openems.edge.common.channel.calculate.CalculateIntegerSum;
-import io.openems.edge.common.channel.calculate.CalculateLongSum;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -28,15 +25,6 @@ import io.openems.edge.common.modbusslave.ModbusSlave;
 import io.openems.edge.common.modbusslave.ModbusSlaveTable;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.common.type.TypeUtils;
-import io.openems.edge.ess.api.AsymmetricEss;
-import io.openems.edge.ess.api.CalculateGridMode;
-import io.openems.edge.ess.api.HybridEss;
-import io.openems.edge.ess.api.MetaEss;
-import io.openems.edge.ess.api.SymmetricEss;
-import io.openems.edge.ess.dccharger.api.EssDcCharger;
-import io.openems.edge.meter.api.AsymmetricMeter;
-import io.openems.edge.meter.api.SymmetricMeter;
-import io.openems.edge.meter.api.VirtualMeter;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = false)
@@ -60,6 +48,10 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 	private final EnergyValuesHandler energyValuesHandler;
 	private final Set<String> ignoreStateComponents = new HashSet<>();
 
+	// guarded by 'this'
+	private ContributorPlan contributorPlan = null;
+	private List<OpenemsComponent> contributorPlanComponents = null;
+
 	@Override
 	public ModbusSlaveTable getModbusSlaveTable(AccessMode accessMode) {
 		return new ModbusSlaveTable(//
@@ -106,270 +98,138 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 			}
 			this.ignoreStateComponents.add(channelId);
 		}
+		this.resetContributorPlan();
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
+		this.resetContributorPlan();
 		this.energyValuesHandler.deactivate();
 		super.deactivate();
 	}
 
 	@Override
 	public void updateChannelsBeforeProcessImage() {
-		this.calculateChannelValues();
-		this.calculateState();
+		var plan = this.getContributorPlan();
+		this.calculateChannelValues(plan);
+		this.calculateState(plan);
 	}
 
 	/**
-	 * Calculates the sum-value for each Channel.
+	 * Gets the {@link ContributorPlan} for the currently enabled Components.
+	 *
+	 * <p>
+	 * The ComponentManager returns the same list instance as long as no
+	 * Component was added, removed or modified, so the plan is only rebuilt on
+	 * such changes.
+	 *
+	 * @return the {@link ContributorPlan}
 	 */
-	private void calculateChannelValues() {
-		// Ess
-		final var essSoc = new CalculateAverage();
-		final var essActivePower = new CalculateIntegerSum();
-		final var essActivePowerL1 = new CalculateIntegerSum();
-		final var essActivePowerL2 = new CalculateIntegerSum();
-		final var essActivePowerL3 = new CalculateIntegerSum();
-
-		final var essReactivePower = new CalculateIntegerSum();
-
-		final var essMaxApparentPower = new CalculateIntegerSum();
-		final var essGridMode = new CalculateGridMode();
-		final var essActiveChargeEnergy = new CalculateLongSum();
-		final var essActiveDischargeEnergy = new CalculateLongSum();
-		final var essDcChargeEnergy = new CalculateLongSum();
-		final var essDcDischargeEnergy = new CalculateLongSum();
-		final var essCapacity = new CalculateIntegerSum();
-		final var essDcDischargePower = new CalculateIntegerSum();
-
-		// Grid
-		final var gridActivePower = new CalculateIntegerSum();
-		final var gridActivePowerL1 = new CalculateIntegerSum();
-		final var gridActivePowerL2 = new CalculateIntegerSum();
-		final var gridActivePowerL3 = new CalculateIntegerSum();
-		final var gridMinActivePower = new CalculateIntegerSum();
-		final var gridMaxActivePower = new CalculateIntegerSum();
-		final var gridBuyActiveEnergy = new CalculateLongSum();
-		final var gridSellActiveEnergy = new CalculateLongSum();
-
-		// Production
-		final var productionAcActivePower = new CalculateIntegerSum();
-		final var productionAcActivePowerL1 = new CalculateIntegerSum();
-		final var productionAcActivePowerL2 = new CalculateIntegerSum();
-		final var productionAcActivePowerL3 = new CalculateIntegerSum();
-		final var productionMaxAcActivePower = new CalculateIntegerSum();
-		final var productionDcActualPower = new CalculateIntegerSum();
-		final var productionMaxDcActualPower = new CalculateIntegerSum();
-		final var productionAcActiveEnergy = new CalculateLongSum();
-		final var productionDcActiveEnergy = new CalculateLongSum();
-
-		// handling the corner-case of wrongly measured negative production, due to
-		// cabling errors, etc.
-		final var productionAcActiveEnergyNegative = new CalculateLongSum();
-
-		for (OpenemsComponent component : this.componentManager.getEnabledComponents()) {
-			if (component instanceof SymmetricEss) {
-				/*
-				 * Ess
-				 */
-				var ess = (SymmetricEss) component;
-
-				if (ess instanceof MetaEss) {
-					// ignore this Ess
-					continue;
-				}
-				essSoc.addValue(ess.getSocChannel());
-				essActivePower.addValue(ess.getActivePowerChannel());
-				essReactivePower.addValue(ess.getReactivePowerChannel());
-				essMaxApparentPower.addValue(ess.getMaxApparentPowerChannel());
-				essGridMode.addValue(ess.getGridModeChannel());
-				essActiveChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-				essActiveDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
-				essCapacity.addValue(ess.getCapacityChannel());
-
-				if (ess instanceof AsymmetricEss) {
-					var e = (AsymmetricEss) ess;
-					essActivePowerL1.addValue(e.getActivePowerL1Channel());
-					essActivePowerL2.addValue(e.getActivePowerL2Channel());
-					essActivePowerL3.addValue(e.getActivePowerL3Channel());
-				} else {
-					essActivePowerL1.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL2.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL3.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-				}
-
-				if (ess instanceof HybridEss) {
-					var e = (HybridEss) ess;
-					essDcChargeEnergy.addValue(e.getDcChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(e.getDcDischargeEnergyChannel());
-					essDcDischargePower.addValue(e.getDcDischargePowerChannel());
-				} else {
-					essDcChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
-				}
-
-			} else if (component instanceof SymmetricMeter) {
-				if (component instanceof VirtualMeter) {
-					if (!((VirtualMeter) component).addToSum()) {
-						// Ignore VirtualMeter if "addToSum" is not activated (default)
-						continue;
-					}
-				}
-
-				/*
-				 * Meter
-				 */
-				var meter = (SymmetricMeter) component;
-				switch (meter.getMeterType()) {
-				case PRODUCTION_AND_CONSUMPTION:
-					// TODO PRODUCTION_AND_CONSUMPTION
-					break;
-
-				case CONSUMPTION_METERED:
-					// TODO CONSUMPTION_METERED
-					break;
-
-				case CONSUMPTION_NOT_METERED:
-					// TODO CONSUMPTION_NOT_METERED
-					break;
-
-				case GRID:
-					/*
-					 * Grid-Meter
-					 */
-					gridActivePower.addValue(meter.getActivePowerChannel());
-					gridMinActivePower.addValue(meter.getMinActivePowerChannel());
-					gridMaxActivePower.addValue(meter.getMaxActivePowerChannel());
-					gridBuyActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					gridSellActiveEnergy.addValue(meter.getActiveConsumptionEnergyChannel());
-
-					if (meter instanceof AsymmetricMeter) {
-						var m = (AsymmetricMeter) meter;
-						gridActivePowerL1.addValue(m.getActivePowerL1Channel());
-						gridActivePowerL2.addValue(m.getActivePowerL2Channel());
-						gridActivePowerL3.addValue(m.getActivePowerL3Channel());
-					} else {
-						gridActivePowerL1.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL2.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL3.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					}
-					break;
-
-				case PRODUCTION:
-					/*
-					 * Production-Meter
-					 */
-					productionAcActivePower.addValue(meter.getActivePowerChannel());
-					productionMaxAcActivePower.addValue(meter.getMaxActivePowerChannel());
-					productionAcActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					productionAcActiveEnergyNegative.addValue(meter.getActiveConsumptionEnergyChannel());
-
-					if (meter instanceof AsymmetricMeter) {
-						var m = (AsymmetricMeter) meter;
-						productionAcActivePowerL1.addValue(m.getActivePowerL1Channel());
-						productionAcActivePowerL2.addValue(m.getActivePowerL2Channel());
-						productionAcActivePowerL3.addValue(m.getActivePowerL3Channel());
-					} else {
-						productionAcActivePowerL1.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL2.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL3.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-					}
-					break;
-
-				}
-
-			} else if (component instanceof EssDcCharger) {
-				/*
-				 * Ess DC-Charger
-				 */
-				var charger = (EssDcCharger) component;
-				productionDcActualPower.addValue(charger.getActualPowerChannel());
-				productionMaxDcActualPower.addValue(charger.getMaxActualPowerChannel());
-				productionDcActiveEnergy.addValue(charger.getActualEnergyChannel());
+	private synchronized ContributorPlan getContributorPlan() {
+		var components = this.componentManager.getEnabledComponents();
+		if (this.contributorPlan == null || components != this.contributorPlanComponents) {
+			if (this.contributorPlan != null) {
+				this.contributorPlan.close();
 			}
+			this.contributorPlan = new ContributorPlan(components, this, this.ignoreStateComponents);
+			this.contributorPlanComponents = components;
+		}
+		return this.contributorPlan;
+	}
+
+	private synchronized void resetContributorPlan() {
+		if (this.contributorPlan != null) {
+			this.contributorPlan.close();
 		}
+		this.contributorPlan = null;
+		this.contributorPlanComponents = null;
+	}
 
+	/**
+	 * Calculates the sum-value for each Channel.
+	 *
+	 * @param plan the {@link ContributorPlan}
+	 */
+	private void calculateChannelValues(ContributorPlan plan) {
 		/*
 		 * Set values
 		 */
 		// Ess
-		this.getEssSocChannel().setNextValue(essSoc.calculate());
-		var essActivePowerSum = essActivePower.calculate();
+		this.getEssSocChannel().setNextValue(plan.essSoc.calculate());
+		var essActivePowerSum = plan.essActivePower.calculate();
 		this._setEssActivePower(essActivePowerSum);
-		var essActivePowerL1Sum = essActivePowerL1.calculate();
+		var essActivePowerL1Sum = plan.essActivePowerL1.calculate();
 		this._setEssActivePowerL1(essActivePowerL1Sum);
-		var essActivePowerL2Sum = essActivePowerL2.calculate();
+		var essActivePowerL2Sum = plan.essActivePowerL2.calculate();
 		this._setEssActivePowerL2(essActivePowerL2Sum);
-		var essActivePowerL3Sum = essActivePowerL3.calculate();
+		var essActivePowerL3Sum = plan.essActivePowerL3.calculate();
 		this._setEssActivePowerL3(essActivePowerL3Sum);
 
-		var essReactivePowerSum = essReactivePower.calculate();
+		var essReactivePowerSum = plan.essReactivePower.calculate();
 		this._setEssReactivePower(essReactivePowerSum);
 
-		var essMaxApparentPowerSum = essMaxApparentPower.calculate();
+		var essMaxApparentPowerSum = plan.essMaxApparentPower.calculate();
 		this._setEssMaxApparentPower(essMaxApparentPowerSum);
-		this._setGridMode(essGridMode.calculate());
+		this._setGridMode(plan.essGridMode.calculate());
 
-		var essActiveChargeEnergySum = essActiveChargeEnergy.calculate();
+		var essActiveChargeEnergySum = plan.essActiveChargeEnergy.calculate();
 		essActiveChargeEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.ESS_ACTIVE_CHARGE_ENERGY,
 				essActiveChargeEnergySum);
-		var essActiveDischargeEnergySum = essActiveDischargeEnergy.calculate();
+		var essActiveDischargeEnergySum = plan.essActiveDischargeEnergy.calculate();
 		essActiveDischargeEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.ESS_ACTIVE_DISCHARGE_ENERGY,
 				essActiveDischargeEnergySum);
 
-		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_CHARGE_ENERGY, essDcChargeEnergy.calculate());
-		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_DISCHARGE_ENERGY, essDcDischargeEnergy.calculate());
+		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_CHARGE_ENERGY, plan.essDcChargeEnergy.calculate());
+		this.energyValuesHandler.setValue(Sum.ChannelId.ESS_DC_DISCHARGE_ENERGY,
+				plan.essDcDischargeEnergy.calculate());
 
-		var essCapacitySum = essCapacity.calculate();
+		var essCapacitySum = plan.essCapacity.calculate();
 		this._setEssCapacity(essCapacitySum);
 
 		// Grid
-		var gridActivePowerSum = gridActivePower.calculate();
+		var gridActivePowerSum = plan.gridActivePower.calculate();
 		this._setGridActivePower(gridActivePowerSum);
-		var gridActivePowerL1Sum = gridActivePowerL1.calculate();
+		var gridActivePowerL1Sum = plan.gridActivePowerL1.calculate();
 		this._setGridActivePowerL1(gridActivePowerL1Sum);
-		var gridActivePowerL2Sum = gridActivePowerL2.calculate();
+		var gridActivePowerL2Sum = plan.gridActivePowerL2.calculate();
 		this._setGridActivePowerL2(gridActivePowerL2Sum);
-		var gridActivePowerL3Sum = gridActivePowerL3.calculate();
+		var gridActivePowerL3Sum = plan.gridActivePowerL3.calculate();
 		this._setGridActivePowerL3(gridActivePowerL3Sum);
-		this._setGridMinActivePower(gridMinActivePower.calculate());
-		var gridMaxActivePowerSum = gridMaxActivePower.calculate();
+		this._setGridMinActivePower(plan.gridMinActivePower.calculate());
+		var gridMaxActivePowerSum = plan.gridMaxActivePower.calculate();
 		this._setGridMaxActivePower(gridMaxActivePowerSum);
 
-		var gridBuyActiveEnergySum = gridBuyActiveEnergy.calculate();
+		var gridBuyActiveEnergySum = plan.gridBuyActiveEnergy.calculate();
 		gridBuyActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.GRID_BUY_ACTIVE_ENERGY,
 				gridBuyActiveEnergySum);
-		var gridSellActiveEnergySum = gridSellActiveEnergy.calculate();
+		var gridSellActiveEnergySum = plan.gridSellActiveEnergy.calculate();
 		gridSellActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.GRID_SELL_ACTIVE_ENERGY,
 				gridSellActiveEnergySum);
 
 		// Production
-		var productionAcActivePowerSum = productionAcActivePower.calculate();
+		var productionAcActivePowerSum = plan.productionAcActivePower.calculate();
 		this._setProductionAcActivePower(productionAcActivePowerSum);
-		var productionAcActivePowerL1Sum = productionAcActivePowerL1.calculate();
+		var productionAcActivePowerL1Sum = plan.productionAcActivePowerL1.calculate();
 		this._setProductionAcActivePowerL1(productionAcActivePowerL1Sum);
-		var productionAcActivePowerL2Sum = productionAcActivePowerL2.calculate();
+		var productionAcActivePowerL2Sum = plan.productionAcActivePowerL2.calculate();
 		this._setProductionAcActivePowerL2(productionAcActivePowerL2Sum);
-		var productionAcActivePowerL3Sum = productionAcActivePowerL3.calculate();
+		var productionAcActivePowerL3Sum = plan.productionAcActivePowerL3.calculate();
 		this._setProductionAcActivePowerL3(productionAcActivePowerL3Sum);
-		var productionDcActualPowerSum = productionDcActualPower.calculate();
+		var productionDcActualPowerSum = plan.productionDcActualPower.calculate();
 		this._setProductionDcActualPower(productionDcActualPowerSum);
 		this._setProductionActivePower(TypeUtils.sum(productionAcActivePowerSum, productionDcActualPowerSum));
 
-		var productionMaxAcActivePowerSum = productionMaxAcActivePower.calculate();
+		var productionMaxAcActivePowerSum = plan.productionMaxAcActivePower.calculate();
 		this._setProductionMaxAcActivePower(productionMaxAcActivePowerSum);
-		var productionMaxDcActualPowerSum = productionMaxDcActualPower.calculate();
+		var productionMaxDcActualPowerSum = plan.productionMaxDcActualPower.calculate();
 		this._setProductionMaxDcActualPower(productionMaxDcActualPowerSum);
 		this._setProductionMaxActivePower(TypeUtils.sum(productionMaxAcActivePowerSum, productionMaxDcActualPowerSum));
 
-		var productionAcActiveEnergySum = productionAcActiveEnergy.calculate();
+		var productionAcActiveEnergySum = plan.productionAcActiveEnergy.calculate();
 		productionAcActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.PRODUCTION_AC_ACTIVE_ENERGY,
 				productionAcActiveEnergySum);
-		var productionDcActiveEnergySum = productionDcActiveEnergy.calculate();
+		var productionDcActiveEnergySum = plan.productionDcActiveEnergy.calculate();
 		productionDcActiveEnergySum = this.energyValuesHandler.setValue(Sum.ChannelId.PRODUCTION_DC_ACTIVE_ENERGY,
 				productionDcActiveEnergySum);
 		var productionActiveEnergySum = TypeUtils.sum(productionAcActiveEnergySum, productionDcActiveEnergySum);
@@ -391,42 +251,25 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 		var enterTheSystem = TypeUtils.sum(essActiveDischargeEnergySum, gridBuyActiveEnergySum,
 				productionAcActiveEnergySum);
 		var leaveTheSystem = TypeUtils.sum(essActiveChargeEnergySum, gridSellActiveEnergySum,
-				/* handling corner-case */ productionAcActiveEnergyNegative.calculate());
+				/* handling corner-case */ plan.productionAcActiveEnergyNegative.calculate());
 		this.energyValuesHandler.setValue(Sum.ChannelId.CONSUMPTION_ACTIVE_ENERGY,
-				Optional.ofNullable(enterTheSystem).orElse(0L) - Optional.ofNullable(leaveTheSystem).orElse(0L));
+				(enterTheSystem == null ? 0L : enterTheSystem) - (leaveTheSystem == null ? 0L : leaveTheSystem));
 
 		// Further calculated Channels
-		var essDischargePowerSum = essDcDischargePower.calculate();
+		var essDischargePowerSum = plan.essDcDischargePower.calculate();
 		this.getEssDischargePowerChannel().setNextValue(essDischargePowerSum);
 	}
 
 	/**
 	 * Combines the State of all Components.
+	 *
+	 * @param plan the {@link ContributorPlan}
 	 */
-	private void calculateState() {
-		var highestLevel = Level.OK;
-		var hasIgnoredComponentStates = false;
-		for (OpenemsComponent component : this.componentManager.getEnabledComponents()) {
-			if (component == this) {
-				// ignore myself
-				continue;
-			}
-			var level = component.getState();
-			if (this.ignoreStateComponents.contains(component.id()) && level != Level.OK) {
-				// This Components State should be ignored
-				hasIgnoredComponentStates = true;
-
-			} else {
-				this._setHasIgnoredComponentStates(false);
-				// Calculate highest State Level
-				if (level.getValue() > highestLevel.getValue()) {
-					highestLevel = level;
-				}
-			}
-		}
+	private void calculateState(ContributorPlan plan) {
+		var highestLevel = plan.states.getHighestLevel();
 
 		// There is at least one ignored State -> show info
-		if (hasIgnoredComponentStates) {
+		if (plan.states.hasIgnoredComponentStates()) {
 			this._setHasIgnoredComponentStates(true);
 			// Note: this sets the StateChannel 'HAS_IGNORED_COMPONENT_STATES' to true,
 			// which sets the Sum 'STATE'-Channel to 'INFO'. We override this below with
@@ -434,6 +277,8 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 			if (Level.INFO.getValue() > highestLevel.getValue()) {
 				highestLevel = Level.INFO;
 			}
+		} else if (plan.states.hasComponentStates()) {
+			this._setHasIgnoredComponentStates(false);
 		}
 
 		this.getStateChannel().setNextValue(highestLevel);
@@ -0,0 +1,239 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentConstants;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.core.componentmanager.ComponentRegistry.Entry;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.meter.api.SymmetricMeter;
+import io.openems.edge.meter.test.DummySymmetricMeter;
+
+public class ComponentRegistryTest {
+
+	private static final Set<String> ESS_CLASSES = Set.of(OpenemsComponent.class.getName(),
+			SymmetricEss.class.getName(), ManagedSymmetricEss.class.getName());
+	private static final Set<String> METER_CLASSES = Set.of(OpenemsComponent.class.getName(),
+			SymmetricMeter.class.getName());
+
+	@Test
+	public void test() {
+		var registry = new ComponentRegistry();
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var meter0 = new DummySymmetricMeter("meter0");
+		var meter1 = new DummySymmetricMeter("meter1");
+		registry.put("ess0", new Entry("ess0", ess0, true, false, ESS_CLASSES));
+		registry.put("meter0", new Entry("meter0", meter0, false, false, METER_CLASSES));
+		registry.put("meter1", new Entry("meter1", meter1, true, false, METER_CLASSES));
+
+		var snapshot = registry.getSnapshot();
+		assertEquals(List.of(ess0, meter1), snapshot.getEnabled());
+		assertEquals(List.of(ess0, meter0, meter1), snapshot.getAll());
+		assertEquals(List.of(ess0), snapshot.getEnabledOfType(SymmetricEss.class));
+		assertEquals(List.of(meter1), snapshot.getEnabledOfType(SymmetricMeter.class));
+		assertSame(snapshot.getEnabledOfType(SymmetricMeter.class), snapshot.getEnabledOfType(SymmetricMeter.class));
+		assertSame(ess0, snapshot.getById("ess0", true));
+		assertNull(snapshot.getById("meter0", true));
+		assertSame(meter0, snapshot.getById("meter0", false));
+		assertNull(snapshot.getById("meter2", false));
+
+		// 'enabled' property changed; order is kept
+		registry.put("meter0", new Entry("meter0", meter0, true, false, METER_CLASSES));
+		assertEquals(List.of(ess0, meter0, meter1), registry.getSnapshot().getEnabled());
+		assertEquals(List.of(meter0, meter1), registry.getSnapshot().getEnabledOfType(SymmetricMeter.class));
+
+		// Service unregistered
+		registry.remove("ess0");
+		assertTrue(registry.getSnapshot().getEnabledOfType(SymmetricEss.class).isEmpty());
+		assertNull(registry.getSnapshot().getById("ess0", false));
+
+		// Previous Snapshot is immutable
+		assertEquals(List.of(ess0, meter1), snapshot.getEnabled());
+	}
+
+	@Test
+	public void testComponentManager() {
+		var registry = new ComponentRegistry();
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var componentManager = new DummyManagedSymmetricEss("_componentManager");
+		registry.put("ess0", new Entry("ess0", ess0, true, false, ESS_CLASSES));
+		registry.put("cm", new Entry("_componentManager", componentManager, true, true, ESS_CLASSES));
+
+		var snapshot = registry.getSnapshot();
+		assertEquals(List.of(ess0), snapshot.getEnabled());
+		assertEquals(List.of(ess0), snapshot.getAll());
+		assertEquals(List.of(ess0, componentManager), snapshot.getEnabledOfType(SymmetricEss.class));
+		assertSame(componentManager, snapshot.getById("_componentManager", true));
+	}
+
+	@Test
+	public void testTracker() {
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var componentManager = new DummyManagedSymmetricEss("_componentManager");
+		var ess0Reference = reference(Map.of(//
+				"id", "ess0", //
+				"enabled", "true", //
+				Constants.OBJECTCLASS, ESS_CLASSES.toArray(new String[0])));
+		var cmProperties = new HashMap<String, Object>(Map.of(//
+				ComponentConstants.COMPONENT_NAME, ComponentManager.SINGLETON_SERVICE_PID, //
+				"id", "_componentManager", //
+				"enabled", "true", //
+				Constants.OBJECTCLASS, new String[] { OpenemsComponent.class.getName(),
+						ComponentManager.class.getName() }));
+		var cmReference = reference(cmProperties);
+		// Like SCR for a Component that is still activating: no service for the CM
+		var services = Map.<ServiceReference<?>, Object>of(ess0Reference, ess0);
+		var listeners = new ArrayList<ServiceListener>();
+		var bundleContext = (BundleContext) Proxy.newProxyInstance(BundleContext.class.getClassLoader(),
+				new Class<?>[] { BundleContext.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "createFilter":
+						return FrameworkUtil.createFilter((String) args[0]);
+					case "addServiceListener":
+						listeners.add((ServiceListener) args[0]);
+						return null;
+					case "getServiceReferences":
+						return new ServiceReference<?>[] { ess0Reference, cmReference };
+					case "getService":
+						return services.get(args[0]);
+					case "ungetService":
+						return true;
+					default:
+						return null;
+					}
+				});
+
+		var registry = new ComponentRegistry();
+		registry.open(bundleContext, componentManager);
+		var snapshot = registry.getSnapshot();
+		assertEquals(2, snapshot.getEnabled().size());
+		assertTrue(snapshot.getEnabled().contains(componentManager));
+		assertSame(componentManager, snapshot.getById("_componentManager", true));
+		assertEquals(List.of(componentManager), snapshot.getEnabledOfType(ComponentManager.class));
+
+		// Configuration of the CM was created
+		cmProperties.put("service.factoryPid", ComponentManager.SINGLETON_SERVICE_PID);
+		for (var listener : listeners) {
+			listener.serviceChanged(new ServiceEvent(ServiceEvent.MODIFIED, cmReference));
+		}
+		snapshot = registry.getSnapshot();
+		assertEquals(List.of(ess0), snapshot.getEnabled());
+		assertSame(componentManager, snapshot.getById("_componentManager", true));
+
+		registry.close();
+		assertNull(registry.getSnapshot().getById("_componentManager", false));
+	}
+
+	private static ServiceReference<?> reference(Map<String, Object> properties) {
+		return (ServiceReference<?>) Proxy.newProxyInstance(ServiceReference.class.getClassLoader(),
+				new Class<?>[] { ServiceReference.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getProperty":
+						return properties.get(args[0]);
+					case "getPropertyKeys":
+						return properties.keySet().toArray(new String[0]);
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "compareTo":
+						return 0;
+					default:
+						return null;
+					}
+				});
+	}
+
+	/**
+	 * Compares one Cycle of lookups - 'getEnabledComponents()' and
+	 * 'getComponent(id)' for every Component - via LDAP filter against the
+	 * {@link ComponentRegistry}. The LDAP variant only parses and matches the
+	 * filters, i.e. it is a lower bound for the lookup in the OSGi service
+	 * registry.
+	 */
+	@Ignore
+	@Test
+	public void benchmark() throws InvalidSyntaxException {
+		for (var noOfComponents : new int[] { 20, 100, 500 }) {
+			var registry = new ComponentRegistry();
+			var properties = new ArrayList<Dictionary<String, Object>>();
+			for (var i = 0; i < noOfComponents; i++) {
+				var id = "meter" + i;
+				registry.put(id, new Entry(id, new DummySymmetricMeter(id), true, false, METER_CLASSES));
+				var p = new Hashtable<String, Object>();
+				p.put("id", id);
+				p.put("enabled", true);
+				p.put("objectClass", METER_CLASSES.toArray(new String[0]));
+				properties.add(p);
+			}
+
+			final var cycles = 200;
+			var filterNanos = Long.MAX_VALUE;
+			var registryNanos = Long.MAX_VALUE;
+			for (var round = 0; round < 10; round++) {
+				var start = System.nanoTime();
+				var found = 0;
+				for (var cycle = 0; cycle < cycles; cycle++) {
+					found += filter("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))", properties);
+					for (var i = 0; i < noOfComponents; i++) {
+						found += filter("(&(enabled=true)(id=meter" + i + "))", properties);
+					}
+				}
+				filterNanos = Math.min(filterNanos, (System.nanoTime() - start) / cycles);
+				assertEquals(cycles * noOfComponents * 2, found);
+
+				start = System.nanoTime();
+				found = 0;
+				for (var cycle = 0; cycle < cycles; cycle++) {
+					var snapshot = registry.getSnapshot();
+					found += snapshot.getEnabled().size();
+					for (var i = 0; i < noOfComponents; i++) {
+						found += snapshot.getById("meter" + i, true) != null ? 1 : 0;
+					}
+				}
+				registryNanos = Math.min(registryNanos, (System.nanoTime() - start) / cycles);
+				assertEquals(cycles * noOfComponents * 2, found);
+			}
+			System.out.println(String.format("%3d Components: LDAP filter %,10d ns/Cycle | Registry %,8d ns/Cycle",
+					noOfComponents, filterNanos, registryNanos));
+		}
+	}
+
+	private static int filter(String filter, List<Dictionary<String, Object>> properties)
+			throws InvalidSyntaxException {
+		var f = FrameworkUtil.createFilter(filter);
+		var result = 0;
+		for (var p : properties) {
+			if (f.match(p)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,46 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.edge.core.cycle.CycleProfile.Type;
+
+public class CycleProfileTest {
+
+	@Test
+	public void test() {
+		var sut = new CycleProfile();
+
+		// Fast Cycle
+		sut.record(Type.CONTROLLER, "ctrl0", 1_000);
+		sut.record(Type.CONTROLLER, "ctrl1", 2_000);
+		assertNull(sut.finishCycle(5_000, 100));
+
+		// Slow Cycle
+		sut.record(Type.CONTROLLER, "ctrl0", 150_000);
+		var trace = sut.finishCycle(160_000, 100);
+		assertEquals(160_000, trace.get("duration").getAsLong());
+		assertEquals(1, trace.getAsJsonArray("trace").size());
+		assertEquals("ctrl0", trace.getAsJsonArray("trace").get(0).getAsJsonObject().get("id").getAsString());
+
+		var json = sut.toJson();
+		assertEquals(1, json.get("slowCycles").getAsLong());
+		assertEquals(2, json.getAsJsonObject("controllers").getAsJsonObject("ctrl0").get("count").getAsLong());
+		assertEquals(2, json.getAsJsonObject("phases").getAsJsonObject("cycle").get("count").getAsLong());
+
+		// Controller was removed
+		sut.retain(Type.CONTROLLER, Set.of("ctrl0"));
+		assertFalse(sut.toJson().getAsJsonObject("controllers").has("ctrl1"));
+
+		sut.reset();
+		json = sut.toJson();
+		assertEquals(0, json.get("slowCycles").getAsLong());
+		assertFalse(json.has("lastSlowCycle"));
+	}
+
+}
@@ -0,0 +1,43 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBuckets() {
+		for (var value = 0L; value < 100_000; value++) {
+			var index = LatencyHistogram.getIndex(value);
+			assertTrue(LatencyHistogram.getLowerBound(index) <= value);
+			assertTrue(LatencyHistogram.getLowerBound(index + 1) > value);
+		}
+		LatencyHistogram.getIndex(Long.MAX_VALUE); // no overflow
+	}
+
+	@Test
+	public void testPercentiles() {
+		var sut = new LatencyHistogram();
+		assertEquals(0, sut.getValueAtPercentile(50));
+
+		for (var i = 1; i <= 100; i++) {
+			sut.record(i * 100);
+		}
+		assertEquals(100, sut.getTotalCount());
+		assertEquals(10_000, sut.getMax());
+		assertEquals(10_000, sut.getValueAtPercentile(100));
+
+		// Relative error of at most 12.5 %
+		var p50 = sut.getValueAtPercentile(50);
+		assertTrue(p50 >= 5_000 && p50 <= 5_000 * 1.125);
+		var p90 = sut.getValueAtPercentile(90);
+		assertTrue(p90 >= 9_000 && p90 <= 9_000 * 1.125);
+
+		sut.reset();
+		assertEquals(0, sut.getTotalCount());
+		assertEquals(0, sut.getMax());
+	}
+
+}
@@ -0,0 +1,139 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ProcessImageTest {
+
+	private static class MyChannelId implements ChannelId {
+
+		private final String name;
+
+		private MyChannelId(int index) {
+			this.name = "CHANNEL_" + index;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return Doc.of(OpenemsType.INTEGER);
+		}
+	}
+
+	private static class MyComponent extends AbstractOpenemsComponent {
+
+		private final List<Channel<Integer>> myChannels = new ArrayList<>();
+
+		protected MyComponent(String id, int noOfChannels) {
+			super(new io.openems.edge.common.channel.ChannelId[0]);
+			this.activate(null, id, null, true);
+			for (var i = 0; i < noOfChannels; i++) {
+				this.addMyChannel();
+			}
+		}
+
+		private Channel<Integer> addMyChannel() {
+			@SuppressWarnings("unchecked")
+			var channel = (Channel<Integer>) this.addChannel(new MyChannelId(this.myChannels.size()));
+			this.myChannels.add(channel);
+			return channel;
+		}
+
+		private void removeMyChannel(Channel<Integer> channel) {
+			this.removeChannel(channel);
+			this.myChannels.remove(channel);
+		}
+	}
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@After
+	public void after() {
+		this.pool.shutdown();
+	}
+
+	@Test
+	public void testCallbacksSeeCompleteProcessImage() {
+		var component0 = new MyComponent("component0", 1);
+		var component1 = new MyComponent("component1", 1);
+		var channel0 = component0.myChannels.get(0);
+		var channel1 = component1.myChannels.get(0);
+		var seenValues = new ArrayList<Integer>();
+		channel0.onChange((oldValue, newValue) -> seenValues.add(channel1.value().get()));
+
+		var sut = new ProcessImage(this.pool);
+		channel0.setNextValue(1);
+		channel1.setNextValue(2);
+		sut.nextProcessImage(List.of(component0, component1));
+
+		assertEquals(List.of(2), seenValues);
+		assertEquals(1, (int) channel0.value().get());
+	}
+
+	@Test
+	public void testRebuild() {
+		var component0 = new MyComponent("component0", 2);
+		var sut = new ProcessImage(this.pool);
+		sut.nextProcessImage(List.of(component0));
+		assertEquals(2, sut.getNoOfChannels());
+
+		// Channel added
+		var channel = component0.addMyChannel();
+		channel.setNextValue(5);
+		sut.nextProcessImage(List.of(component0));
+		assertEquals(3, sut.getNoOfChannels());
+		assertEquals(5, (int) channel.value().get());
+
+		// Component added
+		sut.nextProcessImage(List.of(component0, new MyComponent("component1", 4)));
+		assertEquals(7, sut.getNoOfChannels());
+
+		// Channel replaced: same number of Channels
+		component0.removeMyChannel(channel);
+		var replacement = component0.addMyChannel();
+		replacement.setNextValue(6);
+		sut.nextProcessImage(List.of(component0));
+		assertEquals(3, sut.getNoOfChannels());
+		assertEquals(6, (int) replacement.value().get());
+	}
+
+	@Test
+	public void testParallel() {
+		var components = new ArrayList<OpenemsComponent>();
+		for (var i = 0; i < 10; i++) {
+			components.add(new MyComponent("component" + i, ProcessImage.PARTITION_SIZE));
+		}
+		var sut = new ProcessImage(this.pool);
+		for (var cycle = 0; cycle < 3; cycle++) {
+			for (var component : components) {
+				for (var channel : ((MyComponent) component).myChannels) {
+					channel.setNextValue(cycle);
+				}
+			}
+			sut.nextProcessImage(components);
+			for (var component : components) {
+				for (var channel : ((MyComponent) component).myChannels) {
+					assertEquals(cycle, (int) channel.value().get());
+				}
+			}
+		}
+	}
+
+}
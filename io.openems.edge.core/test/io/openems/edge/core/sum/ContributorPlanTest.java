@@ -0,0 +1,198 @@
+package io.openems.edge.core.sum;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.calculate.CalculateAverage;
+import io.openems.edge.common.channel.calculate.CalculateIntegerSum;
+import io.openems.edge.common.channel.calculate.CalculateLongSum;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.GridMode;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.meter.api.MeterType;
+import io.openems.edge.meter.api.SymmetricMeter;
+import io.openems.edge.meter.test.DummySymmetricMeter;
+
+public class ContributorPlanTest {
+
+	private static void set(Channel<?> channel, Object value) {
+		channel.setNextValue(value);
+		channel.nextProcessImage();
+	}
+
+	private static DummySymmetricMeter productionMeter(String id) {
+		return new DummySymmetricMeter(id) {
+			@Override
+			public MeterType getMeterType() {
+				return MeterType.PRODUCTION;
+			}
+		};
+	}
+
+	@Test
+	public void testSums() {
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var ess1 = new DummyManagedSymmetricEss("ess1");
+		var grid = new DummySymmetricMeter("meter0");
+		var pv = productionMeter("meter1");
+		set(ess0.getSocChannel(), 40);
+		set(ess1.getSocChannel(), 61);
+		set(ess0.getActivePowerChannel(), 1000);
+		set(ess0.getGridModeChannel(), GridMode.ON_GRID);
+		set(ess1.getGridModeChannel(), GridMode.ON_GRID);
+		set(grid.getActivePowerChannel(), -500);
+		set(pv.getActivePowerChannel(), 1501);
+
+		var plan = new ContributorPlan(List.of(ess0, ess1, grid, pv), null, Set.of());
+
+		assertEquals(50.5, plan.essSoc.calculate(), 0.001);
+		assertEquals(Integer.valueOf(1000), plan.essActivePower.calculate());
+		assertEquals(Integer.valueOf(333), plan.essActivePowerL1.calculate());
+		assertEquals(GridMode.ON_GRID, plan.essGridMode.calculate());
+		assertEquals(Integer.valueOf(-500), plan.gridActivePower.calculate());
+		assertEquals(Integer.valueOf(-167), plan.gridActivePowerL2.calculate());
+		assertEquals(Integer.valueOf(1501), plan.productionAcActivePower.calculate());
+		assertEquals(Integer.valueOf(500), plan.productionAcActivePowerL3.calculate());
+		assertNull(plan.essReactivePower.calculate());
+		assertNull(plan.productionDcActualPower.calculate());
+
+		// Plan reads the current values
+		set(ess1.getActivePowerChannel(), -200);
+		assertEquals(Integer.valueOf(800), plan.essActivePower.calculate());
+		set(ess1.getGridModeChannel(), GridMode.OFF_GRID);
+		assertEquals(GridMode.UNDEFINED, plan.essGridMode.calculate());
+	}
+
+	@Test
+	public void testStates() {
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var meter0 = new DummySymmetricMeter("meter0");
+		var meter1 = new DummySymmetricMeter("meter1");
+		var plan = new ContributorPlan(List.of(ess0, meter0, meter1), meter1, Set.of("meter0"));
+		var states = plan.states;
+
+		assertEquals(Level.OK, states.getHighestLevel());
+		assertFalse(states.hasIgnoredComponentStates());
+		assertTrue(states.hasComponentStates());
+
+		set(ess0.getStateChannel(), Level.WARNING);
+		assertEquals(Level.WARNING, states.getHighestLevel());
+
+		// Ignored Component
+		set(meter0.getStateChannel(), Level.FAULT);
+		assertEquals(Level.WARNING, states.getHighestLevel());
+		assertTrue(states.hasIgnoredComponentStates());
+
+		// Sum-Component itself
+		set(meter1.getStateChannel(), Level.FAULT);
+		assertEquals(Level.WARNING, states.getHighestLevel());
+
+		set(ess0.getStateChannel(), Level.OK);
+		assertEquals(Level.OK, states.getHighestLevel());
+
+		// No updates after close
+		plan.close();
+		set(ess0.getStateChannel(), Level.FAULT);
+		assertEquals(Level.OK, states.getHighestLevel());
+	}
+
+	/**
+	 * Compares the calculation of the Ess and Grid sums with the
+	 * CalculateIntegerSum/CalculateLongSum/CalculateAverage objects that are
+	 * created per Cycle against a {@link ContributorPlan}.
+	 */
+	@Ignore
+	@Test
+	public void benchmark() {
+		for (var noOfDevices : new int[] { 5, 50, 200 }) {
+			var components = new ArrayList<OpenemsComponent>();
+			for (var i = 0; i < noOfDevices; i++) {
+				if (i % 2 == 0) {
+					var ess = new DummyManagedSymmetricEss("ess" + i);
+					set(ess.getSocChannel(), 50);
+					set(ess.getActivePowerChannel(), 1000 + i);
+					set(ess.getActiveChargeEnergyChannel(), 10_000L + i);
+					components.add(ess);
+				} else {
+					var meter = new DummySymmetricMeter("meter" + i);
+					set(meter.getActivePowerChannel(), -500 - i);
+					set(meter.getActiveProductionEnergyChannel(), 20_000L + i);
+					components.add(meter);
+				}
+			}
+			var plan = new ContributorPlan(components, null, Set.of());
+
+			final var cycles = 10_000;
+			var calculateNanos = Long.MAX_VALUE;
+			var planNanos = Long.MAX_VALUE;
+			for (var round = 0; round < 10; round++) {
+				var start = System.nanoTime();
+				var result = 0L;
+				for (var cycle = 0; cycle < cycles; cycle++) {
+					result += calculate(components);
+				}
+				calculateNanos = Math.min(calculateNanos, (System.nanoTime() - start) / cycles);
+
+				start = System.nanoTime();
+				var planResult = 0L;
+				for (var cycle = 0; cycle < cycles; cycle++) {
+					planResult += plan.essSoc.calculate().longValue() //
+							+ plan.essActivePower.calculate() //
+							+ plan.essActivePowerL1.calculate() //
+							+ plan.essActiveChargeEnergy.calculate() //
+							+ plan.gridActivePower.calculate() //
+							+ plan.gridActivePowerL1.calculate() //
+							+ plan.gridBuyActiveEnergy.calculate();
+				}
+				planNanos = Math.min(planNanos, (System.nanoTime() - start) / cycles);
+				assertEquals(result, planResult);
+			}
+			System.out.println(String.format("%3d Devices: Calculate-Objects %,8d ns/Cycle | Plan %,7d ns/Cycle",
+					noOfDevices, calculateNanos, planNanos));
+		}
+	}
+
+	private static long calculate(List<OpenemsComponent> components) {
+		var essSoc = new CalculateAverage();
+		var essActivePower = new CalculateIntegerSum();
+		var essActivePowerL1 = new CalculateIntegerSum();
+		var essActiveChargeEnergy = new CalculateLongSum();
+		var gridActivePower = new CalculateIntegerSum();
+		var gridActivePowerL1 = new CalculateIntegerSum();
+		var gridBuyActiveEnergy = new CalculateLongSum();
+		for (var component : components) {
+			if (component instanceof SymmetricEss) {
+				var ess = (SymmetricEss) component;
+				essSoc.addValue(ess.getSocChannel());
+				essActivePower.addValue(ess.getActivePowerChannel());
+				essActivePowerL1.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+				essActiveChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
+			} else if (component instanceof SymmetricMeter) {
+				var meter = (SymmetricMeter) component;
+				gridActivePower.addValue(meter.getActivePowerChannel());
+				gridActivePowerL1.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+				gridBuyActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
+			}
+		}
+		return essSoc.calculate().longValue() //
+				+ essActivePower.calculate() //
+				+ essActivePowerL1.calculate() //
+				+ essActiveChargeEnergy.calculate() //
+				+ gridActivePower.calculate() //
+				+ gridActivePowerL1.calculate() //
+				+ gridBuyActiveEnergy.calculate();
+	}
+
+}
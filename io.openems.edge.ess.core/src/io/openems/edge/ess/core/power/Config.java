@@ -23,6 +23,9 @@ import io.openems.edge.ess.power.api.SolverStrategy;
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default PowerComponent.DEFAULT_DEBUG_MODE;
 
+	@AttributeDefinition(name = "Incremental Solver", description = "Keeps the constraint matrix and results of unchanged linear programmes across Cycles")
+	boolean incrementalSolver() default false;
+
 	@AttributeDefinition(name = "Enable PID Filter", description = "Enables the PID Filter with the settings for P, I and D below")
 	boolean enablePid() default true;
 
@@ -16,6 +16,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.WeightsUtil;
+import io.openems.edge.ess.core.power.solver.IncrementalSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
@@ -39,6 +40,7 @@ public class Data {
 
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
+	private final IncrementalSimplexSolver simplexSolver = new IncrementalSimplexSolver();
 
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
@@ -161,6 +163,16 @@ public class Data {
 		return this.coefficients;
 	}
 
+	/**
+	 * Get the {@link IncrementalSimplexSolver} that solves the linear programmes
+	 * of these Constraints.
+	 *
+	 * @return the {@link IncrementalSimplexSolver}
+	 */
+	public IncrementalSimplexSolver getSimplexSolver() {
+		return this.simplexSolver;
+	}
+
 	/**
 	 * Get the Coefficient of the linear solver for the given parameters.
 	 *
@@ -107,6 +107,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	@Override
 	@Deactivate
 	protected void deactivate() {
+		this.data.getSimplexSolver().setEnabled(false);
 		super.deactivate();
 	}
 
@@ -114,6 +115,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 		this.data.setSymmetricMode(config.symmetricMode());
 		this.debugMode = config.debugMode();
 		this.solver.setDebugMode(config.debugMode());
+		this.data.getSimplexSolver().setEnabled(config.incrementalSolver());
 		this.config = config;
 
 		if (config.enablePid()) {
@@ -203,7 +205,8 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
 			return 0;
 		}
-		var power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr, goal);
+		var power = CalculatePowerExtrema.from(this.data.getSimplexSolver(), this.data.getCoefficients(), allConstraints,
+				ess.id(), phase, pwr, goal);
 		if (power <= Integer.MIN_VALUE || power >= Integer.MAX_VALUE) {
 			this.logError(this.log, goal.name() + " Power for [" + ess.toString() + "," + phase.toString() + ","
 					+ pwr.toString() + "=" + power + "] is out of bounds. Returning '0'");
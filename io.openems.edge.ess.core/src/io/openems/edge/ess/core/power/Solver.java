@@ -64,7 +64,7 @@ public class Solver {
 		 */
 		this.solveWithDisabledInverters = disabledInverters -> {
 			var constraints = this.data.getConstraintsWithoutDisabledInverters(disabledInverters);
-			return ConstraintSolver.solve(this.data.getCoefficients(), constraints);
+			return ConstraintSolver.solve(this.data.getSimplexSolver(), this.data.getCoefficients(), constraints);
 		};
 	}
 
@@ -84,7 +84,8 @@ public class Solver {
 	 */
 	public void isSolvableOrError() throws OpenemsException {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			ConstraintSolver.solve(this.data.getSimplexSolver(), this.data.getCoefficients(),
+					this.data.getConstraintsForAllInverters());
 		} catch (NoFeasibleSolutionException e) {
 			throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
 		} catch (UnboundedSolutionException e) {
@@ -99,7 +100,8 @@ public class Solver {
 	 */
 	public boolean isSolvable() {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			ConstraintSolver.solve(this.data.getSimplexSolver(), this.data.getCoefficients(),
+					this.data.getConstraintsForAllInverters());
 			return true;
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException | OpenemsException e) {
 			return false;
@@ -135,8 +137,8 @@ public class Solver {
 			allConstraints = this.data.getConstraintsForAllInverters();
 
 			// Add Strict constraints if required
-			AddConstraintsForNotStrictlyDefinedCoefficients.apply(allInverters, this.data.getCoefficients(),
-					allConstraints);
+			AddConstraintsForNotStrictlyDefinedCoefficients.apply(allInverters, this.data.getSimplexSolver(),
+					this.data.getCoefficients(), allConstraints);
 
 			// Print log with currently active EQUALS != 0 Constraints
 			if (this.debugMode) {
@@ -151,6 +153,7 @@ public class Solver {
 			// Evaluates whether it is a CHARGE or DISCHARGE problem.
 			targetDirection = TargetDirection.from(//
 					this.data.getInverters(), //
+					this.data.getSimplexSolver(), //
 					this.data.getCoefficients(), //
 					this.data.getConstraintsForAllInverters() //
 			);
@@ -244,18 +247,20 @@ public class Solver {
 			case NONE:
 				break;
 			case ALL_CONSTRAINTS:
-				solution = ConstraintSolver.solve(this.data.getCoefficients(), allConstraints);
+				solution = ConstraintSolver.solve(this.data.getSimplexSolver(), this.data.getCoefficients(),
+						allConstraints);
 				break;
 			case OPTIMIZE_BY_MOVING_TOWARDS_TARGET:
-				solution = MoveTowardsTarget.apply(this.data.getCoefficients(), targetDirection, allInverters,
-						targetInverters, allConstraints);
+				solution = MoveTowardsTarget.apply(this.data.getSimplexSolver(), this.data.getCoefficients(),
+						targetDirection, allInverters, targetInverters, allConstraints);
 				break;
 			case OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER:
-				solution = KeepTargetDirectionAndMaximizeInOrder.apply(this.data.getCoefficients(), allInverters,
-						targetInverters, allConstraints, targetDirection);
+				solution = KeepTargetDirectionAndMaximizeInOrder.apply(this.data.getSimplexSolver(),
+						this.data.getCoefficients(), allInverters, targetInverters, allConstraints, targetDirection);
 				break;
 			case OPTIMIZE_BY_KEEPING_ALL_EQUAL:
-				solution = KeepAllEqual.apply(this.data.getCoefficients(), allInverters, allConstraints);
+				solution = KeepAllEqual.apply(this.data.getSimplexSolver(), this.data.getCoefficients(), allInverters,
+						allConstraints);
 				break;
 			}
 
@@ -264,7 +269,8 @@ public class Solver {
 			}
 		}
 		// no strategy was successful -> try allConstraints
-		solution = ConstraintSolver.solve(this.data.getCoefficients(), allConstraints);
+		solution = ConstraintSolver.solve(this.data.getSimplexSolver(), this.data.getCoefficients(),
+				allConstraints);
 		if (solution != null) {
 			return new SolveSolution(SolverStrategy.ALL_CONSTRAINTS, solution);
 		}
@@ -7,6 +7,7 @@ import java.util.List;
 import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 
+import io.openems.edge.ess.core.power.solver.IncrementalSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.LinearCoefficient;
@@ -16,38 +17,51 @@ public class LinearSolverUtil {
 	/**
 	 * Gets all Constraints converted to Linear Constraints.
 	 *
-	 * @param coefficients the data object
-	 * @param constraints  a list of Constraints
+	 * @param simplexSolver the {@link IncrementalSimplexSolver}
+	 * @param coefficients  the data object
+	 * @param constraints   a list of Constraints
 	 * @return a list of LinearConstraints
 	 */
-	public static List<LinearConstraint> convertToLinearConstraints(Coefficients coefficients,
-			List<Constraint> constraints) {
+	public static List<LinearConstraint> convertToLinearConstraints(IncrementalSimplexSolver simplexSolver,
+			Coefficients coefficients, List<Constraint> constraints) {
 		List<LinearConstraint> result = new ArrayList<>();
 		for (Constraint c : constraints) {
 			if (c.getValue().isPresent()) {
-				var cos = generateEmptyCoefficientsArray(coefficients.getNoOfCoefficients());
-				for (LinearCoefficient co : c.getCoefficients()) {
-					// TODO verify, that ESS is enabled
-					cos[co.getCoefficient().getIndex()] = co.getValue();
-				}
-				org.apache.commons.math3.optim.linear.Relationship relationship = null;
-				switch (c.getRelationship()) {
-				case EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.EQ;
-					break;
-				case GREATER_OR_EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.GEQ;
-					break;
-				case LESS_OR_EQUALS:
-					relationship = org.apache.commons.math3.optim.linear.Relationship.LEQ;
-					break;
-				}
-				result.add(new LinearConstraint(cos, relationship, c.getValue().get()));
+				result.add(simplexSolver.toLinearConstraint(coefficients.getNoOfCoefficients(), c,
+						LinearSolverUtil::convertToLinearConstraint));
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Converts a Constraint with a present value to a Linear Constraint.
+	 *
+	 * @param noOfCoefficients the number of coefficients
+	 * @param c                the Constraint
+	 * @return the LinearConstraint
+	 */
+	private static LinearConstraint convertToLinearConstraint(int noOfCoefficients, Constraint c) {
+		var cos = generateEmptyCoefficientsArray(noOfCoefficients);
+		for (LinearCoefficient co : c.getCoefficients()) {
+			// TODO verify, that ESS is enabled
+			cos[co.getCoefficient().getIndex()] = co.getValue();
+		}
+		org.apache.commons.math3.optim.linear.Relationship relationship = null;
+		switch (c.getRelationship()) {
+		case EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.EQ;
+			break;
+		case GREATER_OR_EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.GEQ;
+			break;
+		case LESS_OR_EQUALS:
+			relationship = org.apache.commons.math3.optim.linear.Relationship.LEQ;
+			break;
+		}
+		return new LinearConstraint(cos, relationship, c.getValue().get());
+	}
+
 	/**
 	 * Gets an empty coefficients array required for linear solver.
 	 *
@@ -3,17 +3,15 @@ package io.openems.edge.ess.core.power.optimizers;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.math3.optim.linear.LinearConstraintSet;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
-import org.apache.commons.math3.optim.linear.PivotSelectionRule;
-import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.IncrementalSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -28,14 +26,15 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 	 * is defined, but no P = X.
 	 *
 	 * @param allInverters   a list of all {@link Inverter}s
+	 * @param simplexSolver  the {@link IncrementalSimplexSolver}
 	 * @param coefficients   the {@link Coefficients}
 	 * @param allConstraints a list of all {@link Constraint}s
 	 * @throws OpenemsException on error
 	 */
-	public static void apply(List<Inverter> allInverters, Coefficients coefficients, List<Constraint> allConstraints)
+	public static void apply(List<Inverter> allInverters, IncrementalSimplexSolver simplexSolver,
+			Coefficients coefficients, List<Constraint> allConstraints)
 			throws OpenemsException {
-		var constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		var constraints = LinearSolverUtil.convertToLinearConstraints(simplexSolver, coefficients, allConstraints);
 
 		for (Pwr pwr : Pwr.values()) {
 			// prepare objective function
@@ -49,12 +48,7 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			// get Max value over all relevant Coefficients
 			double max;
 			try {
-				var solver = new SimplexSolver();
-				var solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MAXIMIZE, //
-						PivotSelectionRule.BLAND);
+				var solution = simplexSolver.optimize(objectiveFunction, constraints, GoalType.MAXIMIZE);
 				max = 0d;
 				for (Inverter inv : allInverters) {
 					var c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -66,12 +60,7 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			// get Min value over all relevant Coefficients
 			double min;
 			try {
-				var solver = new SimplexSolver();
-				var solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MINIMIZE, //
-						PivotSelectionRule.BLAND);
+				var solution = simplexSolver.optimize(objectiveFunction, constraints, GoalType.MINIMIZE);
 				min = 0d;
 				for (Inverter inv : allInverters) {
 					var c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -130,7 +119,7 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			allConstraints.addAll(newConstraints);
 			for (Constraint constraint : newConstraints) {
 				try {
-					ConstraintSolver.solve(coefficients, allConstraints);
+					ConstraintSolver.solve(simplexSolver, coefficients, allConstraints);
 					break;
 				} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
 					// Unable to add Constraint
@@ -13,6 +13,7 @@ import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.TargetDirection;
 import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.IncrementalSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -25,6 +26,7 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 	 * Tries to keep all Target Inverters in the right TargetDirection; then
 	 * maximizes them in order.
 	 *
+	 * @param simplexSolver   the {@link IncrementalSimplexSolver}
 	 * @param coefficients    the {@link Coefficients}
 	 * @param allInverters    all {@link Inverter}s
 	 * @param targetInverters the target {@link Inverter}s
@@ -33,9 +35,9 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 	 * @return a solution as {@link PointValuePair} or null
 	 * @throws OpenemsException on error
 	 */
-	public static PointValuePair apply(Coefficients coefficients, List<Inverter> allInverters,
-			List<Inverter> targetInverters, List<Constraint> allConstraints, TargetDirection targetDirection)
-			throws OpenemsException {
+	public static PointValuePair apply(IncrementalSimplexSolver simplexSolver, Coefficients coefficients,
+			List<Inverter> allInverters, List<Inverter> targetInverters, List<Constraint> allConstraints,
+			TargetDirection targetDirection) throws OpenemsException {
 		List<Constraint> constraints = new ArrayList<>(allConstraints);
 
 		// Add Zero-Constraint for all Inverters that are not Target
@@ -50,7 +52,7 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 			}
 		}
 
-		var result = ConstraintSolver.solve(coefficients, constraints);
+		var result = ConstraintSolver.solve(simplexSolver, coefficients, constraints);
 
 		var relationship = Relationship.EQUALS;
 		switch (targetDirection) {
@@ -68,11 +70,11 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 		for (Inverter inv : targetInverters) {
 			// Create Constraint to force Ess positive/negative/zero according to
 			// targetDirection
-			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
+			result = addContraintIfProblemStillSolves(result, constraints, simplexSolver, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Force ActivePower " + targetDirection.name(), //
 							inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, relationship, 0));
-			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
+			result = addContraintIfProblemStillSolves(result, constraints, simplexSolver, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Force ReactivePower " + targetDirection.name(), //
 							inv.getEssId(), inv.getPhase(), Pwr.REACTIVE, relationship, 0));
@@ -91,16 +93,16 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 				goal = GoalType.MAXIMIZE;
 			}
 
-			var activePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.ACTIVE, goal);
-			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
+			var activePowerTarget = CalculatePowerExtrema.from(simplexSolver, coefficients, allConstraints,
+					inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, goal);
+			result = addContraintIfProblemStillSolves(result, constraints, simplexSolver, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ActivePower " + goal.name() + " value", //
 							inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, Relationship.EQUALS, activePowerTarget));
 
-			var reactivePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.REACTIVE, goal);
-			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
+			var reactivePowerTarget = CalculatePowerExtrema.from(simplexSolver, coefficients, allConstraints,
+					inv.getEssId(), inv.getPhase(), Pwr.REACTIVE, goal);
+			result = addContraintIfProblemStillSolves(result, constraints, simplexSolver, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ReactivePower " + goal.name() + " value", //
 							inv.getEssId(), inv.getPhase(), Pwr.REACTIVE, Relationship.EQUALS, reactivePowerTarget));
@@ -112,18 +114,20 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 	/**
 	 * Add Constraint only if the problem still solves with the Constraint.
 	 *
-	 * @param lastResult   the last result
-	 * @param constraints  the list of {@link Constraint}s
-	 * @param coefficients the {@link Coefficients}
-	 * @param c            the {@link Constraint} to be added
+	 * @param lastResult    the last result
+	 * @param constraints   the list of {@link Constraint}s
+	 * @param simplexSolver the {@link IncrementalSimplexSolver}
+	 * @param coefficients  the {@link Coefficients}
+	 * @param c             the {@link Constraint} to be added
 	 * @return new solution on success; last result on error
 	 */
 	private static PointValuePair addContraintIfProblemStillSolves(PointValuePair lastResult,
-			List<Constraint> constraints, Coefficients coefficients, Constraint c) {
+			List<Constraint> constraints, IncrementalSimplexSolver simplexSolver, Coefficients coefficients,
+			Constraint c) {
 		constraints.add(c);
 		// Try to solve with Constraint
 		try {
-			return ConstraintSolver.solve(coefficients, constraints); // only if solving was successful
+			return ConstraintSolver.solve(simplexSolver, coefficients, constraints); // only if solving was successful
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
 			// solving failed
 			constraints.remove(c);
@@ -14,6 +14,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.TargetDirection;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.IncrementalSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -30,6 +31,7 @@ public class MoveTowardsTarget {
 	 * weights using a learning rate. If this fails it tries to start from the
 	 * target weights towards a given existing solution.
 	 *
+	 * @param simplexSolver   the {@link IncrementalSimplexSolver}
 	 * @param coefficients    the {@link Coefficients}
 	 * @param allInverters    all {@link Inverter}s
 	 * @param targetInverters the target {@link Inverter}s
@@ -38,9 +40,9 @@ public class MoveTowardsTarget {
 	 * @return a solution as {@link PointValuePair} or null
 	 * @throws OpenemsException on error
 	 */
-	public static PointValuePair apply(Coefficients coefficients, TargetDirection targetDirection,
-			List<Inverter> allInverters, List<Inverter> targetInverters, List<Constraint> allConstraints)
-			throws OpenemsException {
+	public static PointValuePair apply(IncrementalSimplexSolver simplexSolver, Coefficients coefficients,
+			TargetDirection targetDirection, List<Inverter> allInverters, List<Inverter> targetInverters,
+			List<Constraint> allConstraints) throws OpenemsException {
 		// find maxLastActive + maxWeight
 		var maxLastActivePower = 0;
 		var sumWeights = 0;
@@ -146,7 +148,7 @@ public class MoveTowardsTarget {
 			}
 
 			try {
-				return ConstraintSolver.solve(coefficients, constraints);
+				return ConstraintSolver.solve(simplexSolver, coefficients, constraints);
 			} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
 				// Adjust next weights
 				for (Entry<Inverter, Double> entry : nextWeights.entrySet()) {
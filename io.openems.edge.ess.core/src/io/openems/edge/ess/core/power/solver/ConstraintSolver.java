@@ -15,16 +15,17 @@ public class ConstraintSolver {
 	/**
 	 * Solves the problem with the given list of Constraints.
 	 *
-	 * @param coefficients the {@link Coefficients}
-	 * @param constraints  a list of Constraints
+	 * @param simplexSolver the {@link IncrementalSimplexSolver}
+	 * @param coefficients  the {@link Coefficients}
+	 * @param constraints   a list of Constraints
 	 * @return a solution
 	 * @throws NoFeasibleSolutionException if not solvable
 	 * @throws UnboundedSolutionException  if not solvable
 	 */
-	public static PointValuePair solve(Coefficients coefficients, List<Constraint> constraints)
-			throws NoFeasibleSolutionException, UnboundedSolutionException {
-		var linearConstraints = LinearSolverUtil.convertToLinearConstraints(coefficients, constraints);
-		return LinearConstraintsSolver.solve(coefficients, linearConstraints);
+	public static PointValuePair solve(IncrementalSimplexSolver simplexSolver, Coefficients coefficients,
+			List<Constraint> constraints) throws NoFeasibleSolutionException, UnboundedSolutionException {
+		var linearConstraints = LinearSolverUtil.convertToLinearConstraints(simplexSolver, coefficients, constraints);
+		return LinearConstraintsSolver.solve(simplexSolver, coefficients, linearConstraints);
 	}
 
 }
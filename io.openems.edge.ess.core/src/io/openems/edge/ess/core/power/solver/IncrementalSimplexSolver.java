@@ -0,0 +1,291 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.PivotSelectionRule;
+import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * Entry point for all linear programmes of the Power solver.
+ *
+ * <p>
+ * Every Cycle the Power solver solves dozens of linear programmes, most of
+ * which are identical to the ones of the previous Cycle or only differ in a few
+ * Constraint values. If incremental mode is enabled:
+ *
+ * <ul>
+ * <li>the constraint matrix is kept across Cycles: the coefficient row of a
+ * {@link Constraint} is converted once per distinct content (coefficients,
+ * relationship and value), even if the Constraint is recreated every Cycle
+ * <li>results of linear programmes are kept in a bounded LRU cache, so a
+ * linear programme that did not change since a previous Cycle is answered
+ * with its previous solution without running the {@link SimplexSolver}
+ * </ul>
+ *
+ * <p>
+ * The results are exactly the same as without incremental mode. Every
+ * {@link io.openems.edge.ess.core.power.Data} holds its own instance, so caches
+ * and configuration are not shared between Power components.
+ */
+public class IncrementalSimplexSolver {
+
+	/**
+	 * Maximum number of cached results of linear programmes.
+	 */
+	protected static final int MAX_RESULTS = 512;
+
+	/**
+	 * Maximum number of cached coefficient rows.
+	 */
+	protected static final int MAX_ROWS = 1024;
+
+	private static class Problem {
+		private final LinearObjectiveFunction objectiveFunction;
+		private final List<LinearConstraint> constraints;
+		private final GoalType goal;
+		private final int hashCode;
+
+		private Problem(LinearObjectiveFunction objectiveFunction, List<LinearConstraint> constraints,
+				GoalType goal) {
+			this.objectiveFunction = objectiveFunction;
+			this.constraints = constraints;
+			this.goal = goal;
+			this.hashCode = Objects.hash(objectiveFunction, constraints, goal);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Problem)) {
+				return false;
+			}
+			var other = (Problem) obj;
+			return this.hashCode == other.hashCode //
+					&& this.goal == other.goal //
+					&& this.objectiveFunction.equals(other.objectiveFunction) //
+					&& this.constraints.equals(other.constraints);
+		}
+	}
+
+	/*
+	 * Identifies a coefficient row by its content, so that Constraints that are
+	 * recreated every Cycle with the same coefficients, relationship and value
+	 * share the same LinearConstraint.
+	 */
+	private static class RowKey {
+		private final int noOfCoefficients;
+		private final Relationship relationship;
+		private final int[] indices;
+		private final double[] coefficients;
+		private final double value;
+		private final int hashCode;
+
+		private RowKey(int noOfCoefficients, Constraint constraint) {
+			this.noOfCoefficients = noOfCoefficients;
+			this.relationship = constraint.getRelationship();
+			var linearCoefficients = constraint.getCoefficients();
+			this.indices = new int[linearCoefficients.length];
+			this.coefficients = new double[linearCoefficients.length];
+			for (var i = 0; i < linearCoefficients.length; i++) {
+				this.indices[i] = linearCoefficients[i].getCoefficient().getIndex();
+				this.coefficients[i] = linearCoefficients[i].getValue();
+			}
+			this.value = constraint.getValue().get();
+			this.hashCode = Objects.hash(noOfCoefficients, this.relationship, Arrays.hashCode(this.indices),
+					Arrays.hashCode(this.coefficients), this.value);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof RowKey)) {
+				return false;
+			}
+			var other = (RowKey) obj;
+			return this.hashCode == other.hashCode //
+					&& this.noOfCoefficients == other.noOfCoefficients //
+					&& this.relationship == other.relationship //
+					&& Double.compare(this.value, other.value) == 0 //
+					&& Arrays.equals(this.indices, other.indices) //
+					&& Arrays.equals(this.coefficients, other.coefficients);
+		}
+	}
+
+	/*
+	 * Converted coefficient rows by content. Reusing the same LinearConstraint
+	 * instance also makes the comparison of cached Problems cheap.
+	 */
+	private final Map<RowKey, LinearConstraint> rows = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<RowKey, LinearConstraint> eldest) {
+			return this.size() > MAX_ROWS;
+		}
+	};
+
+	/*
+	 * Holds either a PointValuePair or the MathIllegalStateException thrown by the
+	 * SimplexSolver.
+	 */
+	private final Map<Problem, Object> results = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Problem, Object> eldest) {
+			return this.size() > MAX_RESULTS;
+		}
+	};
+
+	private volatile boolean enabled = false;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Enables or disables incremental mode. Clears all cached data.
+	 *
+	 * @param enabled true to enable
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		this.rows.clear();
+		this.results.clear();
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Is incremental mode enabled?.
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Gets the number of linear programmes that were answered from cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of linear programmes that had to be solved.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Converts a {@link Constraint} to a {@link LinearConstraint}. In incremental
+	 * mode the result of a previous conversion of a Constraint with the same
+	 * coefficients, relationship and value is reused.
+	 *
+	 * @param noOfCoefficients the number of coefficients
+	 * @param constraint       the {@link Constraint}; its value must be present
+	 * @param converter        converts the Constraint if required
+	 * @return the {@link LinearConstraint}
+	 */
+	public LinearConstraint toLinearConstraint(int noOfCoefficients, Constraint constraint,
+			BiFunction<Integer, Constraint, LinearConstraint> converter) {
+		if (!this.enabled) {
+			return converter.apply(noOfCoefficients, constraint);
+		}
+		var key = new RowKey(noOfCoefficients, constraint);
+		synchronized (this) {
+			var linearConstraint = this.rows.get(key);
+			if (linearConstraint == null) {
+				linearConstraint = converter.apply(noOfCoefficients, constraint);
+				this.rows.put(key, linearConstraint);
+			}
+			return linearConstraint;
+		}
+	}
+
+	/**
+	 * Optimizes a linear programme using the {@link SimplexSolver} with
+	 * {@link PivotSelectionRule#BLAND}. In incremental mode the result of an
+	 * identical previous linear programme is reused.
+	 *
+	 * @param objectiveFunction the {@link LinearObjectiveFunction}
+	 * @param constraints       the {@link LinearConstraint}s
+	 * @param goal              the {@link GoalType}
+	 * @return the solution as {@link PointValuePair}
+	 * @throws MathIllegalStateException if not solvable
+	 */
+	public PointValuePair optimize(LinearObjectiveFunction objectiveFunction, List<LinearConstraint> constraints,
+			GoalType goal) throws MathIllegalStateException {
+		if (!this.enabled) {
+			return simplex(objectiveFunction, constraints, goal);
+		}
+
+		var problem = new Problem(objectiveFunction, List.copyOf(constraints), goal);
+		Object result;
+		synchronized (this) {
+			result = this.results.get(problem);
+			if (result != null) {
+				this.hits++;
+			} else {
+				this.misses++;
+			}
+		}
+		if (result == null) {
+			try {
+				result = simplex(objectiveFunction, constraints, goal);
+			} catch (MathIllegalStateException e) {
+				result = e;
+			}
+			synchronized (this) {
+				this.results.put(problem, result);
+			}
+		}
+		if (result instanceof MathIllegalStateException) {
+			throw (MathIllegalStateException) result;
+		}
+		return (PointValuePair) result;
+	}
+
+	private static PointValuePair simplex(LinearObjectiveFunction objectiveFunction,
+			List<LinearConstraint> constraints, GoalType goal) throws MathIllegalStateException {
+		var solver = new SimplexSolver();
+		return solver.optimize(//
+				objectiveFunction, //
+				new LinearConstraintSet(constraints), //
+				goal, //
+				PivotSelectionRule.BLAND);
+	}
+
+}
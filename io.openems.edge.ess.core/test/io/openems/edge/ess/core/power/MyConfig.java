@@ -10,6 +10,7 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public SolverStrategy strategy;
 		public boolean symmetricMode;
 		public boolean debugMode;
+		public boolean incrementalSolver;
 		public boolean enablePid;
 		public double p;
 		public double i;
@@ -34,6 +35,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setIncrementalSolver(boolean incrementalSolver) {
+			this.incrementalSolver = incrementalSolver;
+			return this;
+		}
+
 		public Builder setEnablePid(boolean enablePid) {
 			this.enablePid = enablePid;
 			return this;
@@ -90,6 +96,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
+	@Override
+	public boolean incrementalSolver() {
+		return this.builder.incrementalSolver;
+	}
+
 	@Override
 	public boolean enablePid() {
 		return this.builder.enablePid;
@@ -0,0 +1,114 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.power.api.SolverStrategy;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.ess.test.DummyMetaEss;
+
+/**
+ * JMH benchmark for one Cycle of the Power solver with an ESS cluster of
+ * symmetric inverters, with and without incremental mode.
+ *
+ * <p>
+ * Run via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+	private static final String CLUSTER_ID = "ess0";
+	private static final int TARGET_ACTIVE_POWER = 10_000;
+
+	@Param({ "1", "4", "16", "64" })
+	public int noOfInverters;
+
+	@Param({ "false", "true" })
+	public boolean incremental;
+
+	private Data data;
+	private Solver solver;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		var esss = new SymmetricEss[this.noOfInverters];
+		this.data = new Data();
+		this.data.getSimplexSolver().setEnabled(this.incremental);
+		this.data.setSymmetricMode(true);
+		for (var i = 0; i < this.noOfInverters; i++) {
+			var ess = new DummyManagedSymmetricEss("ess" + (i + 1)) //
+					.withAllowedChargePower(-50_000) //
+					.withAllowedDischargePower(50_000) //
+					.withMaxApparentPower(12_000) //
+					.withSoc(20 + i % 60);
+			esss[i] = ess;
+			this.data.addEss(ess);
+		}
+		var cluster = new DummyMetaEss(CLUSTER_ID, esss);
+		this.data.addEss(cluster);
+		this.data.initializeCycle();
+		this.solver = new Solver(this.data);
+	}
+
+	/**
+	 * One Cycle: a Controller reads the extrema of the cluster and sets a target;
+	 * then the Power solver distributes it.
+	 *
+	 * @param blackhole the {@link Blackhole}
+	 * @throws OpenemsException on error
+	 */
+	@Benchmark
+	public void cycle(Blackhole blackhole) throws OpenemsException {
+		var constraints = this.data.getConstraintsForAllInverters();
+		blackhole.consume(CalculatePowerExtrema.from(this.data.getSimplexSolver(), this.data.getCoefficients(),
+				constraints, CLUSTER_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE));
+		blackhole.consume(CalculatePowerExtrema.from(this.data.getSimplexSolver(), this.data.getCoefficients(),
+				constraints, CLUSTER_ID, Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE));
+
+		this.data.addSimpleConstraint("Target", CLUSTER_ID, Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS,
+				TARGET_ACTIVE_POWER);
+		this.solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		this.data.initializeCycle();
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args ignored
+	 * @throws RunnerException on error
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder() //
+				.include(SolverBenchmark.class.getSimpleName()) //
+				.build()).run();
+	}
+
+}
@@ -39,21 +39,21 @@ public class TargetDirectionTest {
 		// #1
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 0);
 		assertEquals(TargetDirection.KEEP_ZERO, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getInverters(), data.getSimplexSolver(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 		data.initializeCycle();
 
 		// #2
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, -1);
 		assertEquals(TargetDirection.CHARGE, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getInverters(), data.getSimplexSolver(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 		data.initializeCycle();
 
 		// #3
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 1);
 		assertEquals(TargetDirection.DISCHARGE, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getInverters(), data.getSimplexSolver(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 	}
 
@@ -0,0 +1,96 @@
+package io.openems.edge.ess.core.power.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+public class IncrementalSimplexSolverTest {
+
+	private static Coefficients createCoefficients() {
+		var coefficients = new Coefficients();
+		coefficients.initialize(true, Set.of("ess0", "ess1"));
+		return coefficients;
+	}
+
+	private static Constraint createConstraint(Coefficients coefficients, String essId, double value)
+			throws OpenemsException {
+		return ConstraintUtil.createSimpleConstraint(coefficients, "", essId, Phase.ALL, Pwr.ACTIVE,
+				Relationship.LESS_OR_EQUALS, value);
+	}
+
+	@Test
+	public void testRows() throws OpenemsException {
+		var sut = new IncrementalSimplexSolver();
+		sut.setEnabled(true);
+		var coefficients = createCoefficients();
+		var constraint = createConstraint(coefficients, "ess0", 5000);
+
+		var linearConstraint = LinearSolverUtil.convertToLinearConstraints(sut, coefficients, List.of(constraint))
+				.get(0);
+		assertSame(linearConstraint,
+				LinearSolverUtil.convertToLinearConstraints(sut, coefficients, List.of(constraint)).get(0));
+
+		// Same content in a new Constraint object, as created every Cycle
+		assertSame(linearConstraint, LinearSolverUtil
+				.convertToLinearConstraints(sut, coefficients, List.of(createConstraint(coefficients, "ess0", 5000)))
+				.get(0));
+
+		// Value changed
+		constraint.setValue(6000);
+		var changed = LinearSolverUtil.convertToLinearConstraints(sut, coefficients, List.of(constraint)).get(0);
+		assertNotSame(linearConstraint, changed);
+		assertEquals(6000, changed.getValue(), 0);
+	}
+
+	@Test
+	public void testResults() throws OpenemsException {
+		var sut = new IncrementalSimplexSolver();
+		sut.setEnabled(true);
+		var coefficients = createCoefficients();
+
+		// Equal linear programmes from different Constraint objects
+		var solution = ConstraintSolver.solve(sut, coefficients,
+				List.of(createConstraint(coefficients, "ess0", 5000)));
+		assertSame(solution,
+				ConstraintSolver.solve(sut, coefficients, List.of(createConstraint(coefficients, "ess0", 5000))));
+		assertEquals(1, sut.getHits());
+		assertEquals(1, sut.getMisses());
+
+		// Changed linear programme
+		assertNotSame(solution,
+				ConstraintSolver.solve(sut, coefficients, List.of(createConstraint(coefficients, "ess1", 5000))));
+		assertEquals(2, sut.getMisses());
+
+		// Instances do not share their caches
+		var other = new IncrementalSimplexSolver();
+		other.setEnabled(true);
+		assertNotSame(solution,
+				ConstraintSolver.solve(other, coefficients, List.of(createConstraint(coefficients, "ess0", 5000))));
+		assertEquals(1, other.getMisses());
+	}
+
+	@Test
+	public void testDisabled() throws OpenemsException {
+		var sut = new IncrementalSimplexSolver();
+		var coefficients = createCoefficients();
+		var constraints = List.of(createConstraint(coefficients, "ess0", 5000));
+		assertNotSame(ConstraintSolver.solve(sut, coefficients, constraints),
+				ConstraintSolver.solve(sut, coefficients, constraints));
+		assertEquals(0, sut.getMisses());
+	}
+
+}
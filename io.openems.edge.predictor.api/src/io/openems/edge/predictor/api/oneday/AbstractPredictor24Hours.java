@@ -1,33 +1,134 @@
 package io.openems.edge.predictor.api.oneday;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.osgi.service.component.ComponentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.OpenemsComponent;
 
+/**
+ * Base class for {@link Predictor24Hours}s.
+ *
+ * <p>
+ * Predictions are created on a background thread shortly before each 15
+ * minutes period starts. {@link #get24HoursPrediction(ChannelAddress)} never
+ * waits for a running calculation, but returns the last completed prediction -
+ * only the very first request for a {@link ChannelAddress} creates its
+ * prediction synchronously.
+ */
 public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 		implements Predictor24Hours, OpenemsComponent {
 
+	/**
+	 * Predictions for the next 15 minutes period are created this long before the
+	 * period starts.
+	 */
+	protected static final Duration REFRESH_LEAD_TIME = Duration.ofMinutes(1);
+
+	/**
+	 * Interval to check if a prediction has to be created.
+	 */
+	private static final int REFRESH_CHECK_SECONDS = 10;
+
+	/**
+	 * Time to wait for a running calculation on deactivate.
+	 */
+	private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * A completed prediction for the 15 minutes period starting at 'timestamp'.
+	 */
+	private static class TimedPrediction {
+		private final ZonedDateTime timestamp;
+		private final Prediction24Hours prediction;
+		private final TimedPrediction previous;
+
+		private TimedPrediction(ZonedDateTime timestamp, Prediction24Hours prediction, TimedPrediction previous) {
+			this.timestamp = timestamp;
+			this.prediction = prediction;
+			// Keep only one previous prediction
+			this.previous = previous == null ? null
+					: new TimedPrediction(previous.timestamp, previous.prediction, null);
+		}
+	}
+
 	protected static class PredictionContainer {
-		private Prediction24Hours latestPrediction = null;
-		private ZonedDateTime latestPredictionTimestamp = null;
+		private volatile TimedPrediction latest = null;
+
+		/**
+		 * Adds a completed prediction.
+		 *
+		 * @param timestamp  the start of the 15 minutes period
+		 * @param prediction the {@link Prediction24Hours}
+		 */
+		private synchronized void add(ZonedDateTime timestamp, Prediction24Hours prediction) {
+			var latest = this.latest;
+			if (latest == null || timestamp.isAfter(latest.timestamp)) {
+				this.latest = new TimedPrediction(timestamp, prediction, latest);
+			} else if (timestamp.isEqual(latest.timestamp)) {
+				this.latest = new TimedPrediction(timestamp, prediction, latest.previous);
+			}
+		}
+
+		/**
+		 * Gets the most recent prediction that is valid at the given period, i.e. a
+		 * prediction for a future period is not returned.
+		 *
+		 * @param period the start of the current 15 minutes period
+		 * @return the {@link TimedPrediction}; or null
+		 */
+		private TimedPrediction get(ZonedDateTime period) {
+			var latest = this.latest;
+			if (latest == null || !latest.timestamp.isAfter(period)) {
+				return latest;
+			}
+			return latest.previous;
+		}
 	}
 
-	private final Map<ChannelAddress, PredictionContainer> predictions = new HashMap<>();
+	private final Logger log = LoggerFactory.getLogger(AbstractPredictor24Hours.class);
+	private final Map<ChannelAddress, PredictionContainer> predictions = new ConcurrentHashMap<>();
+	private final AtomicBoolean isRefreshPending = new AtomicBoolean(false);
 	private ChannelAddress[] channelAddresses = {};
 
+	// guarded by 'predictions'
+	private ScheduledExecutorService executor = null;
+	private boolean isDeactivated = false;
+
 	protected abstract ClockProvider getClockProvider();
 
-	protected abstract Prediction24Hours createNewPrediction(ChannelAddress channelAddress);
+	/**
+	 * Creates a new prediction for the given {@link ChannelAddress}.
+	 *
+	 * <p>
+	 * This method is called on a background thread, possibly a little before the
+	 * 15 minutes period starts.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param timestamp      the start of the 15 minutes period the first value of
+	 *                       the prediction is for
+	 * @return the {@link Prediction24Hours}
+	 */
+	protected abstract Prediction24Hours createNewPrediction(ChannelAddress channelAddress,
+			ZonedDateTime timestamp);
 
 	protected AbstractPredictor24Hours(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -49,6 +150,28 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 		this.channelAddresses = channelAddressesArray;
 	}
 
+	@Override
+	protected void deactivate() {
+		this.stopPredictions();
+		super.deactivate();
+	}
+
+	/**
+	 * Stops creating predictions in the background and waits for a running
+	 * calculation. Call this before closing resources that are used by
+	 * {@link #createNewPrediction(ChannelAddress, ZonedDateTime)}.
+	 */
+	protected void stopPredictions() {
+		final ScheduledExecutorService executor;
+		synchronized (this.predictions) {
+			this.isDeactivated = true;
+			executor = this.executor;
+			this.executor = null;
+		}
+		// Wait for a running calculation outside of the lock
+		ThreadPoolUtils.shutdownAndAwaitTermination(executor, SHUTDOWN_TIMEOUT_SECONDS);
+	}
+
 	@Override
 	public ChannelAddress[] getChannelAddresses() {
 		return this.channelAddresses;
@@ -56,21 +179,108 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 
 	@Override
 	public Prediction24Hours get24HoursPrediction(ChannelAddress channelAddress) {
-		var now = roundZonedDateTimeDownTo15Minutes(ZonedDateTime.now(this.getClockProvider().getClock()));
-		var container = this.predictions.get(channelAddress);
-		if (container == null) {
-			container = new PredictionContainer();
-			this.predictions.put(channelAddress, container);
+		var period = roundZonedDateTimeDownTo15Minutes(ZonedDateTime.now(this.getClockProvider().getClock()));
+		var container = this.predictions.computeIfAbsent(channelAddress, c -> new PredictionContainer());
+		var prediction = container.get(period);
+		if (prediction == null) {
+			// First request: no previous prediction available
+			this.createPrediction(channelAddress, container, period);
+			prediction = container.get(period);
+			this.scheduleRefresh(false);
+
+		} else if (prediction.timestamp.isBefore(period)) {
+			if (this.scheduleRefresh(true)) {
+				// Serve previous prediction while the current one is created
+				this._setPredictionStale(true);
+			} else {
+				this.createPrediction(channelAddress, container, period);
+				prediction = container.get(period);
+			}
 		}
-		if (container.latestPredictionTimestamp == null || now.isAfter(container.latestPredictionTimestamp)) {
-			// Create new prediction
-			var prediction = this.createNewPrediction(channelAddress);
-			container.latestPrediction = prediction;
-			container.latestPredictionTimestamp = now;
-		} else {
-			// Reuse existing prediction
+		return prediction.prediction;
+	}
+
+	/**
+	 * Creates the prediction for every requested {@link ChannelAddress} that does
+	 * not have a prediction for the current 15 minutes period yet - or for the next
+	 * period, if it starts within {@link #REFRESH_LEAD_TIME}.
+	 */
+	protected void refreshPredictions() {
+		this.isRefreshPending.set(false);
+		var now = ZonedDateTime.now(this.getClockProvider().getClock());
+		var period = roundZonedDateTimeDownTo15Minutes(now);
+		var nextPeriod = period.plusMinutes(15);
+		var target = now.plus(REFRESH_LEAD_TIME).isBefore(nextPeriod) ? period : nextPeriod;
+
+		var isStale = false;
+		for (var entry : this.predictions.entrySet()) {
+			var container = entry.getValue();
+			var latest = container.latest;
+			if (latest == null || latest.timestamp.isBefore(target)) {
+				try {
+					this.createPrediction(entry.getKey(), container, target);
+				} catch (RuntimeException e) {
+					// Keep the background thread alive
+					this.logWarn(this.log,
+							"Unable to create prediction for [" + entry.getKey() + "]: " + e.getMessage());
+				}
+			}
+			var prediction = container.get(period);
+			isStale |= prediction == null || prediction.timestamp.isBefore(period);
 		}
-		return container.latestPrediction;
+		this._setPredictionStale(isStale);
+	}
+
+	/**
+	 * Creates a prediction and adds it to the {@link PredictionContainer}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param container      the {@link PredictionContainer}
+	 * @param timestamp      the start of the 15 minutes period
+	 */
+	private void createPrediction(ChannelAddress channelAddress, PredictionContainer container,
+			ZonedDateTime timestamp) {
+		var start = System.nanoTime();
+		var prediction = this.createNewPrediction(channelAddress, timestamp);
+		this._setComputationTime((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		container.add(timestamp, prediction != null ? prediction : Prediction24Hours.EMPTY);
+	}
+
+	/**
+	 * Starts the background thread that creates the predictions, if this
+	 * Component is enabled and active.
+	 *
+	 * @param immediately trigger {@link #refreshPredictions()} now
+	 * @return true if predictions are created in the background
+	 */
+	private boolean scheduleRefresh(boolean immediately) {
+		synchronized (this.predictions) {
+			if (this.isDeactivated || !this.isEnabled()) {
+				return false;
+			}
+			if (this.executor == null) {
+				this.executor = this.createExecutor();
+				this.executor.scheduleWithFixedDelay(this::refreshPredictions, REFRESH_CHECK_SECONDS,
+						REFRESH_CHECK_SECONDS, TimeUnit.SECONDS);
+			}
+			if (immediately && this.isRefreshPending.compareAndSet(false, true)) {
+				this.executor.execute(this::refreshPredictions);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Creates the {@link ScheduledExecutorService} that runs
+	 * {@link #refreshPredictions()} in the background.
+	 *
+	 * @return a new {@link ScheduledExecutorService}
+	 */
+	protected ScheduledExecutorService createExecutor() {
+		return Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder() //
+				.setNameFormat("Predictor-" + this.id() + "-%d") //
+				.setDaemon(true) //
+				.build());
 	}
 
 	/**
@@ -79,7 +289,7 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 	 * @param d the {@link ZonedDateTime}
 	 * @return the rounded result
 	 */
-	private static ZonedDateTime roundZonedDateTimeDownTo15Minutes(ZonedDateTime d) {
+	protected static ZonedDateTime roundZonedDateTimeDownTo15Minutes(ZonedDateTime d) {
 		var minuteOfDay = d.get(ChronoField.MINUTE_OF_DAY);
 		return d.with(ChronoField.NANO_OF_DAY, 0).plus(minuteOfDay / 15 * 15, ChronoUnit.MINUTES);
 	}
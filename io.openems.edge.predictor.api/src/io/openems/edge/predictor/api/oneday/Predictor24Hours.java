@@ -2,7 +2,14 @@ package io.openems.edge.predictor.api.oneday;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -12,6 +19,25 @@ import io.openems.edge.common.component.OpenemsComponent;
 @ProviderType
 public interface Predictor24Hours extends OpenemsComponent {
 
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		PREDICTION_STALE(Doc.of(Level.INFO) //
+				.text("Prediction for the current 15 minutes is not yet available. Serving the previous one")), //
+		COMPUTATION_TIME(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Duration of the last prediction calculation"));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
 	/**
 	 * Gets the Channel-Addresses for which this Predictor can provide a prediction.
 	 *
@@ -36,4 +62,61 @@ public interface Predictor24Hours extends OpenemsComponent {
 	 */
 	public Prediction24Hours get24HoursPrediction(ChannelAddress channelAddress);
 
+	/**
+	 * Gets the Channel for {@link ChannelId#PREDICTION_STALE}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getPredictionStaleChannel() {
+		return this.channel(ChannelId.PREDICTION_STALE);
+	}
+
+	/**
+	 * Gets the Prediction Stale State. See {@link ChannelId#PREDICTION_STALE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getPredictionStale() {
+		return this.getPredictionStaleChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PREDICTION_STALE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setPredictionStale(boolean value) {
+		this.getPredictionStaleChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#COMPUTATION_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getComputationTimeChannel() {
+		return this.channel(ChannelId.COMPUTATION_TIME);
+	}
+
+	/**
+	 * Gets the Duration of the last prediction calculation in [ms]. See
+	 * {@link ChannelId#COMPUTATION_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getComputationTime() {
+		return this.getComputationTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#COMPUTATION_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setComputationTime(Integer value) {
+		this.getComputationTimeChannel().setNextValue(value);
+	}
+
 }
@@ -0,0 +1,169 @@
+package io.openems.edge.predictor.api.oneday;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.type.TypeUtils;
+import io.openems.edge.timedata.api.Timedata;
+
+/**
+ * Holds a {@link RollingHistory} per {@link ChannelAddress} of a Predictor.
+ *
+ * <p>
+ * A {@link RollingHistory} is seeded from {@link Timedata} on first use and
+ * after a restart only for the missing periods. Afterwards it is filled from
+ * the live Channel values via {@link #collect(ComponentManager)}.
+ *
+ * <p>
+ * Histories are memory-mapped to files in the OpenEMS data directory; if no
+ * data directory is configured, they are held in memory.
+ */
+public class RollingHistories {
+
+	private static final String PREDICTOR_PATH = "predictor";
+
+	private final Path directory;
+	private final int capacity;
+	private final Map<ChannelAddress, RollingHistory> histories = new ConcurrentHashMap<>();
+
+	// guarded by 'this'
+	private boolean isClosed = false;
+
+	/**
+	 * Constructs {@link RollingHistories}.
+	 *
+	 * @param componentId the Component-ID of the Predictor
+	 * @param capacity    the number of 15 minutes periods per
+	 *                    {@link RollingHistory}
+	 */
+	public RollingHistories(String componentId, int capacity) {
+		var dataDir = OpenemsConstants.getOpenemsDataDir();
+		this.directory = dataDir.isEmpty() ? null : Paths.get(dataDir, PREDICTOR_PATH, componentId);
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets the {@link RollingHistory} for a {@link ChannelAddress}, holding all
+	 * periods before 'timestamp' that are available.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param timedata       the {@link Timedata} to seed missing periods
+	 * @param timestamp      the end of the window (exclusive)
+	 * @return the {@link RollingHistory}
+	 * @throws IOException           on error while opening the file or if the
+	 *                               histories are closed
+	 * @throws OpenemsNamedException on error while querying {@link Timedata}
+	 */
+	public RollingHistory get(ChannelAddress channelAddress, Timedata timedata, ZonedDateTime timestamp)
+			throws IOException, OpenemsNamedException {
+		var history = this.getOrOpen(channelAddress);
+		this.seed(history, channelAddress, timedata, timestamp);
+		return history;
+	}
+
+	/**
+	 * Adds the current values of all Channels to their {@link RollingHistory}.
+	 * Call this once per Cycle.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 */
+	public void collect(ComponentManager componentManager) {
+		var now = ZonedDateTime.now(componentManager.getClock());
+		for (var entry : this.histories.entrySet()) {
+			Integer value;
+			try {
+				value = TypeUtils.getAsType(OpenemsType.INTEGER,
+						componentManager.getChannel(entry.getKey()).value().get());
+			} catch (IllegalArgumentException | OpenemsNamedException e) {
+				value = null;
+			}
+			entry.getValue().addValue(now, value);
+		}
+	}
+
+	/**
+	 * Writes all histories to their files. Afterwards no history is opened
+	 * anymore.
+	 */
+	public synchronized void close() {
+		this.isClosed = true;
+		for (var history : this.histories.values()) {
+			history.force();
+		}
+		this.histories.clear();
+	}
+
+	private synchronized RollingHistory getOrOpen(ChannelAddress channelAddress) throws IOException {
+		if (this.isClosed) {
+			throw new IOException("Histories are closed");
+		}
+		var history = this.histories.get(channelAddress);
+		if (history == null) {
+			history = this.open(channelAddress);
+			this.histories.put(channelAddress, history);
+		}
+		return history;
+	}
+
+	private RollingHistory open(ChannelAddress channelAddress) throws IOException {
+		if (this.directory == null) {
+			return RollingHistory.inMemory(this.capacity);
+		}
+		return RollingHistory.open(//
+				this.directory.resolve(channelAddress.getComponentId()).resolve(channelAddress.getChannelId()), //
+				this.capacity);
+	}
+
+	/**
+	 * Queries the periods that are missing in the {@link RollingHistory} from
+	 * {@link Timedata}.
+	 *
+	 * @param history        the {@link RollingHistory}
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param timedata       the {@link Timedata}
+	 * @param timestamp      the end of the window (exclusive)
+	 * @throws OpenemsNamedException on error
+	 */
+	private void seed(RollingHistory history, ChannelAddress channelAddress, Timedata timedata,
+			ZonedDateTime timestamp) throws OpenemsNamedException {
+		var toPeriod = RollingHistory.toPeriod(timestamp);
+		var currentPeriod = history.getCurrentPeriod();
+		if (currentPeriod >= 0) {
+			// Filled from live values
+			toPeriod = Math.min(toPeriod, currentPeriod);
+		}
+		var fromPeriod = history.getFirstMissingPeriod(toPeriod);
+		if (fromPeriod >= toPeriod) {
+			return;
+		}
+
+		var zone = timestamp.getZone();
+		var queryResult = timedata.queryHistoricData(null, RollingHistory.toZonedDateTime(fromPeriod, zone),
+				RollingHistory.toZonedDateTime(toPeriod, zone), Set.of(channelAddress),
+				new Resolution(15, ChronoUnit.MINUTES));
+
+		// Store only periods with a value; missing periods at the end of the window
+		// are queried again next time
+		for (var entry : queryResult.entrySet()) {
+			var period = RollingHistory.toPeriod(entry.getKey());
+			var value = entry.getValue().get(channelAddress);
+			if (period >= fromPeriod && period < toPeriod && value != null && !value.isJsonNull()) {
+				history.put(period, value.getAsInt());
+			}
+		}
+		history.force();
+	}
+
+}
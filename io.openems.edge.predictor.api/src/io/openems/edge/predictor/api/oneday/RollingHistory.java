@@ -0,0 +1,227 @@
+package io.openems.edge.predictor.api.oneday;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Holds the 15 minutes averages of one Channel for a rolling window of
+ * 'capacity' periods.
+ *
+ * <p>
+ * Values are stored in a ring buffer, that is optionally memory-mapped to a
+ * file, so that the history survives a restart. Periods are identified by
+ * their index since epoch, see {@link #toPeriod(ZonedDateTime)}.
+ *
+ * <p>
+ * File layout: magic number (int), capacity (int), next period (long), one int
+ * value per period.
+ */
+public class RollingHistory {
+
+	public static final int PERIOD_SECONDS = 15 * 60;
+
+	private static final int MAGIC = 0x4f504831; // "OPH1"
+	private static final int HEADER_BYTES = 16;
+	private static final int NEXT_PERIOD_POSITION = 8;
+	private static final int NULL_VALUE = Integer.MIN_VALUE;
+
+	private final int capacity;
+	private final ByteBuffer buffer;
+
+	/**
+	 * The period after the latest stored period; 0 if the history is empty.
+	 */
+	private long nextPeriod;
+
+	/**
+	 * Accumulates the live values of the current period.
+	 */
+	private long currentPeriod = -1;
+	private long currentSum = 0;
+	private int currentCount = 0;
+
+	/**
+	 * Opens a {@link RollingHistory} that is memory-mapped to the given file.
+	 *
+	 * <p>
+	 * An existing file is reused if it was created with the same capacity;
+	 * otherwise it is reset.
+	 *
+	 * @param file     the file
+	 * @param capacity the number of periods
+	 * @return the {@link RollingHistory}
+	 * @throws IOException on error
+	 */
+	public static RollingHistory open(Path file, int capacity) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			// The mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+					HEADER_BYTES + (long) capacity * Integer.BYTES);
+			return new RollingHistory(buffer, capacity);
+		}
+	}
+
+	/**
+	 * Creates a {@link RollingHistory} that is held only in memory.
+	 *
+	 * @param capacity the number of periods
+	 * @return the {@link RollingHistory}
+	 */
+	public static RollingHistory inMemory(int capacity) {
+		return new RollingHistory(ByteBuffer.allocate(HEADER_BYTES + capacity * Integer.BYTES), capacity);
+	}
+
+	private RollingHistory(ByteBuffer buffer, int capacity) {
+		this.buffer = buffer;
+		this.capacity = capacity;
+		if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == capacity) {
+			this.nextPeriod = buffer.getLong(NEXT_PERIOD_POSITION);
+		} else {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, capacity);
+			this.setNextPeriod(0);
+		}
+	}
+
+	/**
+	 * Gets the index of the 15 minutes period of a {@link ZonedDateTime}.
+	 *
+	 * @param timestamp the {@link ZonedDateTime}
+	 * @return the index since epoch
+	 */
+	public static long toPeriod(ZonedDateTime timestamp) {
+		return Math.floorDiv(timestamp.toEpochSecond(), PERIOD_SECONDS);
+	}
+
+	/**
+	 * Gets the start of a 15 minutes period.
+	 *
+	 * @param period the index since epoch
+	 * @param zone   the {@link ZoneId}
+	 * @return the {@link ZonedDateTime}
+	 */
+	public static ZonedDateTime toZonedDateTime(long period, ZoneId zone) {
+		return Instant.ofEpochSecond(period * PERIOD_SECONDS).atZone(zone);
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Gets the first period before 'toPeriod' that is not stored yet; i.e.
+	 * 'toPeriod' if all periods of the window are available.
+	 *
+	 * @param toPeriod the end of the window (exclusive)
+	 * @return the period
+	 */
+	public synchronized long getFirstMissingPeriod(long toPeriod) {
+		return Math.min(toPeriod, Math.max(this.nextPeriod, toPeriod - this.capacity));
+	}
+
+	/**
+	 * Gets the period that currently accumulates live values.
+	 *
+	 * @return the period; -1 if no live values were added
+	 */
+	public synchronized long getCurrentPeriod() {
+		return this.currentPeriod;
+	}
+
+	/**
+	 * Gets the average value of a period.
+	 *
+	 * <p>
+	 * For the period that currently accumulates live values, the average so far
+	 * is returned.
+	 *
+	 * @param period the index since epoch
+	 * @return the value; null if not available
+	 */
+	public synchronized Integer get(long period) {
+		if (period < this.nextPeriod && period >= this.nextPeriod - this.capacity) {
+			var value = this.buffer.getInt(this.position(period));
+			if (value != NULL_VALUE) {
+				return value;
+			}
+		}
+		if (period == this.currentPeriod && this.currentCount > 0) {
+			return (int) Math.round((double) this.currentSum / this.currentCount);
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the average value of a period. Periods between the latest stored
+	 * period and this one are cleared.
+	 *
+	 * @param period the index since epoch
+	 * @param value  the value; possibly null
+	 */
+	public synchronized void put(long period, Integer value) {
+		if (period < this.nextPeriod - this.capacity) {
+			// Too old
+			return;
+		}
+		if (period >= this.nextPeriod) {
+			for (var p = Math.max(this.nextPeriod, period - this.capacity + 1); p < period; p++) {
+				this.buffer.putInt(this.position(p), NULL_VALUE);
+			}
+			this.setNextPeriod(period + 1);
+		}
+		this.buffer.putInt(this.position(period), value == null ? NULL_VALUE : value);
+	}
+
+	/**
+	 * Adds a live value. Once a new period starts, the average of the previous
+	 * period is stored.
+	 *
+	 * @param timestamp the {@link ZonedDateTime} of the value
+	 * @param value     the value; null values are ignored
+	 */
+	public synchronized void addValue(ZonedDateTime timestamp, Integer value) {
+		var period = toPeriod(timestamp);
+		if (period != this.currentPeriod) {
+			if (this.currentCount > 0) {
+				this.put(this.currentPeriod, (int) Math.round((double) this.currentSum / this.currentCount));
+				this.force();
+			}
+			this.currentPeriod = period;
+			this.currentSum = 0;
+			this.currentCount = 0;
+		}
+		if (value != null) {
+			this.currentSum += value;
+			this.currentCount++;
+		}
+	}
+
+	/**
+	 * Writes changes to the mapped file.
+	 */
+	public synchronized void force() {
+		if (this.buffer instanceof MappedByteBuffer) {
+			((MappedByteBuffer) this.buffer).force();
+		}
+	}
+
+	private void setNextPeriod(long nextPeriod) {
+		this.nextPeriod = nextPeriod;
+		this.buffer.putLong(NEXT_PERIOD_POSITION, nextPeriod);
+	}
+
+	private int position(long period) {
+		return HEADER_BYTES + (int) Math.floorMod(period, (long) this.capacity) * Integer.BYTES;
+	}
+
+}
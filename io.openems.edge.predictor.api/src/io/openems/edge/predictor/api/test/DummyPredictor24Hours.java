@@ -3,7 +3,6 @@ package io.openems.edge.predictor.api.test;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
-import java.time.temporal.ChronoUnit;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
@@ -22,7 +21,8 @@ public class DummyPredictor24Hours extends AbstractPredictor24Hours implements P
 	public DummyPredictor24Hours(String id, ClockProvider clockProvider, DummyPrediction24Hours prediction24Hours,
 			String... channelAddresses) throws OpenemsNamedException {
 		super(//
-				OpenemsComponent.ChannelId.values() //
+				OpenemsComponent.ChannelId.values(), //
+				Predictor24Hours.ChannelId.values() //
 		);
 		for (Channel<?> channel : this.channels()) {
 			channel.nextProcessImage();
@@ -42,10 +42,16 @@ public class DummyPredictor24Hours extends AbstractPredictor24Hours implements P
 	}
 
 	@Override
-	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
+	public Prediction24Hours get24HoursPrediction(ChannelAddress channelAddress) {
+		// Tests leap the clock; create the prediction synchronously
+		var now = ZonedDateTime.now(this.clockProvider.getClock());
+		return this.createNewPrediction(channelAddress, roundZonedDateTimeDownTo15Minutes(now));
+	}
+
+	@Override
+	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress, ZonedDateTime timestamp) {
 
-		var now = ZonedDateTime.now(this.clockProvider.getClock()).withZoneSameInstant(ZoneOffset.UTC);
-		now = roundZonedDateTimeDownTo15Minutes(now);
+		var now = roundZonedDateTimeDownTo15Minutes(timestamp.withZoneSameInstant(ZoneOffset.UTC));
 
 		var quarterHourIndex = now.get(ChronoField.MINUTE_OF_DAY) / 15;
 		var values = this.prediction24Hours.getValues();
@@ -58,15 +64,4 @@ public class DummyPredictor24Hours extends AbstractPredictor24Hours implements P
 
 		return new Prediction24Hours(adjustedValues);
 	}
-
-	/**
-	 * Rounds a {@link ZonedDateTime} down to 15 minutes.
-	 *
-	 * @param d the {@link ZonedDateTime}
-	 * @return the rounded result
-	 */
-	private static ZonedDateTime roundZonedDateTimeDownTo15Minutes(ZonedDateTime d) {
-		var minuteOfDay = d.get(ChronoField.MINUTE_OF_DAY);
-		return d.with(ChronoField.NANO_OF_DAY, 0).plus(minuteOfDay / 15 * 15, ChronoUnit.MINUTES);
-	}
 }
@@ -0,0 +1,138 @@
+package io.openems.edge.predictor.api.oneday;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.ClockProvider;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.TimeLeapClock;
+
+public class AbstractPredictor24HoursTest {
+
+	private static final ChannelAddress SUM_PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+
+	/**
+	 * Collects submitted {@link Runnable}s; they are executed manually. Periodic
+	 * tasks are ignored - the test calls refreshPredictions() itself.
+	 */
+	private static class ManualExecutor extends ScheduledThreadPoolExecutor {
+		private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+		private ManualExecutor() {
+			super(1);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			this.tasks.add(command);
+		}
+
+		@Override
+		public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+				TimeUnit unit) {
+			return null;
+		}
+
+		private void runAll() {
+			Runnable task;
+			while ((task = this.tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	/**
+	 * Predicts the minute-of-day of the 15 minutes period.
+	 */
+	private static class MyPredictor extends AbstractPredictor24Hours {
+
+		private final TimeLeapClock clock;
+		private final ManualExecutor executor = new ManualExecutor();
+		private final AtomicInteger count = new AtomicInteger();
+
+		public MyPredictor(TimeLeapClock clock) throws OpenemsNamedException {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					Predictor24Hours.ChannelId.values() //
+			);
+			this.clock = clock;
+			super.activate(null, "predictor0", "", true, new String[] { SUM_PRODUCTION.toString() });
+		}
+
+		@Override
+		protected ClockProvider getClockProvider() {
+			return () -> this.clock;
+		}
+
+		@Override
+		protected ScheduledExecutorService createExecutor() {
+			return this.executor;
+		}
+
+		@Override
+		protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress, ZonedDateTime timestamp) {
+			this.count.incrementAndGet();
+			return new Prediction24Hours(timestamp.get(ChronoField.MINUTE_OF_DAY));
+		}
+
+		private int getFirstValue() {
+			return this.get24HoursPrediction(SUM_PRODUCTION).getValues()[0];
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		final var clock = new TimeLeapClock(Instant.parse("2020-01-01T10:05:00.00Z"), ZoneOffset.UTC);
+		var sut = new MyPredictor(clock);
+
+		// First request is created synchronously
+		assertEquals(600, sut.getFirstValue());
+		assertEquals(1, sut.count.get());
+
+		// Within the period: no new prediction
+		clock.leap(5, ChronoUnit.MINUTES);
+		sut.refreshPredictions();
+		assertEquals(600, sut.getFirstValue());
+		assertEquals(1, sut.count.get());
+
+		// Shortly before the next period: prediction is created in advance...
+		clock.leap(270, ChronoUnit.SECONDS);
+		sut.refreshPredictions();
+		assertEquals(2, sut.count.get());
+		// ...but served only once the period started
+		assertEquals(600, sut.getFirstValue());
+		clock.leap(40, ChronoUnit.SECONDS);
+		assertEquals(615, sut.getFirstValue());
+		assertEquals(2, sut.count.get());
+
+		// Missed refresh: serve previous prediction and create the new one in background
+		clock.leap(15, ChronoUnit.MINUTES);
+		assertEquals(615, sut.getFirstValue());
+		assertTrue(sut.getPredictionStaleChannel().getNextValue().get());
+		assertEquals(2, sut.count.get());
+		assertEquals(1, sut.executor.tasks.size());
+		sut.executor.runAll();
+		assertEquals(630, sut.getFirstValue());
+		assertEquals(3, sut.count.get());
+
+		sut.deactivate();
+		assertTrue(sut.executor.isShutdown());
+	}
+
+}
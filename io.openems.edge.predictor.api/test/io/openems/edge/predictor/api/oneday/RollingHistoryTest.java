@@ -0,0 +1,124 @@
+package io.openems.edge.predictor.api.oneday;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.test.DummyTimedata;
+
+public class RollingHistoryTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final ZonedDateTime START = ZonedDateTime.ofInstant(Instant.parse("2020-01-01T00:00:00.00Z"),
+			ZoneOffset.UTC);
+	private static final long PERIOD = RollingHistory.toPeriod(START);
+	private static final ChannelAddress METER0_ACTIVE_POWER = new ChannelAddress("meter0", "ActivePower");
+
+	@Test
+	public void testPeriods() {
+		assertEquals(PERIOD, RollingHistory.toPeriod(START.plusMinutes(14)));
+		assertEquals(PERIOD + 1, RollingHistory.toPeriod(START.plusMinutes(15)));
+		assertEquals(START, RollingHistory.toZonedDateTime(PERIOD, ZoneOffset.UTC));
+	}
+
+	@Test
+	public void testPut() {
+		var sut = RollingHistory.inMemory(4);
+		assertEquals(PERIOD - 4, sut.getFirstMissingPeriod(PERIOD));
+
+		sut.put(PERIOD, 1);
+		sut.put(PERIOD + 1, null);
+		sut.put(PERIOD + 3, 3); // clears PERIOD + 2
+		assertEquals((Integer) 1, sut.get(PERIOD));
+		assertNull(sut.get(PERIOD + 1));
+		assertNull(sut.get(PERIOD + 2));
+		assertEquals((Integer) 3, sut.get(PERIOD + 3));
+		assertEquals(PERIOD + 4, sut.getFirstMissingPeriod(PERIOD + 4));
+
+		// Wrap around: PERIOD is overwritten
+		sut.put(PERIOD + 4, 4);
+		assertNull(sut.get(PERIOD));
+		assertEquals((Integer) 4, sut.get(PERIOD + 4));
+
+		// Too old
+		sut.put(PERIOD, 1);
+		assertNull(sut.get(PERIOD));
+		assertEquals((Integer) 4, sut.get(PERIOD + 4));
+
+		// Gap larger than the capacity
+		sut.put(PERIOD + 100, 100);
+		assertNull(sut.get(PERIOD + 4));
+		assertNull(sut.get(PERIOD + 99));
+		assertEquals((Integer) 100, sut.get(PERIOD + 100));
+	}
+
+	@Test
+	public void testAddValue() {
+		var sut = RollingHistory.inMemory(4);
+		sut.addValue(START, 10);
+		sut.addValue(START.plusMinutes(5), null);
+		sut.addValue(START.plusMinutes(10), 20);
+		assertEquals(PERIOD, sut.getCurrentPeriod());
+		assertEquals((Integer) 15, sut.get(PERIOD)); // partial average
+
+		sut.addValue(START.plusMinutes(30), 40);
+		assertEquals((Integer) 15, sut.get(PERIOD));
+		assertNull(sut.get(PERIOD + 1));
+		assertEquals((Integer) 40, sut.get(PERIOD + 2));
+		assertEquals(PERIOD + 1, sut.getFirstMissingPeriod(PERIOD + 2));
+	}
+
+	@Test
+	public void testOpen() throws Exception {
+		var file = this.folder.getRoot().toPath().resolve("meter0").resolve("ActivePower");
+		var sut = RollingHistory.open(file, 4);
+		sut.put(PERIOD, 1);
+		sut.put(PERIOD + 1, 2);
+		sut.force();
+
+		// Survives a restart
+		sut = RollingHistory.open(file, 4);
+		assertEquals((Integer) 1, sut.get(PERIOD));
+		assertEquals((Integer) 2, sut.get(PERIOD + 1));
+		assertEquals(PERIOD + 2, sut.getFirstMissingPeriod(PERIOD + 2));
+
+		// Reset on changed capacity
+		sut = RollingHistory.open(file, 8);
+		assertNull(sut.get(PERIOD));
+		assertEquals(PERIOD - 6, sut.getFirstMissingPeriod(PERIOD + 2));
+	}
+
+	@Test
+	public void testSeed() throws Exception {
+		var timedata = new DummyTimedata("timedata0");
+		timedata.add(START, METER0_ACTIVE_POWER, 1);
+		timedata.add(START.plusMinutes(15), METER0_ACTIVE_POWER, 2);
+		var sut = new RollingHistories("predictor0", 4);
+
+		// Timedata has no values yet for the latest periods
+		var history = sut.get(METER0_ACTIVE_POWER, timedata, START.plusMinutes(60));
+		assertEquals((Integer) 1, history.get(PERIOD));
+		assertEquals((Integer) 2, history.get(PERIOD + 1));
+		assertEquals(PERIOD + 2, history.getFirstMissingPeriod(PERIOD + 4));
+
+		// Missing periods are queried again
+		timedata.add(START.plusMinutes(45), METER0_ACTIVE_POWER, 4);
+		history = sut.get(METER0_ACTIVE_POWER, timedata, START.plusMinutes(60));
+		assertNull(history.get(PERIOD + 2));
+		assertEquals((Integer) 4, history.get(PERIOD + 3));
+		assertEquals(PERIOD + 4, history.getFirstMissingPeriod(PERIOD + 4));
+
+		sut.close();
+	}
+
+}
@@ -1,5 +1,6 @@
 package io.openems.edge.predictor.persistencemodel;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collection;
@@ -11,6 +12,9 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,10 +28,13 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.oneday.AbstractPredictor24Hours;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
 import io.openems.edge.predictor.api.oneday.Predictor24Hours;
+import io.openems.edge.predictor.api.oneday.RollingHistories;
+import io.openems.edge.predictor.api.oneday.RollingHistory;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -36,8 +43,11 @@ import io.openems.edge.timedata.api.Timedata;
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE //
 )
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
 public class PersistenceModelPredictorImpl extends AbstractPredictor24Hours
-		implements Predictor24Hours, OpenemsComponent {
+		implements Predictor24Hours, OpenemsComponent, EventHandler {
 
 	private final Logger log = LoggerFactory.getLogger(PersistenceModelPredictorImpl.class);
 
@@ -47,28 +57,73 @@ public class PersistenceModelPredictorImpl extends AbstractPredictor24Hours
 	@Reference
 	private ComponentManager componentManager;
 
+	private RollingHistories histories = null;
+
 	public PersistenceModelPredictorImpl() throws OpenemsNamedException {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
 				Controller.ChannelId.values(), //
+				Predictor24Hours.ChannelId.values(), //
 				PersistenceModelPredictor.ChannelId.values() //
 		);
 	}
 
 	@Activate
 	protected void activate(ComponentContext context, Config config) throws OpenemsNamedException {
+		this.histories = new RollingHistories(config.id(), Prediction24Hours.NUMBER_OF_VALUES);
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.channelAddresses());
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
+		// Background predictions must not use the histories while they are closed
+		this.stopPredictions();
+		this.histories.close();
 		super.deactivate();
 	}
 
 	@Override
-	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
-		var now = ZonedDateTime.now(this.componentManager.getClock());
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.histories.collect(this.componentManager);
+			break;
+		}
+	}
+
+	@Override
+	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress, ZonedDateTime timestamp) {
+		final RollingHistory history;
+		try {
+			history = this.histories.get(channelAddress, this.timedata, timestamp);
+		} catch (IOException | OpenemsNamedException e) {
+			this.logWarn(this.log, "Unable to use history for [" + channelAddress + "]: " + e.getMessage());
+			return this.createNewPredictionFromTimedata(channelAddress, timestamp);
+		}
+
+		// Repeat the last 24 hours
+		var fromPeriod = RollingHistory.toPeriod(timestamp) - Prediction24Hours.NUMBER_OF_VALUES;
+		var result = new Integer[Prediction24Hours.NUMBER_OF_VALUES];
+		for (var i = 0; i < result.length; i++) {
+			result[i] = history.get(fromPeriod + i);
+		}
+		return new Prediction24Hours(result);
+	}
+
+	/**
+	 * Creates a new prediction by querying all data from {@link Timedata}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param timestamp      the start of the 15 minutes period
+	 * @return the {@link Prediction24Hours}
+	 */
+	protected Prediction24Hours createNewPredictionFromTimedata(ChannelAddress channelAddress,
+			ZonedDateTime timestamp) {
+		var now = timestamp;
 		var fromDate = now.minus(1, ChronoUnit.DAYS);
 
 		// Query database
@@ -1,9 +1,9 @@
 package io.openems.edge.predictor.persistencemodel;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -42,7 +42,7 @@ public class PersistenceModelPredictorTest {
 				3572, 1698, 1017, 569, 188, 14, 2, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
 
 		var timedata = new DummyTimedata(TIMEDATA_ID);
-		var start = ZonedDateTime.of(2019, 12, 30, 0, 0, 0, 0, ZoneId.of("UTC"));
+		var start = ZonedDateTime.of(2019, 12, 30, 0, 0, 0, 0, ZoneOffset.UTC);
 		for (var i = 0; i < values.length; i++) {
 			timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, values[i]);
 		}
@@ -57,14 +57,22 @@ public class PersistenceModelPredictorTest {
 						.setChannelAddresses(METER1_ACTIVE_POWER.toString()) //
 						.build());
 
+		// Rolling history gives the same result as querying Timedata
+		var end = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		for (var t = ZonedDateTime.of(2019, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC); !t.isAfter(end); t = t
+				.plusMinutes(15)) {
+			assertArrayEquals(sut.createNewPredictionFromTimedata(METER1_ACTIVE_POWER, t).getValues(), //
+					sut.createNewPrediction(METER1_ACTIVE_POWER, t).getValues());
+		}
+
 		var prediction = sut.get24HoursPrediction(METER1_ACTIVE_POWER);
 		var p = prediction.getValues();
 
 		assertEquals((Integer) 0, p[0]);
-		assertEquals((Integer) 3, p[20]);
-		assertEquals((Integer) 6, p[21]);
-		assertEquals((Integer) 146, p[22]);
-		assertEquals((Integer) 297, p[23]);
+		assertEquals((Integer) 3, p[21]);
+		assertEquals((Integer) 6, p[22]);
+		assertEquals((Integer) 146, p[23]);
+		assertEquals((Integer) 297, p[24]);
 
 		System.out.println(Arrays.toString(prediction.getValues()));
 	}
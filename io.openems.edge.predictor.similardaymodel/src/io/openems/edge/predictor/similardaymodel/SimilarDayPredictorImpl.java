@@ -1,12 +1,9 @@
 package io.openems.edge.predictor.similardaymodel;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 import java.util.SortedMap;
-import java.util.stream.Collectors;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -14,6 +11,9 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +27,13 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.oneday.AbstractPredictor24Hours;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
 import io.openems.edge.predictor.api.oneday.Predictor24Hours;
+import io.openems.edge.predictor.api.oneday.RollingHistories;
+import io.openems.edge.predictor.api.oneday.RollingHistory;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -39,8 +42,11 @@ import io.openems.edge.timedata.api.Timedata;
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE //
 )
-
-public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements Predictor24Hours, OpenemsComponent {
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public class SimilarDayPredictorImpl extends AbstractPredictor24Hours
+		implements Predictor24Hours, OpenemsComponent, EventHandler {
 
 	private final Logger log = LoggerFactory.getLogger(SimilarDayPredictorImpl.class);
 
@@ -61,10 +67,13 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 	@Reference
 	private ComponentManager componentManager;
 
+	private RollingHistories histories = null;
+
 	public SimilarDayPredictorImpl() throws OpenemsNamedException {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
 				Controller.ChannelId.values(), //
+				Predictor24Hours.ChannelId.values(), //
 				SimilarDayPredictor.ChannelId.values() //
 		);
 	}
@@ -72,6 +81,8 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 	@Activate
 	protected void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		this.config = config;
+		this.histories = new RollingHistories(config.id(),
+				config.numOfWeeks() * NUM_OF_DAYS_OF_WEEK * Prediction24Hours.NUMBER_OF_VALUES);
 		super.activate(context, this.config.id(), this.config.alias(), this.config.enabled(),
 				this.config.channelAddresses());
 	}
@@ -79,18 +90,52 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 	@Override
 	@Deactivate
 	protected void deactivate() {
+		// Background predictions must not use the histories while they are closed
+		this.stopPredictions();
+		this.histories.close();
 		super.deactivate();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.histories.collect(this.componentManager);
+			break;
+		}
+	}
+
 	@Override
 	protected ClockProvider getClockProvider() {
 		return this.componentManager;
 	}
 
 	@Override
-	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
+	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress, ZonedDateTime timestamp) {
+		final RollingHistory history;
+		try {
+			history = this.histories.get(channelAddress, this.timedata, timestamp);
+		} catch (IOException | OpenemsNamedException e) {
+			this.logWarn(this.log, "Unable to use history for [" + channelAddress + "]: " + e.getMessage());
+			return this.createNewPredictionFromTimedata(channelAddress, timestamp);
+		}
+		return getAverageOfSimilarDays(history, RollingHistory.toPeriod(timestamp), this.config.numOfWeeks());
+	}
+
+	/**
+	 * Creates a new prediction by querying all data from {@link Timedata}.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param timestamp      the start of the 15 minutes period
+	 * @return the {@link Prediction24Hours}
+	 */
+	protected Prediction24Hours createNewPredictionFromTimedata(ChannelAddress channelAddress,
+			ZonedDateTime timestamp) {
 
-		var now = ZonedDateTime.now(this.componentManager.getClock());
+		var now = timestamp;
 		// From now time to Last 4 weeks
 		var fromDate = now.minus(this.config.numOfWeeks(), ChronoUnit.WEEKS);
 
@@ -106,100 +151,95 @@ public class SimilarDayPredictorImpl extends AbstractPredictor24Hours implements
 			return Prediction24Hours.EMPTY;
 		}
 
-		// Extract data
-		List<Integer> result = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				})
-				// get as Array
-				.collect(Collectors.toList());
+		// Extract data; null values are counted as zero
+		var result = new int[queryResult.size()];
+		var index = 0;
+		for (var values : queryResult.values()) {
+			var v = values.get(channelAddress);
+			if (v != null && !v.isJsonNull()) {
+				result[index] = v.getAsInt();
+			}
+			index++;
+		}
 
 		// Num of Data per day
 		// TODO change this variable based on the resolution which is 900 in query
-		var numOfDataPerDay = 96;
-
-		var mainData = getSlicedArrayList(result, numOfDataPerDay);
-
-		// Getting the indexes of the last four similar days
-		var lastFourSimilarDays = getCorrectIndexes(mainData, NUM_OF_DAYS_OF_WEEK, PREDCTION_FOR_ONE_DAY);
+		var numOfDataPerDay = Prediction24Hours.NUMBER_OF_VALUES;
 
-		// Getting the average predictions
-		var nextOneDayPredictions = getAverage(lastFourSimilarDays);
-
-		return new Prediction24Hours(nextOneDayPredictions.stream().toArray(Integer[]::new));
-	}
-
-	/**
-	 * This methods takes a List of integers and returns a 2dimension List of
-	 * integers, specific to correct days.
-	 *
-	 * @param arrlist array list of all data.
-	 * @param n       number of data per day.
-	 * @return 2dimension array list
-	 */
-	private static List<List<Integer>> getSlicedArrayList(List<Integer> arrlist, int n) {
-		List<List<Integer>> twoDimensionalArrayList = new ArrayList<>();
-		for (var i = 0; i < arrlist.size(); i = i + n) {
-			twoDimensionalArrayList.add(arrlist.subList(i, i + n));
+		// Getting the average of the last similar days
+		var nextOneDayPredictions = getAverageOfSimilarDays(result, numOfDataPerDay, NUM_OF_DAYS_OF_WEEK,
+				PREDCTION_FOR_ONE_DAY);
+		if (nextOneDayPredictions == null) {
+			return Prediction24Hours.EMPTY;
 		}
-		return twoDimensionalArrayList;
-
+		return new Prediction24Hours(nextOneDayPredictions);
 	}
 
 	/**
-	 * This methods get the average of data based on the indexes.
+	 * This methods gets the average of the same weekday of the last weeks from a
+	 * {@link RollingHistory}. Missing values are counted as zero.
 	 *
-	 * @param twoDimensionalArrayList The actual data.
-	 * @return Average values of the last four days.
+	 * @param history    the {@link RollingHistory}
+	 * @param period     the period of the first prediction value
+	 * @param numOfWeeks the number of weeks
+	 * @return Average values of the similar days
 	 */
-	private static List<Integer> getAverage(List<List<Integer>> twoDimensionalArrayList) {
-		List<Integer> averageList = new ArrayList<>();
-		var rows = twoDimensionalArrayList.size();
-		var cols = twoDimensionalArrayList.get(0).size();
-		for (var i = 0; i < cols; i++) {
-			var sumRow = 0;
-			for (var j = 0; j < rows; j++) {
-				if (twoDimensionalArrayList.get(j).get(i) != null) {
-					sumRow += twoDimensionalArrayList.get(j).get(i);
+	private static Prediction24Hours getAverageOfSimilarDays(RollingHistory history, long period,
+			int numOfWeeks) {
+		var n = Prediction24Hours.NUMBER_OF_VALUES;
+		var sums = new int[n];
+		var hasValues = false;
+		for (var week = 1; week <= numOfWeeks; week++) {
+			var offset = period - (long) week * NUM_OF_DAYS_OF_WEEK * n;
+			for (var i = 0; i < n; i++) {
+				var value = history.get(offset + i);
+				if (value != null) {
+					sums[i] += value;
+					hasValues = true;
 				}
 			}
-			averageList.add(sumRow / twoDimensionalArrayList.size());
 		}
-		return averageList;
-
+		if (!hasValues) {
+			return Prediction24Hours.EMPTY;
+		}
+		var result = new Integer[n];
+		for (var i = 0; i < n; i++) {
+			result[i] = sums[i] / numOfWeeks;
+		}
+		return new Prediction24Hours(result);
 	}
 
 	/**
-	 * Data manipulation, to get the proper indexes.
+	 * This methods gets the average of the data of similar days, i.e. every
+	 * 'numDaysOfWeek'th day starting at 'whichDay'. Incomplete days are ignored.
 	 *
-	 * @param mainData      all data points.
+	 * @param data          all data points.
+	 * @param n             number of data per day.
 	 * @param numDaysOfWeek total number of days of week.
 	 * @param whichDay      current actual day.
-	 * @return proper indexed days.
+	 * @return Average values of the similar days; null if there is no similar day
 	 */
-	private static List<List<Integer>> getCorrectIndexes(List<List<Integer>> mainData, int numDaysOfWeek,
-			int whichDay) {
-		List<Integer> indexes = new ArrayList<>();
-		List<List<Integer>> days = new ArrayList<>();
-		for (var i = 0; i < mainData.size(); i++) {
-			if (isMember(whichDay, numDaysOfWeek, i)) {
-				indexes.add(i);
+	private static Integer[] getAverageOfSimilarDays(int[] data, int n, int numDaysOfWeek, int whichDay) {
+		var sums = new int[n];
+		var numOfSimilarDays = 0;
+		for (var day = 0; day < data.length / n; day++) {
+			if (!isMember(whichDay, numDaysOfWeek, day)) {
+				continue;
+			}
+			var offset = day * n;
+			for (var i = 0; i < n; i++) {
+				sums[i] += data[offset + i];
 			}
+			numOfSimilarDays++;
 		}
-
-		for (Integer i : indexes) {
-			days.add(mainData.get(i));
+		if (numOfSimilarDays == 0) {
+			return null;
 		}
-
-		return days;
-
+		var result = new Integer[n];
+		for (var i = 0; i < n; i++) {
+			result[i] = sums[i] / numOfSimilarDays;
+		}
+		return result;
 	}
 
 	/**
@@ -1,9 +1,9 @@
 package io.openems.edge.predictor.similardaymodel;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.time.Instant;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -33,7 +33,7 @@ public class SimilardayModelPredictorTest {
 		var predictedValues = Data.predictedData;
 
 		var timedata = new DummyTimedata(TIMEDATA_ID);
-		var start = ZonedDateTime.of(2019, 12, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+		var start = ZonedDateTime.of(2019, 12, 1, 0, 0, 0, 0, ZoneOffset.UTC);
 
 		for (var i = 0; i < values.length; i++) {
 			timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, values[i]);
@@ -52,12 +52,43 @@ public class SimilardayModelPredictorTest {
 		var prediction = sut.get24HoursPrediction(METER1_ACTIVE_POWER);
 		var p = prediction.getValues();
 
-		assertEquals(predictedValues[0], p[0]);
-		assertEquals(predictedValues[48], p[48]);
-		assertEquals(predictedValues[95], p[95]);
+		// 'predictedValues' start at the second 15 minutes period
+		assertEquals(predictedValues[0], p[1]);
+		assertEquals(predictedValues[48], p[49]);
+		assertEquals(predictedValues[94], p[95]);
 
 		System.out.println(Arrays.toString(prediction.getValues()));
 
 	}
 
+	@Test
+	public void testHistory() throws Exception {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* starts at 1. January 2020 00:00:00 */,
+				ZoneOffset.UTC);
+
+		var values = Data.data;
+		var timedata = new DummyTimedata(TIMEDATA_ID);
+		var start = ZonedDateTime.of(2019, 12, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		for (var i = 0; i < values.length; i++) {
+			timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, values[i]);
+		}
+
+		var sut = new SimilarDayPredictorImpl();
+		new ComponentTest(sut) //
+				.addReference("timedata", timedata) //
+				.addReference("componentManager", new DummyComponentManager(clock)) //
+				.activate(MyConfig.create() //
+						.setId(PREDICTOR_ID) //
+						.setNumOfWeeks(4) //
+						.setChannelAddresses(METER1_ACTIVE_POWER.toString()).build());
+
+		// Rolling history gives the same result as querying Timedata
+		var end = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		for (var t = ZonedDateTime.of(2019, 12, 29, 0, 0, 0, 0, ZoneOffset.UTC); !t.isAfter(end); t = t
+				.plusMinutes(15)) {
+			assertArrayEquals(sut.createNewPredictionFromTimedata(METER1_ACTIVE_POWER, t).getValues(), //
+					sut.createNewPrediction(METER1_ACTIVE_POWER, t).getValues());
+		}
+	}
+
 }
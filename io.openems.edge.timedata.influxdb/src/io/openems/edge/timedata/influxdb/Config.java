@@ -40,6 +40,12 @@ import io.openems.shared.influxdb.QueryLanguageConfig;
 	@AttributeDefinition(name = "Number of max scheduled tasks", description = "Max-Size of Queued tasks.")
 	int maxQueueSize() default 5000;
 
+	@AttributeDefinition(name = "Spill directory", description = "Directory for data that could not be written to InfluxDB; empty for default 'influxdb/ID' in the OpenEMS data directory")
+	String spillDirectory() default "";
+
+	@AttributeDefinition(name = "Max spill size [MB]", description = "Maximum size of data on disk that could not be written to InfluxDB; 0 to disable")
+	int maxSpillSize() default 100;
+
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
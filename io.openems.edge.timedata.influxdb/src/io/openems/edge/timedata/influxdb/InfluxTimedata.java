@@ -2,14 +2,51 @@ package io.openems.edge.timedata.influxdb;
 
 import org.osgi.service.event.EventHandler;
 
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
+import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.timedata.api.Timedata;
 
 public interface InfluxTimedata extends Timedata, OpenemsComponent, EventHandler {
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
-		;
+		/**
+		 * Size of data that could not be written to InfluxDB yet.
+		 *
+		 * <ul>
+		 * <li>Interface: InfluxTimedata
+		 * <li>Type: Long
+		 * <li>Unit: byte
+		 * </ul>
+		 */
+		BUFFERED_BYTES(Doc.of(OpenemsType.LONG) //
+				.text("Buffered data in [byte]")), //
+		/**
+		 * Age of the oldest data that could not be written to InfluxDB yet.
+		 *
+		 * <ul>
+		 * <li>Interface: InfluxTimedata
+		 * <li>Type: Long
+		 * <li>Unit: seconds
+		 * </ul>
+		 */
+		OLDEST_PENDING_AGE(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.SECONDS)), //
+		/**
+		 * Rate of buffered points that are replayed to InfluxDB.
+		 *
+		 * <ul>
+		 * <li>Interface: InfluxTimedata
+		 * <li>Type: Long
+		 * <li>Unit: points per second
+		 * </ul>
+		 */
+		REPLAY_RATE(Doc.of(OpenemsType.LONG) //
+				.text("Replayed points per second"));
+
 		private final Doc doc;
 
 		private ChannelId(Doc doc) {
@@ -22,4 +59,91 @@ public interface InfluxTimedata extends Timedata, OpenemsComponent, EventHandler
 		}
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#BUFFERED_BYTES}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getBufferedBytesChannel() {
+		return this.channel(ChannelId.BUFFERED_BYTES);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#BUFFERED_BYTES} value. See
+	 * {@link ChannelId#BUFFERED_BYTES}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getBufferedBytes() {
+		return this.getBufferedBytesChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#BUFFERED_BYTES}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setBufferedBytes(Long value) {
+		this.getBufferedBytesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#OLDEST_PENDING_AGE}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getOldestPendingAgeChannel() {
+		return this.channel(ChannelId.OLDEST_PENDING_AGE);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#OLDEST_PENDING_AGE} value. See
+	 * {@link ChannelId#OLDEST_PENDING_AGE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getOldestPendingAge() {
+		return this.getOldestPendingAgeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#OLDEST_PENDING_AGE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setOldestPendingAge(Long value) {
+		this.getOldestPendingAgeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#REPLAY_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getReplayRateChannel() {
+		return this.channel(ChannelId.REPLAY_RATE);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#REPLAY_RATE} value. See
+	 * {@link ChannelId#REPLAY_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getReplayRate() {
+		return this.getReplayRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#REPLAY_RATE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setReplayRate(Long value) {
+		this.getReplayRateChannel().setNextValue(value);
+	}
+
 }
@@ -26,6 +26,7 @@ import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -83,6 +84,8 @@ public class InfluxTimedataImpl extends AbstractOpenemsComponent
 
 		this.influxConnector = new InfluxConnector(config.queryLanguage(), URI.create(config.url()), config.org(),
 				config.apiKey(), config.bucket(), config.isReadOnly(), 5, config.maxQueueSize(), //
+				InfluxConnector.getSpillDirectory(config.spillDirectory(), config.id()),
+				config.maxSpillSize() * 1024L * 1024L, //
 				(throwable) -> {
 					this.logError(this.log, "Unable to write to InfluxDB: " + throwable.getMessage());
 				});
@@ -105,10 +108,19 @@ public class InfluxTimedataImpl extends AbstractOpenemsComponent
 		switch (event.getTopic()) {
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
 			this.collectAndWriteChannelValues();
+			this.updateBufferChannels();
 			break;
 		}
 	}
 
+	private void updateBufferChannels() {
+		this._setBufferedBytes(this.influxConnector.getBufferedBytes());
+		var oldestPendingTimestamp = this.influxConnector.getOldestPendingTimestamp();
+		this._setOldestPendingAge(oldestPendingTimestamp == null ? null //
+				: (System.currentTimeMillis() - oldestPendingTimestamp) / 1000);
+		this._setReplayRate(this.influxConnector.getReplayRate());
+	}
+
 	protected synchronized void collectAndWriteChannelValues() {
 		var cycleTime = this.cycle.getCycleTime(); // [ms]
 		var timestamp = System.currentTimeMillis() / cycleTime * cycleTime; // Round value to Cycle-Time in [ms]
@@ -180,6 +192,13 @@ public class InfluxTimedataImpl extends AbstractOpenemsComponent
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
+		var data = this.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution);
+		return data == null ? null : data.toMap();
+	}
+
+	@Override
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
 		// ignore edgeId as Points are also written without Edge-ID
 		Optional<Integer> influxEdgeId = Optional.empty();
 		return this.influxConnector.queryHistoricData(influxEdgeId, fromDate, toDate, channels, resolution);
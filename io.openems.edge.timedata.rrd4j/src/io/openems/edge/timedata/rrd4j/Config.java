@@ -22,5 +22,8 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Persistence Priority", description = "Store only Channels with a Persistence Priority above this. Be aware that too many writes can wear-out your flash storage.")
 	PersistencePriority persistencePriority() default PersistencePriority.MEDIUM;
 
+	@AttributeDefinition(name = "Max open databases", description = "Maximum number of RRD4J files that are kept open. Should be higher than the number of persisted Channels.")
+	int maxOpenDatabases() default 256;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata RRD4J [{id}]";
 }
\ No newline at end of file
@@ -3,26 +3,22 @@ package io.openems.edge.timedata.rrd4j;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.OptionalDouble;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
-import java.util.stream.DoubleStream;
+import java.util.concurrent.TimeUnit;
 
-import org.rrd4j.core.RrdDb;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.pastvalues.PastValues;
 
 public class RecordWorker extends AbstractImmediateWorker {
 
@@ -48,12 +44,12 @@ public class RecordWorker extends AbstractImmediateWorker {
 		}
 	}
 
-	// Record queue
-	private final LinkedBlockingQueue<Record> records = new LinkedBlockingQueue<>();
+	// Record queue; one batch of Records per timestamp
+	private final LinkedBlockingQueue<List<Record>> records = new LinkedBlockingQueue<>();
 
 	// keeps the last recorded timestamp
 	private Instant lastTimestamp = Instant.MIN;
-	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
+	private long readChannelValuesSince = Long.MIN_VALUE;
 
 	public RecordWorker(Rrd4jTimedataImpl parent) {
 		this.parent = parent;
@@ -66,7 +62,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 	 */
 	public void collectData() {
 		var timestamp = Instant.now().truncatedTo(ChronoUnit.SECONDS);
-		final var nextReadChannelValuesSince = LocalDateTime.now();
+		final var nextReadChannelValuesSince = System.currentTimeMillis();
 
 		// Increase CycleCount
 		this.cycleCount += 1;
@@ -90,6 +86,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 		this.lastTimestamp = timestamp;
 
+		var batch = new ArrayList<Record>();
 		for (OpenemsComponent component : this.parent.componentManager.getEnabledComponents()) {
 			for (Channel<?> channel : component.channels()) {
 				var doc = channel.channelDoc();
@@ -100,32 +97,27 @@ public class RecordWorker extends AbstractImmediateWorker {
 					continue;
 				}
 
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
 				var channelAggregateFunction = this.getChannelAggregateFunction(channel.channelDoc().getUnit());
 
-				var value = channelAggregateFunction.apply(//
-						channel.getPastValues() //
-								.tailMap(this.readChannelValuesSince, false) // new values since last recording
-								.values().stream() //
-								.map(Value::get) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
-				);
-				if (!value.isPresent()) {
+				// aggregate not-null values since last recording
+				var value = channelAggregateFunction.apply(channel.pastValues(), this.readChannelValuesSince);
+				if (Double.isNaN(value)) {
 					// only available channels
 					continue;
 				}
 
-				if (this.records.offer(//
-						new Record(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(),
-								value.getAsDouble()))) {
-					this.parent._setQueueIsFull(false);
+				batch.add(new Record(timestamp.getEpochSecond(), channel.address(), channel.channelDoc().getUnit(),
+						value));
+			}
+		}
 
-				} else {
-					this.parent.logWarn(this.log, "Unable to add record [" + channel.address() + "]. Queue is full!");
-					this.parent._setQueueIsFull(true);
-				}
+		if (!batch.isEmpty()) {
+			if (this.records.offer(batch)) {
+				this.parent._setQueueIsFull(false);
+
+			} else {
+				this.parent.logWarn(this.log, "Unable to add " + batch.size() + " records. Queue is full!");
+				this.parent._setQueueIsFull(true);
 			}
 		}
 
@@ -134,12 +126,36 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 	@Override
 	protected void forever() throws InterruptedException {
-		var record = this.records.take();
-		RrdDb database = null;
+		var batch = this.records.take();
+		final var start = System.nanoTime();
+
+		var unableToInsertSample = false;
+		for (var record : batch) {
+			unableToInsertSample |= !this.write(record);
+		}
+		this.parent._setUnableToInsertSample(unableToInsertSample);
 
+		// Close databases that were not written for a while, e.g. of removed Components
 		try {
-			database = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1);
+			this.parent.pool.closeIdle();
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to close idle databases: " + e.getMessage());
+		}
 
+		this.parent._setFlushDuration(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		this.parent._setOpenDatabases(this.parent.pool.size());
+		this.parent._setPoolHitRate(this.parent.pool.getAndResetHitRate());
+	}
+
+	/**
+	 * Writes a {@link Record} to its RRD4j database.
+	 *
+	 * @param record the {@link Record}
+	 * @return true on success
+	 */
+	private boolean write(Record record) {
+		try (var handle = this.parent.getRrdDb(record.address, record.unit, record.timestamp - 1)) {
+			var database = handle.getDb();
 			if (database.getLastUpdateTime() < record.timestamp) {
 				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
 				// YYY. Last update time was ZZZ, at least one second step is required".
@@ -149,57 +165,39 @@ public class RecordWorker extends AbstractImmediateWorker {
 				sample.setValue(0, record.value);
 				sample.update();
 			}
-
-			this.parent._setUnableToInsertSample(false);
+			return true;
 
 		} catch (Throwable e) {
-			this.parent._setUnableToInsertSample(true);
 			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.address + "] "
 					+ e.getClass().getSimpleName() + ": " + e.getMessage());
-		} finally {
-			if (database != null) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.parent.logWarn(this.log,
-							"Unable to close database [" + record.address + "]: " + e.getMessage());
-				}
-			}
+			return false;
 		}
 	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = value -> ((Boolean) value ? 1d : 0d);
-
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = value -> ((Short) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = value -> ((Integer) value)
-			.doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = value -> ((Long) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = value -> ((Float) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = value -> ((Double) value);
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = value -> 0d;
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
-		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
+	/**
+	 * Aggregates the {@link PastValues} of a Channel that were recorded after the
+	 * given timestamp.
+	 */
+	@FunctionalInterface
+	private static interface PastValuesAggregateFunction {
+
+		/**
+		 * Applies the aggregate function.
+		 *
+		 * @param pastValues    the {@link PastValues}
+		 * @param fromTimestamp the exclusive start timestamp in epoch milliseconds
+		 * @return the aggregated value; {@link Double#NaN} if there is no value
+		 */
+		public double apply(PastValues<?> pastValues, long fromTimestamp);
+
 	}
 
-	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
+	private static final PastValuesAggregateFunction AVERAGE = (pastValues, fromTimestamp) -> pastValues
+			.average(fromTimestamp, false);
+	private static final PastValuesAggregateFunction MAX = (pastValues, fromTimestamp) -> pastValues
+			.max(fromTimestamp, false);
+
+	private PastValuesAggregateFunction getChannelAggregateFunction(Unit channelUnit) {
 		switch (channelUnit) {
 		case AMPERE:
 		case AMPERE_HOURS:
@@ -216,6 +214,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 		case MICROOHM:
 		case MICROAMPERE:
 		case MICROVOLT:
+		case MICROSECONDS:
 		case MILLIAMPERE_HOURS:
 		case MILLIAMPERE:
 		case MILLIHERTZ:
@@ -235,14 +234,14 @@ public class RecordWorker extends AbstractImmediateWorker {
 		case THOUSANDTH:
 		case PERCENT:
 		case ON_OFF:
-			return DoubleStream::average;
+			return AVERAGE;
 		case CUMULATED_SECONDS:
 		case WATT_HOURS:
 		case KILOWATT_HOURS:
 		case VOLT_AMPERE_HOURS:
 		case VOLT_AMPERE_REACTIVE_HOURS:
 		case KILOVOLT_AMPERE_REACTIVE_HOURS:
-			return DoubleStream::max;
+			return MAX;
 		}
 		throw new IllegalArgumentException("Channel Unit [" + channelUnit + "] is not supported.");
 	}
@@ -1,7 +1,11 @@
 package io.openems.edge.timedata.rrd4j;
 
 import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -11,7 +15,38 @@ public interface Rrd4jTimedata extends Timedata, OpenemsComponent {
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		QUEUE_IS_FULL(Doc.of(Level.WARNING)), //
-		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING));
+		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING)), //
+		/**
+		 * Number of open RRD4j databases.
+		 *
+		 * <ul>
+		 * <li>Interface: Rrd4jTimedata
+		 * <li>Type: Integer
+		 * </ul>
+		 */
+		OPEN_DATABASES(Doc.of(OpenemsType.INTEGER)), //
+		/**
+		 * Share of database accesses that were served by an already open database.
+		 *
+		 * <ul>
+		 * <li>Interface: Rrd4jTimedata
+		 * <li>Type: Integer
+		 * <li>Unit: %
+		 * </ul>
+		 */
+		POOL_HIT_RATE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT)), //
+		/**
+		 * Duration of writing one batch of samples.
+		 *
+		 * <ul>
+		 * <li>Interface: Rrd4jTimedata
+		 * <li>Type: Long
+		 * <li>Unit: milliseconds
+		 * </ul>
+		 */
+		FLUSH_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS));
 
 		private final Doc doc;
 
@@ -80,4 +115,91 @@ public interface Rrd4jTimedata extends Timedata, OpenemsComponent {
 	public default void _setUnableToInsertSample(Boolean value) {
 		this.getUnableToInsertSampleChannel().setNextValue(value);
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#OPEN_DATABASES}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getOpenDatabasesChannel() {
+		return this.channel(ChannelId.OPEN_DATABASES);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#OPEN_DATABASES} value. See
+	 * {@link ChannelId#OPEN_DATABASES}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getOpenDatabases() {
+		return this.getOpenDatabasesChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#OPEN_DATABASES}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setOpenDatabases(Integer value) {
+		this.getOpenDatabasesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#POOL_HIT_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getPoolHitRateChannel() {
+		return this.channel(ChannelId.POOL_HIT_RATE);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#POOL_HIT_RATE} value. See
+	 * {@link ChannelId#POOL_HIT_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getPoolHitRate() {
+		return this.getPoolHitRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#POOL_HIT_RATE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setPoolHitRate(Integer value) {
+		this.getPoolHitRateChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#FLUSH_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getFlushDurationChannel() {
+		return this.channel(ChannelId.FLUSH_DURATION);
+	}
+
+	/**
+	 * Gets the {@link ChannelId#FLUSH_DURATION} value. See
+	 * {@link ChannelId#FLUSH_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getFlushDuration() {
+		return this.getFlushDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#FLUSH_DURATION}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setFlushDuration(Long value) {
+		this.getFlushDurationChannel().setNextValue(value);
+	}
 }
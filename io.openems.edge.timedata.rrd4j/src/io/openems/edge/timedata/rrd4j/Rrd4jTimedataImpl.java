@@ -28,6 +28,7 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
@@ -45,6 +46,7 @@ import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.Channel;
@@ -72,6 +74,13 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 	private static final String RRD4J_PATH = "rrd4j";
 
+	/**
+	 * Every database is written once per step, so a handle that was accessed
+	 * within half a step belongs to the currently written batch.
+	 */
+	private static final long POOL_MIN_RESIDENCY_MILLIS = DEFAULT_STEP_SECONDS * 1000L / 2;
+	private static final long POOL_IDLE_TIMEOUT_MILLIS = DEFAULT_STEP_SECONDS * 1000L * 3;
+
 	private final Logger log = LoggerFactory.getLogger(Rrd4jTimedataImpl.class);
 
 	private final RecordWorker worker;
@@ -92,9 +101,13 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 	protected PersistencePriority persistencePriority = PersistencePriority.MEDIUM;
 
+	protected RrdDbHandlePool pool = null;
+
 	@Activate
 	void activate(ComponentContext context, Config config) throws Exception {
 		this.persistencePriority = config.persistencePriority();
+		this.pool = new RrdDbHandlePool(config.maxOpenDatabases(), POOL_MIN_RESIDENCY_MILLIS,
+				POOL_IDLE_TIMEOUT_MILLIS);
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
 		if (config.enabled()) {
@@ -105,6 +118,11 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		try {
+			this.pool.closeAll();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close databases: " + e.getMessage());
+		}
 		super.deactivate();
 	}
 
@@ -112,10 +130,14 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		var timezone = fromDate.getZone();
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		return this.queryHistoricTimeseriesData(edgeId, fromDate, toDate, channels, resolution).toMap();
+	}
+
+	@Override
+	public HistoricTimeseriesData queryHistoricTimeseriesData(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+		var table = HistoricTimeseriesData.create(fromDate.getZone());
 
-		RrdDb database = null;
 		try {
 			var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 			var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
@@ -124,38 +146,24 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 			for (ChannelAddress channelAddress : channels) {
 				try {
 					Channel<?> channel = this.componentManager.getChannel(channelAddress);
-					database = this.getExistingRrdDb(channel.address());
-					if (database == null) {
-						throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
-					}
-					var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-					var request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp,
-							resolution.toSeconds());
+					final double[] result;
+					try (var handle = this.getExistingRrdDb(channel.address())) {
+						if (handle == null) {
+							throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
+						}
+						var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
+						var request = handle.getDb().createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp,
+								resolution.toSeconds());
 
-					// Post-Process data
-					var result = postProcessData(request, resolution.toSeconds());
-					database.close();
+						// Post-Process data
+						result = postProcessData(request, resolution.toSeconds());
+					}
 
 					for (var i = 0; i < result.length; i++) {
 						var timestamp = fromTimestamp + (i * resolution.toSeconds());
 
-						// Prepare result table row
-						var timestampInstant = Instant.ofEpochSecond(timestamp);
-						var dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
-								.withZoneSameInstant(timezone);
-						var tableRow = table.get(dateTime);
-						if (tableRow == null) {
-							tableRow = new TreeMap<>();
-						}
-
-						var value = result[i];
-						if (Double.isNaN(value)) {
-							tableRow.put(channelAddress, JsonNull.INSTANCE);
-						} else {
-							tableRow.put(channelAddress, new JsonPrimitive(value));
-						}
-
-						table.put(dateTime, tableRow);
+						// NaN is stored as 'no value'
+						table.add(timestamp * 1000, channelAddress, result[i]);
 					}
 
 				} catch (Exception e) {
@@ -172,16 +180,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 		} catch (Exception e) {
 			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
-				}
-			}
 		}
-		return table;
+		return table.build();
 	}
 
 	/**
@@ -256,21 +256,21 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 		var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-		RrdDb database = null;
 		try {
 			var errorCounter = 0;
 			for (ChannelAddress channelAddress : channels) {
 				try {
 					Channel<?> channel = this.componentManager.getChannel(channelAddress);
-					database = this.getExistingRrdDb(channel.address());
-					if (database == null) {
-						throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
-					}
+					final FetchData data;
+					try (var handle = this.getExistingRrdDb(channel.address())) {
+						if (handle == null) {
+							throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
+						}
 
-					var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-					var request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
-					var data = request.fetchData();
-					database.close();
+						var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
+						var request = handle.getDb().createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
+						data = request.fetchData();
+					}
 
 					// Find first and last energy value != null
 					var first = Double.NaN;
@@ -306,14 +306,6 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 		} catch (Exception e) {
 			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
-				}
-			}
 		}
 		return table;
 	}
@@ -358,20 +350,14 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		final var result = new CompletableFuture<Optional<Object>>();
 
 		CompletableFuture.runAsync(() -> {
-			var database = this.getExistingRrdDb(channelAddress);
-			if (database == null) {
-				result.complete(Optional.empty());
-			}
-			try {
-				result.complete(Optional.of(database.getLastDatasourceValues()[0]));
+			try (var handle = this.getExistingRrdDb(channelAddress)) {
+				if (handle == null) {
+					result.complete(Optional.empty());
+				} else {
+					result.complete(Optional.of(handle.getDb().getLastDatasourceValues()[0]));
+				}
 			} catch (Exception e) {
 				result.complete(Optional.empty());
-			} finally {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close Database for [" + channelAddress + "]: " + e.getMessage());
-				}
 			}
 		});
 
@@ -379,7 +365,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	}
 
 	/**
-	 * Gets the RRD4j database for the given Channel-Address.
+	 * Gets the RRD4j database for the given Channel-Address from the
+	 * {@link RrdDbHandlePool}; creates it if it does not exist.
 	 * 
 	 * <p>
 	 * The predefined RRD4J archives match the requirements of
@@ -388,21 +375,23 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	 * @param channelAddress the Channel-Address
 	 * @param channelUnit    the {@link Unit}
 	 * @param startTime      the starttime for newly created RrdDbs
-	 * @return the RrdDb
+	 * @return the {@link RrdDbHandlePool.Handle}; to be closed after use
 	 * @throws IOException        on error
 	 * @throws URISyntaxException on error
 	 */
-	protected synchronized RrdDb getRrdDb(ChannelAddress channelAddress, Unit channelUnit, long startTime)
+	protected RrdDbHandlePool.Handle getRrdDb(ChannelAddress channelAddress, Unit channelUnit, long startTime)
 			throws IOException, URISyntaxException {
-		var rrdDb = this.getExistingRrdDb(channelAddress);
-		if (rrdDb != null) {
-			// Database exists
+		return this.pool.borrow(channelAddress, () -> {
+			var rrdDb = this.openExistingRrdDb(channelAddress);
+			if (rrdDb != null) {
+				// Database exists
 
-			return this.updateRrdDbToLatestDefinition(rrdDb, channelAddress, channelUnit);
+				return this.updateRrdDbToLatestDefinition(rrdDb, channelAddress, channelUnit);
 
-		}
-		// Create new database
-		return this.createNewDb(channelAddress, channelUnit, startTime);
+			}
+			// Create new database
+			return this.createNewDb(channelAddress, channelUnit, startTime);
+		});
 	}
 
 	/**
@@ -433,20 +422,37 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 		return RrdDb.getBuilder() //
 				.setBackendFactory(this.factory) //
-				.usePool() //
 				.setRrdDef(rrdDef) //
 				.build();
 	}
 
 	/**
-	 * Gets an existing RrdDb.
+	 * Gets an existing RrdDb from the {@link RrdDbHandlePool}.
+	 * 
+	 * <p>
+	 * If the RrdDb is not in the pool, it is opened without adding it to the
+	 * pool: it is not migrated to the latest OpenEMS-RRD4j Definition here, so
+	 * the next {@link #getRrdDb(ChannelAddress, Unit, long)} has to open it.
+	 * 
+	 * @param channelAddress the ChannelAddress
+	 * @return the {@link RrdDbHandlePool.Handle} or null; to be closed after use
+	 */
+	protected RrdDbHandlePool.Handle getExistingRrdDb(ChannelAddress channelAddress) {
+		try {
+			return this.pool.borrowUnpooled(channelAddress, () -> this.openExistingRrdDb(channelAddress));
+		} catch (IOException | URISyntaxException e) {
+			this.logError(this.log, "Unable to open existing RrdDb: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Opens an existing RrdDb.
 	 * 
 	 * @param channelAddress the ChannelAddress
 	 * @return the RrdDb or null
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
 	 */
-	protected synchronized RrdDb getExistingRrdDb(ChannelAddress channelAddress) {
+	private synchronized RrdDb openExistingRrdDb(ChannelAddress channelAddress) {
 		var file = this.getDbFile(channelAddress);
 		if (!file.exists()) {
 			return null;
@@ -454,7 +460,6 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		try {
 			return RrdDb.getBuilder() //
 					.setBackendFactory(this.factory) //
-					.usePool() //
 					.setPath(file.toURI()) //
 					.build();
 		} catch (IOException e) {
@@ -515,6 +520,7 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		case MICROOHM:
 		case MICROAMPERE:
 		case MICROVOLT:
+		case MICROSECONDS:
 		case MILLIAMPERE_HOURS:
 		case MILLIAMPERE:
 		case MILLIHERTZ:
@@ -0,0 +1,350 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+import org.rrd4j.core.RrdDb;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Keeps a bounded number of {@link RrdDb} databases open, so that they do not
+ * have to be opened and closed for every single sample or query.
+ *
+ * <p>
+ * Handles are kept in least-recently-used order. If the pool is full, the least
+ * recently used handle is only evicted if it was not accessed within the
+ * minimum residency time. Otherwise a transient handle is returned that is
+ * closed on release. As every database is written once per RRD4j step, this
+ * makes sure that a stable set of databases stays open, even if there are more
+ * persisted Channels than open handles.
+ *
+ * <p>
+ * Handles that were not accessed within the idle timeout are closed by
+ * {@link #closeIdle()}.
+ *
+ * <p>
+ * Databases are opened outside of the lock of the pool, so a slow open does not
+ * block borrowing other databases. Concurrent opens of the same database are
+ * serialized.
+ */
+public class RrdDbHandlePool {
+
+	/**
+	 * Opens a {@link RrdDb} on a pool miss.
+	 */
+	@FunctionalInterface
+	public static interface Opener {
+
+		/**
+		 * Opens the {@link RrdDb}.
+		 *
+		 * @return the {@link RrdDb}; or null if it does not exist
+		 * @throws IOException        on error
+		 * @throws URISyntaxException on error
+		 */
+		public RrdDb open() throws IOException, URISyntaxException;
+
+	}
+
+	/**
+	 * A borrowed {@link RrdDb}. Must be closed to return it to the pool.
+	 */
+	public static final class Handle implements AutoCloseable {
+
+		private final RrdDbHandlePool pool;
+		private final RrdDb db;
+		private final boolean pooled;
+
+		private int refCount = 0;
+		private long lastAccess;
+
+		private Handle(RrdDbHandlePool pool, RrdDb db, boolean pooled) {
+			this.pool = pool;
+			this.db = db;
+			this.pooled = pooled;
+		}
+
+		/**
+		 * Gets the {@link RrdDb}.
+		 *
+		 * @return the {@link RrdDb}
+		 */
+		public RrdDb getDb() {
+			return this.db;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.pool.release(this);
+		}
+	}
+
+	private final int maxOpenDatabases;
+	private final long minResidencyMillis;
+	private final long idleTimeoutMillis;
+	private final LongSupplier currentTimeMillis;
+	private final LinkedHashMap<ChannelAddress, Handle> handles = new LinkedHashMap<>(16, 0.75F, true);
+
+	/**
+	 * Databases that are currently being opened; completed once the open
+	 * finished.
+	 */
+	private final Map<ChannelAddress, CompletableFuture<Void>> opening = new HashMap<>();
+
+	private boolean isClosed = false;
+	private long hits = 0;
+	private long misses = 0;
+
+	public RrdDbHandlePool(int maxOpenDatabases, long minResidencyMillis, long idleTimeoutMillis) {
+		this(maxOpenDatabases, minResidencyMillis, idleTimeoutMillis, System::currentTimeMillis);
+	}
+
+	protected RrdDbHandlePool(int maxOpenDatabases, long minResidencyMillis, long idleTimeoutMillis,
+			LongSupplier currentTimeMillis) {
+		this.maxOpenDatabases = maxOpenDatabases;
+		this.minResidencyMillis = minResidencyMillis;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.currentTimeMillis = currentTimeMillis;
+	}
+
+	/**
+	 * Borrows the {@link RrdDb} for the given {@link ChannelAddress}. On a pool
+	 * miss the opened {@link RrdDb} is added to the pool.
+	 *
+	 * <p>
+	 * The returned {@link Handle} must be closed after use, preferably using
+	 * try-with-resources.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param opener         opens the {@link RrdDb} if it is not in the pool
+	 * @return the {@link Handle}; or null if the {@link Opener} returned null
+	 * @throws IOException        on error or if the pool is closed
+	 * @throws URISyntaxException on error
+	 */
+	public Handle borrow(ChannelAddress channelAddress, Opener opener) throws IOException, URISyntaxException {
+		return this.borrow(channelAddress, opener, true);
+	}
+
+	/**
+	 * Borrows the {@link RrdDb} for the given {@link ChannelAddress} if it is in
+	 * the pool. On a pool miss the opened {@link RrdDb} is not added to the pool,
+	 * but closed on release.
+	 *
+	 * <p>
+	 * Use this for Openers that do not prepare the {@link RrdDb} for writing, so
+	 * that the next {@link #borrow(ChannelAddress, Opener)} runs its own Opener.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param opener         opens the {@link RrdDb} if it is not in the pool
+	 * @return the {@link Handle}; or null if the {@link Opener} returned null
+	 * @throws IOException        on error or if the pool is closed
+	 * @throws URISyntaxException on error
+	 */
+	public Handle borrowUnpooled(ChannelAddress channelAddress, Opener opener)
+			throws IOException, URISyntaxException {
+		return this.borrow(channelAddress, opener, false);
+	}
+
+	private Handle borrow(ChannelAddress channelAddress, Opener opener, boolean addToPool)
+			throws IOException, URISyntaxException {
+		while (true) {
+			final CompletableFuture<Void> pending;
+			CompletableFuture<Void> opened = null;
+			synchronized (this) {
+				if (this.isClosed) {
+					throw new IOException("RrdDbHandlePool is closed");
+				}
+				var handle = this.handles.get(channelAddress);
+				if (handle != null && !handle.db.isClosed()) {
+					this.hits++;
+					return this.acquire(handle);
+				}
+				if (handle != null) {
+					// RrdDb was closed from outside
+					this.handles.remove(channelAddress);
+				}
+				pending = this.opening.get(channelAddress);
+				if (pending == null) {
+					this.misses++;
+					opened = new CompletableFuture<>();
+					this.opening.put(channelAddress, opened);
+				}
+			}
+			if (opened != null) {
+				return this.open(channelAddress, opener, addToPool, opened);
+			}
+			// Another thread opens this RrdDb: wait outside of the lock, then retry
+			pending.join();
+		}
+	}
+
+	private Handle open(ChannelAddress channelAddress, Opener opener, boolean addToPool,
+			CompletableFuture<Void> opened) throws IOException, URISyntaxException {
+		RrdDb db;
+		try {
+			db = opener.open();
+		} catch (IOException | URISyntaxException | RuntimeException e) {
+			synchronized (this) {
+				this.opening.remove(channelAddress);
+			}
+			opened.complete(null);
+			throw e;
+		}
+		synchronized (this) {
+			this.opening.remove(channelAddress);
+			opened.complete(null);
+			if (db == null) {
+				return null;
+			}
+			if (this.isClosed) {
+				db.close();
+				throw new IOException("RrdDbHandlePool is closed");
+			}
+			var pooled = addToPool && (this.handles.size() < this.maxOpenDatabases
+					|| this.evictEldest(this.currentTimeMillis.getAsLong()));
+			var handle = new Handle(this, db, pooled);
+			if (pooled) {
+				this.handles.put(channelAddress, handle);
+			}
+			return this.acquire(handle);
+		}
+	}
+
+	private Handle acquire(Handle handle) {
+		handle.refCount++;
+		handle.lastAccess = this.currentTimeMillis.getAsLong();
+		return handle;
+	}
+
+	/**
+	 * Releases a borrowed {@link Handle}. Transient {@link Handle}s and all
+	 * {@link Handle}s of a closed pool are closed once they are not in use
+	 * anymore.
+	 *
+	 * @param handle the {@link Handle}
+	 * @throws IOException on error
+	 */
+	private synchronized void release(Handle handle) throws IOException {
+		handle.refCount--;
+		if ((!handle.pooled || this.isClosed) && handle.refCount <= 0) {
+			handle.db.close();
+		}
+	}
+
+	/**
+	 * Evicts the least recently used {@link Handle} if it is not in use and was
+	 * not accessed within the minimum residency time.
+	 *
+	 * @param now the current time in epoch milliseconds
+	 * @return true if a {@link Handle} was evicted
+	 * @throws IOException on error
+	 */
+	private boolean evictEldest(long now) throws IOException {
+		var iterator = this.handles.values().iterator();
+		while (iterator.hasNext()) {
+			var handle = iterator.next();
+			if (now - handle.lastAccess < this.minResidencyMillis) {
+				// all following handles were accessed even more recently
+				return false;
+			}
+			if (handle.refCount <= 0) {
+				iterator.remove();
+				handle.db.close();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Closes all {@link Handle}s that are not in use and that were not accessed
+	 * within the idle timeout.
+	 *
+	 * @return the number of closed {@link Handle}s
+	 * @throws IOException on error
+	 */
+	public synchronized int closeIdle() throws IOException {
+		var now = this.currentTimeMillis.getAsLong();
+		var result = 0;
+		var iterator = this.handles.values().iterator();
+		while (iterator.hasNext()) {
+			var handle = iterator.next();
+			if (now - handle.lastAccess < this.idleTimeoutMillis) {
+				break;
+			}
+			if (handle.refCount <= 0) {
+				iterator.remove();
+				handle.db.close();
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Closes the pool. {@link Handle}s that are not in use are closed
+	 * immediately; {@link Handle}s that are still borrowed are closed on release.
+	 * Afterwards no more {@link Handle}s are borrowed.
+	 *
+	 * @throws IOException on error
+	 */
+	public void closeAll() throws IOException {
+		var dbs = new ArrayList<RrdDb>();
+		synchronized (this) {
+			this.isClosed = true;
+			for (var handle : this.handles.values()) {
+				if (handle.refCount <= 0) {
+					dbs.add(handle.db);
+				}
+			}
+			this.handles.clear();
+		}
+		IOException exception = null;
+		for (var db : dbs) {
+			try {
+				db.close();
+			} catch (IOException e) {
+				exception = e;
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * Gets the number of open {@link Handle}s in the pool.
+	 *
+	 * @return the number of open {@link Handle}s
+	 */
+	public synchronized int size() {
+		return this.handles.size();
+	}
+
+	/**
+	 * Gets the hit rate since the last call of this method and resets the
+	 * counters.
+	 *
+	 * @return the hit rate in [%]; or null if there was no access
+	 */
+	public synchronized Integer getAndResetHitRate() {
+		var total = this.hits + this.misses;
+		final Integer result;
+		if (total == 0) {
+			result = null;
+		} else {
+			result = (int) Math.round(this.hits * 100. / total);
+		}
+		this.hits = 0;
+		this.misses = 0;
+		return result;
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.openems.edge.timedata.rrd4j;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.test.AbstractComponentConfig;
+
+@SuppressWarnings("all")
+public class MyConfig extends AbstractComponentConfig implements Config {
+
+	public static class Builder {
+		private String id;
+		public PersistencePriority persistencePriority = PersistencePriority.MEDIUM;
+		public int maxOpenDatabases = 256;
+
+		private Builder() {
+		}
+
+		public Builder setId(String id) {
+			this.id = id;
+			return this;
+		}
+
+		public Builder setPersistencePriority(PersistencePriority persistencePriority) {
+			this.persistencePriority = persistencePriority;
+			return this;
+		}
+
+		public Builder setMaxOpenDatabases(int maxOpenDatabases) {
+			this.maxOpenDatabases = maxOpenDatabases;
+			return this;
+		}
+
+		public MyConfig build() {
+			return new MyConfig(this);
+		}
+	}
+
+	/**
+	 * Create a Config builder.
+	 *
+	 * @return a {@link Builder}
+	 */
+	public static Builder create() {
+		return new Builder();
+	}
+
+	private final Builder builder;
+
+	private MyConfig(Builder builder) {
+		super(Config.class, builder.id);
+		this.builder = builder;
+	}
+
+	@Override
+	public PersistencePriority persistencePriority() {
+		return this.builder.persistencePriority;
+	}
+
+	@Override
+	public int maxOpenDatabases() {
+		return this.builder.maxOpenDatabases;
+	}
+
+}
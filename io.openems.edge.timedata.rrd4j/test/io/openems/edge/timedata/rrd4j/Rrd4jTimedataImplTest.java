@@ -1,22 +1,37 @@
 package io.openems.edge.timedata.rrd4j;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.DsDef;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
 import org.rrd4j.core.RrdMemoryBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
 
 public class Rrd4jTimedataImplTest {
 
+	private static final String OPENEMS_DATA_DIR = "openems.data.dir";
+	private static final String TIMEDATA_ID = "rrd4j0";
+	private static final ChannelAddress METER0_ACTIVE_POWER = new ChannelAddress("meter0", "ActivePower");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	private static final Instant START = Instant.ofEpochSecond(1577836800L); /* starts at 1. January 2020 00:00:00 */
 
 	private static void addSample(RrdDb database, Instant instant, double value) throws IOException {
@@ -149,4 +164,67 @@ public class Rrd4jTimedataImplTest {
 		assertEquals(6.5, result[4], 0.1);
 		assertEquals(18.5, result[5], 0.1);
 	}
+
+	/**
+	 * Test migration of an old OpenEMS-RRD4j Definition, if the database is read
+	 * before it is written.
+	 *
+	 * @throws Exception on error
+	 */
+	@Test
+	public void testMigrateAfterRead() throws Exception {
+		System.setProperty(OPENEMS_DATA_DIR, this.folder.getRoot().getAbsolutePath());
+		try {
+			// Create database with old definition: 1 minute step and three archives
+			var file = this.folder.getRoot().toPath() //
+					.resolve("rrd4j").resolve(TIMEDATA_ID) //
+					.resolve(METER0_ACTIVE_POWER.getComponentId()) //
+					.resolve(METER0_ACTIVE_POWER.getChannelId());
+			Files.createDirectories(file.getParent());
+			var rrdDef = new RrdDef(file.toUri(), START.getEpochSecond() - 1, 60);
+			rrdDef.addDatasource(new DsDef(Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, DsType.GAUGE, 60, Double.NaN,
+					Double.NaN));
+			rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 1_440);
+			rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 5, 2_880);
+			rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 60, 8_760);
+			var oldDb = RrdDb.getBuilder() //
+					.setBackendFactory(new RrdRandomAccessFileBackendFactory()) //
+					.setRrdDef(rrdDef) //
+					.build();
+			for (var i = 1; i <= 60; i++) {
+				addSample(oldDb, START.plus(i, ChronoUnit.MINUTES), i);
+			}
+			oldDb.close();
+
+			var sut = new Rrd4jTimedataImpl();
+			sut.activate(null, MyConfig.create() //
+					.setId(TIMEDATA_ID) //
+					.build());
+
+			// Read first: the database is not migrated and not kept open
+			try (var handle = sut.getExistingRrdDb(METER0_ACTIVE_POWER)) {
+				assertNotNull(handle);
+				assertEquals(60, handle.getDb().getRrdDef().getStep());
+			}
+			assertEquals(0, sut.pool.size());
+
+			// Write: the database is migrated
+			try (var handle = sut.getRrdDb(METER0_ACTIVE_POWER, Unit.WATT,
+					START.plus(61, ChronoUnit.MINUTES).getEpochSecond())) {
+				assertEquals(Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS, handle.getDb().getRrdDef().getStep());
+				assertEquals(2, handle.getDb().getArcCount());
+			}
+
+			// Read: the migrated database is shared
+			try (var handle = sut.getExistingRrdDb(METER0_ACTIVE_POWER)) {
+				assertEquals(Rrd4jTimedataImpl.DEFAULT_STEP_SECONDS, handle.getDb().getRrdDef().getStep());
+			}
+			assertEquals(1, sut.pool.size());
+
+			sut.deactivate();
+
+		} finally {
+			System.clearProperty(OPENEMS_DATA_DIR);
+		}
+	}
 }
@@ -0,0 +1,245 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+
+import io.openems.common.types.ChannelAddress;
+
+public class RrdDbHandlePoolTest {
+
+	private static final ChannelAddress CH0 = new ChannelAddress("component0", "Channel0");
+	private static final ChannelAddress CH1 = new ChannelAddress("component0", "Channel1");
+	private static final ChannelAddress CH2 = new ChannelAddress("component0", "Channel2");
+
+	private final AtomicLong now = new AtomicLong(0);
+	private final AtomicInteger opened = new AtomicInteger(0);
+
+	private RrdDb open(ChannelAddress channelAddress) throws IOException {
+		this.opened.incrementAndGet();
+		final var rrdDef = new RrdDef(channelAddress.toString(), 0, 300);
+		rrdDef.addDatasource(//
+				new DsDef(Rrd4jTimedataImpl.DEFAULT_DATASOURCE_NAME, //
+						DsType.GAUGE, //
+						Rrd4jTimedataImpl.DEFAULT_HEARTBEAT_SECONDS, //
+						Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+		return RrdDb.getBuilder() //
+				.setBackendFactory(new RrdMemoryBackendFactory()) // in memory
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	private RrdDbHandlePool.Handle borrow(RrdDbHandlePool pool, ChannelAddress channelAddress)
+			throws IOException, URISyntaxException {
+		return pool.borrow(channelAddress, () -> this.open(channelAddress));
+	}
+
+	@Test
+	public void testHit() throws IOException, URISyntaxException {
+		var pool = new RrdDbHandlePool(2, 1000, 10_000, this.now::get);
+
+		RrdDb db;
+		try (var handle = this.borrow(pool, CH0)) {
+			db = handle.getDb();
+		}
+		try (var handle = this.borrow(pool, CH0)) {
+			assertSame(db, handle.getDb());
+		}
+		assertFalse(db.isClosed());
+		assertEquals(1, this.opened.get());
+		assertEquals(1, pool.size());
+		assertEquals(Integer.valueOf(50), pool.getAndResetHitRate());
+		assertNull(pool.getAndResetHitRate());
+
+		// Opener returns null if database does not exist
+		assertNull(pool.borrow(CH1, () -> null));
+
+		pool.closeAll();
+		assertTrue(db.isClosed());
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() throws IOException, URISyntaxException {
+		var pool = new RrdDbHandlePool(2, 1000, 10_000, this.now::get);
+
+		RrdDb db0;
+		RrdDb db1;
+		try (var handle = this.borrow(pool, CH0)) {
+			db0 = handle.getDb();
+		}
+		try (var handle = this.borrow(pool, CH1)) {
+			db1 = handle.getDb();
+		}
+
+		// Pool is full and all handles are within minimum residency
+		this.now.set(500);
+		RrdDb db2;
+		try (var handle = this.borrow(pool, CH2)) {
+			db2 = handle.getDb();
+			assertFalse(db2.isClosed());
+		}
+		assertTrue(db2.isClosed()); // transient handle
+		assertEquals(2, pool.size());
+
+		// Access CH0 -> CH1 is least recently used
+		this.now.set(1500);
+		try (var handle = this.borrow(pool, CH0)) {
+			assertSame(db0, handle.getDb());
+		}
+		try (var handle = this.borrow(pool, CH2)) {
+			assertFalse(handle.getDb().isClosed());
+		}
+		assertTrue(db1.isClosed());
+		assertFalse(db0.isClosed());
+		assertEquals(2, pool.size());
+
+		pool.closeAll();
+	}
+
+	@Test
+	public void testCloseIdle() throws IOException, URISyntaxException {
+		var pool = new RrdDbHandlePool(10, 1000, 10_000, this.now::get);
+
+		RrdDb db0;
+		try (var handle = this.borrow(pool, CH0)) {
+			db0 = handle.getDb();
+		}
+		this.now.set(5_000);
+		RrdDb db1;
+		try (var handle = this.borrow(pool, CH1)) {
+			db1 = handle.getDb();
+		}
+
+		this.now.set(12_000);
+		var handle = this.borrow(pool, CH2);
+		assertEquals(1, pool.closeIdle());
+		assertTrue(db0.isClosed());
+		assertFalse(db1.isClosed());
+
+		// Borrowed handles are never closed
+		this.now.set(100_000);
+		assertEquals(1, pool.closeIdle());
+		assertFalse(handle.getDb().isClosed());
+		handle.close();
+		assertEquals(1, pool.closeIdle());
+		assertTrue(handle.getDb().isClosed());
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	public void testBorrowUnpooled() throws IOException, URISyntaxException {
+		var pool = new RrdDbHandlePool(2, 1000, 10_000, this.now::get);
+
+		// Miss: opened, but not added to the pool
+		RrdDb db0;
+		try (var handle = pool.borrowUnpooled(CH0, () -> this.open(CH0))) {
+			db0 = handle.getDb();
+		}
+		assertTrue(db0.isClosed());
+		assertEquals(0, pool.size());
+
+		// Next borrow runs its own Opener...
+		RrdDb db1;
+		try (var handle = this.borrow(pool, CH0)) {
+			db1 = handle.getDb();
+		}
+		assertEquals(2, this.opened.get());
+
+		// ...and is then shared
+		try (var handle = pool.borrowUnpooled(CH0, () -> this.open(CH0))) {
+			assertSame(db1, handle.getDb());
+		}
+		assertFalse(db1.isClosed());
+		assertEquals(2, this.opened.get());
+
+		pool.closeAll();
+	}
+
+	@Test
+	public void testCloseAllWhileBorrowed() throws IOException, URISyntaxException {
+		var pool = new RrdDbHandlePool(10, 1000, 10_000, this.now::get);
+
+		RrdDb db0;
+		try (var handle = this.borrow(pool, CH0)) {
+			db0 = handle.getDb();
+		}
+		var handle = this.borrow(pool, CH1);
+		pool.closeAll();
+		assertTrue(db0.isClosed());
+		assertFalse(handle.getDb().isClosed()); // still in use
+
+		handle.close();
+		assertTrue(handle.getDb().isClosed());
+
+		// No more Handles after close
+		try {
+			this.borrow(pool, CH2);
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+		assertEquals(2, this.opened.get());
+	}
+
+	@Test
+	public void testOpenOutsideOfLock() throws Exception {
+		var pool = new RrdDbHandlePool(10, 1000, 10_000, this.now::get);
+		var isOpening = new CountDownLatch(1);
+		var finishOpen = new CompletableFuture<Void>();
+
+		// Slow open of CH0
+		var slow = CompletableFuture.supplyAsync(() -> {
+			try (var handle = pool.borrow(CH0, () -> {
+				isOpening.countDown();
+				finishOpen.join();
+				return this.open(CH0);
+			})) {
+				return handle.getDb();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(isOpening.await(10, TimeUnit.SECONDS));
+
+		// Other databases are not blocked
+		try (var handle = this.borrow(pool, CH1)) {
+			assertFalse(handle.getDb().isClosed());
+		}
+
+		// Same database waits for the running open and shares its result
+		var same = CompletableFuture.supplyAsync(() -> {
+			try (var handle = this.borrow(pool, CH0)) {
+				return handle.getDb();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		finishOpen.complete(null);
+		assertSame(slow.get(10, TimeUnit.SECONDS), same.get(10, TimeUnit.SECONDS));
+		assertEquals(2, this.opened.get());
+
+		pool.closeAll();
+	}
+
+}
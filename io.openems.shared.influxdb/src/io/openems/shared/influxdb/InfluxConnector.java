@@ -1,6 +1,8 @@
 package io.openems.shared.influxdb;
 
+import java.io.File;
 import java.net.URI;
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.Set;
@@ -9,9 +11,12 @@ import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -23,14 +28,19 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.exceptions.InfluxException;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.shared.influxdb.WriteAheadBuffer.Batch;
 import io.openems.shared.influxdb.proxy.QueryProxy;
 import okhttp3.OkHttpClient;
 
@@ -41,7 +51,12 @@ public class InfluxConnector {
 	private static final int CONNECT_TIMEOUT = 10; // [s]
 	private static final int READ_TIMEOUT = 60; // [s]
 	private static final int WRITE_TIMEOUT = 10; // [s]
-	private static final int POINTS_QUEUE_SIZE = 1_000_000;
+	private static final int POINTS_QUEUE_SIZE = 100_000;
+	private static final int MAX_MEMORY_BUFFER_SIZE = 32 * 1024 * 1024; // [byte]
+	private static final int REPLAY_BACKOFF = 10; // [s]
+	private static final int MAX_REPLAY_ATTEMPTS = 3;
+	private static final int SHUTDOWN_TIMEOUT = 10; // [s]
+	private static final String SPILL_PATH = "influxdb";
 
 	protected final ThreadPoolExecutor executor;
 	protected final BlockingQueue<Point> pointsQueue = new LinkedBlockingQueue<>(POINTS_QUEUE_SIZE);
@@ -56,6 +71,21 @@ public class InfluxConnector {
 	private final boolean isReadOnly;
 	private final ScheduledExecutorService debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
 	private final MergePointsWorker mergePointsWorker;
+	private final Consumer<Throwable> onWriteError;
+
+	// Batches that could not be written yet
+	private final WriteAheadBuffer buffer;
+	private final AtomicBoolean isReplaying = new AtomicBoolean(false);
+	private final AtomicLong replayedPoints = new AtomicLong();
+	private final AtomicLong droppedPoints = new AtomicLong();
+	private volatile long replayNotBefore = 0;
+	private volatile long writeNotBefore = 0;
+	private volatile long lastWriteSuccess = 0;
+	private volatile long replayRate = 0;
+	private long lastReplayedPoints = 0;
+	// Only accessed by the replay task
+	private long lastReplayFailure = 0;
+	private int replayAttempts = 0;
 
 	/**
 	 * The Constructor.
@@ -74,19 +104,52 @@ public class InfluxConnector {
 	 */
 	public InfluxConnector(QueryLanguageConfig queryLanguage, URI url, String org, String apiKey, String bucket,
 			boolean isReadOnly, int poolSize, int maxQueueSize, Consumer<Throwable> onWriteError) {
+		this(queryLanguage, url, org, apiKey, bucket, isReadOnly, poolSize, maxQueueSize, null, 0, onWriteError);
+	}
+
+	/**
+	 * The Constructor.
+	 *
+	 * @param queryLanguage  A {@link QueryLanguageConfig}
+	 * @param url            URL of the InfluxDB-Server (http://ip:port)
+	 * @param org            The organisation; '-' for InfluxDB v1
+	 * @param apiKey         The apiKey; 'username:password' for InfluxDB v1
+	 * @param bucket         The bucket name; 'database/retentionPolicy' for
+	 *                       InfluxDB v1
+	 * @param isReadOnly     If true, a 'Read-Only-Mode' is activated, where no
+	 *                       data is actually written to the database
+	 * @param poolSize       the number of threads dedicated to handle the tasks
+	 * @param maxQueueSize   queue size limit for executor
+	 * @param spillDirectory the directory for batches that could not be written;
+	 *                       see {@link #getSpillDirectory(String, String)}
+	 * @param maxSpillSize   the maximum size of batches on disk in [byte]; 0
+	 *                       disables spilling
+	 * @param onWriteError   A consumer for write-errors
+	 */
+	public InfluxConnector(QueryLanguageConfig queryLanguage, URI url, String org, String apiKey, String bucket,
+			boolean isReadOnly, int poolSize, int maxQueueSize, File spillDirectory, long maxSpillSize,
+			Consumer<Throwable> onWriteError) {
 		this.queryProxy = QueryProxy.from(queryLanguage);
 		this.url = url;
 		this.org = org;
 		this.apiKey = apiKey;
 		this.bucket = bucket;
 		this.isReadOnly = isReadOnly;
+		this.onWriteError = onWriteError;
+		this.buffer = new WriteAheadBuffer(spillDirectory, MAX_MEMORY_BUFFER_SIZE, maxSpillSize);
 
 		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
 				new LinkedBlockingQueue<Runnable>(maxQueueSize), //
 				new ThreadFactoryBuilder().setNameFormat("InfluxDB-%d").build());
 
 		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
+			var replayedPoints = this.replayedPoints.get();
+			this.replayRate = (replayedPoints - this.lastReplayedPoints) / 10;
+			this.lastReplayedPoints = replayedPoints;
+			this.replay();
+
 			int pointsQueueSize = this.pointsQueue.size();
+			var oldestPendingTimestamp = this.getOldestPendingTimestamp();
 			this.log.info(new StringBuilder("[InfluxDB] [monitor] ") //
 					.append(ThreadPoolUtils.debugLog(this.executor)) //
 					.append(" Queue:") //
@@ -94,11 +157,35 @@ public class InfluxConnector {
 					.append("/") //
 					.append(POINTS_QUEUE_SIZE) //
 					.append((pointsQueueSize == POINTS_QUEUE_SIZE) ? " !!!POINTS BACKPRESSURE!!!" : "") //
+					.append(" Buffer:") //
+					.append(this.getBufferedBytes() / 1024).append("kB") //
+					.append("|Oldest:") //
+					.append(oldestPendingTimestamp == null ? "-" //
+							: (System.currentTimeMillis() - oldestPendingTimestamp) / 1000 + "s") //
+					.append("|Replay:") //
+					.append(this.replayRate).append("/s") //
+					.append("|Dropped:") //
+					.append(this.droppedPoints.get() + this.buffer.getDropped()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
 
-		this.mergePointsWorker = new MergePointsWorker(this, onWriteError);
-		this.mergePointsWorker.activate("TimescaleDB-MergePoints");
+		this.mergePointsWorker = new MergePointsWorker(this);
+		this.mergePointsWorker.activate("InfluxDB-MergePoints");
+	}
+
+	/**
+	 * Gets the directory for batches that could not be written.
+	 *
+	 * @param spillDirectory the configured directory; empty for default
+	 * @param id             the Component-ID
+	 * @return the directory; defaults to 'influxdb/ID' in the OpenEMS data
+	 *         directory
+	 */
+	public static File getSpillDirectory(String spillDirectory, String id) {
+		if (spillDirectory != null && !spillDirectory.isBlank()) {
+			return new File(spillDirectory);
+		}
+		return Paths.get(OpenemsConstants.getOpenemsDataDir(), SPILL_PATH, id).toFile();
 	}
 
 	public static class InfluxConnection {
@@ -153,11 +240,29 @@ public class InfluxConnector {
 	}
 
 	/**
-	 * Close current {@link InfluxDBClient}.
+	 * Close current {@link InfluxDBClient}. Points that are still queued and
+	 * writes that do not finish in time are flushed to disk.
 	 */
 	public synchronized void deactivate() {
 		this.mergePointsWorker.deactivate();
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+
+		// Buffer queued points instead of writing them
+		this.writeNotBefore = Long.MAX_VALUE;
+		this.mergePointsWorker.drain();
+
+		// Wait for running writes; buffer writes that did not start
+		this.executor.shutdown();
+		try {
+			if (!this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+				this.bufferPendingWrites();
+				this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+			}
+		} catch (InterruptedException e) {
+			this.bufferPendingWrites();
+			Thread.currentThread().interrupt();
+		}
+		this.buffer.flush();
 		if (this.influxConnection != null) {
 			this.influxConnection.client.close();
 		}
@@ -215,16 +320,15 @@ public class InfluxConnector {
 	 * @param toDate       the To-Date
 	 * @param channels     the Channels to query
 	 * @param resolution   the resolution in seconds
-	 * @return the historic data as Map
+	 * @return the historic data
 	 * @throws OpenemsException on error
 	 */
-	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(
-			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
-			Resolution resolution) throws OpenemsNamedException {
+	public HistoricTimeseriesData queryHistoricData(Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
 
 		// handle empty call
 		if (channels.isEmpty()) {
-			return new TreeMap<>();
+			return HistoricTimeseriesData.create(fromDate.getZone()).build();
 		}
 
 		return this.queryProxy.queryHistoricData(this.getInfluxConnection(), this.bucket, influxEdgeId, fromDate,
@@ -243,7 +347,176 @@ public class InfluxConnector {
 					+ StringUtils.toShortString(point.toLineProtocol(), 100));
 			return;
 		}
-		this.pointsQueue.offer(point);
+		if (!this.pointsQueue.offer(point)) {
+			this.droppedPoints.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Writes a batch of line protocol asynchronously. If InfluxDB is not
+	 * available, the batch is buffered and replayed later.
+	 *
+	 * <p>
+	 * Live writes do not wait for the replay of buffered batches, so a batch that
+	 * can not be replayed does not hold back new data. Points are written with
+	 * their own timestamps, so the order of writes does not matter.
+	 *
+	 * @param precision the {@link WritePrecision} of all points
+	 * @param points    the number of points
+	 * @param lines     the line protocol
+	 */
+	protected void writeBatch(WritePrecision precision, int points, String lines) {
+		var task = new WriteTask(precision, points, lines);
+		if (System.currentTimeMillis() < this.writeNotBefore) {
+			// InfluxDB was not available recently
+			this.buffer(task.toBatch());
+			return;
+		}
+		try {
+			this.executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			this.buffer(task.toBatch());
+		}
+		this.replay();
+	}
+
+	private final class WriteTask implements Runnable {
+
+		private final WritePrecision precision;
+		private final int points;
+		private final String lines;
+
+		private WriteTask(WritePrecision precision, int points, String lines) {
+			this.precision = precision;
+			this.points = points;
+			this.lines = lines;
+		}
+
+		@Override
+		public void run() {
+			try {
+				InfluxConnector.this.getInfluxConnection().writeApi.writeRecord(this.precision, this.lines);
+				InfluxConnector.this.lastWriteSuccess = System.currentTimeMillis();
+			} catch (Throwable t) {
+				InfluxConnector.this.log.warn("Unable to write points. " + t.getMessage());
+				if (isRetryable(t)) {
+					InfluxConnector.this.writeNotBefore = System.currentTimeMillis() + REPLAY_BACKOFF * 1000;
+					InfluxConnector.this.buffer(this.toBatch());
+				}
+				InfluxConnector.this.onWriteError.accept(t);
+			}
+		}
+
+		private Batch toBatch() {
+			return Batch.of(this.precision.name(), this.points, System.currentTimeMillis(), this.lines);
+		}
+	}
+
+	private void bufferPendingWrites() {
+		for (var task : this.executor.shutdownNow()) {
+			if (task instanceof WriteTask) {
+				this.buffer(((WriteTask) task).toBatch());
+			}
+		}
+	}
+
+	private void buffer(Batch batch) {
+		if (!this.buffer.add(batch)) {
+			this.log.warn("Buffer is full. Dropping [" + batch.points + "] points");
+		}
+	}
+
+	/**
+	 * Replays buffered batches in order, until the buffer is empty or a write
+	 * fails. A batch is dropped if it is rejected by InfluxDB or if it still fails
+	 * after {@link #MAX_REPLAY_ATTEMPTS} while InfluxDB accepts live writes.
+	 */
+	private void replay() {
+		if (this.buffer.isEmpty() || System.currentTimeMillis() < this.replayNotBefore
+				|| !this.isReplaying.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.executor.execute(() -> {
+				try {
+					Batch batch;
+					while (!this.executor.isShutdown() && (batch = this.buffer.peek()) != null) {
+						try {
+							this.getInfluxConnection().writeApi.writeRecord(WritePrecision.valueOf(batch.precision),
+									batch.getLines());
+							this.replayedPoints.addAndGet(batch.points);
+						} catch (Throwable t) {
+							if (isRetryable(t)) {
+								if (this.lastWriteSuccess > this.lastReplayFailure) {
+									// InfluxDB accepted other writes meanwhile: count against this batch
+									this.replayAttempts++;
+								}
+								this.lastReplayFailure = System.currentTimeMillis();
+							}
+							if (isRetryable(t) && this.replayAttempts < MAX_REPLAY_ATTEMPTS) {
+								this.log.warn("Unable to replay points. Retry in " + REPLAY_BACKOFF + "s. "
+										+ t.getMessage());
+								this.replayNotBefore = System.currentTimeMillis() + REPLAY_BACKOFF * 1000;
+								return;
+							}
+							this.log.warn("Unable to replay points. Dropping [" + batch.points + "] points. "
+									+ t.getMessage());
+							this.droppedPoints.addAndGet(batch.points);
+							this.onWriteError.accept(t);
+						}
+						this.replayAttempts = 0;
+						this.buffer.remove();
+					}
+				} finally {
+					this.isReplaying.set(false);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			this.isReplaying.set(false);
+		}
+	}
+
+	/**
+	 * Is writing worth a retry after this error? Only transient errors are, i.e.
+	 * connection errors, throttling and server errors. Requests that were rejected
+	 * by InfluxDB (e.g. field type conflicts) and invalid batches are not.
+	 *
+	 * @param t the error
+	 * @return true for retry
+	 */
+	private static boolean isRetryable(Throwable t) {
+		if (t instanceof InfluxException) {
+			var status = ((InfluxException) t).status();
+			return status == 0 || status == 429 || status >= 500;
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the size of batches that are buffered in memory and on disk.
+	 *
+	 * @return the size in [byte]
+	 */
+	public long getBufferedBytes() {
+		return this.buffer.getBufferedBytes();
+	}
+
+	/**
+	 * Gets the creation time of the oldest buffered batch.
+	 *
+	 * @return the timestamp in epoch milliseconds; null if nothing is pending
+	 */
+	public Long getOldestPendingTimestamp() {
+		return this.buffer.getOldestTimestamp();
+	}
+
+	/**
+	 * Gets the rate of replayed points.
+	 *
+	 * @return the rate in [points/s]
+	 */
+	public long getReplayRate() {
+		return this.replayRate;
 	}
 
 }
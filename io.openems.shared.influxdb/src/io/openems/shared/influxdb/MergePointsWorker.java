@@ -1,63 +1,136 @@
 package io.openems.shared.influxdb;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 
 import io.openems.common.worker.AbstractImmediateWorker;
 
 public class MergePointsWorker extends AbstractImmediateWorker {
 
-	private static final int MAX_POINTS_PER_WRITE = 1_000;
+	private static final int MAX_BATCH_SIZE = 512 * 1024; // [byte] of line protocol
 	private static final int MAX_AGGREGATE_WAIT = 10; // [s]
 
-	private final Logger log = LoggerFactory.getLogger(MergePointsWorker.class);
-
 	private final InfluxConnector parent;
-	private final Consumer<Throwable> onWriteError;
 
-	public MergePointsWorker(InfluxConnector parent, Consumer<Throwable> onWriteError) {
+	/** A Point with different precision that starts the next batch. */
+	private Point next = null;
+
+	public MergePointsWorker(InfluxConnector parent) {
 		this.parent = parent;
-		this.onWriteError = onWriteError;
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
-		/*
-		 * Merge Points. Wait max 10 seconds in total.
-		 */
+		this.merge(true);
+	}
+
+	/**
+	 * Writes all Points that are still queued without waiting for more, e.g. on
+	 * shutdown after {@link #deactivate()}.
+	 */
+	public void drain() {
+		try {
+			while (this.merge(false)) {
+				// merge next batch
+			}
+		} catch (InterruptedException e) {
+			// not thrown without waiting
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Merges Points to a batch of line protocol and writes it.
+	 *
+	 * @param wait wait for Points up to 10 seconds in total
+	 * @return true if Points were merged
+	 * @throws InterruptedException if interrupted while waiting; Points that were
+	 *                              merged until then are still written
+	 */
+	private synchronized boolean merge(boolean wait) throws InterruptedException {
 		final Instant maxWait = Instant.now().plusSeconds(MAX_AGGREGATE_WAIT);
-		List<Point> points = new ArrayList<>(MAX_POINTS_PER_WRITE);
-		for (int i = 0; i < MAX_POINTS_PER_WRITE; i++) {
-			var point = this.parent.pointsQueue.poll(MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
+		var lines = new StringBuilder();
+		var size = 0;
+		var points = 0;
+		WritePrecision precision = null;
+		InterruptedException interrupted = null;
+		while (size < MAX_BATCH_SIZE) {
+			var point = this.next;
+			this.next = null;
+			if (point == null) {
+				if (wait) {
+					try {
+						point = this.parent.pointsQueue.poll(MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						interrupted = e;
+						break;
+					}
+				} else {
+					point = this.parent.pointsQueue.poll();
+				}
+			}
 			if (point == null) {
 				break;
 			}
-			points.add(point);
+			if (precision == null) {
+				precision = point.getPrecision();
+			} else if (precision != point.getPrecision()) {
+				// A batch is written with one precision
+				this.next = point;
+				break;
+			}
+			var line = point.toLineProtocol();
+			if (!line.isEmpty()) {
+				if (points > 0) {
+					lines.append('\n');
+					size++;
+				}
+				lines.append(line);
+				size += utf8Length(line);
+				points++;
+			}
 			if (Instant.now().isAfter(maxWait)) {
 				break;
 			}
 		}
 		/*
-		 * Write points async.
+		 * Write batch async.
 		 */
-		if (!points.isEmpty()) {
-			this.parent.executor.execute(() -> {
-				try {
-					this.parent.getInfluxConnection().writeApi.writePoints(points);
-				} catch (Throwable t) {
-					this.log.warn("Unable to write points. " + t.getMessage());
-					this.onWriteError.accept(t);
-				}
-			});
+		if (points > 0) {
+			this.parent.writeBatch(precision, points, lines.toString());
+		}
+		if (interrupted != null) {
+			throw interrupted;
+		}
+		return points > 0 || this.next != null;
+	}
+
+	/**
+	 * Gets the length of a String in UTF-8 without encoding it.
+	 *
+	 * @param s the String
+	 * @return the length in [byte]
+	 */
+	protected static int utf8Length(String s) {
+		var length = 0;
+		for (var i = 0; i < s.length(); i++) {
+			var c = s.charAt(i);
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+					&& Character.isLowSurrogate(s.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
 		}
+		return length;
 	}
 
 }
@@ -0,0 +1,462 @@
+package io.openems.shared.influxdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded write-ahead buffer for batches of InfluxDB line protocol that
+ * could not be written yet.
+ *
+ * <p>
+ * Batches are kept gzip-compressed in memory up to a maximum size. Beyond that
+ * they are appended to memory-mapped segment files in the spill directory.
+ * Batches are always returned in the order they were added; once a batch went
+ * to disk, all following batches go to disk until the disk part is drained.
+ * Segment files are loaded again after a restart. If the maximum disk size is
+ * reached, new batches are dropped.
+ *
+ * <p>
+ * Segment file layout: a 4-byte read position, followed by records of
+ * [int size][int points][long timestamp][byte precision length][int crc32]
+ * [precision][gzip data]. A size of 0 marks the end of the records.
+ *
+ * <p>
+ * A record is written completely and forced to disk before its size is set, so
+ * a crash while appending leaves at most an incomplete record at the end of a
+ * segment. On load, records are validated by their length and checksum; the
+ * first invalid record and everything after it is discarded.
+ */
+public class WriteAheadBuffer {
+
+	public static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	private static final String FILE_SUFFIX = ".segment";
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int OFFSET_POINTS = 4;
+	private static final int OFFSET_TIMESTAMP = 8;
+	private static final int OFFSET_PRECISION = 16;
+	private static final int OFFSET_CRC = 17;
+	private static final int RECORD_HEADER_SIZE = 21;
+
+	/**
+	 * A gzip-compressed batch of line protocol.
+	 */
+	public static final class Batch {
+
+		/** The write precision, e.g. 'MS'. */
+		public final String precision;
+		/** The number of points. */
+		public final int points;
+		/** The time the batch was created in epoch milliseconds. */
+		public final long timestamp;
+
+		private final byte[] data;
+
+		private Batch(String precision, int points, long timestamp, byte[] data) {
+			this.precision = precision;
+			this.points = points;
+			this.timestamp = timestamp;
+			this.data = data;
+		}
+
+		/**
+		 * Creates a {@link Batch} from line protocol.
+		 *
+		 * @param precision the write precision, e.g. 'MS'
+		 * @param points    the number of points
+		 * @param timestamp the creation time in epoch milliseconds
+		 * @param lines     the line protocol
+		 * @return the {@link Batch}
+		 */
+		public static Batch of(String precision, int points, long timestamp, String lines) {
+			var out = new ByteArrayOutputStream(lines.length() / 8);
+			try (var gzip = new GZIPOutputStream(out)) {
+				gzip.write(lines.getBytes(StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return new Batch(precision, points, timestamp, out.toByteArray());
+		}
+
+		/**
+		 * Gets the uncompressed line protocol.
+		 *
+		 * @return the line protocol
+		 */
+		public String getLines() {
+			try (var gzip = new GZIPInputStream(new ByteArrayInputStream(this.data))) {
+				return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/**
+		 * Gets the compressed size.
+		 *
+		 * @return the size in [byte]
+		 */
+		public int getSize() {
+			return this.data.length;
+		}
+	}
+
+	private static final class Segment {
+
+		private final File file;
+		private final MappedByteBuffer buffer;
+		private int readPosition;
+		private int writePosition;
+
+		private Segment(File file, MappedByteBuffer buffer, int readPosition, int writePosition) {
+			this.file = file;
+			this.buffer = buffer;
+			this.readPosition = readPosition;
+			this.writePosition = writePosition;
+		}
+
+		private int remaining() {
+			return this.buffer.capacity() - this.writePosition;
+		}
+
+		private int pending() {
+			return this.writePosition - this.readPosition;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(WriteAheadBuffer.class);
+
+	private final File directory;
+	private final long maxMemorySize;
+	private final long maxDiskSize;
+	private final int segmentSize;
+
+	private final Deque<Batch> memory = new ArrayDeque<>();
+	private final Deque<Segment> segments = new ArrayDeque<>();
+
+	private long memorySize = 0;
+	private long diskSize = 0;
+	private long nextSequence = 0;
+	private long dropped = 0;
+	private long oldestDiskTimestamp = Long.MAX_VALUE;
+	private boolean isFlushed = false;
+
+	/**
+	 * Creates a {@link WriteAheadBuffer} and loads segment files of a previous
+	 * run.
+	 *
+	 * @param directory     the spill directory; null to disable spilling
+	 * @param maxMemorySize the maximum size of batches kept in memory in [byte]
+	 * @param maxDiskSize   the maximum size of all segment files in [byte]; 0
+	 *                      disables spilling
+	 */
+	public WriteAheadBuffer(File directory, long maxMemorySize, long maxDiskSize) {
+		this(directory, maxMemorySize, maxDiskSize, SEGMENT_SIZE);
+	}
+
+	protected WriteAheadBuffer(File directory, long maxMemorySize, long maxDiskSize, int segmentSize) {
+		this.directory = directory;
+		this.maxMemorySize = maxMemorySize;
+		this.maxDiskSize = directory == null ? 0 : maxDiskSize;
+		this.segmentSize = (int) Math.max(0, Math.min(segmentSize, this.maxDiskSize));
+		if (this.maxDiskSize > 0) {
+			this.loadExistingSegments();
+		}
+	}
+
+	/**
+	 * Adds a {@link Batch}.
+	 *
+	 * @param batch the {@link Batch}
+	 * @return true if the batch was buffered; false if it was dropped
+	 */
+	public synchronized boolean add(Batch batch) {
+		if (!this.isFlushed && this.segments.isEmpty() && this.memorySize + batch.getSize() <= this.maxMemorySize) {
+			this.memory.addLast(batch);
+			this.memorySize += batch.getSize();
+			return true;
+		}
+		if (this.append(batch)) {
+			return true;
+		}
+		this.dropped += batch.points;
+		return false;
+	}
+
+	/**
+	 * Gets the oldest {@link Batch} without removing it.
+	 *
+	 * @return the {@link Batch}; null if the buffer is empty
+	 */
+	public synchronized Batch peek() {
+		var batch = this.memory.peekFirst();
+		if (batch != null) {
+			return batch;
+		}
+		var segment = this.segments.peekFirst();
+		if (segment == null || segment.pending() == 0) {
+			return null;
+		}
+		return readRecord(segment.buffer, segment.readPosition);
+	}
+
+	/**
+	 * Removes the oldest {@link Batch}, i.e. the one returned by {@link #peek()}.
+	 */
+	public synchronized void remove() {
+		var batch = this.memory.pollFirst();
+		if (batch != null) {
+			this.memorySize -= batch.getSize();
+			return;
+		}
+		var segment = this.segments.peekFirst();
+		if (segment == null || segment.pending() == 0) {
+			return;
+		}
+		var recordSize = recordSize(segment.buffer, segment.readPosition);
+		segment.readPosition += recordSize;
+		segment.buffer.putInt(0, segment.readPosition);
+		this.diskSize -= recordSize;
+		if (segment.pending() == 0) {
+			this.segments.pollFirst();
+			this.delete(segment);
+		}
+		this.updateOldestDiskTimestamp();
+	}
+
+	/**
+	 * Moves all batches from memory to disk, e.g. on shutdown. They are appended
+	 * after batches that are already on disk; batches that do not fit are
+	 * dropped. Batches that are added afterwards go directly to disk.
+	 */
+	public synchronized void flush() {
+		if (this.maxDiskSize <= 0) {
+			return;
+		}
+		this.isFlushed = true;
+		while (!this.memory.isEmpty()) {
+			var batch = this.memory.pollFirst();
+			this.memorySize -= batch.getSize();
+			if (!this.append(batch)) {
+				this.dropped += batch.points;
+			}
+		}
+	}
+
+	/**
+	 * Is the buffer empty?.
+	 *
+	 * @return true if empty
+	 */
+	public synchronized boolean isEmpty() {
+		return this.memory.isEmpty() && this.diskSize == 0;
+	}
+
+	/**
+	 * Gets the size of all buffered batches in memory and on disk.
+	 *
+	 * @return the size in [byte]
+	 */
+	public synchronized long getBufferedBytes() {
+		return this.memorySize + this.diskSize;
+	}
+
+	/**
+	 * Gets the creation time of the oldest buffered batch.
+	 *
+	 * @return the timestamp in epoch milliseconds; null if the buffer is empty
+	 */
+	public synchronized Long getOldestTimestamp() {
+		var batch = this.memory.peekFirst();
+		if (batch != null) {
+			return batch.timestamp;
+		}
+		if (this.oldestDiskTimestamp != Long.MAX_VALUE) {
+			return this.oldestDiskTimestamp;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the number of points that were dropped because the buffer was full.
+	 *
+	 * @return the number of points
+	 */
+	public synchronized long getDropped() {
+		return this.dropped;
+	}
+
+	private boolean append(Batch batch) {
+		if (this.maxDiskSize <= 0) {
+			return false;
+		}
+		var precision = batch.precision.getBytes(StandardCharsets.US_ASCII);
+		var recordSize = RECORD_HEADER_SIZE + precision.length + batch.getSize();
+		if (HEADER_SIZE + recordSize + Integer.BYTES > this.segmentSize) {
+			this.log.warn("Batch of [" + batch.getSize() + "] bytes exceeds the segment size");
+			return false;
+		}
+		var segment = this.segments.peekLast();
+		if (segment == null || segment.remaining() < recordSize + Integer.BYTES) {
+			if ((this.segments.size() + 1L) * this.segmentSize > this.maxDiskSize) {
+				return false;
+			}
+			try {
+				segment = this.createSegment();
+			} catch (IOException e) {
+				this.log.error("Unable to create segment in [" + this.directory + "]: " + e.getMessage());
+				return false;
+			}
+			this.segments.addLast(segment);
+		}
+		var buffer = segment.buffer;
+		var position = segment.writePosition;
+		// Write and force the record first; setting the size makes it valid
+		buffer.putInt(position + OFFSET_POINTS, batch.points);
+		buffer.putLong(position + OFFSET_TIMESTAMP, batch.timestamp);
+		buffer.put(position + OFFSET_PRECISION, (byte) precision.length);
+		buffer.put(position + RECORD_HEADER_SIZE, precision);
+		buffer.put(position + RECORD_HEADER_SIZE + precision.length, batch.data);
+		buffer.putInt(position + OFFSET_CRC, checksum(buffer, position, precision.length, batch.getSize()));
+		buffer.putInt(position + recordSize, 0); // end marker
+		buffer.force(position, recordSize + Integer.BYTES);
+		buffer.putInt(position, batch.getSize());
+		buffer.force(position, Integer.BYTES);
+		segment.writePosition += recordSize;
+		this.diskSize += recordSize;
+		this.updateOldestDiskTimestamp();
+		return true;
+	}
+
+	private Segment createSegment() throws IOException {
+		this.directory.mkdirs();
+		var file = new File(this.directory, String.format("%019d%s", this.nextSequence++, FILE_SUFFIX));
+		var buffer = map(file, this.segmentSize);
+		buffer.putInt(0, HEADER_SIZE);
+		return new Segment(file, buffer, HEADER_SIZE, HEADER_SIZE);
+	}
+
+	private void loadExistingSegments() {
+		var files = this.directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (var file : files) {
+			try {
+				var sequence = Long.parseLong(file.getName().substring(0, //
+						file.getName().length() - FILE_SUFFIX.length()));
+				this.nextSequence = Math.max(this.nextSequence, sequence + 1);
+				var buffer = map(file, (int) file.length());
+				var readPosition = buffer.getInt(0);
+				var isReadPositionValid = readPosition == HEADER_SIZE;
+				var writePosition = HEADER_SIZE;
+				while (writePosition + RECORD_HEADER_SIZE <= buffer.capacity()
+						&& buffer.getInt(writePosition) != 0) {
+					if (!isValidRecord(buffer, writePosition)) {
+						// Torn or corrupted record: records after it can not be located
+						this.log.warn("Discarding invalid record at position [" + writePosition + "] of segment file ["
+								+ file + "] and all records after it");
+						buffer.putInt(writePosition, 0);
+						buffer.force();
+						break;
+					}
+					writePosition += recordSize(buffer, writePosition);
+					isReadPositionValid |= readPosition == writePosition;
+				}
+				if (!isReadPositionValid) {
+					readPosition = HEADER_SIZE;
+				}
+				var segment = new Segment(file, buffer, readPosition, writePosition);
+				if (segment.pending() == 0) {
+					this.delete(segment);
+					continue;
+				}
+				this.segments.addLast(segment);
+				this.diskSize += segment.pending();
+
+			} catch (IOException | NumberFormatException | IndexOutOfBoundsException e) {
+				this.log.warn("Ignoring invalid segment file [" + file + "]: " + e.getMessage());
+			}
+		}
+		this.updateOldestDiskTimestamp();
+	}
+
+	private void updateOldestDiskTimestamp() {
+		var segment = this.segments.peekFirst();
+		if (segment == null || segment.pending() == 0) {
+			this.oldestDiskTimestamp = Long.MAX_VALUE;
+		} else {
+			this.oldestDiskTimestamp = segment.buffer.getLong(segment.readPosition + OFFSET_TIMESTAMP);
+		}
+	}
+
+	private void delete(Segment segment) {
+		if (!segment.file.delete()) {
+			this.log.warn("Unable to delete segment file [" + segment.file + "]");
+		}
+	}
+
+	private static MappedByteBuffer map(File file, int size) throws IOException {
+		try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			return channel.map(MapMode.READ_WRITE, 0, size);
+		}
+	}
+
+	private static int recordSize(MappedByteBuffer buffer, int position) {
+		return RECORD_HEADER_SIZE + Byte.toUnsignedInt(buffer.get(position + OFFSET_PRECISION))
+				+ buffer.getInt(position);
+	}
+
+	private static boolean isValidRecord(MappedByteBuffer buffer, int position) {
+		var size = buffer.getInt(position);
+		if (size <= 0 || (long) position + recordSize(buffer, position) > buffer.capacity()) {
+			return false;
+		}
+		var precisionLength = Byte.toUnsignedInt(buffer.get(position + OFFSET_PRECISION));
+		return buffer.getInt(position + OFFSET_CRC) == checksum(buffer, position, precisionLength, size);
+	}
+
+	/*
+	 * CRC32 of the record without size and checksum fields.
+	 */
+	private static int checksum(MappedByteBuffer buffer, int position, int precisionLength, int size) {
+		var crc = new CRC32();
+		var view = buffer.duplicate();
+		view.limit(position + OFFSET_CRC).position(position + OFFSET_POINTS);
+		crc.update(view);
+		view.limit(position + RECORD_HEADER_SIZE + precisionLength + size).position(position + RECORD_HEADER_SIZE);
+		crc.update(view);
+		return (int) crc.getValue();
+	}
+
+	private static Batch readRecord(MappedByteBuffer buffer, int position) {
+		var size = buffer.getInt(position);
+		var points = buffer.getInt(position + OFFSET_POINTS);
+		var timestamp = buffer.getLong(position + OFFSET_TIMESTAMP);
+		var precision = new byte[Byte.toUnsignedInt(buffer.get(position + OFFSET_PRECISION))];
+		buffer.get(position + RECORD_HEADER_SIZE, precision);
+		var data = new byte[size];
+		buffer.get(position + RECORD_HEADER_SIZE + precision.length, data);
+		return new Batch(new String(precision, StandardCharsets.US_ASCII), points, timestamp, data);
+	}
+
+}
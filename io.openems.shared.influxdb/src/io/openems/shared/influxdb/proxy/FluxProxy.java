@@ -25,6 +25,7 @@ import com.influxdb.query.dsl.functions.restriction.Restrictions;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.shared.influxdb.InfluxConnector.InfluxConnection;
@@ -46,9 +47,9 @@ public class FluxProxy extends QueryProxy {
 	}
 
 	@Override
-	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(
-			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
-			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+	public HistoricTimeseriesData queryHistoricData(InfluxConnection influxConnection, String bucket,
+			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		var query = this.buildHistoricDataQuery(bucket, influxEdgeId, fromDate, toDate, channels, resolution);
 		var queryResult = this.executeQuery(influxConnection, query);
 		return convertHistoricDataQueryResult(queryResult, fromDate, resolution);
@@ -61,7 +62,7 @@ public class FluxProxy extends QueryProxy {
 		var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
 				resolution);
 		var queryResult = this.executeQuery(influxConnection, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate, resolution);
+		return convertHistoricDataQueryResult(queryResult, fromDate, resolution).toMap();
 	}
 
 	@Override
@@ -183,46 +184,45 @@ public class FluxProxy extends QueryProxy {
 	 * @param queryResult the Query-Result
 	 * @param fromDate    start date from query
 	 * @param resolution  {@link Resolution} to revert InfluxDB offset
-	 * @return the historic data as Map
+	 * @return the historic data
 	 * @throws OpenemsException on error
 	 */
-	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> convertHistoricDataQueryResult(
-			List<FluxTable> queryResult, ZonedDateTime fromDate, Resolution resolution) throws OpenemsNamedException {
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+	private static HistoricTimeseriesData convertHistoricDataQueryResult(List<FluxTable> queryResult,
+			ZonedDateTime fromDate, Resolution resolution) throws OpenemsNamedException {
+		var result = HistoricTimeseriesData.create(fromDate.getZone());
+		var fromInstant = fromDate.toInstant();
 
 		for (FluxTable fluxTable : queryResult) {
+			// Tables are per Channel: parse Channel-Address only once
+			ChannelAddress channelAddress = null;
+			String field = null;
 			for (FluxRecord record : fluxTable.getRecords()) {
-				var timestamp = ZonedDateTime.ofInstant(record.getTime(), fromDate.getZone());
+				var time = record.getTime();
 
 				// ignore first timestamp is before from date
-				if (timestamp.isBefore(fromDate)) {
+				if (time.isBefore(fromInstant)) {
 					continue;
 				}
-				timestamp = resolution.revertInfluxDbOffset(timestamp);
+				var timestamp = resolution.revertInfluxDbOffset(ZonedDateTime.ofInstant(time, fromDate.getZone()))
+						.toInstant().toEpochMilli();
+
+				if (field == null || !field.equals(record.getField())) {
+					field = record.getField();
+					channelAddress = ChannelAddress.fromString(field);
+				}
 
 				var valueObj = record.getValue();
-				final JsonElement value;
 				if (valueObj == null) {
-					value = JsonNull.INSTANCE;
+					result.add(timestamp, channelAddress, JsonNull.INSTANCE);
 				} else if (valueObj instanceof Number) {
-					value = new JsonPrimitive((Number) valueObj);
+					result.add(timestamp, channelAddress, (Number) valueObj);
 				} else {
-					value = new JsonPrimitive(valueObj.toString());
-				}
-
-				var channelAddresss = ChannelAddress.fromString(record.getField());
-
-				var row = table.get(timestamp);
-				if (row == null) {
-					row = new TreeMap<>();
+					result.add(timestamp, channelAddress, new JsonPrimitive(valueObj.toString()));
 				}
-				row.put(channelAddresss, value);
-
-				table.put(timestamp, row);
 			}
 		}
 
-		return table;
+		return result.build();
 	}
 
 	/**
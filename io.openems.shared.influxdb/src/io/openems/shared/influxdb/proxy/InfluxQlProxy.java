@@ -1,7 +1,7 @@
 package io.openems.shared.influxdb.proxy;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
@@ -22,6 +22,7 @@ import com.influxdb.query.InfluxQLQueryResult.Series;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricTimeseriesData;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
@@ -45,9 +46,9 @@ public class InfluxQlProxy extends QueryProxy {
 	}
 
 	@Override
-	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(
-			InfluxConnection influxConnection, String bucket, Optional<Integer> influxEdgeId, ZonedDateTime fromDate,
-			ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution) throws OpenemsNamedException {
+	public HistoricTimeseriesData queryHistoricData(InfluxConnection influxConnection, String bucket,
+			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		var query = this.buildHistoricDataQuery(bucket, influxEdgeId, fromDate, toDate, channels, resolution);
 		var queryResult = this.executeQuery(influxConnection, bucket, query);
 		return convertHistoricDataQueryResult(queryResult, fromDate);
@@ -60,7 +61,7 @@ public class InfluxQlProxy extends QueryProxy {
 		var query = this.buildHistoricEnergyPerPeriodQuery(bucket, influxEdgeId, fromDate, toDate, channels,
 				resolution);
 		var queryResult = this.executeQuery(influxConnection, bucket, query);
-		return convertHistoricDataQueryResult(queryResult, fromDate);
+		return convertHistoricDataQueryResult(queryResult, fromDate).toMap();
 	}
 
 	@Override
@@ -160,47 +161,54 @@ public class InfluxQlProxy extends QueryProxy {
 	}
 
 	/**
-	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
+	 * Converts the QueryResult of a Historic-Data query to a properly typed
+	 * {@link HistoricTimeseriesData}.
 	 *
 	 * @param queryResult the Query-Result
 	 * @param fromDate    the From-Date
-	 * @return the historic data as Map
+	 * @return the historic data
 	 * @throws OpenemsException on error
 	 */
-	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> convertHistoricDataQueryResult(
-			InfluxQLQueryResult queryResult, ZonedDateTime fromDate) throws OpenemsNamedException {
+	private static HistoricTimeseriesData convertHistoricDataQueryResult(InfluxQLQueryResult queryResult,
+			ZonedDateTime fromDate) throws OpenemsNamedException {
 		if (queryResult == null) {
 			throw new OpenemsException("Historic data values are not available. QueryResult is null");
 		}
 
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
-		for (var result : queryResult.getResults()) {
-			var seriess = result.getSeries();
+		var result = HistoricTimeseriesData.create(fromDate.getZone());
+		var fromTimestamp = fromDate.toInstant().toEpochMilli();
+		for (var queryResultResult : queryResult.getResults()) {
+			var seriess = queryResultResult.getSeries();
 			if (seriess != null) {
 				for (var series : seriess) {
+					// parse Channel-Addresses only once per series
+					var columns = new ArrayList<String>();
+					var channels = new ArrayList<ChannelAddress>();
+					for (var column : series.getColumns().keySet()) {
+						if (column.equals("time")) {
+							continue;
+						}
+						var channel = ChannelAddress.fromString(column);
+						columns.add(column);
+						channels.add(channel);
+						result.addChannel(channel);
+					}
+
 					// add all data
 					for (var record : series.getValues()) {
-						SortedMap<ChannelAddress, JsonElement> tableRow = new TreeMap<>();
 						// get timestamp
-						var timestampInstant = Instant
-								.ofEpochMilli(Long.parseLong((String) record.getValueByKey("time")));
-						var timestamp = ZonedDateTime.ofInstant(timestampInstant, fromDate.getZone());
-						if (timestamp.isBefore(fromDate)) {
+						var timestamp = Long.parseLong((String) record.getValueByKey("time"));
+						if (timestamp < fromTimestamp) {
 							// InfluxQL sometimes gives too early timestamps -> ignore
 							continue;
 						}
-						for (var column : series.getColumns().keySet()) {
-							if (column.equals("time")) {
-								continue;
-							}
-							// Note: ignoring index '0' here as it is the 'timestamp'
-							var valueObj = record.getValueByKey(column);
-							JsonElement value;
-							if (valueObj == null) {
-								value = JsonNull.INSTANCE;
-							} else if (valueObj instanceof Number) {
-								value = new JsonPrimitive((Number) valueObj);
-							} else {
+						result.addTimestamp(timestamp);
+						for (var i = 0; i < columns.size(); i++) {
+							var valueObj = record.getValueByKey(columns.get(i));
+							var channel = channels.get(i);
+							if (valueObj instanceof Number) {
+								result.add(timestamp, channel, (Number) valueObj);
+							} else if (valueObj != null) {
 								final String str;
 								if (valueObj instanceof String) {
 									str = (String) valueObj;
@@ -208,23 +216,22 @@ public class InfluxQlProxy extends QueryProxy {
 									str = valueObj.toString();
 								}
 								if (str.isEmpty()) {
-									value = JsonNull.INSTANCE;
-								} else if (StringUtils.matchesFloatPattern(str)) {
-									value = new JsonPrimitive(Double.parseDouble(str));
+									continue;
+								}
+								if (StringUtils.matchesFloatPattern(str)) {
+									result.add(timestamp, channel, Double.parseDouble(str));
 								} else if (StringUtils.matchesIntegerPattern(str)) {
-									value = new JsonPrimitive(Integer.parseInt(str));
+									result.add(timestamp, channel, Integer.parseInt(str));
 								} else {
-									value = new JsonPrimitive(valueObj.toString());
+									result.add(timestamp, channel, new JsonPrimitive(str));
 								}
 							}
-							tableRow.put(ChannelAddress.fromString(column), value);
 						}
-						table.put(timestamp, tableRow);
 					}
 				}
 			}
 		}
-		return table;
+		return result.build();
 	}
 
 	/**
@@ -0,0 +1,125 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import io.openems.shared.influxdb.WriteAheadBuffer.Batch;
+
+public class WriteAheadBufferTest {
+
+	private static Batch batch(int i) {
+		var lines = new StringBuilder();
+		for (var j = 0; j < 100; j++) {
+			lines.append("data,edge=").append(i).append(" _sum/EssSoc=").append(j).append("i ")
+					.append(1_660_000_000_000L + j).append("\n");
+		}
+		return Batch.of("MS", 100, 1_660_000_000_000L + i, lines.toString());
+	}
+
+	@Test
+	public void testMemoryAndSegments() throws IOException {
+		var directory = Files.createTempDirectory("influx").toFile();
+		var size = batch(0).getSize();
+		// Two batches in memory, then disk
+		var sut = new WriteAheadBuffer(directory, size * 2, 1024 * 1024, 4 * 1024);
+		for (var i = 0; i < 10; i++) {
+			assertTrue(sut.add(batch(i)));
+		}
+		assertTrue(sut.getBufferedBytes() > size * 10);
+		assertEquals(1_660_000_000_000L, (long) sut.getOldestTimestamp());
+		assertTrue(directory.list().length > 0);
+
+		for (var i = 0; i < 5; i++) {
+			var batch = sut.peek();
+			assertEquals(1_660_000_000_000L + i, batch.timestamp);
+			assertEquals("MS", batch.precision);
+			assertEquals(100, batch.points);
+			assertEquals(batch(i).getLines(), batch.getLines());
+			sut.remove();
+		}
+
+		// Reload remaining batches from disk
+		sut = new WriteAheadBuffer(directory, size * 2, 1024 * 1024, 4 * 1024);
+		for (var i = 5; i < 10; i++) {
+			assertEquals(batch(i).getLines(), sut.peek().getLines());
+			sut.remove();
+		}
+		assertNull(sut.peek());
+		assertNull(sut.getOldestTimestamp());
+		assertTrue(sut.isEmpty());
+		assertEquals(0, sut.getBufferedBytes());
+		assertEquals(0, directory.list().length);
+	}
+
+	@Test
+	public void testLimits() throws IOException {
+		var directory = Files.createTempDirectory("influx").toFile();
+		var size = batch(0).getSize();
+
+		// Memory only
+		var sut = new WriteAheadBuffer(null, size, 1024 * 1024);
+		assertTrue(sut.add(batch(0)));
+		assertFalse(sut.add(batch(1)));
+		assertEquals(100, sut.getDropped());
+
+		// One segment only
+		sut = new WriteAheadBuffer(directory, 0, 1024, 1024);
+		var added = 0;
+		while (sut.add(batch(added))) {
+			added++;
+		}
+		assertTrue(added > 0);
+		assertEquals(1, directory.list().length);
+
+		// Flush memory to disk
+		directory = Files.createTempDirectory("influx").toFile();
+		sut = new WriteAheadBuffer(directory, size * 2, 1024 * 1024, 4 * 1024);
+		sut.add(batch(0));
+		sut.flush();
+		sut = new WriteAheadBuffer(directory, size * 2, 1024 * 1024, 4 * 1024);
+		assertEquals(batch(0).getLines(), sut.peek().getLines());
+	}
+
+	@Test
+	public void testInvalidRecords() throws IOException {
+		var directory = Files.createTempDirectory("influx").toFile();
+		var sut = new WriteAheadBuffer(directory, 0, 1024 * 1024, 64 * 1024);
+		assertTrue(sut.add(batch(0)));
+		var recordSize = sut.getBufferedBytes();
+		assertTrue(sut.add(batch(1)));
+		var end = Integer.BYTES + sut.getBufferedBytes();
+		assertTrue(sut.add(batch(2)));
+		var file = directory.listFiles()[0];
+
+		// Corrupt the last byte of the second record
+		try (var raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(end - 1);
+			var b = raf.read();
+			raf.seek(end - 1);
+			raf.write(b ^ 0xFF);
+		}
+
+		// Only the first record is valid
+		sut = new WriteAheadBuffer(directory, 0, 1024 * 1024, 64 * 1024);
+		assertEquals(recordSize, sut.getBufferedBytes());
+		assertEquals(batch(0).getLines(), sut.peek().getLines());
+
+		// Appends after the last valid record
+		assertTrue(sut.add(batch(3)));
+		sut = new WriteAheadBuffer(directory, 0, 1024 * 1024, 64 * 1024);
+		assertEquals(batch(0).getLines(), sut.peek().getLines());
+		sut.remove();
+		assertEquals(batch(3).getLines(), sut.peek().getLines());
+		sut.remove();
+		assertTrue(sut.isEmpty());
+	}
+
+}